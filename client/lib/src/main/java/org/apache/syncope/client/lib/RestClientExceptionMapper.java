@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Set;
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.ForbiddenException;
+import javax.ws.rs.RedirectionException;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.Provider;
@@ -71,8 +72,11 @@ public class RestClientExceptionMapper implements ResponseExceptionMapper<Except
             ex = StringUtils.isBlank(message)
                     ? new BadRequestException()
                     : new BadRequestException(message);
+        } else if (statusCode == Response.Status.NOT_MODIFIED.getStatusCode()) {
+            // 5. Map SC_NOT_MODIFIED, as returned by conditional requests: not an error
+            return new RedirectionException(response);
         } else {
-            // 5. All other codes are mapped to runtime exception with HTTP code information
+            // 6. All other codes are mapped to runtime exception with HTTP code information
             ex = new WebServiceException(String.format("Remote exception with status code: %s",
                     Response.Status.fromStatusCode(statusCode).name()));
         }
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.common.lib.policy;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+
+/**
+ * Checks passwords against a local index of breached passwords, built from the downloadable Have I Been Pwned
+ * corpus, rather than contacting the online service.
+ */
+@XmlRootElement(name = "offlinePwnedPasswordRuleConf")
+@XmlType
+public class OfflinePwnedPasswordRuleConf extends AbstractPasswordRuleConf {
+
+    private static final long serialVersionUID = 5346233781258213871L;
+
+    /**
+     * Path of the index file, as generated by {@code PwnedPasswordIndexBuilder}.
+     */
+    private String indexFile;
+
+    public String getIndexFile() {
+        return indexFile;
+    }
+
+    public void setIndexFile(final String indexFile) {
+        this.indexFile = indexFile;
+    }
+}
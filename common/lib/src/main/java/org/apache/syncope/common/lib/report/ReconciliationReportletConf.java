@@ -60,6 +60,12 @@ public class ReconciliationReportletConf extends AbstractReportletConf {
 
     private final List<Feature> features = new ArrayList<>();
 
+    /**
+     * Whether objects are read at once from each external resource and matched with Syncope entities by connector
+     * object key, rather than read one by one.
+     */
+    private boolean bulk;
+
     public ReconciliationReportletConf() {
         super();
     }
@@ -92,6 +98,14 @@ public class ReconciliationReportletConf extends AbstractReportletConf {
         this.anyObjectMatchingCond = anyObjectMatchingCond;
     }
 
+    public boolean isBulk() {
+        return bulk;
+    }
+
+    public void setBulk(final boolean bulk) {
+        this.bulk = bulk;
+    }
+
     @XmlElementWrapper(name = "features")
     @XmlElement(name = "feature")
     @JsonProperty("features")
@@ -47,6 +47,8 @@ public class PlainSchemaTO extends SchemaTO {
 
     private boolean readonly;
 
+    private boolean projected;
+
     private String conversionPattern;
 
     private String validator;
@@ -111,6 +113,14 @@ public class PlainSchemaTO extends SchemaTO {
         this.readonly = readonly;
     }
 
+    public boolean isProjected() {
+        return projected;
+    }
+
+    public void setProjected(final boolean projected) {
+        this.projected = projected;
+    }
+
     public AttrSchemaType getType() {
         return type;
     }
@@ -176,6 +186,7 @@ public class PlainSchemaTO extends SchemaTO {
                 append(multivalue).
                 append(uniqueConstraint).
                 append(readonly).
+                append(projected).
                 append(conversionPattern).
                 append(validator).
                 append(enumerationKeys).
@@ -205,6 +216,7 @@ public class PlainSchemaTO extends SchemaTO {
                 append(multivalue, other.multivalue).
                 append(uniqueConstraint, other.uniqueConstraint).
                 append(readonly, other.readonly).
+                append(projected, other.projected).
                 append(conversionPattern, other.conversionPattern).
                 append(validator, other.validator).
                 append(enumerationKeys, other.enumerationKeys).
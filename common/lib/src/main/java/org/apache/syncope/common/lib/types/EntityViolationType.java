@@ -42,6 +42,7 @@ public enum EntityViolationType {
     InvalidSchemaEncrypted("org.apache.syncope.core.persistence.validation.schema.encrypted"),
     InvalidSchemaEnum("org.apache.syncope.core.persistence.validation.schema.enum"),
     InvalidSchemaMultivalueUnique("org.apache.syncope.core.persistence.validation.schema.multivalueUnique"),
+    InvalidSchemaProjected("org.apache.syncope.core.persistence.validation.schema.projected"),
     InvalidSchedTask("org.apache.syncope.core.persistence.validation.schedtask"),
     InvalidProvisioningTask("org.apache.syncope.core.persistence.validation.provisioningtask"),
     InvalidPlainAttr("org.apache.syncope.core.persistence.validation.plainattr"),
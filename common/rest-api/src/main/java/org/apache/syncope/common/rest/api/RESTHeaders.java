@@ -119,6 +119,18 @@ public final class RESTHeaders {
      */
     public static final String PREFERENCE_APPLIED = "Preference-Applied";
 
+    /**
+     * Declares the ordering group of a batch request item: when batch items are processed in parallel, items
+     * sharing the same ordering group are still processed sequentially, in the order they were submitted.
+     */
+    public static final String BATCH_ORDERING_GROUP = "X-Syncope-Batch-Ordering-Group";
+
+    /**
+     * Reports, while polling for the results of an asynchronous batch request, the number of batch items
+     * processed so far out of the total, in the form {@code processed/total}.
+     */
+    public static final String BATCH_PROGRESS = "X-Syncope-Batch-Progress";
+
     private RESTHeaders() {
         // Empty constructor for static utility class.
     }
@@ -27,47 +27,68 @@ public final class BatchPayloadGenerator {
 
     private static final String HTTP_1_1 = "HTTP/1.1";
 
-    public static <T extends BatchItem> String generate(final List<T> items, final String boundary) {
-        StringBuilder payload = new StringBuilder();
+    private static <T extends BatchItem> void append(final StringBuilder payload, final T item, final String boundary) {
+        payload.append(boundary).append(JAXRSService.CRLF);
+        payload.append(HttpHeaders.CONTENT_TYPE).append(": ").append("application/http").append('\n');
+        payload.append("Content-Transfer-Encoding: binary").append('\n');
+        payload.append(JAXRSService.CRLF);
 
-        items.forEach(item -> {
-            payload.append(boundary).append(JAXRSService.CRLF);
-            payload.append(HttpHeaders.CONTENT_TYPE).append(": ").append("application/http").append('\n');
-            payload.append("Content-Transfer-Encoding: binary").append('\n');
-            payload.append(JAXRSService.CRLF);
-
-            if (item instanceof BatchRequestItem) {
-                BatchRequestItem bri = BatchRequestItem.class.cast(item);
-                payload.append(bri.getMethod()).append(' ').append(bri.getRequestURI());
-                if (bri.getQueryString() != null) {
-                    payload.append('?').append(bri.getQueryString());
-                }
-                payload.append(' ').append(HTTP_1_1).append('\n');
+        if (item instanceof BatchRequestItem) {
+            BatchRequestItem bri = BatchRequestItem.class.cast(item);
+            payload.append(bri.getMethod()).append(' ').append(bri.getRequestURI());
+            if (bri.getQueryString() != null) {
+                payload.append('?').append(bri.getQueryString());
             }
+            payload.append(' ').append(HTTP_1_1).append('\n');
+        }
 
-            if (item instanceof BatchResponseItem) {
-                BatchResponseItem bri = BatchResponseItem.class.cast(item);
-                payload.append(HTTP_1_1).append(' ').
-                        append(bri.getStatus()).append(' ').
-                        append(Response.Status.fromStatusCode(bri.getStatus()).getReasonPhrase()).
-                        append('\n');
-            }
+        if (item instanceof BatchResponseItem) {
+            BatchResponseItem bri = BatchResponseItem.class.cast(item);
+            payload.append(HTTP_1_1).append(' ').
+                    append(bri.getStatus()).append(' ').
+                    append(Response.Status.fromStatusCode(bri.getStatus()).getReasonPhrase()).
+                    append('\n');
+        }
 
-            if (item.getHeaders() != null && !item.getHeaders().isEmpty()) {
-                item.getHeaders().forEach((key, values) -> {
-                    values.forEach(value -> {
-                        payload.append(key).append(": ").append(value).append('\n');
-                    });
+        if (item.getHeaders() != null && !item.getHeaders().isEmpty()) {
+            item.getHeaders().forEach((key, values) -> {
+                values.forEach(value -> {
+                    payload.append(key).append(": ").append(value).append('\n');
                 });
-                payload.append(JAXRSService.CRLF);
-            }
+            });
+            payload.append(JAXRSService.CRLF);
+        }
 
-            if (item.getContent() != null) {
-                payload.append(item.getContent()).append('\n');
-            }
-        });
+        if (item.getContent() != null) {
+            payload.append(item.getContent()).append('\n');
+        }
+    }
+
+    /**
+     * Generates the body part for a single batch item, to be later joined with other body parts and terminated by
+     * {@link #generateEnd(java.lang.String)}.
+     *
+     * @param <T> batch item type
+     * @param item batch item
+     * @param boundary multipart boundary, prefixed by double dash
+     * @return body part
+     */
+    public static <T extends BatchItem> String generatePart(final T item, final String boundary) {
+        StringBuilder payload = new StringBuilder();
+        append(payload, item, boundary);
+        return payload.toString();
+    }
+
+    public static String generateEnd(final String boundary) {
+        return boundary + JAXRSService.DOUBLE_DASH + '\n';
+    }
+
+    public static <T extends BatchItem> String generate(final List<T> items, final String boundary) {
+        StringBuilder payload = new StringBuilder();
+
+        items.forEach(item -> append(payload, item, boundary));
 
-        payload.append(boundary).append(JAXRSService.DOUBLE_DASH).append('\n');
+        payload.append(generateEnd(boundary));
 
         return payload.toString();
     }
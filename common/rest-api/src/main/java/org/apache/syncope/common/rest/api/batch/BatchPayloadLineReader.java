@@ -58,6 +58,8 @@ public class BatchPayloadLineReader implements AutoCloseable {
 
     private int limit = 0;
 
+    private int counter = 0;
+
     public BatchPayloadLineReader(final InputStream in, final MediaType multipartMixed) {
         this.in = in;
         this.multipartMixed = multipartMixed;
@@ -149,18 +151,30 @@ public class BatchPayloadLineReader implements AutoCloseable {
         }
     }
 
-    public List<BatchPayloadLine> read() throws IOException {
-        List<BatchPayloadLine> result = new ArrayList<>();
-
+    /**
+     * Reads the next line from the underlying input stream.
+     *
+     * @return next line, or {@code null} if the end of the stream was reached
+     * @throws IOException if any error occurs while reading the underlying input stream
+     */
+    public BatchPayloadLine next() throws IOException {
         String currentLine = readLine();
-        if (currentLine != null) {
+        if (currentLine == null) {
+            return null;
+        }
+
+        if (counter == 0) {
             currentBoundary = currentLine.trim();
-            int counter = 1;
-            result.add(new BatchPayloadLine(currentLine, counter++));
+        }
+        return new BatchPayloadLine(currentLine, ++counter);
+    }
 
-            while ((currentLine = readLine()) != null) {
-                result.add(new BatchPayloadLine(currentLine, counter++));
-            }
+    public List<BatchPayloadLine> read() throws IOException {
+        List<BatchPayloadLine> result = new ArrayList<>();
+
+        BatchPayloadLine currentLine;
+        while ((currentLine = next()) != null) {
+            result.add(currentLine);
         }
 
         return result;
@@ -25,6 +25,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -69,46 +70,6 @@ public final class BatchPayloadParser {
         }
     }
 
-    private static List<List<BatchPayloadLine>> split(final List<BatchPayloadLine> lines, final String boundary) {
-        List<List<BatchPayloadLine>> messageParts = new ArrayList<>();
-        List<BatchPayloadLine> currentPart = new ArrayList<>();
-        boolean isEndReached = false;
-
-        String quotedBoundary = Pattern.quote(boundary);
-        Pattern boundaryDelimiterPattern = Pattern.compile("--" + quotedBoundary + "--\\s*");
-        Pattern boundaryPattern = Pattern.compile("--" + quotedBoundary + "\\s*");
-
-        for (BatchPayloadLine line : lines) {
-            if (boundaryDelimiterPattern.matcher(line.toString()).matches()) {
-                removeEndingCRLFFromList(currentPart);
-                messageParts.add(currentPart);
-                isEndReached = true;
-            } else if (boundaryPattern.matcher(line.toString()).matches()) {
-                removeEndingCRLFFromList(currentPart);
-                messageParts.add(currentPart);
-                currentPart = new ArrayList<>();
-            } else {
-                currentPart.add(line);
-            }
-
-            if (isEndReached) {
-                break;
-            }
-        }
-
-        // Remove preamble
-        if (!messageParts.isEmpty()) {
-            messageParts.remove(0);
-        }
-
-        if (!isEndReached) {
-            int lineNumber = lines.isEmpty() ? 0 : lines.get(0).getLineNumber();
-            throw new IllegalArgumentException("Missing close boundary delimiter around line " + lineNumber);
-        }
-
-        return messageParts;
-    }
-
     private static void consumeHeaders(final List<BatchPayloadLine> bodyPart, final BatchItem item) {
         Map<String, List<Object>> headers = new HashMap<>();
 
@@ -178,28 +139,78 @@ public final class BatchPayloadParser {
         }
     }
 
-    public static <T extends BatchItem> List<T> parse(
+    private static <T extends BatchItem> T toItem(final List<BatchPayloadLine> bodyPart, final T template) {
+        LOG.debug("Body part:\n{}", bodyPart);
+
+        T item = SerializationUtils.clone(template);
+
+        consumeHeaders(bodyPart, item);
+        item.setContent(bodyPart.stream().map(BatchPayloadLine::toString).collect(Collectors.joining()));
+
+        return item;
+    }
+
+    /**
+     * Parses the given multipart/mixed input stream incrementally: each item is provided to the given consumer as
+     * soon as the matching body part is read, hence without holding the whole payload in memory.
+     *
+     * @param <T> batch item type
+     * @param in multipart/mixed input stream
+     * @param multipartMixed multipart/mixed media type, with boundary
+     * @param template batch item template
+     * @param consumer batch item consumer
+     * @throws IOException if any error occurs while reading the input stream
+     */
+    public static <T extends BatchItem> void parse(
             final InputStream in,
             final MediaType multipartMixed,
-            final T template) throws IOException {
+            final T template,
+            final Consumer<T> consumer) throws IOException {
+
+        String quotedBoundary = Pattern.quote(multipartMixed.getParameters().get(RESTHeaders.BOUNDARY_PARAMETER));
+        Pattern boundaryDelimiterPattern = Pattern.compile("--" + quotedBoundary + "--\\s*");
+        Pattern boundaryPattern = Pattern.compile("--" + quotedBoundary + "\\s*");
+
+        List<BatchPayloadLine> currentPart = new ArrayList<>();
+        // the first part is the preamble, to be skipped
+        boolean isPreamble = true;
+        boolean isEndReached = false;
+        int firstLineNumber = 0;
 
-        List<BatchPayloadLine> lines;
         try (BatchPayloadLineReader lineReader = new BatchPayloadLineReader(in, multipartMixed)) {
-            lines = lineReader.read();
-        }
+            BatchPayloadLine line;
+            while (!isEndReached && (line = lineReader.next()) != null) {
+                if (firstLineNumber == 0) {
+                    firstLineNumber = line.getLineNumber();
+                }
 
-        return split(lines, multipartMixed.getParameters().get(RESTHeaders.BOUNDARY_PARAMETER)).stream().
-                map(bodyPart -> {
-                    LOG.debug("Body part:\n{}", bodyPart);
+                isEndReached = boundaryDelimiterPattern.matcher(line.toString()).matches();
+                if (isEndReached || boundaryPattern.matcher(line.toString()).matches()) {
+                    removeEndingCRLFFromList(currentPart);
+                    if (!isPreamble) {
+                        consumer.accept(toItem(currentPart, template));
+                    }
+                    isPreamble = false;
+                    currentPart = new ArrayList<>();
+                } else {
+                    currentPart.add(line);
+                }
+            }
+        }
 
-                    T item = SerializationUtils.clone(template);
+        if (!isEndReached) {
+            throw new IllegalArgumentException("Missing close boundary delimiter around line " + firstLineNumber);
+        }
+    }
 
-                    consumeHeaders(bodyPart, item);
-                    item.setContent(
-                            bodyPart.stream().map(BatchPayloadLine::toString).collect(Collectors.joining()));
+    public static <T extends BatchItem> List<T> parse(
+            final InputStream in,
+            final MediaType multipartMixed,
+            final T template) throws IOException {
 
-                    return item;
-                }).collect(Collectors.toList());
+        List<T> items = new ArrayList<>();
+        parse(in, multipartMixed, template, items::add);
+        return items;
     }
 
     private BatchPayloadParser() {
@@ -21,6 +21,12 @@ package org.apache.syncope.common.rest.api.beans;
 import io.swagger.v3.oas.annotations.ExternalDocumentation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.QueryParam;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -44,6 +50,29 @@ public class AnyQuery extends AbstractQuery {
             return this;
         }
 
+        public Builder exactCount(final boolean exactCount) {
+            getInstance().setExactCount(exactCount);
+            return this;
+        }
+
+        public Builder fields(final String... fields) {
+            if (fields != null) {
+                Set<String> current = Optional.ofNullable(getInstance().getFields()).orElseGet(() -> new HashSet<>());
+                current.addAll(Stream.of(fields).collect(Collectors.toSet()));
+                getInstance().setFields(current);
+            }
+            return this;
+        }
+
+        public Builder fields(final Collection<String> fields) {
+            if (fields != null) {
+                Set<String> current = Optional.ofNullable(getInstance().getFields()).orElseGet(() -> new HashSet<>());
+                current.addAll(fields);
+                getInstance().setFields(current);
+            }
+            return this;
+        }
+
         public Builder realm(final String realm) {
             getInstance().setRealm(realm);
             return this;
@@ -60,6 +89,10 @@ public class AnyQuery extends AbstractQuery {
 
     private Boolean details;
 
+    private Boolean exactCount;
+
+    private Set<String> fields;
+
     private String fiql;
 
     @Parameter(name = JAXRSService.PARAM_REALM, description = "realms define a hierarchical security domain tree, "
@@ -91,6 +124,33 @@ public class AnyQuery extends AbstractQuery {
         this.details = details;
     }
 
+    @Parameter(name = JAXRSService.PARAM_EXACT_COUNT, description = "whether the total number of matching entities "
+            + "is to be computed; if false, the reported total is only good enough to tell whether a further page "
+            + "might be available, thus saving the cost of counting", schema =
+            @Schema(implementation = Boolean.class))
+    public Boolean getExactCount() {
+        return exactCount == null ? Boolean.TRUE : exactCount;
+    }
+
+    @QueryParam(JAXRSService.PARAM_EXACT_COUNT)
+    @DefaultValue("true")
+    public void setExactCount(final Boolean exactCount) {
+        this.exactCount = exactCount;
+    }
+
+    @Parameter(name = JAXRSService.PARAM_FIELDS, description = "names of the fields and schemas to be included in "
+            + "the returned objects; anything not requested is neither loaded nor computed, thus saving the related "
+            + "cost; if not provided, all fields and schemas are included", schema =
+            @Schema(implementation = String.class))
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    @QueryParam(JAXRSService.PARAM_FIELDS)
+    public void setFields(final Set<String> fields) {
+        this.fields = fields;
+    }
+
     public String getFiql() {
         return fiql;
     }
@@ -122,6 +182,8 @@ public class AnyQuery extends AbstractQuery {
                 appendSuper(super.equals(obj)).
                 append(realm, other.realm).
                 append(details, other.details).
+                append(exactCount, other.exactCount).
+                append(fields, other.fields).
                 append(fiql, other.fiql).
                 build();
     }
@@ -132,6 +194,8 @@ public class AnyQuery extends AbstractQuery {
                 appendSuper(super.hashCode()).
                 append(realm).
                 append(details).
+                append(exactCount).
+                append(fields).
                 append(fiql).
                 build();
     }
@@ -42,6 +42,10 @@ public interface JAXRSService {
 
     String PARAM_DETAILS = "details";
 
+    String PARAM_EXACT_COUNT = "exactCount";
+
+    String PARAM_FIELDS = "fields";
+
     String PARAM_CONNID_PAGED_RESULTS_COOKIE = "connIdPagedResultsCookie";
 
     String PARAM_MAX = "max";
@@ -19,8 +19,10 @@
 package org.apache.syncope.core.logic;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeClientException;
@@ -197,12 +199,63 @@ public abstract class AbstractAnyLogic<TO extends AnyTO, P extends AnyPatch> ext
 
     public abstract TO read(String key);
 
+    /**
+     * Returns the last change date of the given entity, after performing the same security checks as
+     * {@link #read(java.lang.String)}, but without building the whole transfer object.
+     *
+     * @param key entity key
+     * @return last change date, or creation date if never changed
+     */
+    public abstract Date findLastChange(String key);
+
     public abstract Pair<Integer, List<TO>> search(
             SearchCond searchCond,
             int page, int size, List<OrderByClause> orderBy,
             String realm,
             boolean details);
 
+    /**
+     * Searches as {@link #search(SearchCond, int, int, List, String, boolean)}, optionally skipping the exact count
+     * of matching entities and limiting the fields and schemas populated in the returned objects.
+     *
+     * @param searchCond search condition
+     * @param page search result page
+     * @param size search result page size
+     * @param orderBy ordering clauses
+     * @param realm base realm
+     * @param details whether details shall be included in the returned objects
+     * @param exactCount if {@code false}, the returned count is only an estimate, good enough to tell whether a
+     * further page might be available
+     * @param fields names of the fields and schemas to populate in the returned objects, {@code null} meaning all
+     * of them; what is not requested is neither loaded nor computed
+     * @return (possibly estimated) count and matching objects in the given page
+     */
+    public abstract Pair<Integer, List<TO>> search(
+            SearchCond searchCond,
+            int page, int size, List<OrderByClause> orderBy,
+            String realm,
+            boolean details,
+            boolean exactCount,
+            Set<String> fields);
+
+    /**
+     * Estimates the total count of matching entities out of the current page, without querying for the actual value:
+     * when the current page is full, one more entity is assumed to be available.
+     *
+     * @param page search result page
+     * @param size search result page size
+     * @param found number of entities found in the current page
+     * @return estimated count
+     */
+    protected static int estimateCount(final int page, final int size, final int found) {
+        if (size <= 0) {
+            return found;
+        }
+
+        int offset = size * (page <= 0 ? 0 : page - 1);
+        return offset + found + (found == size ? 1 : 0);
+    }
+
     public abstract ProvisioningResult<TO> update(P anyPatch, boolean nullPriorityAsync);
 
     public abstract ProvisioningResult<TO> delete(String key, boolean nullPriorityAsync);
@@ -20,6 +20,7 @@ package org.apache.syncope.core.logic;
 
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -78,6 +79,12 @@ public class AnyObjectLogic extends AbstractAnyLogic<AnyObjectTO, AnyObjectPatch
         return binder.getAnyObjectTO(key);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Date findLastChange(final String key) {
+        return anyObjectDAO.authFind(key).getLastChangeDate();
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Pair<Integer, List<AnyObjectTO>> search(
@@ -88,6 +95,21 @@ public class AnyObjectLogic extends AbstractAnyLogic<AnyObjectTO, AnyObjectPatch
             final String realm,
             final boolean details) {
 
+        return search(searchCond, page, size, orderBy, realm, details, true, null);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Pair<Integer, List<AnyObjectTO>> search(
+            final SearchCond searchCond,
+            final int page,
+            final int size,
+            final List<OrderByClause> orderBy,
+            final String realm,
+            final boolean details,
+            final boolean exactCount,
+            final Set<String> fields) {
+
         if (searchCond.hasAnyTypeCond() == null) {
             throw new UnsupportedOperationException("Need to specify " + AnyType.class.getSimpleName());
         }
@@ -96,15 +118,20 @@ public class AnyObjectLogic extends AbstractAnyLogic<AnyObjectTO, AnyObjectPatch
                 AuthContextUtils.getAuthorizations().get(AnyEntitlement.SEARCH.getFor(searchCond.hasAnyTypeCond())),
                 realm);
 
-        int count = searchDAO.count(authRealms, searchCond, AnyTypeKind.ANY_OBJECT);
-
-        List<AnyObject> matching = searchDAO.search(
-                authRealms, searchCond, page, size, orderBy, AnyTypeKind.ANY_OBJECT);
-        List<AnyObjectTO> result = matching.stream().
-                map(anyObject -> binder.getAnyObjectTO(anyObject, details)).
+        Pair<Integer, List<AnyObject>> matching;
+        if (exactCount) {
+            matching = searchDAO.searchAndCount(
+                    authRealms, searchCond, page, size, orderBy, AnyTypeKind.ANY_OBJECT);
+        } else {
+            List<AnyObject> found = searchDAO.search(
+                    authRealms, searchCond, page, size, orderBy, AnyTypeKind.ANY_OBJECT);
+            matching = Pair.of(estimateCount(page, size, found.size()), found);
+        }
+        List<AnyObjectTO> result = matching.getRight().stream().
+                map(anyObject -> binder.getAnyObjectTO(anyObject, details, fields)).
                 collect(Collectors.toList());
 
-        return Pair.of(count, result);
+        return Pair.of(matching.getLeft(), result);
     }
 
     protected Set<String> groups(final AnyObjectTO anyObjectTO) {
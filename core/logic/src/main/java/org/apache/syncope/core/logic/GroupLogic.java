@@ -127,6 +127,13 @@ public class GroupLogic extends AbstractAnyLogic<GroupTO, GroupPatch> {
         return binder.getGroupTO(key);
     }
 
+    @PreAuthorize("hasRole('" + StandardEntitlement.GROUP_READ + "')")
+    @Transactional(readOnly = true)
+    @Override
+    public Date findLastChange(final String key) {
+        return groupDAO.authFind(key).getLastChangeDate();
+    }
+
     @PreAuthorize("isAuthenticated() and not(hasRole('" + StandardEntitlement.ANONYMOUS + "'))")
     @Transactional(readOnly = true)
     public List<GroupTO> own() {
@@ -149,20 +156,39 @@ public class GroupLogic extends AbstractAnyLogic<GroupTO, GroupPatch> {
             final String realm,
             final boolean details) {
 
+        return search(searchCond, page, size, orderBy, realm, details, true, null);
+    }
+
+    @PreAuthorize("hasRole('" + StandardEntitlement.GROUP_SEARCH + "')")
+    @Transactional(readOnly = true)
+    @Override
+    public Pair<Integer, List<GroupTO>> search(
+            final SearchCond searchCond,
+            final int page,
+            final int size,
+            final List<OrderByClause> orderBy,
+            final String realm,
+            final boolean details,
+            final boolean exactCount,
+            final Set<String> fields) {
+
         Set<String> authRealms = RealmUtils.getEffective(
                 AuthContextUtils.getAuthorizations().get(StandardEntitlement.GROUP_SEARCH), realm);
 
         SearchCond effectiveCond = searchCond == null ? groupDAO.getAllMatchingCond() : searchCond;
 
-        int count = searchDAO.count(authRealms, effectiveCond, AnyTypeKind.GROUP);
-
-        List<Group> matching = searchDAO.search(
-                authRealms, effectiveCond, page, size, orderBy, AnyTypeKind.GROUP);
-        List<GroupTO> result = matching.stream().
-                map(group -> binder.getGroupTO(group, details)).
+        Pair<Integer, List<Group>> matching;
+        if (exactCount) {
+            matching = searchDAO.searchAndCount(authRealms, effectiveCond, page, size, orderBy, AnyTypeKind.GROUP);
+        } else {
+            List<Group> found = searchDAO.search(authRealms, effectiveCond, page, size, orderBy, AnyTypeKind.GROUP);
+            matching = Pair.of(estimateCount(page, size, found.size()), found);
+        }
+        List<GroupTO> result = matching.getRight().stream().
+                map(group -> binder.getGroupTO(group, details, fields)).
                 collect(Collectors.toList());
 
-        return Pair.of(count, result);
+        return Pair.of(matching.getLeft(), result);
     }
 
     @PreAuthorize("hasRole('" + StandardEntitlement.GROUP_CREATE + "')")
@@ -36,6 +36,7 @@ import org.apache.syncope.common.lib.types.ClientExceptionType;
 import org.apache.syncope.common.lib.types.StandardEntitlement;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
+import org.apache.syncope.core.persistence.api.dao.PullFingerprintDAO;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.resource.MappingItem;
 import org.apache.syncope.core.provisioning.api.Connector;
@@ -108,6 +109,9 @@ public class ResourceLogic extends AbstractTransactionalLogic<ResourceTO> {
     @Autowired
     private AnyUtilsFactory anyUtilsFactory;
 
+    @Autowired
+    private PullFingerprintDAO pullFingerprintDAO;
+
     protected void securityChecks(final Set<String> effectiveRealms, final String realm, final String key) {
         boolean authorized = effectiveRealms.stream().anyMatch(ownedRealm -> realm.startsWith(ownedRealm));
         if (!authorized) {
@@ -154,7 +158,11 @@ public class ResourceLogic extends AbstractTransactionalLogic<ResourceTO> {
                 resource.getConnector().getAdminRealm().getFullPath());
         securityChecks(effectiveRealms, resource.getConnector().getAdminRealm().getFullPath(), resource.getKey());
 
-        return binder.getResourceTO(resourceDAO.save(binder.update(resource, resourceTO)));
+        resource = resourceDAO.save(binder.update(resource, resourceTO));
+        // mapping or pull policy might have changed: remote objects shall be fully processed again
+        pullFingerprintDAO.deleteByResource(resource.getKey());
+
+        return binder.getResourceTO(resource);
     }
 
     @PreAuthorize("hasRole('" + StandardEntitlement.RESOURCE_UPDATE + "')")
@@ -247,6 +255,7 @@ public class ResourceLogic extends AbstractTransactionalLogic<ResourceTO> {
 
         ResourceTO resourceToDelete = binder.getResourceTO(resource);
 
+        pullFingerprintDAO.deleteByResource(key);
         resourceDAO.delete(key);
 
         return resourceToDelete;
@@ -492,20 +492,18 @@ public class SyncopeLogic extends AbstractLogic<EntityTO> {
             searchCond = SearchCond.getLeaf(assignableCond);
         }
 
-        int count = searchDAO.count(SyncopeConstants.FULL_ADMIN_REALMS, searchCond, AnyTypeKind.GROUP);
-
         OrderByClause orderByClause = new OrderByClause();
         orderByClause.setField("name");
         orderByClause.setDirection(OrderByClause.Direction.ASC);
-        List<Group> matching = searchDAO.search(
+        Pair<Integer, List<Group>> matching = searchDAO.searchAndCount(
                 SyncopeConstants.FULL_ADMIN_REALMS,
                 searchCond,
                 page, size,
                 Collections.singletonList(orderByClause), AnyTypeKind.GROUP);
-        List<GroupTO> result = matching.stream().
+        List<GroupTO> result = matching.getRight().stream().
                 map(group -> groupDataBinder.getGroupTO(group, false)).collect(Collectors.toList());
 
-        return Pair.of(count, result);
+        return Pair.of(matching.getLeft(), result);
     }
 
     @PreAuthorize("isAuthenticated()")
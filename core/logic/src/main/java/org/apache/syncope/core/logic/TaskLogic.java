@@ -63,6 +63,7 @@ import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecu
 import org.apache.syncope.core.persistence.api.dao.ConfDAO;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.dao.NotificationDAO;
+import org.apache.syncope.core.persistence.api.dao.PullFingerprintDAO;
 import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
 import org.apache.syncope.core.provisioning.api.notification.NotificationJobDelegate;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
@@ -95,6 +96,9 @@ public class TaskLogic extends AbstractExecutableLogic<TaskTO> {
     @Autowired
     private NotificationDAO notificationDAO;
 
+    @Autowired
+    private PullFingerprintDAO pullFingerprintDAO;
+
     @Autowired
     private TaskDataBinder binder;
     
@@ -151,6 +155,10 @@ public class TaskLogic extends AbstractExecutableLogic<TaskTO> {
 
         binder.updateSchedTask(task, taskTO, taskUtils);
         task = taskDAO.save(task);
+        if (TaskType.PULL == taskUtils.getType()) {
+            // pull configuration might have changed: remote objects shall be fully processed again
+            pullFingerprintDAO.deleteByPullTask(task.getKey());
+        }
 
         try {
             jobManager.register(
@@ -328,6 +336,9 @@ public class TaskLogic extends AbstractExecutableLogic<TaskTO> {
 
             jobManager.unregister(task);
         }
+        if (TaskType.PULL == taskUtils.getType()) {
+            pullFingerprintDAO.deleteByPullTask(task.getKey());
+        }
 
         taskDAO.delete(task);
         return taskToDelete;
@@ -21,6 +21,7 @@ package org.apache.syncope.core.logic;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -120,6 +121,13 @@ public class UserLogic extends AbstractAnyLogic<UserTO, UserPatch> {
         return binder.getUserTO(key);
     }
 
+    @PreAuthorize("hasRole('" + StandardEntitlement.USER_READ + "')")
+    @Transactional(readOnly = true)
+    @Override
+    public Date findLastChange(final String key) {
+        return userDAO.authFind(key).getLastChangeDate();
+    }
+
     @PreAuthorize("hasRole('" + StandardEntitlement.USER_SEARCH + "')")
     @Transactional(readOnly = true)
     @Override
@@ -131,19 +139,39 @@ public class UserLogic extends AbstractAnyLogic<UserTO, UserPatch> {
             final String realm,
             final boolean details) {
 
+        return search(searchCond, page, size, orderBy, realm, details, true, null);
+    }
+
+    @PreAuthorize("hasRole('" + StandardEntitlement.USER_SEARCH + "')")
+    @Transactional(readOnly = true)
+    @Override
+    public Pair<Integer, List<UserTO>> search(
+            final SearchCond searchCond,
+            final int page,
+            final int size,
+            final List<OrderByClause> orderBy,
+            final String realm,
+            final boolean details,
+            final boolean exactCount,
+            final Set<String> fields) {
+
         Set<String> authRealms = RealmUtils.getEffective(
                 AuthContextUtils.getAuthorizations().get(StandardEntitlement.USER_SEARCH), realm);
 
         SearchCond effectiveCond = searchCond == null ? userDAO.getAllMatchingCond() : searchCond;
 
-        int count = searchDAO.count(authRealms, effectiveCond, AnyTypeKind.USER);
-
-        List<User> matching = searchDAO.search(authRealms, effectiveCond, page, size, orderBy, AnyTypeKind.USER);
-        List<UserTO> result = matching.stream().
-                map(user -> binder.getUserTO(user, details)).
+        Pair<Integer, List<User>> matching;
+        if (exactCount) {
+            matching = searchDAO.searchAndCount(authRealms, effectiveCond, page, size, orderBy, AnyTypeKind.USER);
+        } else {
+            List<User> found = searchDAO.search(authRealms, effectiveCond, page, size, orderBy, AnyTypeKind.USER);
+            matching = Pair.of(estimateCount(page, size, found.size()), found);
+        }
+        List<UserTO> result = matching.getRight().stream().
+                map(user -> binder.getUserTO(user, details, fields)).
                 collect(Collectors.toList());
 
-        return Pair.of(count, result);
+        return Pair.of(matching.getLeft(), result);
     }
 
     @PreAuthorize("isAnonymous() or hasRole('" + StandardEntitlement.ANONYMOUS + "')")
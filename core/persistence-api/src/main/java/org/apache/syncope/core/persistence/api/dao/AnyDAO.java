@@ -41,6 +41,16 @@ public interface AnyDAO<A extends Any<?>> extends DAO<A> {
 
     Date findLastChange(String key);
 
+    /**
+     * Moves the last change date of the given any object to now, provided that it still matches the given value: as
+     * such update is atomic, at most one caller can claim a given last change date.
+     *
+     * @param key any object key
+     * @param lastChange expected last change date, or creation date if never changed
+     * @return whether the last change date matched, and was then moved
+     */
+    boolean claimLastChange(String key, Date lastChange);
+
     A authFind(String key);
 
     A find(String key);
@@ -56,6 +56,8 @@ public interface AnyObjectDAO extends AnyDAO<AnyObject> {
 
     AnyObject findByName(String name);
 
+    List<AnyObject> findByNames(Collection<String> names);
+
     AMembership findMembership(String key);
 
     List<Group> findDynGroups(String key);
@@ -18,7 +18,9 @@
  */
 package org.apache.syncope.core.persistence.api.dao;
 
+import java.util.List;
 import org.apache.syncope.core.persistence.api.entity.Batch;
+import org.apache.syncope.core.persistence.api.entity.BatchResult;
 
 public interface BatchDAO extends DAO<Batch> {
 
@@ -28,5 +30,17 @@ public interface BatchDAO extends DAO<Batch> {
 
     void delete(String key);
 
+    BatchResult save(BatchResult result);
+
+    /**
+     * Finds the results of the given batch, sorted by the index of the matching batch request items.
+     *
+     * @param key batch key
+     * @param page search result page
+     * @param itemsPerPage items per search result page
+     * @return results of the given batch, sorted by item index
+     */
+    List<BatchResult> findResults(String key, int page, int itemsPerPage);
+
     int deleteExpired();
 }
@@ -47,6 +47,8 @@ public interface GroupDAO extends AnyDAO<Group> {
 
     Group findByName(String name);
 
+    List<Group> findByNames(Collection<String> names);
+
     List<String> findKeysByNamePattern(String pattern);
 
     List<Group> findOwnedByUser(String userKey);
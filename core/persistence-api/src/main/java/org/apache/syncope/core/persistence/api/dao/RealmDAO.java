@@ -53,6 +53,23 @@ public interface RealmDAO extends DAO<Realm> {
 
     List<Realm> findDescendants(Realm realm);
 
+    /**
+     * Finds the keys of the realm with the given full path and of all its descendants.
+     *
+     * @param base full path of the base realm
+     * @return keys of the base realm and of all its descendants; empty if no realm exists for the given full path
+     */
+    List<String> findDescendantKeys(String base);
+
+    /**
+     * Tells whether the realm with the given full path is the base realm or one of its descendants.
+     *
+     * @param fullPath full path of the realm to check
+     * @param base full path of the base realm
+     * @return whether the given realm is, or is under, the base realm; false if any of the two does not exist
+     */
+    boolean isDescendant(String fullPath, String base);
+
     List<Realm> findAll();
 
     Realm save(Realm realm);
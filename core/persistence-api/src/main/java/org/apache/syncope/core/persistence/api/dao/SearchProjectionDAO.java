@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.dao;
+
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
+
+/**
+ * Maintains the flat search projection tables, holding one row per user, group or any object and one column per
+ * projected plain schema, so that searches involving such schemas can avoid going through the attribute views.
+ */
+public interface SearchProjectionDAO extends DAO<Any<?>> {
+
+    /**
+     * Returns the name of the projection table column holding values for the given schema.
+     *
+     * @param schema projected plain schema
+     * @return projection table column name
+     */
+    String getColumn(PlainSchema schema);
+
+    /**
+     * Adds (if not already present) and indexes the column for the given schema to all projection tables.
+     *
+     * @param schema projected plain schema
+     */
+    void addColumn(PlainSchema schema);
+
+    /**
+     * Rewrites the projection row of the given user, group or any object with its current values; nothing is
+     * written when no schema is projected or when the projection row already holds such values.
+     *
+     * @param any user, group or any object
+     */
+    void save(Any<?> any);
+
+    /**
+     * Removes the projection row of the given user, group or any object.
+     *
+     * @param any user, group or any object
+     */
+    void delete(Any<?> any);
+}
@@ -51,6 +51,17 @@ public interface TaskDAO extends DAO<Task> {
 
     <T extends Task> List<T> findToExec(TaskType type);
 
+    /**
+     * Finds tasks to be executed, in pages: tasks are sorted by key, descending.
+     *
+     * @param <T> actual task type
+     * @param type task type
+     * @param lastKey key of the last task in the previous page, or {@code null} for the first page
+     * @param itemsPerPage maximum number of tasks to return; non-positive values mean no limit
+     * @return tasks to be executed, sorted by key, following the given key
+     */
+    <T extends Task> List<T> findToExec(TaskType type, String lastKey, int itemsPerPage);
+
     <T extends Task> List<T> findAll(TaskType type);
 
     <T extends Task> List<T> findAll(
@@ -48,12 +48,32 @@ public interface UserDAO extends AnyDAO<User> {
 
     Optional<String> findUsername(String key);
 
+    /**
+     * Finds the usernames of the given users, without loading them.
+     *
+     * @param keys user keys
+     * @return usernames, by user key
+     */
+    Map<String, String> findUsernames(Collection<String> keys);
+
+    /**
+     * Finds the first value of the given String plain attribute - not related to any membership - for the given
+     * users, without loading them.
+     *
+     * @param schema String plain schema key
+     * @param keys user keys
+     * @return attribute values, by user key; users without any value for the given attribute are not included
+     */
+    Map<String, String> findPlainAttrStringValues(String schema, Collection<String> keys);
+
     Map<String, Integer> countByRealm();
 
     Map<String, Integer> countByStatus();
 
     User findByUsername(String username);
 
+    List<User> findByUsernames(Collection<String> usernames);
+
     User findByToken(String token);
 
     List<User> findBySecurityQuestion(SecurityQuestion securityQuestion);
@@ -80,6 +100,8 @@ public interface UserDAO extends AnyDAO<User> {
 
     List<LinkedAccount> findLinkedAccounts(String userKey);
 
+    List<LinkedAccount> findLinkedAccounts(ExternalResource resource, Collection<String> connObjectKeyValues);
+
     List<LinkedAccount> findLinkedAccountsByResource(ExternalResource resource);
 
     List<LinkedAccount> findLinkedAccountsByPrivilege(Privilege privilege);
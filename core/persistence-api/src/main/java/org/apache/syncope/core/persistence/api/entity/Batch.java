@@ -26,7 +26,15 @@ public interface Batch extends ProvidedKeyEntity {
 
     void setExpiryTime(Date expiryTime);
 
-    String getResults();
+    boolean isCompleted();
 
-    void setResults(String results);
+    void setCompleted(boolean completed);
+
+    Integer getTotal();
+
+    void setTotal(Integer total);
+
+    Integer getProcessed();
+
+    void setProcessed(Integer processed);
 }
@@ -37,6 +37,20 @@ public interface PlainSchema extends Schema {
 
     Implementation getValidator();
 
+    boolean isProjected();
+
+    void setProjected(boolean projected);
+
+    /**
+     * Whether values for this schema are known to be fully available in the search projection tables, hence
+     * can be used by search; this is reset whenever projection is enabled and set again once rebuilt.
+     *
+     * @return whether search can rely on projected values for this schema
+     */
+    boolean isProjectionReady();
+
+    void setProjectionReady(boolean projectionReady);
+
     void setCipherAlgorithm(CipherAlgorithm cipherAlgorithm);
 
     void setConversionPattern(String conversionPattern);
@@ -18,7 +18,11 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import org.apache.commons.lang3.tuple.Pair;
@@ -71,6 +75,16 @@ public class JPAJSONUserDAO extends JPAUserDAO {
         return anyDAO().findByDerAttrValue(JPAJSONUser.TABLE, anyUtils(), schema, value, ignoreCaseMatch);
     }
 
+    @Override
+    public Map<String, String> findPlainAttrStringValues(final String schema, final Collection<String> keys) {
+        // plain attributes are stored as JSON along with the owning user, hence reading them means loading users
+        Map<String, String> values = new HashMap<>();
+        findByKeys(new ArrayList<>(keys)).forEach(user -> user.getPlainAttr(schema).
+                map(attr -> attr.getValuesAsStrings().isEmpty() ? null : attr.getValuesAsStrings().get(0)).
+                ifPresent(value -> values.put(user.getKey(), value)));
+        return values;
+    }
+
     @Override
     protected Pair<User, Pair<Set<String>, Set<String>>> doSave(final User user) {
         entityManager().flush();
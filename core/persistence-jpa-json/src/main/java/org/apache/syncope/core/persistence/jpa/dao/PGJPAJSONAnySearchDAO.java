@@ -19,7 +19,6 @@
 package org.apache.syncope.core.persistence.jpa.dao;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -28,7 +27,6 @@ import javax.persistence.Query;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
-import org.apache.syncope.common.lib.SyncopeClientException;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
@@ -47,7 +45,6 @@ import org.apache.syncope.core.persistence.api.dao.search.RelationshipTypeCond;
 import org.apache.syncope.core.persistence.api.dao.search.ResourceCond;
 import org.apache.syncope.core.persistence.api.dao.search.RoleCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
-import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
@@ -407,8 +404,8 @@ public class PGJPAJSONAnySearchDAO extends JPAAnySearchDAO {
 
         StringBuilder query = new StringBuilder().append('(');
         if (cond.isFromGroup()) {
-            realmDAO.findDescendants(realm).forEach(current -> query.append("realm_id=?").
-                    append(setParameter(parameters, current.getKey())).append(" OR "));
+            realmDAO.findDescendantKeys(realm.getFullPath()).forEach(current -> query.append("realm_id=?").
+                    append(setParameter(parameters, current)).append(" OR "));
             query.setLength(query.length() - 4);
         } else {
             for (Realm current = realm; current.getParent() != null; current = current.getParent()) {
@@ -628,63 +625,58 @@ public class PGJPAJSONAnySearchDAO extends JPAAnySearchDAO {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    protected <T extends Any<?>> List<T> doSearch(
+    protected Query buildSearchQuery(
             final Set<String> adminRealms,
             final SearchCond cond,
             final int page,
             final int itemsPerPage,
             final List<OrderByClause> orderBy,
-            final AnyTypeKind kind) {
+            final AnyTypeKind kind,
+            final boolean withTotal) {
 
-        try {
-            List<Object> parameters = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
 
-            SearchSupport svs = buildSearchSupport(kind);
+        SearchSupport svs = buildSearchSupport(kind);
 
-            Triple<String, Set<String>, Set<String>> filter = getAdminRealmsFilter(adminRealms, svs, parameters);
+        Triple<String, Set<String>, Set<String>> filter = getAdminRealmsFilter(adminRealms, svs, parameters);
 
-            SearchCond effectiveCond = buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind);
+        SearchCond effectiveCond = buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind);
 
-            // 1. get the query string from the search condition
-            Pair<StringBuilder, Set<String>> queryInfo = getQuery(effectiveCond, parameters, svs);
+        // 1. get the query string from the search condition
+        Pair<StringBuilder, Set<String>> queryInfo = getQuery(effectiveCond, parameters, svs);
 
-            // 2. take into account realms and ordering
-            OrderBySupport obs = parseOrderBy(svs, orderBy);
+        // 2. take into account realms and ordering
+        OrderBySupport obs = parseOrderBy(svs, orderBy);
 
-            StringBuilder queryString = new StringBuilder("SELECT ").append(svs.table().alias).append(".id");
-            obs.items.forEach(item -> queryString.append(',').append(item.select));
+        StringBuilder queryString = new StringBuilder("SELECT ").append(svs.table().alias).append(".id");
+        obs.items.forEach(item -> queryString.append(',').append(item.select));
 
-            buildFromAndWhere(queryString, queryInfo, filter.getLeft(), svs, obs);
+        buildFromAndWhere(queryString, queryInfo, filter.getLeft(), svs, obs);
 
-            LOG.debug("Query: {}, parameters: {}", queryString, parameters);
+        LOG.debug("Query: {}, parameters: {}", queryString, parameters);
 
+        if (withTotal) {
+            wrapWithTotal(queryString, "id", obs);
+        } else {
             queryString.append(buildOrderBy(obs));
+        }
 
-            LOG.debug("Query with auth and order by statements: {}, parameters: {}", queryString, parameters);
-
-            // 3. prepare the search query
-            Query query = entityManager().createNativeQuery(queryString.toString());
-
-            // 4. page starts from 1, while setFirtResult() starts from 0
-            query.setFirstResult(itemsPerPage * (page <= 0 ? 0 : page - 1));
+        LOG.debug("Query with auth and order by statements: {}, parameters: {}", queryString, parameters);
 
-            if (itemsPerPage >= 0) {
-                query.setMaxResults(itemsPerPage);
-            }
+        // 3. prepare the search query
+        Query query = entityManager().createNativeQuery(queryString.toString());
 
-            // 5. populate the search query with parameter values
-            fillWithParameters(query, parameters);
+        // 4. page starts from 1, while setFirtResult() starts from 0
+        query.setFirstResult(itemsPerPage * (page <= 0 ? 0 : page - 1));
 
-            // 6. Prepare the result (avoiding duplicates)
-            return buildResult(query.getResultList(), kind);
-        } catch (SyncopeClientException e) {
-            throw e;
-        } catch (Exception e) {
-            LOG.error("While searching for {}", kind, e);
+        if (itemsPerPage >= 0) {
+            query.setMaxResults(itemsPerPage);
         }
 
-        return Collections.emptyList();
+        // 5. populate the search query with parameter values
+        fillWithParameters(query, parameters);
+
+        return query;
     }
 
     @Override
@@ -75,6 +75,9 @@ import org.apache.syncope.core.persistence.api.content.ContentExporter;
 import org.apache.syncope.core.persistence.api.dao.LoggerDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.jpa.entity.JPAAccessToken;
+import org.apache.syncope.core.persistence.jpa.entity.JPABatchResult;
+import org.apache.syncope.core.persistence.jpa.entity.JPAPlainSchema;
+import org.apache.syncope.core.persistence.jpa.entity.JPAPullFingerprint;
 import org.apache.syncope.core.persistence.jpa.entity.JPARealm;
 import org.apache.syncope.core.persistence.jpa.entity.JPAReportExec;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAMembership;
@@ -90,6 +93,7 @@ import org.apache.syncope.core.persistence.jpa.entity.user.JPAUPlainAttrUniqueVa
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUPlainAttrValue;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAURelationship;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
+import org.apache.syncope.core.persistence.jpa.openjpa.JDBCRemoteCommitProvider;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.datasource.DataSourceUtils;
@@ -109,7 +113,9 @@ public class XMLContentExporter extends AbstractContentDealer implements Content
         JPATaskExec.TABLE, JPAUser.TABLE, JPAUPlainAttr.TABLE, JPAUPlainAttrValue.TABLE, JPAUPlainAttrUniqueValue.TABLE,
         JPAURelationship.TABLE, JPAUMembership.TABLE,
         JPAAnyObject.TABLE, JPAAPlainAttr.TABLE, JPAAPlainAttrValue.TABLE, JPAAPlainAttrUniqueValue.TABLE,
-        JPAARelationship.TABLE, JPAAMembership.TABLE, JPAAccessToken.TABLE
+        JPAARelationship.TABLE, JPAAMembership.TABLE, JPAAccessToken.TABLE, JPAPullFingerprint.TABLE,
+        JPABatchResult.TABLE, "user_search_projection", "group_search_projection", "anyObject_search_projection",
+        JDBCRemoteCommitProvider.TABLE
     }));
 
     protected static final Map<String, String> TABLES_TO_BE_FILTERED =
@@ -118,6 +124,13 @@ public class XMLContentExporter extends AbstractContentDealer implements Content
     protected static final Map<String, Set<String>> COLUMNS_TO_BE_NULLIFIED =
             Collections.singletonMap("SYNCOPEGROUP", Collections.singleton("USEROWNER_ID"));
 
+    /**
+     * Values to export in place of the actual ones, by upper-case table and column names: as search projection tables
+     * are not exported, search must not rely on them after import, until rebuilt.
+     */
+    protected static final Map<String, Map<String, String>> COLUMNS_TO_BE_RESET = Collections.singletonMap(
+            JPAPlainSchema.TABLE.toUpperCase(), Collections.singletonMap("PROJECTIONREADY", "0"));
+
     @Autowired
     private RealmDAO realmDAO;
 
@@ -356,7 +369,11 @@ public class XMLContentExporter extends AbstractContentDealer implements Content
                     Integer columnType = rsMeta.getColumnType(i + 1);
 
                     // Retrieve value taking care of binary values.
-                    String value = getValues(rs, columnName, columnType);
+                    String value = COLUMNS_TO_BE_RESET.getOrDefault(
+                            tableName.toUpperCase(), Collections.emptyMap()).get(columnName.toUpperCase());
+                    if (value == null) {
+                        value = getValues(rs, columnName, columnType);
+                    }
                     if (value != null && (!COLUMNS_TO_BE_NULLIFIED.containsKey(tableName)
                             || !COLUMNS_TO_BE_NULLIFIED.get(tableName).contains(columnName))) {
 
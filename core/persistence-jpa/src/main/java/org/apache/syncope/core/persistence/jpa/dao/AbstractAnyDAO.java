@@ -44,6 +44,7 @@ import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.SearchProjectionDAO;
 import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
 import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
@@ -85,6 +86,9 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
     @Lazy
     protected DynRealmDAO dynRealmDAO;
 
+    @Autowired
+    protected SearchProjectionDAO searchProjectionDAO;
+
     private AnyUtils anyUtils;
 
     protected abstract AnyUtils init();
@@ -155,6 +159,22 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
         return lastChangeDate == null ? creationDate : lastChangeDate;
     }
 
+    protected boolean claimLastChange(final String key, final String table, final Date lastChange) {
+        Query query = entityManager().createNativeQuery(
+                "UPDATE " + table + " SET lastChangeDate=? WHERE id=? "
+                + "AND (lastChangeDate=? OR (lastChangeDate IS NULL AND creationDate=?))");
+        query.setParameter(1, new Date(), TemporalType.TIMESTAMP);
+        query.setParameter(2, key);
+        query.setParameter(3, lastChange, TemporalType.TIMESTAMP);
+        query.setParameter(4, lastChange, TemporalType.TIMESTAMP);
+
+        boolean claimed = query.executeUpdate() == 1;
+        if (claimed) {
+            entityManager().getEntityManagerFactory().getCache().evict(anyUtils().anyClass(), key);
+        }
+        return claimed;
+    }
+
     protected abstract void securityChecks(A any);
 
     @Transactional(readOnly = true)
@@ -519,7 +539,9 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
 
     @Override
     public A save(final A any) {
-        return entityManager().merge(any);
+        A merged = entityManager().merge(any);
+        searchProjectionDAO.save(merged);
+        return merged;
     }
 
     @Override
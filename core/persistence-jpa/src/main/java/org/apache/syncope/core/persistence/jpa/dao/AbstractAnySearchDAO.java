@@ -142,14 +142,7 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
 
     @Override
     public int count(final Set<String> adminRealms, final SearchCond cond, final AnyTypeKind kind) {
-        if (adminRealms == null || adminRealms.isEmpty()) {
-            LOG.error("No realms provided");
-            return 0;
-        }
-
-        LOG.debug("Search condition:\n{}", cond);
-        if (cond == null || !cond.isValid()) {
-            LOG.error("Invalid search condition:\n{}", cond);
+        if (!isValid(adminRealms, cond)) {
             return 0;
         }
 
@@ -322,11 +315,15 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
         return memberKey;
     }
 
-    @SuppressWarnings("unchecked")
-    protected <T extends Any<?>> List<T> buildResult(final List<Object> raw, final AnyTypeKind kind) {
-        List<String> keys = raw.stream().
+    protected static List<String> toKeys(final List<Object> raw) {
+        return raw.stream().
                 map(key -> key instanceof Object[] ? (String) ((Object[]) key)[0] : ((String) key)).
                 collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T extends Any<?>> List<T> buildResult(final List<Object> raw, final AnyTypeKind kind) {
+        List<String> keys = toKeys(raw);
 
         // sort anys according to keys' sorting, as their ordering is same as raw, e.g. the actual sql query results
         List<Any<?>> anys = anyUtilsFactory.getInstance(kind).dao().findByKeys(keys).stream().
@@ -338,6 +335,36 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
         return (List<T>) anys;
     }
 
+    protected List<OrderByClause> effectiveOrderBy(final List<OrderByClause> orderBy, final AnyTypeKind kind) {
+        List<OrderByClause> effectiveOrderBy;
+        if (orderBy.isEmpty()) {
+            OrderByClause keyClause = new OrderByClause();
+            keyClause.setField(kind == AnyTypeKind.USER ? "username" : "name");
+            keyClause.setDirection(OrderByClause.Direction.ASC);
+            effectiveOrderBy = Collections.singletonList(keyClause);
+        } else {
+            effectiveOrderBy = orderBy.stream().
+                    filter(clause -> !ArrayUtils.contains(ORDER_BY_NOT_ALLOWED, clause.getField())).
+                    collect(Collectors.toList());
+        }
+        return effectiveOrderBy;
+    }
+
+    protected boolean isValid(final Set<String> adminRealms, final SearchCond cond) {
+        if (adminRealms == null || adminRealms.isEmpty()) {
+            LOG.error("No realms provided");
+            return false;
+        }
+
+        LOG.debug("Search condition:\n{}", cond);
+        if (cond == null || !cond.isValid()) {
+            LOG.error("Invalid search condition:\n{}", cond);
+            return false;
+        }
+
+        return true;
+    }
+
     @Override
     public <T extends Any<?>> List<T> search(
             final Set<String> adminRealms,
@@ -347,29 +374,95 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
             final List<OrderByClause> orderBy,
             final AnyTypeKind kind) {
 
-        if (adminRealms == null || adminRealms.isEmpty()) {
-            LOG.error("No realms provided");
+        if (!isValid(adminRealms, cond)) {
             return Collections.emptyList();
         }
 
-        LOG.debug("Search condition:\n{}", cond);
-        if (cond == null || !cond.isValid()) {
-            LOG.error("Invalid search condition:\n{}", cond);
+        return doSearch(adminRealms, cond, page, itemsPerPage, effectiveOrderBy(orderBy, kind), kind);
+    }
+
+    /**
+     * Searches for keys only; to be overridden by subclasses able to do so without loading any objects.
+     *
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param cond the search condition
+     * @param page position of the first result, start from 1
+     * @param itemsPerPage number of results per page
+     * @param orderBy list of ordering clauses
+     * @param kind any object
+     * @return the list of keys of any objects matching the given search condition
+     */
+    protected List<String> doSearchKeys(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind) {
+
+        return doSearch(adminRealms, cond, page, itemsPerPage, orderBy, kind).stream().
+                map(Any::getKey).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> searchKeys(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind) {
+
+        if (!isValid(adminRealms, cond)) {
             return Collections.emptyList();
         }
 
-        List<OrderByClause> effectiveOrderBy;
-        if (orderBy.isEmpty()) {
-            OrderByClause keyClause = new OrderByClause();
-            keyClause.setField(kind == AnyTypeKind.USER ? "username" : "name");
-            keyClause.setDirection(OrderByClause.Direction.ASC);
-            effectiveOrderBy = Collections.singletonList(keyClause);
-        } else {
-            effectiveOrderBy = orderBy.stream().
-                    filter(clause -> !ArrayUtils.contains(ORDER_BY_NOT_ALLOWED, clause.getField())).
-                    collect(Collectors.toList());
+        return doSearchKeys(adminRealms, cond, page, itemsPerPage, effectiveOrderBy(orderBy, kind), kind);
+    }
+
+    /**
+     * Counts and searches by running distinct queries; to be overridden by subclasses able to do better.
+     *
+     * @param <T> any
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param cond the search condition
+     * @param page position of the first result, start from 1
+     * @param itemsPerPage number of results per page
+     * @param orderBy list of ordering clauses
+     * @param kind any object
+     * @return size of search result and the list of any objects matching the given search condition
+     */
+    protected <T extends Any<?>> Pair<Integer, List<T>> doSearchAndCount(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind) {
+
+        int count = doCount(adminRealms, cond, kind);
+        List<T> result = doSearch(adminRealms, cond, page, itemsPerPage, orderBy, kind);
+        return Pair.of(count, result);
+    }
+
+    @Override
+    public <T extends Any<?>> Pair<Integer, List<T>> searchAndCount(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind) {
+
+        if (!isValid(adminRealms, cond)) {
+            return Pair.of(0, Collections.emptyList());
+        }
+
+        // only count is actually requested
+        if (itemsPerPage == 0) {
+            return Pair.of(doCount(adminRealms, cond, kind), Collections.emptyList());
         }
 
-        return doSearch(adminRealms, cond, page, itemsPerPage, effectiveOrderBy, kind);
+        return doSearchAndCount(adminRealms, cond, page, itemsPerPage, effectiveOrderBy(orderBy, kind), kind);
     }
 }
@@ -57,7 +57,6 @@ import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.GroupableRelatable;
 import org.apache.syncope.core.persistence.api.entity.PlainAttr;
-import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -236,11 +235,9 @@ public class JPAAnyMatchDAO extends AbstractDAO<Any<?>> implements AnyMatchDAO {
     }
 
     private boolean matches(final Any<?> any, final AssignableCond cond, final boolean not) {
-        Realm realm = realmDAO.findByFullPath(cond.getRealmFullPath());
-        boolean found = realm == null
-                ? false
-                : (cond.isFromGroup() ? realmDAO.findDescendants(realm) : realmDAO.findAncestors(realm)).
-                        stream().anyMatch(item -> item.equals(any.getRealm()));
+        boolean found = cond.isFromGroup()
+                ? realmDAO.isDescendant(any.getRealm().getFullPath(), cond.getRealmFullPath())
+                : realmDAO.isDescendant(cond.getRealmFullPath(), any.getRealm().getFullPath());
         return not ? !found : found;
     }
 
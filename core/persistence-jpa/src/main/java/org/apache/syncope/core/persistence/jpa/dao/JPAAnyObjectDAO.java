@@ -86,6 +86,11 @@ public class JPAAnyObjectDAO extends AbstractAnyDAO<AnyObject> implements AnyObj
         return findLastChange(key, JPAAnyObject.TABLE);
     }
 
+    @Override
+    public boolean claimLastChange(final String key, final Date lastChange) {
+        return claimLastChange(key, JPAAnyObject.TABLE, lastChange);
+    }
+
     @Override
     public Map<AnyType, Integer> countByType() {
         Query query = entityManager().createQuery(
@@ -167,6 +172,20 @@ public class JPAAnyObjectDAO extends AbstractAnyDAO<AnyObject> implements AnyObj
         return result;
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<AnyObject> findByNames(final Collection<String> names) {
+        if (names.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        TypedQuery<AnyObject> query = entityManager().createQuery(
+                "SELECT e FROM " + anyUtils().anyClass().getSimpleName() + " e WHERE e.name IN (:names)",
+                AnyObject.class);
+        query.setParameter("names", names);
+        return query.getResultList();
+    }
+
     @Override
     public AMembership findMembership(final String key) {
         return entityManager().find(JPAAMembership.class, key);
@@ -258,6 +277,7 @@ public class JPAAnyObjectDAO extends AbstractAnyDAO<AnyObject> implements AnyObj
     public void delete(final AnyObject anyObject) {
         groupDAO.removeDynMemberships(anyObject);
         dynRealmDAO.removeDynMemberships(anyObject.getKey());
+        searchProjectionDAO.delete(anyObject);
 
         findARelationships(anyObject).forEach(relationship -> {
             relationship.getLeftEnd().getRelationships().remove(relationship);
@@ -23,8 +23,11 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import javax.persistence.Query;
 import javax.persistence.TemporalType;
@@ -32,12 +35,20 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
+import org.apache.openjpa.jdbc.conf.JDBCConfiguration;
+import org.apache.openjpa.jdbc.sql.DBDictionary;
+import org.apache.openjpa.jdbc.sql.H2Dictionary;
+import org.apache.openjpa.jdbc.sql.OracleDictionary;
+import org.apache.openjpa.jdbc.sql.PostgresDictionary;
+import org.apache.openjpa.jdbc.sql.SQLServerDictionary;
+import org.apache.openjpa.persistence.OpenJPAEntityManagerSPI;
 import org.apache.syncope.common.lib.SyncopeClientException;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
 import org.apache.syncope.common.lib.types.ClientExceptionType;
 import org.apache.syncope.common.rest.api.service.JAXRSService;
+import org.apache.syncope.core.persistence.api.dao.SearchProjectionDAO;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
 import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
 import org.apache.syncope.core.persistence.api.dao.search.MembershipCond;
@@ -59,12 +70,22 @@ import org.apache.syncope.core.persistence.api.entity.DynRealm;
 import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Search engine implementation for users, groups and any objects, based on self-updating SQL views.
  */
 public class JPAAnySearchDAO extends AbstractAnySearchDAO {
 
+    /**
+     * Whether window functions are supported, by domain.
+     */
+    private final Map<String, Boolean> windowFunctionSupported = new ConcurrentHashMap<>();
+
+    @Autowired
+    protected SearchProjectionDAO searchProjectionDAO;
+
     protected String buildAdminRealmsFilter(
             final Set<String> realmKeys,
             final SearchSupport svs,
@@ -89,20 +110,22 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         Set<String> realmKeys = new HashSet<>();
         Set<String> dynRealmKeys = new HashSet<>();
         Set<String> groupOwners = new HashSet<>();
+        AtomicBoolean rootRealm = new AtomicBoolean(false);
 
         adminRealms.forEach(realmPath -> {
             Optional<Pair<String, String>> goRealm = RealmUtils.parseGroupOwnerRealm(realmPath);
             if (goRealm.isPresent()) {
                 groupOwners.add(goRealm.get().getRight());
+            } else if (SyncopeConstants.ROOT_REALM.equals(realmPath)) {
+                rootRealm.set(true);
             } else if (realmPath.startsWith("/")) {
-                Realm realm = realmDAO.findByFullPath(realmPath);
-                if (realm == null) {
+                List<String> descendantKeys = realmDAO.findDescendantKeys(realmPath);
+                if (descendantKeys.isEmpty()) {
                     SyncopeClientException noRealm = SyncopeClientException.build(ClientExceptionType.InvalidRealm);
                     noRealm.getElements().add("Invalid realm specified: " + realmPath);
                     throw noRealm;
                 } else {
-                    realmKeys.addAll(realmDAO.findDescendants(realm).stream().
-                            map(Realm::getKey).collect(Collectors.toSet()));
+                    realmKeys.addAll(descendantKeys);
                 }
             } else {
                 DynRealm dynRealm = dynRealmDAO.find(realmPath);
@@ -113,7 +136,8 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
                 }
             }
         });
-        if (!dynRealmKeys.isEmpty()) {
+        // all realms are under root: no need to list them
+        if (!dynRealmKeys.isEmpty() || rootRealm.get()) {
             realmKeys.clear();
         }
 
@@ -152,6 +176,76 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         return ((Number) countQuery.getSingleResult()).intValue();
     }
 
+    /**
+     * Builds the search query, optionally including the total number of matching entities as last column of each row.
+     *
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param cond the search condition
+     * @param page position of the first result, start from 1
+     * @param itemsPerPage number of results per page
+     * @param orderBy list of ordering clauses
+     * @param kind any object
+     * @param withTotal whether the total number of matching entities shall be included
+     * @return search query
+     */
+    protected Query buildSearchQuery(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind,
+            final boolean withTotal) {
+
+        List<Object> parameters = new ArrayList<>();
+
+        SearchSupport svs = buildSearchSupport(kind);
+
+        Triple<String, Set<String>, Set<String>> filter = getAdminRealmsFilter(adminRealms, svs, parameters);
+
+        // 1. get the query string from the search condition
+        Pair<StringBuilder, Set<String>> queryInfo =
+                getQuery(buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind), parameters, svs);
+
+        StringBuilder queryString = queryInfo.getLeft();
+
+        LOG.debug("Query: {}, parameters: {}", queryString, parameters);
+
+        // 2. take into account realms and ordering
+        OrderBySupport obs = parseOrderBy(svs, orderBy);
+        if (queryString.charAt(0) == '(') {
+            queryString.insert(0, buildSelect(obs));
+        } else {
+            queryString.insert(0, buildSelect(obs).append('('));
+            queryString.append(')');
+        }
+        queryString.
+                append(buildWhere(svs, obs)).
+                append(filter.getLeft());
+        if (withTotal) {
+            wrapWithTotal(queryString, "any_id", obs);
+        } else {
+            queryString.append(buildOrderBy(obs));
+        }
+
+        LOG.debug("Query with auth and order by statements: {}, parameters: {}", queryString, parameters);
+
+        // 3. prepare the search query
+        Query query = entityManager().createNativeQuery(queryString.toString());
+
+        // 4. page starts from 1, while setFirtResult() starts from 0
+        query.setFirstResult(itemsPerPage * (page <= 0 ? 0 : page - 1));
+
+        if (itemsPerPage >= 0) {
+            query.setMaxResults(itemsPerPage);
+        }
+
+        // 5. populate the search query with parameter values
+        fillWithParameters(query, parameters);
+
+        return query;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected <T extends Any<?>> List<T> doSearch(
@@ -163,57 +257,93 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
             final AnyTypeKind kind) {
 
         try {
-            List<Object> parameters = new ArrayList<>();
+            Query query = buildSearchQuery(adminRealms, cond, page, itemsPerPage, orderBy, kind, false);
 
-            SearchSupport svs = buildSearchSupport(kind);
+            // Prepare the result (avoiding duplicates)
+            return buildResult(query.getResultList(), kind);
+        } catch (SyncopeClientException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("While searching for {}", kind, e);
+        }
 
-            Triple<String, Set<String>, Set<String>> filter = getAdminRealmsFilter(adminRealms, svs, parameters);
+        return Collections.emptyList();
+    }
 
-            // 1. get the query string from the search condition
-            Pair<StringBuilder, Set<String>> queryInfo =
-                    getQuery(buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind), parameters, svs);
+    @Override
+    @SuppressWarnings("unchecked")
+    protected List<String> doSearchKeys(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind) {
 
-            StringBuilder queryString = queryInfo.getLeft();
+        try {
+            return toKeys(buildSearchQuery(adminRealms, cond, page, itemsPerPage, orderBy, kind, false).
+                    getResultList());
+        } catch (SyncopeClientException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("While searching for {}", kind, e);
+        }
 
-            LOG.debug("Query: {}, parameters: {}", queryString, parameters);
+        return Collections.emptyList();
+    }
 
-            // 2. take into account realms and ordering
-            OrderBySupport obs = parseOrderBy(svs, orderBy);
-            if (queryString.charAt(0) == '(') {
-                queryString.insert(0, buildSelect(obs));
-            } else {
-                queryString.insert(0, buildSelect(obs).append('('));
-                queryString.append(')');
-            }
-            queryString.
-                    append(buildWhere(svs, obs)).
-                    append(filter.getLeft()).
-                    append(buildOrderBy(obs));
+    /**
+     * Whether the underlying database supports window functions as {@code COUNT(*) OVER()}, hence allowing to
+     * count and search with a single query.
+     *
+     * @return whether window functions are supported
+     */
+    protected boolean isWindowFunctionSupported() {
+        return windowFunctionSupported.computeIfAbsent(AuthContextUtils.getDomain(), domain -> {
+            DBDictionary dict = ((JDBCConfiguration) entityManager().unwrap(OpenJPAEntityManagerSPI.class).
+                    getConfiguration()).getDBDictionaryInstance();
+            return dict instanceof PostgresDictionary
+                    || dict instanceof OracleDictionary
+                    || dict instanceof SQLServerDictionary
+                    || dict instanceof H2Dictionary;
+        });
+    }
 
-            LOG.debug("Query with auth and order by statements: {}, parameters: {}", queryString, parameters);
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T extends Any<?>> Pair<Integer, List<T>> doSearchAndCount(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind) {
 
-            // 3. prepare the search query
-            Query query = entityManager().createNativeQuery(queryString.toString());
+        if (!isWindowFunctionSupported()) {
+            return super.doSearchAndCount(adminRealms, cond, page, itemsPerPage, orderBy, kind);
+        }
 
-            // 4. page starts from 1, while setFirtResult() starts from 0
-            query.setFirstResult(itemsPerPage * (page <= 0 ? 0 : page - 1));
+        try {
+            Query query = buildSearchQuery(adminRealms, cond, page, itemsPerPage, orderBy, kind, true);
+            List<Object> raw = query.getResultList();
 
-            if (itemsPerPage >= 0) {
-                query.setMaxResults(itemsPerPage);
+            // total is reported as last column of each row; when requesting past the last page, count explicitly
+            int count;
+            if (raw.isEmpty()) {
+                count = page <= 1 ? 0 : doCount(adminRealms, cond, kind);
+            } else {
+                Object[] first = (Object[]) raw.get(0);
+                count = ((Number) first[first.length - 1]).intValue();
             }
 
-            // 5. populate the search query with parameter values
-            fillWithParameters(query, parameters);
-
-            // 6. Prepare the result (avoiding duplicates)
-            return buildResult(query.getResultList(), kind);
+            return Pair.of(count, buildResult(raw, kind));
         } catch (SyncopeClientException e) {
             throw e;
         } catch (Exception e) {
             LOG.error("While searching for {}", kind, e);
         }
 
-        return Collections.emptyList();
+        return Pair.of(0, Collections.emptyList());
     }
 
     protected int setParameter(final List<Object> parameters, final Object parameter) {
@@ -242,6 +372,33 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         return select;
     }
 
+    /**
+     * Wraps the given (unordered) search query so that the total number of matching entities is reported as last
+     * column of each row, then applies ordering on the outer query.
+     * The total is evaluated on the result of the inner query, e.g. after {@code DISTINCT}; as ordering by multivalue
+     * attributes can still produce more than one row per entity, distinct keys are counted via {@code DENSE_RANK()},
+     * since {@code COUNT(DISTINCT ...) OVER()} is not generally supported.
+     *
+     * @param queryString search query, without order by
+     * @param keyColumn name of the column holding entity keys
+     * @param obs order by support
+     */
+    protected void wrapWithTotal(final StringBuilder queryString, final String keyColumn, final OrderBySupport obs) {
+        queryString.insert(0, "SELECT t.*,"
+                + "DENSE_RANK() OVER (ORDER BY t." + keyColumn + ") "
+                + "+ DENSE_RANK() OVER (ORDER BY t." + keyColumn + " DESC) - 1 FROM (");
+        queryString.append(") t");
+
+        if (!obs.items.isEmpty()) {
+            queryString.append(" ORDER BY ").append(obs.items.stream().map(item -> {
+                // the inner query exposes each ordering expression under its unqualified column name or alias
+                String column = StringUtils.substringBefore(item.orderBy, " ");
+                return "t." + (column.contains(".") ? StringUtils.substringAfterLast(column, ".") : column)
+                        + ' ' + StringUtils.substringAfter(item.orderBy, " ");
+            }).collect(Collectors.joining(",")));
+        }
+    }
+
     protected void processOBS(
             final SearchSupport svs,
             final OrderBySupport obs,
@@ -288,6 +445,17 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
                     where.append(attrWhere).append(nullAttrWhere).append(')');
                 }
             }
+            if (searchView.name.equals(svs.projection().name)) {
+                // outer join, as projection rows are only available for entities with some projected value
+                where.append(" (SELECT ").append(svs.field().alias).append(".any_id");
+                obs.projectionColumns.forEach(column -> where.append(',').
+                        append(searchView.alias).append('.').append(column));
+                where.append(" FROM ").append(svs.field().name).append(' ').append(svs.field().alias).
+                        append(" LEFT OUTER JOIN ").append(searchView.name).append(' ').append(searchView.alias).
+                        append(" ON ").append(svs.field().alias).append(".any_id=").
+                        append(searchView.alias).append(".any_id)");
+                searchViewAddedToWhere = true;
+            }
             if (!searchViewAddedToWhere) {
                 where.append(searchView.name);
             }
@@ -364,6 +532,19 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
             final PlainSchema schema,
             final String fieldName) {
 
+        if (isProjectionReady(schema)) {
+            String column = searchProjectionDAO.getColumn(schema);
+            obs.views.add(svs.projection());
+            obs.projectionColumns.add(column);
+
+            item.select = new StringBuilder().
+                    append(svs.projection().alias).append('.').append(column).
+                    append(" AS ").append(fieldName).toString();
+            item.where = StringUtils.EMPTY;
+            item.orderBy = fieldName + ' ' + clause.getDirection().name();
+            return;
+        }
+
         // keep track of involvement of non-mandatory schemas in the order by clauses
         obs.nonMandatorySchemas = !"true".equals(schema.getMandatoryCondition());
 
@@ -829,8 +1010,8 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         StringBuilder query = new StringBuilder("SELECT DISTINCT any_id FROM ").
                 append(svs.field().name).append(" WHERE (");
         if (cond.isFromGroup()) {
-            realmDAO.findDescendants(realm).forEach(current -> {
-                query.append("realm_id=?").append(setParameter(parameters, current.getKey())).append(" OR ");
+            realmDAO.findDescendantKeys(realm.getFullPath()).forEach(current -> {
+                query.append("realm_id=?").append(setParameter(parameters, current)).append(" OR ");
             });
             query.setLength(query.length() - 4);
         } else {
@@ -1012,6 +1193,51 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         }
     }
 
+    /**
+     * Whether conditions and ordering on the given schema can be served by the search projection tables.
+     *
+     * @param schema plain schema
+     * @return whether the search projection tables can be used for the given schema
+     */
+    protected boolean isProjectionReady(final PlainSchema schema) {
+        return schema.isProjected() && schema.isProjectionReady();
+    }
+
+    protected String getProjectionQuery(
+            final AttrCond cond,
+            final PlainSchema schema,
+            final PlainAttrValue attrValue,
+            final boolean not,
+            final List<Object> parameters,
+            final SearchSupport svs) {
+
+        String column = searchProjectionDAO.getColumn(schema);
+
+        StringBuilder query = new StringBuilder("SELECT any_id FROM ");
+        switch (cond.getType()) {
+            case ISNOTNULL:
+                query.append(svs.projection().name).append(" WHERE ").append(column).append(" IS NOT NULL");
+                break;
+
+            case ISNULL:
+                query.append(svs.field().name).
+                        append(" WHERE any_id NOT IN (SELECT any_id FROM ").append(svs.projection().name).
+                        append(" WHERE ").append(column).append(" IS NOT NULL)");
+                break;
+
+            default:
+                // projection columns are plain columns, just as the ones for AnyCond
+                AnyCond projected = new AnyCond(cond.getType());
+                projected.setSchema(column);
+                projected.setExpression(cond.getExpression());
+
+                query.append(svs.projection().name).append(" WHERE ");
+                fillAttrQuery(query, attrValue, schema, projected, not, parameters, svs);
+        }
+
+        return query.toString();
+    }
+
     protected String getQuery(
             final AttrCond cond,
             final boolean not,
@@ -1020,6 +1246,10 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
 
         Pair<PlainSchema, PlainAttrValue> checked = check(cond, svs.anyTypeKind);
 
+        if (!(cond instanceof AnyCond) && isProjectionReady(checked.getLeft())) {
+            return getProjectionQuery(cond, checked.getLeft(), checked.getRight(), not, parameters, svs);
+        }
+
         StringBuilder query = new StringBuilder("SELECT DISTINCT any_id FROM ");
         switch (cond.getType()) {
             case ISNOTNULL:
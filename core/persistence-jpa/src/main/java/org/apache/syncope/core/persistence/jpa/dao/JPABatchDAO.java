@@ -19,10 +19,14 @@
 package org.apache.syncope.core.persistence.jpa.dao;
 
 import java.util.Date;
+import java.util.List;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 import org.apache.syncope.core.persistence.api.dao.BatchDAO;
 import org.apache.syncope.core.persistence.api.entity.Batch;
+import org.apache.syncope.core.persistence.api.entity.BatchResult;
 import org.apache.syncope.core.persistence.jpa.entity.JPABatch;
+import org.apache.syncope.core.persistence.jpa.entity.JPABatchResult;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -43,6 +47,11 @@ public class JPABatchDAO extends AbstractDAO<Batch> implements BatchDAO {
 
     @Override
     public void delete(final String key) {
+        Query query = entityManager().createQuery(
+                "DELETE FROM " + JPABatchResult.class.getSimpleName() + " e WHERE e.batchKey = :batchKey");
+        query.setParameter("batchKey", key);
+        query.executeUpdate();
+
         Batch batch = find(key);
         if (batch == null) {
             return;
@@ -51,11 +60,36 @@ public class JPABatchDAO extends AbstractDAO<Batch> implements BatchDAO {
         entityManager().remove(batch);
     }
 
+    @Override
+    public BatchResult save(final BatchResult result) {
+        return entityManager().merge(result);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BatchResult> findResults(final String key, final int page, final int itemsPerPage) {
+        TypedQuery<BatchResult> query = entityManager().createQuery(
+                "SELECT e FROM " + JPABatchResult.class.getSimpleName() + " e "
+                + "WHERE e.batchKey = :batchKey ORDER BY e.itemIndex", BatchResult.class);
+        query.setParameter("batchKey", key);
+        query.setFirstResult(itemsPerPage * (page <= 0 ? 0 : page - 1));
+        query.setMaxResults(itemsPerPage);
+        return query.getResultList();
+    }
+
     @Override
     public int deleteExpired() {
         Query query = entityManager().createQuery(
                 "DELETE FROM " + JPABatch.class.getSimpleName() + " e WHERE e.expiryTime < :now");
         query.setParameter("now", new Date());
-        return query.executeUpdate();
+        int deleted = query.executeUpdate();
+
+        // also remove results of expired batches
+        entityManager().createQuery(
+                "DELETE FROM " + JPABatchResult.class.getSimpleName() + " e "
+                + "WHERE e.batchKey NOT IN (SELECT b.id FROM " + JPABatch.class.getSimpleName() + " b)").
+                executeUpdate();
+
+        return deleted;
     }
 }
@@ -53,9 +53,11 @@ import org.apache.syncope.core.persistence.jpa.entity.resource.JPAExternalResour
 import org.apache.syncope.core.persistence.jpa.entity.resource.JPAMapping;
 import org.apache.syncope.core.persistence.jpa.entity.resource.JPAProvision;
 import org.apache.syncope.core.provisioning.api.ConnectorRegistry;
+import org.apache.syncope.core.provisioning.api.event.PolicyContextChangeEvent;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -86,6 +88,9 @@ public class JPAExternalResourceDAO extends AbstractDAO<ExternalResource> implem
     @Autowired
     private RealmDAO realmDAO;
 
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
     @Override
     public int count() {
         Query query = entityManager().createQuery(
@@ -212,6 +217,9 @@ public class JPAExternalResourceDAO extends AbstractDAO<ExternalResource> implem
         } catch (NotFoundException e) {
             LOG.error("While registering connector for resource", e);
         }
+
+        publisher.publishEvent(new PolicyContextChangeEvent(this, AuthContextUtils.getDomain()));
+
         return merged;
     }
 
@@ -284,5 +292,7 @@ public class JPAExternalResourceDAO extends AbstractDAO<ExternalResource> implem
         resource.setConnector(null);
 
         entityManager().remove(resource);
+
+        publisher.publishEvent(new PolicyContextChangeEvent(this, AuthContextUtils.getDomain()));
     }
 }
@@ -117,6 +117,11 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return findLastChange(key, JPAGroup.TABLE);
     }
 
+    @Override
+    public boolean claimLastChange(final String key, final Date lastChange) {
+        return claimLastChange(key, JPAGroup.TABLE, lastChange);
+    }
+
     @Override
     public int count() {
         Query query = entityManager().createQuery(
@@ -182,6 +187,19 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return result;
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<Group> findByNames(final Collection<String> names) {
+        if (names.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        TypedQuery<Group> query = entityManager().createQuery(
+                "SELECT e FROM " + anyUtils().anyClass().getSimpleName() + " e WHERE e.name IN (:names)", Group.class);
+        query.setParameter("names", names);
+        return query.getResultList();
+    }
+
     @Override
     public List<String> findKeysByNamePattern(final String pattern) {
         Query query = entityManager().createNativeQuery(
@@ -339,6 +357,7 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
     @Override
     public void delete(final Group group) {
         dynRealmDAO.removeDynMemberships(group.getKey());
+        searchProjectionDAO.delete(group);
 
         findAMemberships(group).forEach(membership -> {
             AnyObject leftEnd = membership.getLeftEnd();
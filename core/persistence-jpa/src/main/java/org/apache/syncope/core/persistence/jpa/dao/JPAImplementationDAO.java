@@ -27,8 +27,11 @@ import org.apache.syncope.core.persistence.api.dao.ImplementationDAO;
 import org.apache.syncope.core.persistence.api.entity.Implementation;
 import org.apache.syncope.core.persistence.jpa.entity.JPAImplementation;
 import org.apache.syncope.core.persistence.jpa.entity.resource.JPAExternalResource;
+import org.apache.syncope.core.provisioning.api.event.PolicyContextChangeEvent;
 import org.apache.syncope.core.spring.implementation.ImplementationManager;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -41,6 +44,9 @@ public class JPAImplementationDAO extends AbstractDAO<Implementation> implements
     @Autowired
     private EntityCacheDAO entityCacheDAO;
 
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
     @Transactional(readOnly = true)
     @Override
     public Implementation find(final String key) {
@@ -72,6 +78,8 @@ public class JPAImplementationDAO extends AbstractDAO<Implementation> implements
         resourceDAO.findByProvisionSorter(merged).
                 forEach(resource -> entityCacheDAO.evict(JPAExternalResource.class, resource.getKey()));
 
+        publisher.publishEvent(new PolicyContextChangeEvent(this, AuthContextUtils.getDomain()));
+
         return merged;
     }
 
@@ -84,5 +92,7 @@ public class JPAImplementationDAO extends AbstractDAO<Implementation> implements
 
         entityManager().remove(implementation);
         ImplementationManager.purge(key);
+
+        publisher.publishEvent(new PolicyContextChangeEvent(this, AuthContextUtils.getDomain()));
     }
 }
@@ -26,6 +26,7 @@ import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainAttrDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.SearchProjectionDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.Implementation;
@@ -52,6 +53,9 @@ public class JPAPlainSchemaDAO extends AbstractDAO<PlainSchema> implements Plain
     @Autowired
     private ExternalResourceDAO resourceDAO;
 
+    @Autowired
+    private SearchProjectionDAO searchProjectionDAO;
+
     @Override
     public PlainSchema find(final String key) {
         return entityManager().find(JPAPlainSchema.class, key);
@@ -122,7 +126,15 @@ public class JPAPlainSchemaDAO extends AbstractDAO<PlainSchema> implements Plain
 
     @Override
     public PlainSchema save(final PlainSchema schema) {
-        return entityManager().merge(schema);
+        PlainSchema merged = entityManager().merge(schema);
+
+        if (merged.isProjected()) {
+            // validate before altering projection tables
+            entityManager().flush();
+            searchProjectionDAO.addColumn(merged);
+        }
+
+        return merged;
     }
 
     protected void deleteAttrs(final PlainSchema schema) {
@@ -41,7 +41,10 @@ import org.apache.syncope.core.persistence.jpa.entity.policy.JPAPullPolicy;
 import org.apache.syncope.core.persistence.jpa.entity.policy.JPAPushCorrelationRuleEntity;
 import org.apache.syncope.core.persistence.jpa.entity.policy.JPAPushPolicy;
 import org.apache.syncope.core.persistence.jpa.entity.resource.JPAExternalResource;
+import org.apache.syncope.core.provisioning.api.event.PolicyContextChangeEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Repository;
 
@@ -60,6 +63,9 @@ public class JPAPolicyDAO extends AbstractDAO<Policy> implements PolicyDAO {
     @Lazy
     private EntityCacheDAO entityCacheDAO;
 
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
     private <T extends Policy> Class<? extends AbstractPolicy> getEntityReference(final Class<T> reference) {
         return AccountPolicy.class.isAssignableFrom(reference)
                 ? JPAAccountPolicy.class
@@ -159,6 +165,8 @@ public class JPAPolicyDAO extends AbstractDAO<Policy> implements PolicyDAO {
                     forEach(resource -> entityCacheDAO.evict(JPAExternalResource.class, resource.getKey()));
         }
 
+        publisher.publishEvent(new PolicyContextChangeEvent(this, AuthContextUtils.getDomain()));
+
         return merged;
     }
 
@@ -187,5 +195,7 @@ public class JPAPolicyDAO extends AbstractDAO<Policy> implements PolicyDAO {
         });
 
         entityManager().remove(policy);
+
+        publisher.publishEvent(new PolicyContextChangeEvent(this, AuthContextUtils.getDomain()));
     }
 }
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import javax.persistence.Query;
+import org.apache.syncope.core.persistence.api.dao.PullFingerprintDAO;
+import org.apache.syncope.core.persistence.api.entity.PullFingerprint;
+import org.apache.syncope.core.persistence.jpa.entity.JPAPullFingerprint;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class JPAPullFingerprintDAO extends AbstractDAO<PullFingerprint> implements PullFingerprintDAO {
+
+    @Transactional(readOnly = true)
+    @Override
+    public PullFingerprint find(final String key) {
+        return entityManager().find(JPAPullFingerprint.class, key);
+    }
+
+    @Transactional(rollbackFor = Throwable.class)
+    @Override
+    public PullFingerprint save(final PullFingerprint fingerprint) {
+        return entityManager().merge(fingerprint);
+    }
+
+    @Transactional(rollbackFor = Throwable.class)
+    @Override
+    public void delete(final String key) {
+        PullFingerprint fingerprint = find(key);
+        if (fingerprint != null) {
+            entityManager().remove(fingerprint);
+        }
+    }
+
+    @Transactional(rollbackFor = Throwable.class)
+    @Override
+    public void deleteByPullTask(final String pullTask) {
+        Query query = entityManager().createQuery(
+                "DELETE FROM " + JPAPullFingerprint.class.getSimpleName() + " e WHERE e.pullTask=:pullTask");
+        query.setParameter("pullTask", pullTask);
+        query.executeUpdate();
+    }
+
+    @Transactional(rollbackFor = Throwable.class)
+    @Override
+    public void deleteByResource(final String resource) {
+        Query query = entityManager().createQuery(
+                "DELETE FROM " + JPAPullFingerprint.class.getSimpleName() + " e WHERE e.resource=:resource");
+        query.setParameter("resource", resource);
+        query.executeUpdate();
+    }
+}
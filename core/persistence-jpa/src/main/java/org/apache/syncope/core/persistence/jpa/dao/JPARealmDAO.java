@@ -20,8 +20,15 @@ package org.apache.syncope.core.persistence.jpa.dao;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import javax.persistence.NoResultException;
 import javax.persistence.TypedQuery;
 import org.apache.commons.lang3.StringUtils;
@@ -38,18 +45,166 @@ import org.apache.syncope.core.persistence.api.entity.policy.PropagationPolicy;
 import org.apache.syncope.core.persistence.api.entity.policy.ProvisioningPolicy;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.persistence.jpa.entity.JPARealm;
+import org.apache.syncope.core.provisioning.api.event.PolicyContextChangeEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * Realm DAO.
+ *
+ * Hierarchy lookups are served by an in-memory snapshot of the realm tree, kept per domain and only holding keys and
+ * full paths: the snapshot is dropped whenever a realm is saved or deleted, and rebuilt - with a single query - when
+ * found older than {@link #TREE_REFRESH_INTERVAL} milliseconds, so that changes made via other cluster nodes are
+ * eventually picked up. Within transactions changing realms, a private snapshot is used until completion.
+ */
 @Repository
 public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
+    public static final long TREE_REFRESH_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+
+    protected static final class Node {
+
+        private final String key;
+
+        private final String name;
+
+        private final String parentKey;
+
+        private final List<Node> children = new ArrayList<>();
+
+        private String fullPath;
+
+        private Node(final String key, final String name, final String parentKey) {
+            this.key = key;
+            this.name = name;
+            this.parentKey = parentKey;
+        }
+    }
+
+    protected static final class RealmTree {
+
+        private final Map<String, Node> byKey;
+
+        private final Map<String, Node> byFullPath = new HashMap<>();
+
+        private final long built = System.currentTimeMillis();
+
+        private RealmTree(final Map<String, Node> byKey) {
+            this.byKey = byKey;
+
+            List<Node> roots = new ArrayList<>();
+            byKey.values().forEach(node -> {
+                Node parent = node.parentKey == null ? null : byKey.get(node.parentKey);
+                if (parent == null) {
+                    roots.add(node);
+                } else {
+                    parent.children.add(node);
+                }
+            });
+            roots.forEach(root -> index(root, null));
+        }
+
+        private void index(final Node node, final Node parent) {
+            node.fullPath = parent == null
+                    ? SyncopeConstants.ROOT_REALM
+                    : StringUtils.appendIfMissing(parent.fullPath, "/") + node.name;
+            byFullPath.put(node.fullPath, node);
+
+            node.children.sort(Comparator.comparing(child -> child.name));
+            node.children.forEach(child -> index(child, node));
+        }
+
+        private boolean isFresh() {
+            return System.currentTimeMillis() - built < TREE_REFRESH_INTERVAL;
+        }
+
+        private void descendants(final Node node, final List<String> result) {
+            result.add(node.key);
+            node.children.forEach(child -> descendants(child, result));
+        }
+    }
+
+    /**
+     * Holds the realm tree snapshot used by a transaction which changed realms.
+     */
+    private static final class TransactionalTree {
+
+        private RealmTree tree;
+    }
+
     @Autowired
     @Lazy
     private RoleDAO roleDAO;
 
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    private final Map<String, RealmTree> trees = new ConcurrentHashMap<>();
+
+    protected RealmTree buildTree() {
+        List<Object[]> rows = entityManager().createQuery(
+                "SELECT e.id, e.name, p.id FROM " + JPARealm.class.getSimpleName() + " e LEFT JOIN e.parent p",
+                Object[].class).getResultList();
+
+        Map<String, Node> byKey = new HashMap<>(rows.size());
+        rows.forEach(row -> byKey.put((String) row[0], new Node((String) row[0], (String) row[1], (String) row[2])));
+        return new RealmTree(byKey);
+    }
+
+    protected RealmTree tree() {
+        TransactionalTree txTree = (TransactionalTree) TransactionSynchronizationManager.getResource(this);
+        if (txTree != null) {
+            if (txTree.tree == null) {
+                txTree.tree = buildTree();
+            }
+            return txTree.tree;
+        }
+
+        String domain = AuthContextUtils.getDomain();
+        RealmTree tree = trees.get(domain);
+        if (tree == null || !tree.isFresh()) {
+            tree = buildTree();
+            trees.put(domain, tree);
+        }
+        return tree;
+    }
+
+    /**
+     * Drops the realm tree snapshot for the current domain; when invoked within a transaction, the snapshot is also
+     * dropped upon completion, and not shared until then.
+     */
+    protected void invalidateTree() {
+        String domain = AuthContextUtils.getDomain();
+        trees.remove(domain);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionalTree txTree = (TransactionalTree) TransactionSynchronizationManager.getResource(this);
+            if (txTree == null) {
+                TransactionSynchronizationManager.bindResource(this, new TransactionalTree());
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                    @Override
+                    public void afterCompletion(final int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(JPARealmDAO.this);
+                        trees.remove(domain);
+                    }
+                });
+            } else {
+                txTree.tree = null;
+            }
+        }
+    }
+
+    protected List<Realm> findByKeys(final List<String> keys) {
+        return keys.stream().map(this::find).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     @Override
     public Realm getRoot() {
         TypedQuery<Realm> query = entityManager().createQuery(
@@ -82,6 +237,15 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
             throw new MalformedPathException(fullPath);
         }
 
+        Node node = tree().byFullPath.get(fullPath);
+        if (node != null) {
+            Realm realm = find(node.key);
+            if (realm != null) {
+                return realm;
+            }
+        }
+
+        // not found in the realm tree snapshot: check if created meanwhile, e.g. via other cluster nodes
         Realm root = getRoot();
         if (root == null) {
             return null;
@@ -97,6 +261,8 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
                 return null;
             }
         }
+
+        trees.remove(AuthContextUtils.getDomain());
         return current;
     }
 
@@ -190,6 +356,11 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
     @Override
     public List<Realm> findChildren(final Realm realm) {
+        Node node = tree().byKey.get(realm.getKey());
+        if (node != null) {
+            return findByKeys(node.children.stream().map(child -> child.key).collect(Collectors.toList()));
+        }
+
         TypedQuery<Realm> query = entityManager().createQuery(
                 "SELECT e FROM " + JPARealm.class.getSimpleName() + " e WHERE e.parent=:realm", Realm.class);
         query.setParameter("realm", realm);
@@ -207,11 +378,57 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
     @Override
     public List<Realm> findDescendants(final Realm realm) {
+        RealmTree tree = tree();
+        Node node = tree.byKey.get(realm.getKey());
+        if (node != null) {
+            List<String> keys = new ArrayList<>();
+            tree.descendants(node, keys);
+            return findByKeys(keys);
+        }
+
         List<Realm> result = new ArrayList<>();
         findDescendants(result, realm);
         return result;
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<String> findDescendantKeys(final String base) {
+        RealmTree tree = tree();
+        Node node = tree.byFullPath.get(base);
+        if (node == null) {
+            Realm realm = findByFullPath(base);
+            if (realm == null) {
+                return Collections.emptyList();
+            }
+
+            tree = tree();
+            node = tree.byFullPath.get(base);
+            if (node == null) {
+                return findDescendants(realm).stream().map(Realm::getKey).collect(Collectors.toList());
+            }
+        }
+
+        List<String> keys = new ArrayList<>();
+        tree.descendants(node, keys);
+        return keys;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public boolean isDescendant(final String fullPath, final String base) {
+        RealmTree tree = tree();
+        if ((!tree.byFullPath.containsKey(fullPath) && findByFullPath(fullPath) == null)
+                || (!tree.byFullPath.containsKey(base) && findByFullPath(base) == null)) {
+
+            return false;
+        }
+
+        return SyncopeConstants.ROOT_REALM.equals(base)
+                || fullPath.equals(base)
+                || fullPath.startsWith(base + "/");
+    }
+
     @Transactional(readOnly = true)
     @Override
     public List<Realm> findAll() {
@@ -220,7 +437,13 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
     @Override
     public Realm save(final Realm realm) {
-        return entityManager().merge(realm);
+        Realm merged = entityManager().merge(realm);
+
+        invalidateTree();
+
+        publisher.publishEvent(new PolicyContextChangeEvent(this, AuthContextUtils.getDomain()));
+
+        return merged;
     }
 
     @Override
@@ -232,6 +455,10 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
             entityManager().remove(toBeDeleted);
         });
+
+        invalidateTree();
+
+        publisher.publishEvent(new PolicyContextChangeEvent(this, AuthContextUtils.getDomain()));
     }
 
     @Override
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import javax.persistence.Query;
+import javax.persistence.TemporalType;
+import javax.persistence.TypedQuery;
+import javax.sql.DataSource;
+import org.apache.openjpa.jdbc.conf.JDBCConfiguration;
+import org.apache.openjpa.jdbc.sql.DBDictionary;
+import org.apache.openjpa.persistence.OpenJPAEntityManagerSPI;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.DomainsHolder;
+import org.apache.syncope.core.persistence.api.dao.SearchProjectionDAO;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.PlainAttr;
+import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
+import org.apache.syncope.core.persistence.jpa.entity.JPAPlainSchema;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class JPASearchProjectionDAO extends AbstractDAO<Any<?>> implements SearchProjectionDAO {
+
+    protected static final int MAX_COLUMN_LENGTH = 28;
+
+    @Autowired
+    private DomainsHolder domainsHolder;
+
+    protected static String getTable(final AnyTypeKind anyTypeKind) {
+        return new SearchSupport(anyTypeKind).projection().name;
+    }
+
+    @Override
+    public String getColumn(final PlainSchema schema) {
+        String column = "p_" + schema.getKey().replaceAll("[^A-Za-z0-9_]", "_");
+        if (column.length() > MAX_COLUMN_LENGTH || !column.substring(2).equals(schema.getKey())) {
+            // keep column (and related index) names valid and unique on all supported DBMSes
+            CRC32 crc = new CRC32();
+            crc.update(schema.getKey().getBytes(StandardCharsets.UTF_8));
+            column = column.substring(0, Math.min(column.length(), MAX_COLUMN_LENGTH - 9))
+                    + '_' + String.format("%08x", crc.getValue());
+        }
+        return column;
+    }
+
+    protected String getColumnType(final DBDictionary dict, final PlainSchema schema) {
+        switch (schema.getType()) {
+            case Boolean:
+                return dict.smallintTypeName;
+
+            case Date:
+                return dict.timestampTypeName;
+
+            case Double:
+                return dict.doubleTypeName;
+
+            case Long:
+                return dict.bigintTypeName;
+
+            case String:
+            case Enum:
+            default:
+                return dict.varcharTypeName + "(255)";
+        }
+    }
+
+    protected boolean hasColumn(final DatabaseMetaData meta, final String table, final String column)
+            throws SQLException {
+
+        for (String tableName : new String[] { table, table.toUpperCase(Locale.ENGLISH),
+            table.toLowerCase(Locale.ENGLISH) }) {
+
+            try (ResultSet rs = meta.getColumns(null, null, tableName, null)) {
+                while (rs.next()) {
+                    if (column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * DDL statements are issued via a dedicated connection, as several DBMSes do not allow them within the current
+     * JPA transaction (or implicitly commit it).
+     */
+    @Transactional(rollbackFor = Throwable.class)
+    @Override
+    public void addColumn(final PlainSchema schema) {
+        DataSource dataSource = domainsHolder.getDomains().get(AuthContextUtils.getDomain());
+        if (dataSource == null) {
+            throw new IllegalStateException("Could not find DataSource for domain " + AuthContextUtils.getDomain());
+        }
+
+        DBDictionary dict = ((JDBCConfiguration) entityManager().unwrap(OpenJPAEntityManagerSPI.class).
+                getConfiguration()).getDBDictionaryInstance();
+        String column = getColumn(schema);
+
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            for (AnyTypeKind anyTypeKind : AnyTypeKind.values()) {
+                String table = getTable(anyTypeKind);
+                if (!hasColumn(conn.getMetaData(), table, column)) {
+                    LOG.debug("Adding column {} to {} for schema {}", column, table, schema.getKey());
+
+                    stmt.executeUpdate("ALTER TABLE " + table + " ADD " + column + ' ' + getColumnType(dict, schema));
+                    stmt.executeUpdate("CREATE INDEX i" + anyTypeKind.name().toLowerCase(Locale.ENGLISH).charAt(0)
+                            + column.substring(1) + " ON " + table + '(' + column + ')');
+                    if (!conn.getAutoCommit()) {
+                        conn.commit();
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not add projection column for schema " + schema.getKey(), e);
+        }
+    }
+
+    /**
+     * Projected schemas are looked up via JPQL, so that the query cache can serve them on each save.
+     *
+     * @return projected schemas
+     */
+    protected List<PlainSchema> findProjected() {
+        TypedQuery<PlainSchema> query = entityManager().createQuery(
+                "SELECT e FROM " + JPAPlainSchema.class.getSimpleName() + " e WHERE e.projected=:projected",
+                PlainSchema.class);
+        query.setParameter("projected", Boolean.TRUE);
+        return query.getResultList();
+    }
+
+    protected static boolean sameValue(final Object current, final Object stored) {
+        if (current == null || stored == null) {
+            return current == stored;
+        }
+        if (current instanceof Date) {
+            return stored instanceof Date && ((Date) current).getTime() == ((Date) stored).getTime();
+        }
+        if (current instanceof Boolean) {
+            return stored instanceof Number && ((Number) stored).intValue() == ((Boolean) current ? 1 : 0);
+        }
+        if (current instanceof Number) {
+            return stored instanceof Number
+                    && new BigDecimal(current.toString()).compareTo(new BigDecimal(stored.toString())) == 0;
+        }
+        return current.equals(stored);
+    }
+
+    /**
+     * Compares the given values against the current projection row, if any; values of types not directly comparable
+     * (as returned by some JDBC drivers) are reported as changed.
+     *
+     * @param any user, group or any object
+     * @param projected projected schemas
+     * @param values values to project, by column
+     * @return whether the projection row already holds the given values
+     */
+    @SuppressWarnings("unchecked")
+    protected boolean isUnchanged(
+            final Any<?> any,
+            final List<PlainSchema> projected,
+            final Map<String, Object> values) {
+
+        List<String> columns = projected.stream().map(this::getColumn).distinct().collect(Collectors.toList());
+
+        Query query = entityManager().createNativeQuery("SELECT " + String.join(",", columns)
+                + " FROM " + getTable(any.getType().getKind()) + " WHERE any_id=?1");
+        query.setParameter(1, any.getKey());
+        List<Object> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return values.isEmpty();
+        }
+
+        Object[] stored = rows.get(0) instanceof Object[] ? (Object[]) rows.get(0) : new Object[] { rows.get(0) };
+        for (int i = 0; i < columns.size(); i++) {
+            if (!sameValue(values.get(columns.get(i)), stored[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Transactional(rollbackFor = Throwable.class)
+    @Override
+    public void save(final Any<?> any) {
+        List<PlainSchema> projected = findProjected();
+        if (projected.isEmpty()) {
+            // nothing is read from projection tables unless some schema is projected
+            return;
+        }
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (PlainAttr<?> attr : any.getPlainAttrs()) {
+            if (attr.getSchema().isProjected()) {
+                PlainAttrValue value = attr.getUniqueValue() == null
+                        ? attr.getValues().isEmpty() ? null : attr.getValues().get(0)
+                        : attr.getUniqueValue();
+                if (value != null && value.getValue() != null) {
+                    values.put(getColumn(attr.getSchema()), value.getValue());
+                }
+            }
+        }
+        if (isUnchanged(any, projected, values)) {
+            return;
+        }
+
+        delete(any);
+        if (values.isEmpty()) {
+            return;
+        }
+
+        List<String> columns = new ArrayList<>(values.keySet());
+        StringBuilder insert = new StringBuilder("INSERT INTO ").
+                append(getTable(any.getType().getKind())).append("(any_id");
+        columns.forEach(column -> insert.append(',').append(column));
+        insert.append(") VALUES(?1");
+        for (int i = 0; i < columns.size(); i++) {
+            insert.append(",?").append(i + 2);
+        }
+        insert.append(')');
+
+        Query query = entityManager().createNativeQuery(insert.toString());
+        query.setParameter(1, any.getKey());
+        for (int i = 0; i < columns.size(); i++) {
+            Object value = values.get(columns.get(i));
+            if (value instanceof Date) {
+                query.setParameter(i + 2, (Date) value, TemporalType.TIMESTAMP);
+            } else if (value instanceof Boolean) {
+                query.setParameter(i + 2, ((Boolean) value) ? 1 : 0);
+            } else {
+                query.setParameter(i + 2, value);
+            }
+        }
+        query.executeUpdate();
+    }
+
+    @Transactional(rollbackFor = Throwable.class)
+    @Override
+    public void delete(final Any<?> any) {
+        Query query = entityManager().createNativeQuery(
+                "DELETE FROM " + getTable(any.getType().getKind()) + " WHERE any_id=?");
+        query.setParameter(1, any.getKey());
+        query.executeUpdate();
+    }
+}
@@ -202,8 +202,13 @@ public class JPATaskDAO extends AbstractDAO<Task> implements TaskDAO {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T extends Task> List<T> findToExec(final TaskType type) {
+        return findToExec(type, null, -1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Task> List<T> findToExec(final TaskType type, final String lastKey, final int itemsPerPage) {
         StringBuilder queryString = buildFindAllQueryJPA(type).append("AND ");
 
         if (type == TaskType.NOTIFICATION) {
@@ -211,9 +216,19 @@ public class JPATaskDAO extends AbstractDAO<Task> implements TaskDAO {
         } else {
             queryString.append("t.executions IS EMPTY ");
         }
+        if (lastKey != null) {
+            queryString.append("AND t.id < :lastKey ");
+        }
         queryString.append("ORDER BY t.id DESC");
 
         Query query = entityManager().createQuery(queryString.toString());
+        if (lastKey != null) {
+            query.setParameter("lastKey", lastKey);
+        }
+        if (itemsPerPage > 0) {
+            query.setMaxResults(itemsPerPage);
+        }
+
         return query.getResultList();
     }
 
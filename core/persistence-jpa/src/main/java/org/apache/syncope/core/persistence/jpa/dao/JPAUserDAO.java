@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -55,6 +56,7 @@ import org.apache.syncope.core.persistence.api.entity.user.UMembership;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPALinkedAccount;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUMembership;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUPlainAttr;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
@@ -97,6 +99,11 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return findLastChange(key, JPAUser.TABLE);
     }
 
+    @Override
+    public boolean claimLastChange(final String key, final Date lastChange) {
+        return claimLastChange(key, JPAUser.TABLE, lastChange);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Optional<String> findUsername(final String key) {
@@ -113,6 +120,58 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return Optional.ofNullable(username);
     }
 
+    @Override
+    public Map<String, String> findUsernames(final Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Query query = entityManager().createQuery(
+                "SELECT e.id, e.username FROM " + anyUtils().anyClass().getSimpleName()
+                + " e WHERE e.id IN (:keys)");
+        query.setParameter("keys", keys);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> results = query.getResultList();
+        return results.stream().collect(Collectors.toMap(
+                result -> (String) result[0],
+                result -> (String) result[1]));
+    }
+
+    @Override
+    public Map<String, String> findPlainAttrStringValues(final String schema, final Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> values = new HashMap<>();
+
+        Query query = entityManager().createQuery(
+                "SELECT e.owner.id, v.stringValue FROM " + JPAUPlainAttr.class.getSimpleName() + " e "
+                + "JOIN e.values v "
+                + "WHERE e.schema.id=:schema AND e.membership IS NULL AND e.owner.id IN (:keys)");
+        query.setParameter("schema", schema);
+        query.setParameter("keys", keys);
+        addStringValues(query, values);
+
+        query = entityManager().createQuery(
+                "SELECT e.owner.id, e.uniqueValue.stringValue FROM " + JPAUPlainAttr.class.getSimpleName() + " e "
+                + "WHERE e.schema.id=:schema AND e.membership IS NULL AND e.owner.id IN (:keys) "
+                + "AND e.uniqueValue IS NOT NULL");
+        query.setParameter("schema", schema);
+        query.setParameter("keys", keys);
+        addStringValues(query, values);
+
+        return values;
+    }
+
+    private static void addStringValues(final Query query, final Map<String, String> values) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> results = query.getResultList();
+        results.stream().filter(result -> result[1] != null).
+                forEach(result -> values.putIfAbsent((String) result[0], (String) result[1]));
+    }
+
     @Override
     public int count() {
         Query query = entityManager().createQuery(
@@ -202,6 +261,20 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return result;
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<User> findByUsernames(final Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        TypedQuery<User> query = entityManager().createQuery(
+                "SELECT e FROM " + anyUtils().anyClass().getSimpleName()
+                + " e WHERE e.username IN (:usernames)", User.class);
+        query.setParameter("usernames", usernames);
+        return query.getResultList();
+    }
+
     @Override
     public User findByToken(final String token) {
         TypedQuery<User> query = entityManager().createQuery(
@@ -273,6 +346,7 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         roleDAO.removeDynMemberships(user.getKey());
         groupDAO.removeDynMemberships(user);
         dynRealmDAO.removeDynMemberships(user.getKey());
+        searchProjectionDAO.delete(user);
 
         Set<String> delegations = delegationDAO.findByDelegating(user).stream().
                 map(Delegation::getKey).collect(Collectors.toSet());
@@ -419,6 +493,24 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return query.getResultList();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<LinkedAccount> findLinkedAccounts(
+            final ExternalResource resource, final Collection<String> connObjectKeyValues) {
+
+        if (connObjectKeyValues.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        TypedQuery<LinkedAccount> query = entityManager().createQuery(
+                "SELECT e FROM " + JPALinkedAccount.class.getSimpleName() + " e "
+                + "WHERE e.resource=:resource AND e.connObjectKeyValue IN (:connObjectKeyValues)",
+                LinkedAccount.class);
+        query.setParameter("resource", resource);
+        query.setParameter("connObjectKeyValues", connObjectKeyValues);
+        return query.getResultList();
+    }
+
     @Override
     public List<LinkedAccount> findLinkedAccountsByPrivilege(final Privilege privilege) {
         TypedQuery<LinkedAccount> query = entityManager().createQuery(
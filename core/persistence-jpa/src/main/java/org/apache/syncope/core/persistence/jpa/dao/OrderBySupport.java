@@ -46,4 +46,6 @@ public class OrderBySupport {
 
     protected boolean nonMandatorySchemas = false;
 
+    protected Set<String> projectionColumns = new HashSet<>();
+
 }
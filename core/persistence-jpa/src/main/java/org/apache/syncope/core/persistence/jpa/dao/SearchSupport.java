@@ -162,6 +162,10 @@ public class SearchSupport {
         return new SearchView("sve", field().name + "_entitlements");
     }
 
+    public SearchView projection() {
+        return new SearchView("svpj", field().name + "_projection");
+    }
+
     SearchViewSupport asSearchViewSupport() {
         if (this instanceof SearchViewSupport) {
             return (SearchViewSupport) this;
@@ -20,7 +20,6 @@ package org.apache.syncope.core.persistence.jpa.entity;
 
 import java.util.Date;
 import javax.persistence.Entity;
-import javax.persistence.Lob;
 import javax.persistence.Table;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
@@ -37,8 +36,11 @@ public class JPABatch extends AbstractProvidedKeyEntity implements Batch {
     @Temporal(TemporalType.TIMESTAMP)
     private Date expiryTime;
 
-    @Lob
-    private String results;
+    private Boolean completed = false;
+
+    private Integer total;
+
+    private Integer processed;
 
     @Override
     public Date getExpiryTime() {
@@ -57,12 +59,32 @@ public class JPABatch extends AbstractProvidedKeyEntity implements Batch {
     }
 
     @Override
-    public String getResults() {
-        return results;
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    @Override
+    public void setCompleted(final boolean completed) {
+        this.completed = completed;
+    }
+
+    @Override
+    public Integer getTotal() {
+        return total;
+    }
+
+    @Override
+    public void setTotal(final Integer total) {
+        this.total = total;
+    }
+
+    @Override
+    public Integer getProcessed() {
+        return processed;
     }
 
     @Override
-    public void setResults(final String results) {
-        this.results = results;
+    public void setProcessed(final Integer processed) {
+        this.processed = processed;
     }
 }
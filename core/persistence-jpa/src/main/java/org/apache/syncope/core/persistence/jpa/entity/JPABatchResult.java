@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.entity;
+
+import javax.persistence.Entity;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import org.apache.syncope.core.persistence.api.entity.BatchResult;
+
+@Entity
+@Table(name = JPABatchResult.TABLE, uniqueConstraints =
+        @UniqueConstraint(columnNames = { "batchKey", "itemIndex" }))
+public class JPABatchResult extends AbstractGeneratedKeyEntity implements BatchResult {
+
+    private static final long serialVersionUID = -5395373340399342455L;
+
+    public static final String TABLE = "SyncopeBatchResult";
+
+    private String batchKey;
+
+    private int itemIndex;
+
+    @Lob
+    private String content;
+
+    @Override
+    public String getBatchKey() {
+        return batchKey;
+    }
+
+    @Override
+    public void setBatchKey(final String batchKey) {
+        this.batchKey = batchKey;
+    }
+
+    @Override
+    public int getItemIndex() {
+        return itemIndex;
+    }
+
+    @Override
+    public void setItemIndex(final int itemIndex) {
+        this.itemIndex = itemIndex;
+    }
+
+    @Override
+    public String getContent() {
+        return content;
+    }
+
+    @Override
+    public void setContent(final String content) {
+        this.content = content;
+    }
+}
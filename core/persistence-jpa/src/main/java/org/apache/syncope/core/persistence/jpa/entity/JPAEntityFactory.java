@@ -34,6 +34,7 @@ import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
 import org.apache.syncope.core.persistence.api.entity.Application;
 import org.apache.syncope.core.persistence.api.entity.Batch;
+import org.apache.syncope.core.persistence.api.entity.BatchResult;
 import org.apache.syncope.core.persistence.api.entity.ConnInstance;
 import org.apache.syncope.core.persistence.api.entity.ConnPoolConf;
 import org.apache.syncope.core.persistence.api.entity.Delegation;
@@ -45,6 +46,7 @@ import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.Logger;
 import org.apache.syncope.core.persistence.api.entity.JobStatus;
+import org.apache.syncope.core.persistence.api.entity.PullFingerprint;
 import org.apache.syncope.core.persistence.api.entity.MailTemplate;
 import org.apache.syncope.core.persistence.api.entity.Notification;
 import org.apache.syncope.core.persistence.api.entity.policy.PasswordPolicy;
@@ -315,10 +317,14 @@ public class JPAEntityFactory implements EntityFactory {
             result = (E) new JPARemediation();
         } else if (reference.equals(Batch.class)) {
             result = (E) new JPABatch();
+        } else if (reference.equals(BatchResult.class)) {
+            result = (E) new JPABatchResult();
         } else if (reference.equals(Delegation.class)) {
             result = (E) new JPADelegation();
         } else if (reference.equals(JobStatus.class)) {
             result = (E) new JPAJobStatus();
+        } else if (reference.equals(PullFingerprint.class)) {
+            result = (E) new JPAPullFingerprint();
         } else {
             throw new IllegalArgumentException("Could not find a JPA implementation of " + reference.getName());
         }
@@ -62,6 +62,10 @@ public class JPAPlainSchema extends AbstractSchema implements PlainSchema {
 
     private Boolean readonly = false;
 
+    private Boolean projected = false;
+
+    private Boolean projectionReady = false;
+
     @Column(nullable = true)
     private String conversionPattern;
 
@@ -147,6 +151,30 @@ public class JPAPlainSchema extends AbstractSchema implements PlainSchema {
         this.readonly = readonly;
     }
 
+    @Override
+    public boolean isProjected() {
+        return projected;
+    }
+
+    @Override
+    public void setProjected(final boolean projected) {
+        // (re-)enabling projection requires values to be rebuilt before search can rely on them
+        if (!projected || !this.projected) {
+            this.projectionReady = false;
+        }
+        this.projected = projected;
+    }
+
+    @Override
+    public boolean isProjectionReady() {
+        return projectionReady;
+    }
+
+    @Override
+    public void setProjectionReady(final boolean projectionReady) {
+        this.projectionReady = projectionReady;
+    }
+
     @Override
     public Implementation getValidator() {
         return validator;
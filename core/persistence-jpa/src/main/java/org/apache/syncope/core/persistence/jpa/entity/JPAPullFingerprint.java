@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.entity;
+
+import java.util.Date;
+import javax.persistence.Cacheable;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import org.apache.syncope.core.persistence.api.entity.PullFingerprint;
+
+@Entity
+@Table(name = JPAPullFingerprint.TABLE)
+@Cacheable
+public class JPAPullFingerprint extends AbstractProvidedKeyEntity implements PullFingerprint {
+
+    public static final String TABLE = "PullFingerprint";
+
+    private static final long serialVersionUID = -3416226829474893227L;
+
+    private String pullTask;
+
+    private String resource;
+
+    private String anyKey;
+
+    private String fingerprint;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date lastChangeDate;
+
+    @Override
+    public String getPullTask() {
+        return pullTask;
+    }
+
+    @Override
+    public void setPullTask(final String pullTask) {
+        this.pullTask = pullTask;
+    }
+
+    @Override
+    public String getResource() {
+        return resource;
+    }
+
+    @Override
+    public void setResource(final String resource) {
+        this.resource = resource;
+    }
+
+    @Override
+    public String getAnyKey() {
+        return anyKey;
+    }
+
+    @Override
+    public void setAnyKey(final String anyKey) {
+        this.anyKey = anyKey;
+    }
+
+    @Override
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    @Override
+    public void setFingerprint(final String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    @Override
+    public Date getLastChangeDate() {
+        return lastChangeDate == null
+                ? null
+                : new Date(lastChangeDate.getTime());
+    }
+
+    @Override
+    public void setLastChangeDate(final Date lastChangeDate) {
+        this.lastChangeDate = lastChangeDate == null
+                ? null
+                : new Date(lastChangeDate.getTime());
+    }
+}
@@ -0,0 +1,480 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.openjpa;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.apache.openjpa.datacache.DataCache;
+import org.apache.openjpa.datacache.QueryCache;
+import org.apache.openjpa.event.AbstractRemoteCommitProvider;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.jdbc.conf.JDBCConfiguration;
+import org.apache.openjpa.jdbc.sql.DBDictionary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * OpenJPA remote commit provider using a table in the domain database as change feed: each node appends its own
+ * commit events and periodically polls for events appended by other nodes, so that data and query caches are kept
+ * consistent across all nodes sharing the same database, without any further network configuration.
+ *
+ * Enable with
+ * <pre>
+ * openjpa.RemoteCommitProvider=org.apache.syncope.core.persistence.jpa.openjpa.JDBCRemoteCommitProvider
+ * </pre>
+ * optionally followed by {@code (PollInterval=1000,Retention=60000)}, both expressed in milliseconds.
+ *
+ * Each node is identified by a random UUID, generated at startup, and numbers its events with a sequence: when a
+ * node finds out that some events from another node were purged before being received, the local caches are cleared.
+ *
+ * Committing threads only enqueue their events, which are then appended in batches by a single writer thread, in
+ * sequence order; batches failing to be appended are retried when polling, and eventually given up by skipping their
+ * sequence numbers, so that other nodes find out about the loss. Only classes expected within commit events are
+ * accepted when reading them back.
+ */
+public class JDBCRemoteCommitProvider extends AbstractRemoteCommitProvider {
+
+    public static final String TABLE = "RemoteCommitEvent";
+
+    /**
+     * Number of attempts to append a batch of events, before giving up.
+     */
+    protected static final int MAX_FLUSH_ATTEMPTS = 3;
+
+    private static final Logger LOG = LoggerFactory.getLogger(JDBCRemoteCommitProvider.class);
+
+    /**
+     * Events from nodes which did not purge their own ones - e.g. because no longer running - are removed by any
+     * other node after this number of retention periods.
+     */
+    private static final int ORPHAN_RETENTION_FACTOR = 10;
+
+    /**
+     * Prefixes of the names of classes which can be found in serialized commit events: object ids (as
+     * {@link org.apache.openjpa.util.StringId}), the entity classes they refer to, strings and collections.
+     */
+    private static final String[] ALLOWED_CLASS_PREFIXES = {
+        "org.apache.openjpa.event.RemoteCommitEvent",
+        "org.apache.openjpa.util.",
+        "org.apache.syncope.core.persistence.jpa.entity.",
+        "java.lang.",
+        "java.util."
+    };
+
+    /**
+     * Only resolves classes listed in {@link #ALLOWED_CLASS_PREFIXES} (and arrays thereof).
+     */
+    protected static class RemoteCommitEventInputStream extends ObjectInputStream {
+
+        public RemoteCommitEventInputStream(final InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+            int dims = 0;
+            while (dims < name.length() && name.charAt(dims) == '[') {
+                dims++;
+            }
+            String component = dims == 0
+                    ? name
+                    : name.charAt(dims) == 'L' ? name.substring(dims + 1, name.length() - 1) : null;
+
+            boolean allowed = component == null;
+            for (int i = 0; i < ALLOWED_CLASS_PREFIXES.length && !allowed; i++) {
+                allowed = component.startsWith(ALLOWED_CLASS_PREFIXES[i]);
+            }
+            if (!allowed) {
+                throw new InvalidClassException(name, "Not allowed within remote commit events");
+            }
+
+            return super.resolveClass(desc);
+        }
+    }
+
+    private final String node = UUID.randomUUID().toString();
+
+    private long pollInterval = 1000L;
+
+    private long retention = 60000L;
+
+    /**
+     * Last sequence appended; only accessed by the writer thread.
+     */
+    private long seq = 0L;
+
+    private final Deque<byte[]> pending = new ConcurrentLinkedDeque<>();
+
+    private final Object flushLock = new Object();
+
+    /**
+     * Failed attempts to append the batch of events at the head of {@link #pending}; only accessed by the writer
+     * thread.
+     */
+    private int failedFlushes;
+
+    /**
+     * Last sequence received from each known node; only accessed by the polling thread.
+     */
+    private Map<String, Long> lastSeqs;
+
+    private ScheduledExecutorService poller;
+
+    private ExecutorService writer;
+
+    private volatile boolean tableReady;
+
+    public String getNode() {
+        return node;
+    }
+
+    public long getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(final long pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public long getRetention() {
+        return retention;
+    }
+
+    public void setRetention(final long retention) {
+        this.retention = retention;
+    }
+
+    @Override
+    public void endConfiguration() {
+        super.endConfiguration();
+
+        // caches are empty at startup: events broadcast so far are not relevant
+        try (Connection conn = getDataSource().getConnection()) {
+            ensureTable(conn);
+            baseline(conn);
+            if (!conn.getAutoCommit()) {
+                conn.commit();
+            }
+        } catch (Exception e) {
+            LOG.warn("Could not read events broadcast so far, will retry when polling", e);
+            lastSeqs = null;
+        }
+
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "RemoteCommitEventWriter-" + node);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "RemoteCommitEventPoller-" + node);
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::poll, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    protected DataSource getDataSource() {
+        JDBCConfiguration jdbcConf = (JDBCConfiguration) conf;
+        DataSource dataSource = jdbcConf.getDataSource2(null);
+        return dataSource == null ? jdbcConf.getDataSource(null) : dataSource;
+    }
+
+    protected DBDictionary getDictionary() {
+        return ((JDBCConfiguration) conf).getDBDictionaryInstance();
+    }
+
+    protected void ensureTable(final Connection conn) throws SQLException {
+        if (tableReady) {
+            return;
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeQuery("SELECT seq FROM " + TABLE + " WHERE 1=0").close();
+        } catch (SQLException e) {
+            LOG.debug("Table {} not found, creating", TABLE, e);
+
+            DBDictionary dict = getDictionary();
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("CREATE TABLE " + TABLE + "("
+                        + "node " + dict.varcharTypeName + "(36) NOT NULL, "
+                        + "seq " + dict.bigintTypeName + " NOT NULL, "
+                        + "created " + dict.bigintTypeName + " NOT NULL, "
+                        + "payload " + dict.blobTypeName + ", "
+                        + "PRIMARY KEY(node, seq))");
+            } catch (SQLException ce) {
+                // another node might have just created it
+                LOG.debug("Could not create table {}", TABLE, ce);
+            }
+        }
+        if (!conn.getAutoCommit()) {
+            conn.commit();
+        }
+
+        tableReady = true;
+    }
+
+    protected static byte[] serialize(final RemoteCommitEvent event) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(event);
+        }
+        return baos.toByteArray();
+    }
+
+    protected static RemoteCommitEvent deserialize(final byte[] payload) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new RemoteCommitEventInputStream(new ByteArrayInputStream(payload))) {
+            return (RemoteCommitEvent) ois.readObject();
+        }
+    }
+
+    @Override
+    public void broadcast(final RemoteCommitEvent event) {
+        try {
+            pending.add(serialize(event));
+        } catch (IOException e) {
+            LOG.error("While broadcasting {}, other nodes might serve stale data", event, e);
+            return;
+        }
+
+        if (writer != null) {
+            writer.execute(this::flush);
+        }
+    }
+
+    /**
+     * Appends all pending events in a single batch; sequence order is kept consistent with insertion order, as
+     * relied upon by polling.
+     * Should the batch fail, its events are put back at the head of the pending ones, for the next attempt; after
+     * {@link #MAX_FLUSH_ATTEMPTS} they are dropped, but their sequence numbers are skipped anyway: the resulting gap
+     * will make other nodes clear their caches.
+     */
+    protected void flush() {
+        synchronized (flushLock) {
+            List<byte[]> payloads = new ArrayList<>();
+            for (byte[] payload = pending.poll(); payload != null; payload = pending.poll()) {
+                payloads.add(payload);
+            }
+            if (payloads.isEmpty()) {
+                return;
+            }
+
+            try (Connection conn = getDataSource().getConnection()) {
+                ensureTable(conn);
+
+                // all or none of the batch is appended, so that it can be attempted again
+                boolean autoCommit = conn.getAutoCommit();
+                conn.setAutoCommit(false);
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "INSERT INTO " + TABLE + "(node, seq, created, payload) VALUES(?, ?, ?, ?)")) {
+
+                    long created = System.currentTimeMillis();
+                    for (int i = 0; i < payloads.size(); i++) {
+                        stmt.setString(1, node);
+                        stmt.setLong(2, seq + i + 1);
+                        stmt.setLong(3, created);
+                        stmt.setBytes(4, payloads.get(i));
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    conn.commit();
+                } catch (Exception e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(autoCommit);
+                }
+
+                seq += payloads.size();
+                failedFlushes = 0;
+            } catch (Exception e) {
+                failedFlushes++;
+                if (failedFlushes < MAX_FLUSH_ATTEMPTS) {
+                    LOG.warn("Could not append {} events, will retry", payloads.size(), e);
+
+                    for (int i = payloads.size() - 1; i >= 0; i--) {
+                        pending.offerFirst(payloads.get(i));
+                    }
+                } else {
+                    LOG.error("Could not append {} events, giving up: other nodes will clear their caches",
+                            payloads.size(), e);
+
+                    seq += payloads.size();
+                    failedFlushes = 0;
+                }
+            }
+        }
+    }
+
+    protected void clearCaches() {
+        DataCache dataCache = conf.getDataCacheManagerInstance() == null
+                ? null
+                : conf.getDataCacheManagerInstance().getSystemDataCache();
+        if (dataCache != null) {
+            dataCache.clear();
+        }
+        QueryCache queryCache = conf.getDataCacheManagerInstance() == null
+                ? null
+                : conf.getDataCacheManagerInstance().getSystemQueryCache();
+        if (queryCache != null) {
+            queryCache.clear();
+        }
+    }
+
+    protected List<String> findOtherNodes(final Connection conn) throws SQLException {
+        List<String> nodes = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT DISTINCT node FROM " + TABLE + " WHERE node <> ?")) {
+
+            stmt.setString(1, node);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    nodes.add(rs.getString(1));
+                }
+            }
+        }
+        return nodes;
+    }
+
+    protected void purge(final Connection conn) throws SQLException {
+        long now = System.currentTimeMillis();
+
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "DELETE FROM " + TABLE + " WHERE (node = ? AND created < ?) OR created < ?")) {
+
+            stmt.setString(1, node);
+            stmt.setLong(2, now - retention);
+            stmt.setLong(3, now - ORPHAN_RETENTION_FACTOR * retention);
+            stmt.executeUpdate();
+        }
+    }
+
+    protected void baseline(final Connection conn) throws SQLException {
+        lastSeqs = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT node, MAX(seq) FROM " + TABLE + " WHERE node <> ? GROUP BY node")) {
+
+            stmt.setString(1, node);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    lastSeqs.put(rs.getString(1), rs.getLong(2));
+                }
+            }
+        }
+    }
+
+    protected void receive(final Connection conn, final String other) throws SQLException {
+        long lastSeq = lastSeqs.getOrDefault(other, 0L);
+
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT seq, payload FROM " + TABLE + " WHERE node = ? AND seq > ? ORDER BY seq")) {
+
+            stmt.setString(1, other);
+            stmt.setLong(2, lastSeq);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    long received = rs.getLong(1);
+                    if (received > lastSeq + 1) {
+                        LOG.warn("Events {} to {} from node {} were lost, clearing caches",
+                                lastSeq + 1, received - 1, other);
+                        clearCaches();
+                    }
+
+                    try {
+                        fireEvent(deserialize(rs.getBytes(2)));
+                    } catch (IOException | ClassNotFoundException e) {
+                        LOG.error("Could not read event {} from node {}, clearing caches", received, other, e);
+                        clearCaches();
+                    }
+
+                    lastSeq = received;
+                    lastSeqs.put(other, lastSeq);
+                }
+            }
+        }
+    }
+
+    protected void poll() {
+        // retry appending events whose batch failed
+        if (!pending.isEmpty() && writer != null) {
+            writer.execute(this::flush);
+        }
+
+        try (Connection conn = getDataSource().getConnection()) {
+            ensureTable(conn);
+
+            purge(conn);
+
+            if (lastSeqs == null) {
+                // caches are empty at startup: events broadcast so far are not relevant
+                baseline(conn);
+            } else {
+                for (String other : findOtherNodes(conn)) {
+                    receive(conn, other);
+                }
+            }
+
+            if (!conn.getAutoCommit()) {
+                conn.commit();
+            }
+        } catch (Exception e) {
+            LOG.error("While polling for remote commit events", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+        if (writer != null) {
+            // let pending events be appended
+            writer.shutdown();
+            try {
+                writer.awaitTermination(pollInterval, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -18,6 +18,8 @@
  */
 package org.apache.syncope.core.persistence.jpa.validation.entity;
 
+import java.util.EnumSet;
+import java.util.Set;
 import javax.validation.ConstraintValidatorContext;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
@@ -26,6 +28,10 @@ import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 
 public class PlainSchemaValidator extends AbstractValidator<PlainSchemaCheck, PlainSchema> {
 
+    private static final Set<AttrSchemaType> PROJECTABLE_TYPES = EnumSet.of(
+            AttrSchemaType.String, AttrSchemaType.Long, AttrSchemaType.Double,
+            AttrSchemaType.Boolean, AttrSchemaType.Date, AttrSchemaType.Enum);
+
     @Override
     public boolean isValid(final PlainSchema schema, final ConstraintValidatorContext context) {
         boolean isValid = schema.getType() != AttrSchemaType.Enum
@@ -52,6 +58,17 @@ public class PlainSchemaValidator extends AbstractValidator<PlainSchemaCheck, Pl
                             getTemplate(EntityViolationType.InvalidSchemaMultivalueUnique,
                                     "Cannot contemporary be multivalue and have unique constraint")).
                             addPropertyNode("multiValue").addConstraintViolation();
+                } else {
+                    isValid = !schema.isProjected()
+                            || (!schema.isMultivalue() && PROJECTABLE_TYPES.contains(schema.getType()));
+                    if (!isValid) {
+                        context.disableDefaultConstraintViolation();
+                        context.buildConstraintViolationWithTemplate(
+                                getTemplate(EntityViolationType.InvalidSchemaProjected,
+                                        "Only single-valued schemas of type " + PROJECTABLE_TYPES
+                                        + " can be projected")).
+                                addPropertyNode("projected").addConstraintViolation();
+                    }
                 }
             }
         }
@@ -34,6 +34,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.time.DateUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import java.util.stream.Stream;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
@@ -289,6 +290,68 @@ public class AnySearchTest extends AbstractTest {
         assertTrue(users.isEmpty());
     }
 
+    @Test
+    public void searchAndCount() {
+        AnyCond usernameLeafCond = new AnyCond(AnyCond.Type.LIKE);
+        usernameLeafCond.setSchema("username");
+        usernameLeafCond.setExpression("%i%");
+        SearchCond cond = SearchCond.getLeaf(usernameLeafCond);
+        assertTrue(cond.isValid());
+
+        int count = searchDAO.count(SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.USER);
+        assertTrue(count > 2);
+
+        Pair<Integer, List<User>> page1 = searchDAO.searchAndCount(SyncopeConstants.FULL_ADMIN_REALMS,
+                cond, 1, 2, Collections.emptyList(), AnyTypeKind.USER);
+        assertEquals(count, page1.getLeft().intValue());
+        assertEquals(
+                searchDAO.search(SyncopeConstants.FULL_ADMIN_REALMS,
+                        cond, 1, 2, Collections.emptyList(), AnyTypeKind.USER),
+                page1.getRight());
+
+        // past the last page
+        Pair<Integer, List<User>> empty = searchDAO.searchAndCount(SyncopeConstants.FULL_ADMIN_REALMS,
+                cond, count + 1, 2, Collections.emptyList(), AnyTypeKind.USER);
+        assertEquals(count, empty.getLeft().intValue());
+        assertTrue(empty.getRight().isEmpty());
+
+        // count only
+        Pair<Integer, List<User>> countOnly = searchDAO.searchAndCount(SyncopeConstants.FULL_ADMIN_REALMS,
+                cond, 1, 0, Collections.emptyList(), AnyTypeKind.USER);
+        assertEquals(count, countOnly.getLeft().intValue());
+        assertTrue(countOnly.getRight().isEmpty());
+    }
+
+    @Test
+    public void searchAndCountWithMultivalueOrderBy() {
+        AnyCond usernameLeafCond = new AnyCond(AnyCond.Type.LIKE);
+        usernameLeafCond.setSchema("username");
+        usernameLeafCond.setExpression("%i%");
+        SearchCond cond = SearchCond.getLeaf(usernameLeafCond);
+        assertTrue(cond.isValid());
+
+        // rossini has two values for loginDate, hence more than one row is returned for him
+        OrderByClause orderByClause = new OrderByClause();
+        orderByClause.setField("loginDate");
+        orderByClause.setDirection(OrderByClause.Direction.DESC);
+        List<OrderByClause> orderBy = Collections.singletonList(orderByClause);
+
+        int count = searchDAO.count(SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.USER);
+
+        Pair<Integer, List<User>> all = searchDAO.searchAndCount(SyncopeConstants.FULL_ADMIN_REALMS,
+                cond, 1, 100, orderBy, AnyTypeKind.USER);
+        assertEquals(count, all.getLeft().intValue());
+        assertEquals(count, all.getRight().size());
+        assertTrue(all.getRight().stream().anyMatch(user -> "rossini".equals(user.getUsername())));
+        assertEquals(
+                searchDAO.search(SyncopeConstants.FULL_ADMIN_REALMS, cond, 1, 100, orderBy, AnyTypeKind.USER),
+                all.getRight());
+
+        Pair<Integer, List<User>> page1 = searchDAO.searchAndCount(SyncopeConstants.FULL_ADMIN_REALMS,
+                cond, 1, 2, orderBy, AnyTypeKind.USER);
+        assertEquals(count, page1.getLeft().intValue());
+    }
+
     @Test
     public void searchByGroup() {
         MembershipCond groupCond = new MembershipCond();
@@ -26,17 +26,26 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
 import org.apache.syncope.common.lib.types.EntityViolationType;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.ImplementationDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.SearchProjectionDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
+import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.group.GPlainAttr;
 import org.apache.syncope.core.persistence.api.entity.user.UPlainAttr;
+import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.persistence.jpa.AbstractTest;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -52,6 +61,15 @@ public class PlainSchemaTest extends AbstractTest {
     @Autowired
     private ImplementationDAO implementationDAO;
 
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private AnySearchDAO searchDAO;
+
+    @Autowired
+    private SearchProjectionDAO searchProjectionDAO;
+
     @Test
     public void findAll() {
         List<PlainSchema> schemas = plainSchemaDAO.findAll();
@@ -168,6 +186,82 @@ public class PlainSchemaTest extends AbstractTest {
         });
     }
 
+    @Test
+    public void saveInvalidProjected() {
+        PlainSchema schema = entityFactory.newEntity(PlainSchema.class);
+        schema.setKey("projectedMultivalue");
+        schema.setType(AttrSchemaType.String);
+        schema.setMultivalue(true);
+        schema.setProjected(true);
+
+        try {
+            plainSchemaDAO.save(schema);
+            fail("This should not happen");
+        } catch (InvalidEntityException e) {
+            assertTrue(e.hasViolation(EntityViolationType.InvalidSchemaProjected));
+        }
+    }
+
+    @Test
+    public void searchProjected() {
+        AttrCond likeCond = new AttrCond(AttrCond.Type.LIKE);
+        likeCond.setSchema("firstname");
+        likeCond.setExpression("Gi%");
+        SearchCond cond = SearchCond.getLeaf(likeCond);
+
+        OrderByClause orderBy = new OrderByClause();
+        orderBy.setField("firstname");
+        orderBy.setDirection(OrderByClause.Direction.DESC);
+
+        List<User> expected = searchDAO.search(
+                cond, Collections.singletonList(orderBy), AnyTypeKind.USER);
+        assertFalse(expected.isEmpty());
+
+        PlainSchema firstname = plainSchemaDAO.find("firstname");
+        firstname.setProjected(true);
+        firstname = plainSchemaDAO.save(firstname);
+        assertFalse(firstname.isProjectionReady());
+
+        userDAO.findAllKeys(1, 100).forEach(key -> searchProjectionDAO.save(userDAO.find(key)));
+        firstname.setProjectionReady(true);
+        plainSchemaDAO.save(firstname);
+
+        assertEquals(expected, searchDAO.search(cond, Collections.singletonList(orderBy), AnyTypeKind.USER));
+    }
+
+    @Test
+    public void saveProjected() {
+        PlainSchema firstname = plainSchemaDAO.find("firstname");
+        firstname.setProjected(true);
+        firstname = plainSchemaDAO.save(firstname);
+
+        userDAO.findAllKeys(1, 100).forEach(key -> searchProjectionDAO.save(userDAO.find(key)));
+        firstname.setProjectionReady(true);
+        plainSchemaDAO.save(firstname);
+
+        AttrCond eqCond = new AttrCond(AttrCond.Type.EQ);
+        eqCond.setSchema("firstname");
+        eqCond.setExpression("Gioachino");
+        SearchCond cond = SearchCond.getLeaf(eqCond);
+        assertTrue(searchDAO.search(cond, AnyTypeKind.USER).isEmpty());
+
+        // changed values are rewritten
+        User rossini = userDAO.findByUsername("rossini");
+        rossini.getPlainAttr("firstname").get().getValues().get(0).setStringValue("Gioachino");
+        userDAO.save(rossini);
+        entityManager().flush();
+
+        List<User> found = searchDAO.search(cond, AnyTypeKind.USER);
+        assertEquals(1, found.size());
+        assertEquals("rossini", found.get(0).getUsername());
+
+        // unchanged values are kept
+        userDAO.save(userDAO.findByUsername("rossini"));
+        entityManager().flush();
+
+        assertEquals(found, searchDAO.search(cond, AnyTypeKind.USER));
+    }
+
     @Test
     public void delete() {
         PlainSchema firstname = plainSchemaDAO.find("firstname");
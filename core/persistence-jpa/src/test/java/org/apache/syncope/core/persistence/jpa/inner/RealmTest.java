@@ -27,6 +27,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.List;
+import java.util.stream.Collectors;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.EntityViolationType;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
@@ -94,6 +95,32 @@ public class RealmTest extends AbstractTest {
         assertTrue(children.isEmpty());
     }
 
+    @Test
+    public void findDescendants() {
+        Realm even = realmDAO.findByFullPath("/even");
+
+        List<Realm> descendants = realmDAO.findDescendants(even);
+        assertEquals(2, descendants.size());
+        assertEquals(even, descendants.get(0));
+        assertEquals(realmDAO.findByFullPath("/even/two"), descendants.get(1));
+
+        assertEquals(
+                descendants.stream().map(Realm::getKey).collect(Collectors.toList()),
+                realmDAO.findDescendantKeys("/even"));
+        assertEquals(realmDAO.findAll().size(), realmDAO.findDescendantKeys(SyncopeConstants.ROOT_REALM).size());
+        assertTrue(realmDAO.findDescendantKeys("/even/none").isEmpty());
+    }
+
+    @Test
+    public void isDescendant() {
+        assertTrue(realmDAO.isDescendant("/even/two", "/even"));
+        assertTrue(realmDAO.isDescendant("/even/two", "/even/two"));
+        assertTrue(realmDAO.isDescendant("/odd", SyncopeConstants.ROOT_REALM));
+        assertFalse(realmDAO.isDescendant("/even", "/even/two"));
+        assertFalse(realmDAO.isDescendant("/odd", "/even"));
+        assertFalse(realmDAO.isDescendant("/even/none", "/even"));
+    }
+
     @Test
     public void findAll() {
         List<Realm> list = realmDAO.findAll();
@@ -115,6 +142,9 @@ public class RealmTest extends AbstractTest {
         assertEquals("last", actual.getName());
         assertEquals("/even/two/last", actual.getFullPath());
         assertEquals(realmDAO.findByFullPath("/even/two"), actual.getParent());
+        assertEquals(actual, realmDAO.findByFullPath("/even/two/last"));
+        assertTrue(realmDAO.findDescendantKeys("/even").contains(actual.getKey()));
+        assertTrue(realmDAO.isDescendant("/even/two/last", "/even"));
         assertEquals("20ab5a8c-4b0c-432c-b957-f7fb9784d9f7", realm.getAccountPolicy().getKey());
         assertEquals("ce93fcda-dc3a-4369-a7b0-a6108c261c85", realm.getPasswordPolicy().getKey());
 
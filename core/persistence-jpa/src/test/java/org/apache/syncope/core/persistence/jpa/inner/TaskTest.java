@@ -65,6 +65,17 @@ public class TaskTest extends AbstractTest {
         assertEquals(3, tasks.size());
     }
 
+    @Test
+    public void findToExecPaginated() {
+        List<PropagationTask> all = taskDAO.findToExec(TaskType.PROPAGATION);
+
+        List<PropagationTask> first = taskDAO.findToExec(TaskType.PROPAGATION, null, 2);
+        assertEquals(all.subList(0, 2), first);
+
+        List<PropagationTask> second = taskDAO.findToExec(TaskType.PROPAGATION, first.get(1).getKey(), 2);
+        assertEquals(all.subList(2, all.size()), second);
+    }
+
     @Test
     public void findPaginated() {
         List<Task> tasks = taskDAO.findAll(
@@ -26,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -193,6 +194,14 @@ public class UserTest extends AbstractTest {
         assertNull(user);
     }
 
+    @Test
+    public void findByUsernames() {
+        List<User> users = userDAO.findByUsernames(Arrays.asList("rossini", "vivaldi", "user6"));
+        assertEquals(2, users.size());
+        assertTrue(users.stream().anyMatch(user -> "rossini".equals(user.getUsername())));
+        assertTrue(users.stream().anyMatch(user -> "vivaldi".equals(user.getUsername())));
+    }
+
     @Test
     public void findMembership() {
         UMembership memb = userDAO.findMembership("3d5e91f6-305e-45f9-ad30-4897d3d43bd9");
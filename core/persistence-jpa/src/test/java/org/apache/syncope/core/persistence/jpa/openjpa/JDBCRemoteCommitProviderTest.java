@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.openjpa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.jdbc.sql.DBDictionary;
+import org.apache.openjpa.jdbc.sql.H2Dictionary;
+import org.apache.openjpa.util.StringId;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class JDBCRemoteCommitProviderTest {
+
+    /**
+     * Simulates a Core node, polled explicitly rather than on schedule.
+     */
+    private static class TestNode extends JDBCRemoteCommitProvider {
+
+        private final DataSource dataSource;
+
+        private final List<RemoteCommitEvent> received = new CopyOnWriteArrayList<>();
+
+        private int cleared;
+
+        private boolean unavailable;
+
+        TestNode(final DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        protected DataSource getDataSource() {
+            if (unavailable) {
+                throw new IllegalStateException("Database not available");
+            }
+            return dataSource;
+        }
+
+        @Override
+        protected DBDictionary getDictionary() {
+            return new H2Dictionary();
+        }
+
+        @Override
+        public void broadcast(final RemoteCommitEvent event) {
+            pending(event);
+            flush();
+        }
+
+        void pending(final RemoteCommitEvent event) {
+            super.broadcast(event);
+        }
+
+        @Override
+        protected void fireEvent(final RemoteCommitEvent event) {
+            received.add(event);
+        }
+
+        @Override
+        protected void clearCaches() {
+            cleared++;
+        }
+    }
+
+    private static RemoteCommitEvent event(final String key) {
+        return new RemoteCommitEvent(
+                RemoteCommitEvent.PAYLOAD_OIDS,
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.singletonList(new StringId(JPAUser.class, key)),
+                Collections.emptyList());
+    }
+
+    private static String updated(final RemoteCommitEvent event) {
+        return ((StringId) event.getUpdatedObjectIds().iterator().next()).getId();
+    }
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    public void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource = h2;
+    }
+
+    @Test
+    public void broadcastAndReceive() {
+        TestNode node1 = new TestNode(dataSource);
+        TestNode node2 = new TestNode(dataSource);
+
+        node1.broadcast(event("before"));
+
+        node1.poll();
+        node2.poll();
+        // events broadcast before startup are not relevant
+        assertTrue(node2.received.isEmpty());
+
+        node1.broadcast(event("first"));
+        node1.broadcast(event("second"));
+
+        node1.poll();
+        node2.poll();
+        // own events are not received
+        assertTrue(node1.received.isEmpty());
+        assertEquals(2, node2.received.size());
+        assertEquals("first", updated(node2.received.get(0)));
+        assertEquals("second", updated(node2.received.get(1)));
+
+        // events are received once
+        node2.poll();
+        assertEquals(2, node2.received.size());
+
+        // a node joining later receives events from then on, also from other late-comers
+        TestNode node3 = new TestNode(dataSource);
+        node3.poll();
+        TestNode node4 = new TestNode(dataSource);
+        node4.poll();
+
+        node2.broadcast(event("third"));
+        node4.broadcast(event("fourth"));
+
+        node1.poll();
+        node3.poll();
+        assertEquals(2, node1.received.size());
+        assertEquals(2, node3.received.size());
+        assertEquals(
+                new HashSet<>(Arrays.asList("third", "fourth")),
+                node3.received.stream().map(JDBCRemoteCommitProviderTest::updated).collect(Collectors.toSet()));
+
+        assertEquals(0, node1.cleared + node2.cleared + node3.cleared + node4.cleared);
+    }
+
+    @Test
+    public void lostEventsClearCaches() {
+        TestNode node1 = new TestNode(dataSource);
+        TestNode node2 = new TestNode(dataSource);
+        node1.poll();
+        node2.poll();
+
+        node1.broadcast(event("first"));
+        node2.poll();
+        assertEquals(1, node2.received.size());
+
+        // node2 falls behind: node1 purges its events before node2 could receive them
+        node1.broadcast(event("second"));
+        node1.setRetention(-1000L);
+        node1.poll();
+        node1.setRetention(60000L);
+
+        node1.broadcast(event("third"));
+        node2.poll();
+        assertEquals(1, node2.cleared);
+        assertEquals(2, node2.received.size());
+        assertEquals("third", updated(node2.received.get(1)));
+    }
+
+    @Test
+    public void batch() {
+        TestNode node1 = new TestNode(dataSource);
+        TestNode node2 = new TestNode(dataSource);
+        node1.poll();
+        node2.poll();
+
+        // events enqueued concurrently are appended in a single batch, in sequence order
+        node1.pending(event("first"));
+        node1.pending(event("second"));
+        node1.pending(event("third"));
+        node2.poll();
+        assertTrue(node2.received.isEmpty());
+
+        node1.flush();
+        node2.poll();
+        assertEquals(
+                Arrays.asList("first", "second", "third"),
+                node2.received.stream().map(JDBCRemoteCommitProviderTest::updated).collect(Collectors.toList()));
+        assertEquals(0, node2.cleared);
+    }
+
+    @Test
+    public void failedBatchIsRetried() {
+        TestNode node1 = new TestNode(dataSource);
+        TestNode node2 = new TestNode(dataSource);
+        node1.poll();
+        node2.poll();
+
+        node1.unavailable = true;
+        node1.broadcast(event("first"));
+        node1.broadcast(event("second"));
+        node2.poll();
+        assertTrue(node2.received.isEmpty());
+
+        node1.unavailable = false;
+        node1.flush();
+        node2.poll();
+        assertEquals(
+                Arrays.asList("first", "second"),
+                node2.received.stream().map(JDBCRemoteCommitProviderTest::updated).collect(Collectors.toList()));
+        assertEquals(0, node2.cleared);
+    }
+
+    @Test
+    public void failedBatchIsDetected() {
+        TestNode node1 = new TestNode(dataSource);
+        TestNode node2 = new TestNode(dataSource);
+        node1.poll();
+        node2.poll();
+
+        node1.broadcast(event("first"));
+        node2.poll();
+        assertEquals(1, node2.received.size());
+
+        // the batch is given up after the last attempt...
+        node1.unavailable = true;
+        node1.pending(event("second"));
+        for (int i = 0; i < JDBCRemoteCommitProvider.MAX_FLUSH_ATTEMPTS; i++) {
+            node1.flush();
+        }
+        node1.unavailable = false;
+        node1.flush();
+        node2.poll();
+        assertEquals(1, node2.received.size());
+        assertEquals(0, node2.cleared);
+
+        // ...but other nodes find out about the loss with the next event
+        node1.broadcast(event("third"));
+        node2.poll();
+        assertEquals(1, node2.cleared);
+        assertEquals(2, node2.received.size());
+        assertEquals("third", updated(node2.received.get(1)));
+    }
+
+    @Test
+    public void deserialize() throws Exception {
+        RemoteCommitEvent event = JDBCRemoteCommitProvider.deserialize(
+                JDBCRemoteCommitProvider.serialize(event("key")));
+        assertEquals("key", updated(event));
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(new File("/"));
+        }
+        assertThrows(InvalidClassException.class, () -> JDBCRemoteCommitProvider.deserialize(baos.toByteArray()));
+    }
+}
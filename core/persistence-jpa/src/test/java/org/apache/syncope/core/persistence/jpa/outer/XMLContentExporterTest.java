@@ -19,6 +19,7 @@
 package org.apache.syncope.core.persistence.jpa.outer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.charset.Charset;
@@ -28,6 +29,8 @@ import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.core.persistence.api.content.ContentExporter;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.jpa.AbstractTest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,6 +42,9 @@ public class XMLContentExporterTest extends AbstractTest {
     @Autowired
     private ContentExporter exporter;
 
+    @Autowired
+    private PlainSchemaDAO plainSchemaDAO;
+
     /**
      * Also checks for SYNCOPE-1307.
      *
@@ -62,4 +68,26 @@ public class XMLContentExporterTest extends AbstractTest {
         assertTrue(realms.get(2).contains("name=\"even\""));
         assertTrue(realms.get(3).contains("name=\"two\""));
     }
+
+    @Test
+    public void projectionReadyIsReset() throws Exception {
+        PlainSchema schema = plainSchemaDAO.find("fullname");
+        schema.setProjected(true);
+        schema.setProjectionReady(true);
+        plainSchemaDAO.save(schema);
+        entityManager().flush();
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        exporter.export("Master", baos, null, null, null);
+
+        List<String> schemas = IOUtils.readLines(
+                IOUtils.toInputStream(baos.toString(Charset.defaultCharset()), Charset.defaultCharset()),
+                Charset.defaultCharset()).stream().
+                filter(row -> row.trim().startsWith("<PlainSchema ")).collect(Collectors.toList());
+        assertFalse(schemas.isEmpty());
+        schemas.forEach(row -> assertTrue(StringUtils.containsIgnoreCase(row, "projectionReady=\"0\"")));
+        assertTrue(schemas.stream().anyMatch(row -> StringUtils.containsIgnoreCase(row, "id=\"fullname\"")
+                && StringUtils.containsIgnoreCase(row, "projected=\"1\"")));
+    }
 }
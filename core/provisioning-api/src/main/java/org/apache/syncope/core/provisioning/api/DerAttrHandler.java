@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.api;
 
+import java.util.Collection;
 import java.util.Map;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.DerSchema;
@@ -43,6 +44,15 @@ public interface DerAttrHandler {
      */
     Map<DerSchema, String> getValues(Any<?> any);
 
+    /**
+     * Calculates derived attributes values associated to the given any, limited to the given derived schemas.
+     *
+     * @param any any object
+     * @param schemas keys of the derived schemas to calculate values for
+     * @return derived attribute values
+     */
+    Map<DerSchema, String> getValues(Any<?> any, Collection<String> schemas);
+
     /**
      * Calculates derived attribute value associated to the given any, for the given membership and
      * derived schema.
@@ -62,4 +72,16 @@ public interface DerAttrHandler {
      * @return derived attribute values
      */
     Map<DerSchema, String> getValues(GroupableRelatable<?, ?, ?, ?, ?> any, Membership<?> membership);
+
+    /**
+     * Calculates derived attributes values associated to the given any, for the given membership, limited to the
+     * given derived schemas.
+     *
+     * @param any any object
+     * @param membership membership
+     * @param schemas keys of the derived schemas to calculate values for
+     * @return derived attribute values
+     */
+    Map<DerSchema, String> getValues(
+            GroupableRelatable<?, ?, ?, ?, ?> any, Membership<?> membership, Collection<String> schemas);
 }
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.api;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import org.apache.syncope.core.persistence.api.entity.Any;
@@ -68,6 +69,16 @@ public interface VirAttrHandler {
      */
     Map<VirSchema, List<String>> getValues(Any<?> any);
 
+    /**
+     * Query external resources (or cache, if configured) associated to the given any for values associated to the
+     * given virtual schemas, among the ones available to the given any, with no membership.
+     *
+     * @param any any object
+     * @param schemas keys of the virtual schemas to query values for
+     * @return virtual attribute values, either for local cache or external resources
+     */
+    Map<VirSchema, List<String>> getValues(Any<?> any, Collection<String> schemas);
+
     /**
      * Query external resources (or cache, if configured) associated to the given any for values associated to all
      * {@link VirSchema} instances in the {@link org.apache.syncope.core.persistence.api.entity.AnyTypeClass}
@@ -79,4 +90,15 @@ public interface VirAttrHandler {
      */
     Map<VirSchema, List<String>> getValues(Any<?> any, Membership<?> membership);
 
+    /**
+     * Query external resources (or cache, if configured) associated to the given any for values associated to the
+     * given virtual schemas, among the ones available to the given any, for the given membership.
+     *
+     * @param any any object
+     * @param membership membership
+     * @param schemas keys of the virtual schemas to query values for
+     * @return virtual attribute values, either for local cache or external resources
+     */
+    Map<VirSchema, List<String>> getValues(Any<?> any, Membership<?> membership, Collection<String> schemas);
+
 }
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.api.data;
 
+import java.util.Set;
 import org.apache.syncope.common.lib.patch.AnyObjectPatch;
 import org.apache.syncope.common.lib.to.AnyObjectTO;
 import org.apache.syncope.core.provisioning.api.PropagationByResource;
@@ -29,6 +30,16 @@ public interface AnyObjectDataBinder {
 
     AnyObjectTO getAnyObjectTO(AnyObject anyObject, boolean details);
 
+    /**
+     * Builds the transfer object for the given any object, only including the requested fields and schemas.
+     *
+     * @param anyObject any object
+     * @param details whether details shall be included
+     * @param fields names of the fields and schemas to include, {@code null} meaning all of them
+     * @return transfer object for the given any object
+     */
+    AnyObjectTO getAnyObjectTO(AnyObject anyObject, boolean details, Set<String> fields);
+
     void create(AnyObject anyObject, AnyObjectTO anyObjectTO);
 
     PropagationByResource<String> update(AnyObject toBeUpdated, AnyObjectPatch anyObjectPatch);
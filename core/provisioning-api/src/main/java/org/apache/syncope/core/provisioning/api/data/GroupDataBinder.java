@@ -19,6 +19,7 @@
 package org.apache.syncope.core.provisioning.api.data;
 
 import java.util.Map;
+import java.util.Set;
 import org.apache.syncope.common.lib.patch.GroupPatch;
 import org.apache.syncope.common.lib.to.GroupTO;
 import org.apache.syncope.common.lib.to.TypeExtensionTO;
@@ -34,6 +35,16 @@ public interface GroupDataBinder {
 
     GroupTO getGroupTO(Group group, boolean details);
 
+    /**
+     * Builds the transfer object for the given group, only including the requested fields and schemas.
+     *
+     * @param group group
+     * @param details whether details shall be included
+     * @param fields names of the fields and schemas to include, {@code null} meaning all of them
+     * @return transfer object for the given group
+     */
+    GroupTO getGroupTO(Group group, boolean details, Set<String> fields);
+
     void create(Group group, GroupTO groupTO);
 
     PropagationByResource<String> update(Group group, GroupPatch groupPatch);
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.api.data;
 
+import java.util.Set;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.patch.UserPatch;
 import org.apache.syncope.common.lib.to.LinkedAccountTO;
@@ -34,6 +35,16 @@ public interface UserDataBinder {
 
     UserTO getUserTO(User user, boolean details);
 
+    /**
+     * Builds the transfer object for the given user, only including the requested fields and schemas.
+     *
+     * @param user user
+     * @param details whether details shall be included
+     * @param fields names of the fields and schemas to include, {@code null} meaning all of them
+     * @return transfer object for the given user
+     */
+    UserTO getUserTO(User user, boolean details, Set<String> fields);
+
     LinkedAccountTO getLinkedAccountTO(LinkedAccount account);
 
     void create(User user, UserTO userTO, boolean storePassword);
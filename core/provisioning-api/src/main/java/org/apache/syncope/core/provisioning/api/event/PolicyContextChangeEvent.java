@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published whenever a policy, realm, external resource or implementation is saved or deleted: any cached
+ * information about the effective policies applying to users of the given domain might then be stale.
+ */
+public class PolicyContextChangeEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = -4616093245138792350L;
+
+    private final String domain;
+
+    public PolicyContextChangeEvent(final Object source, final String domain) {
+        super(source);
+        this.domain = domain;
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+
+    @Override
+    public String toString() {
+        return "PolicyContextChangeEvent{"
+                + "domain=" + domain
+                + '}';
+    }
+}
@@ -30,6 +30,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import org.apache.commons.jexl3.JexlBuilder;
 import org.apache.commons.jexl3.JexlContext;
 import org.apache.commons.jexl3.JexlEngine;
@@ -249,16 +250,43 @@ public final class JexlUtils {
         derAttrs.forEach((schema, value) -> jexlContext.set(schema.getKey(), value));
     }
 
+    public static JexlContext newMandatoryConditionContext(final Any<?> any, final DerAttrHandler derAttrHandler) {
+        JexlContext jexlContext = new MapContext();
+        addPlainAttrsToContext(any.getPlainAttrs(), jexlContext);
+        addDerAttrsToContext(any, derAttrHandler, jexlContext);
+        return jexlContext;
+    }
+
+    /**
+     * Evaluates the given mandatory condition; the JEXL context is only requested when the condition is not constant,
+     * so that it can be built lazily and shared among several evaluations.
+     *
+     * @param mandatoryCondition mandatory condition
+     * @param jexlContext JEXL context supplier
+     * @return evaluation result
+     */
+    public static boolean evaluateMandatoryCondition(
+            final String mandatoryCondition,
+            final Supplier<JexlContext> jexlContext) {
+
+        String condition = StringUtils.trim(mandatoryCondition);
+        if (StringUtils.isBlank(condition) || "false".equals(condition)) {
+            return false;
+        }
+        if ("true".equals(condition)) {
+            return true;
+        }
+
+        return Boolean.parseBoolean(evaluate(condition, jexlContext.get()));
+    }
+
     public static boolean evaluateMandatoryCondition(
             final String mandatoryCondition,
             final Any<?> any,
             final DerAttrHandler derAttrHandler) {
 
-        JexlContext jexlContext = new MapContext();
-        addPlainAttrsToContext(any.getPlainAttrs(), jexlContext);
-        addDerAttrsToContext(any, derAttrHandler, jexlContext);
-
-        return Boolean.parseBoolean(evaluate(mandatoryCondition, jexlContext));
+        return evaluateMandatoryCondition(
+                mandatoryCondition, () -> newMandatoryConditionContext(any, derAttrHandler));
     }
 
     /**
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.api.pushpull;
 
+import java.util.List;
 import org.identityconnectors.framework.common.objects.SyncDelta;
 import org.identityconnectors.framework.common.objects.SyncResultsHandler;
 import org.apache.syncope.core.persistence.api.entity.task.PullTask;
@@ -28,4 +29,21 @@ public interface SyncopePullResultHandler extends SyncopeResultHandler<PullTask,
 
     @Override
     boolean handle(SyncDelta delta);
+
+    /**
+     * Handles the given deltas, in order, within the same transaction; per-delta reporting is the same as
+     * {@link #handle(org.identityconnectors.framework.common.objects.SyncDelta)}.
+     * Changes performed by workflow and provisioning managers are committed on their own for each delta, while any
+     * other change joins the batch transaction: should the batch fail, all of its deltas need to be handled again.
+     *
+     * @param deltas deltas to handle
+     * @return whether pull shall continue
+     */
+    default boolean handle(final List<SyncDelta> deltas) {
+        boolean shouldContinue = true;
+        for (int i = 0; i < deltas.size() && shouldContinue; i++) {
+            shouldContinue = handle(deltas.get(i));
+        }
+        return shouldContinue;
+    }
 }
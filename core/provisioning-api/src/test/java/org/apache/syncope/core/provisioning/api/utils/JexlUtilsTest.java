@@ -25,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -33,6 +34,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 import org.apache.commons.jexl3.JexlContext;
 import org.apache.commons.jexl3.JxltEngine;
 import org.apache.commons.lang3.StringUtils;
@@ -164,5 +166,15 @@ public class JexlUtilsTest extends AbstractTest {
 
         assertTrue(JexlUtils.evaluateMandatoryCondition("true", any, derAttrHandler));
         assertFalse(JexlUtils.evaluateMandatoryCondition("false", any, derAttrHandler));
+        assertTrue(JexlUtils.evaluateMandatoryCondition("1 == 1", any, derAttrHandler));
+    }
+
+    @Test
+    public void evaluateConstantMandatoryCondition(@Mock Supplier<JexlContext> jexlContext) {
+        assertTrue(JexlUtils.evaluateMandatoryCondition("true", jexlContext));
+        assertFalse(JexlUtils.evaluateMandatoryCondition(" false ", jexlContext));
+        assertFalse(JexlUtils.evaluateMandatoryCondition(null, jexlContext));
+
+        verify(jexlContext, never()).get();
     }
 }
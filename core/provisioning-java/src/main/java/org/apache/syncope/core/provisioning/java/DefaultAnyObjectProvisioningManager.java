@@ -38,6 +38,7 @@ import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
 import org.apache.syncope.core.provisioning.api.VirAttrHandler;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.java.propagation.PropagationManagerImpl;
 import org.apache.syncope.core.workflow.api.AnyObjectWorkflowAdapter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Propagation;
@@ -72,6 +73,8 @@ public class DefaultAnyObjectProvisioningManager implements AnyObjectProvisionin
     public Pair<String, List<PropagationStatus>> create(
             final AnyObjectTO anyObjectTO, final Set<String> excludedResources, final boolean nullPriorityAsync) {
 
+        PropagationManagerImpl.markCommittedState();
+
         WorkflowResult<String> created = awfAdapter.create(anyObjectTO);
 
         List<PropagationTaskInfo> taskInfos = propagationManager.getCreateTasks(
@@ -98,6 +101,8 @@ public class DefaultAnyObjectProvisioningManager implements AnyObjectProvisionin
     public Pair<AnyObjectPatch, List<PropagationStatus>> update(
             final AnyObjectPatch anyObjectPatch, final Set<String> excludedResources, final boolean nullPriorityAsync) {
 
+        PropagationManagerImpl.markCommittedState();
+
         WorkflowResult<AnyObjectPatch> updated = awfAdapter.update(anyObjectPatch);
 
         List<PropagationTaskInfo> taskInfos = propagationManager.getUpdateTasks(
@@ -124,6 +129,8 @@ public class DefaultAnyObjectProvisioningManager implements AnyObjectProvisionin
     public List<PropagationStatus> delete(
             final String key, final Set<String> excludedResources, final boolean nullPriorityAsync) {
 
+        PropagationManagerImpl.markCommittedState();
+
         PropagationByResource<String> propByRes = new PropagationByResource<>();
         propByRes.set(ResourceOperation.DELETE, anyObjectDAO.findAllResourceKeys(key));
 
@@ -43,6 +43,7 @@ import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecu
 import org.apache.syncope.core.provisioning.api.VirAttrHandler;
 import org.apache.syncope.core.provisioning.api.data.GroupDataBinder;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.java.propagation.PropagationManagerImpl;
 import org.apache.syncope.core.workflow.api.GroupWorkflowAdapter;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -91,6 +92,8 @@ public class DefaultGroupProvisioningManager implements GroupProvisioningManager
             final Set<String> excludedResources,
             final boolean nullPriorityAsync) {
 
+        PropagationManagerImpl.markCommittedState();
+
         WorkflowResult<String> created = gwfAdapter.create(groupTO);
 
         // see ConnObjectUtils#getAnyTOFromConnObject for GroupOwnerSchema
@@ -121,6 +124,8 @@ public class DefaultGroupProvisioningManager implements GroupProvisioningManager
     public Pair<GroupPatch, List<PropagationStatus>> update(
             final GroupPatch groupPatch, final Set<String> excludedResources, final boolean nullPriorityAsync) {
 
+        PropagationManagerImpl.markCommittedState();
+
         WorkflowResult<GroupPatch> updated = gwfAdapter.update(groupPatch);
 
         List<PropagationTaskInfo> tasks = propagationManager.getUpdateTasks(
@@ -147,6 +152,8 @@ public class DefaultGroupProvisioningManager implements GroupProvisioningManager
     public List<PropagationStatus> delete(
             final String key, final Set<String> excludedResources, final boolean nullPriorityAsync) {
 
+        PropagationManagerImpl.markCommittedState();
+
         List<PropagationTaskInfo> taskInfos = new ArrayList<>();
 
         // Generate propagation tasks for deleting users and any objects from group resources, 
@@ -18,10 +18,12 @@
  */
 package org.apache.syncope.core.provisioning.java;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.commons.jexl3.JexlContext;
 import org.apache.commons.jexl3.MapContext;
 import org.apache.syncope.core.provisioning.api.jexl.JexlUtils;
@@ -91,6 +93,19 @@ public class DerAttrHandlerImpl implements DerAttrHandler {
                 anyUtilsFactory.getInstance(any).dao().findAllowedSchemas(any, DerSchema.class).getForSelf());
     }
 
+    @Override
+    public Map<DerSchema, String> getValues(final Any<?> any, final Collection<String> schemas) {
+        if (schemas.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return getValues(
+                any,
+                anyUtilsFactory.getInstance(any).dao().findAllowedSchemas(any, DerSchema.class).getForSelf().stream().
+                        filter(schema -> schemas.contains(schema.getKey())).
+                        collect(Collectors.toSet()));
+    }
+
     private Map<DerSchema, String> getValues(
             final GroupableRelatable<?, ?, ?, ?, ?> any, final Membership<?> membership, final Set<DerSchema> schemas) {
 
@@ -118,4 +133,23 @@ public class DerAttrHandlerImpl implements DerAttrHandler {
                         getForMembership(membership.getRightEnd()));
     }
 
+    @Override
+    public Map<DerSchema, String> getValues(
+            final GroupableRelatable<?, ?, ?, ?, ?> any,
+            final Membership<?> membership,
+            final Collection<String> schemas) {
+
+        if (schemas.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return getValues(
+                any,
+                membership,
+                anyUtilsFactory.getInstance(any).dao().findAllowedSchemas(any, DerSchema.class).
+                        getForMembership(membership.getRightEnd()).stream().
+                        filter(schema -> schemas.contains(schema.getKey())).
+                        collect(Collectors.toSet()));
+    }
+
 }
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.java;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -25,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.syncope.core.persistence.api.dao.AllowedSchemas;
 import org.apache.syncope.core.persistence.api.entity.Any;
@@ -176,6 +178,19 @@ public class VirAttrHandlerImpl implements VirAttrHandler {
                 anyUtilsFactory.getInstance(any).dao().findAllowedSchemas(any, VirSchema.class).getForSelf());
     }
 
+    @Override
+    public Map<VirSchema, List<String>> getValues(final Any<?> any, final Collection<String> schemas) {
+        if (schemas.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return getValues(
+                any,
+                anyUtilsFactory.getInstance(any).dao().findAllowedSchemas(any, VirSchema.class).getForSelf().stream().
+                        filter(schema -> schemas.contains(schema.getKey())).
+                        collect(Collectors.toSet()));
+    }
+
     @Override
     public Map<VirSchema, List<String>> getValues(final Any<?> any, final Membership<?> membership) {
         return getValues(
@@ -183,4 +198,20 @@ public class VirAttrHandlerImpl implements VirAttrHandler {
                 anyUtilsFactory.getInstance(any).dao().findAllowedSchemas(any, VirSchema.class).
                         getForMembership(membership.getRightEnd()));
     }
+
+    @Override
+    public Map<VirSchema, List<String>> getValues(
+            final Any<?> any, final Membership<?> membership, final Collection<String> schemas) {
+
+        if (schemas.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return getValues(
+                any,
+                anyUtilsFactory.getInstance(any).dao().findAllowedSchemas(any, VirSchema.class).
+                        getForMembership(membership.getRightEnd()).stream().
+                        filter(schema -> schemas.contains(schema.getKey())).
+                        collect(Collectors.toSet()));
+    }
 }
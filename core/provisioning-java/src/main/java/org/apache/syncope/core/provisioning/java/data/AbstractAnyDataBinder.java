@@ -604,6 +604,51 @@ abstract class AbstractAnyDataBinder {
         }
     }
 
+    /**
+     * Tells whether the given field or schema was requested.
+     *
+     * @param fields requested fields and schemas, or {@code null} to request all
+     * @param name field or schema name
+     * @return whether the given field or schema shall be included in the returned object
+     */
+    protected static boolean projected(final Set<String> fields, final String name) {
+        return fields == null || fields.contains(name);
+    }
+
+    protected static Collection<? extends PlainAttr<?>> projected(
+            final Set<String> fields, final Collection<? extends PlainAttr<?>> plainAttrs) {
+
+        return fields == null
+                ? plainAttrs
+                : plainAttrs.stream().
+                        filter(plainAttr -> fields.contains(plainAttr.getSchema().getKey())).
+                        collect(Collectors.toList());
+    }
+
+    protected Map<DerSchema, String> derAttrs(final Any<?> any, final Set<String> fields) {
+        return fields == null ? derAttrHandler.getValues(any) : derAttrHandler.getValues(any, fields);
+    }
+
+    protected Map<DerSchema, String> derAttrs(
+            final GroupableRelatable<?, ?, ?, ?, ?> any, final Membership<?> membership, final Set<String> fields) {
+
+        return fields == null
+                ? derAttrHandler.getValues(any, membership)
+                : derAttrHandler.getValues(any, membership, fields);
+    }
+
+    protected Map<VirSchema, List<String>> virAttrs(final Any<?> any, final Set<String> fields) {
+        return fields == null ? virAttrHandler.getValues(any) : virAttrHandler.getValues(any, fields);
+    }
+
+    protected Map<VirSchema, List<String>> virAttrs(
+            final Any<?> any, final Membership<?> membership, final Set<String> fields) {
+
+        return fields == null
+                ? virAttrHandler.getValues(any, membership)
+                : virAttrHandler.getValues(any, membership, fields);
+    }
+
     protected void fillTO(
             final AnyTO anyTO,
             final String realmFullPath,
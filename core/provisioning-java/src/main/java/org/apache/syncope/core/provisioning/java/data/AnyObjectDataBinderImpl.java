@@ -72,6 +72,12 @@ public class AnyObjectDataBinderImpl extends AbstractAnyDataBinder implements An
     @Transactional(readOnly = true)
     @Override
     public AnyObjectTO getAnyObjectTO(final AnyObject anyObject, final boolean details) {
+        return getAnyObjectTO(anyObject, details, null);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public AnyObjectTO getAnyObjectTO(final AnyObject anyObject, final boolean details, final Set<String> fields) {
         AnyObjectTO anyObjectTO = new AnyObjectTO();
         anyObjectTO.setKey(anyObject.getKey());
         anyObjectTO.setName(anyObject.getName());
@@ -83,47 +89,56 @@ public class AnyObjectDataBinderImpl extends AbstractAnyDataBinder implements An
         anyObjectTO.setStatus(anyObject.getStatus());
 
         Map<VirSchema, List<String>> virAttrValues = details
-                ? virAttrHandler.getValues(anyObject)
+                ? virAttrs(anyObject, fields)
                 : Collections.<VirSchema, List<String>>emptyMap();
         fillTO(anyObjectTO, anyObject.getRealm().getFullPath(),
                 anyObject.getAuxClasses(),
-                anyObject.getPlainAttrs(),
-                derAttrHandler.getValues(anyObject),
+                projected(fields, anyObject.getPlainAttrs()),
+                derAttrs(anyObject, fields),
                 virAttrValues,
-                anyObjectDAO.findAllResources(anyObject),
+                projected(fields, "resources")
+                ? anyObjectDAO.findAllResources(anyObject) : Collections.emptyList(),
                 details);
 
         // dynamic realms
-        anyObjectTO.getDynRealms().addAll(anyObjectDAO.findDynRealms(anyObject.getKey()));
+        if (projected(fields, "dynRealms")) {
+            anyObjectTO.getDynRealms().addAll(anyObjectDAO.findDynRealms(anyObject.getKey()));
+        }
 
         if (details) {
             // relationships
-            anyObjectTO.getRelationships().addAll(
-                    anyObjectDAO.findAllRelationships(anyObject).stream().
-                            map(relationship -> getRelationshipTO(
-                            relationship.getType().getKey(),
-                            relationship.getLeftEnd().getKey().equals(anyObject.getKey())
-                            ? relationship.getRightEnd()
-                            : anyObject)).
-                            collect(Collectors.toList()));
+            if (projected(fields, "relationships")) {
+                anyObjectTO.getRelationships().addAll(
+                        anyObjectDAO.findAllRelationships(anyObject).stream().
+                                map(relationship -> getRelationshipTO(
+                                relationship.getType().getKey(),
+                                relationship.getLeftEnd().getKey().equals(anyObject.getKey())
+                                ? relationship.getRightEnd()
+                                : anyObject)).
+                                collect(Collectors.toList()));
+            }
 
             // memberships
-            anyObjectTO.getMemberships().addAll(
-                    anyObject.getMemberships().stream().map(membership -> {
-                        return getMembershipTO(
-                                anyObject.getPlainAttrs(membership),
-                                derAttrHandler.getValues(anyObject, membership),
-                                virAttrHandler.getValues(anyObject, membership),
-                                membership);
-                    }).collect(Collectors.toList()));
+            if (projected(fields, "memberships")) {
+                anyObjectTO.getMemberships().addAll(
+                        anyObject.getMemberships().stream().map(membership -> {
+                            return getMembershipTO(
+                                    projected(fields, anyObject.getPlainAttrs(membership)),
+                                    derAttrs(anyObject, membership, fields),
+                                    virAttrs(anyObject, membership, fields),
+                                    membership);
+                        }).collect(Collectors.toList()));
+            }
 
             // dynamic memberships
-            anyObjectTO.getDynMemberships().addAll(
-                    anyObjectDAO.findDynGroups(anyObject.getKey()).stream().map(group -> {
-                        return new MembershipTO.Builder().
-                                group(group.getKey(), group.getName()).
-                                build();
-                    }).collect(Collectors.toList()));
+            if (projected(fields, "dynMemberships")) {
+                anyObjectTO.getDynMemberships().addAll(
+                        anyObjectDAO.findDynGroups(anyObject.getKey()).stream().map(group -> {
+                            return new MembershipTO.Builder().
+                                    group(group.getKey(), group.getName()).
+                                    build();
+                        }).collect(Collectors.toList()));
+            }
         }
 
         return anyObjectTO;
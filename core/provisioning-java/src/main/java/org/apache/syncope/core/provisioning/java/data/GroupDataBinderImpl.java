@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.SyncopeClientCompositeException;
@@ -346,6 +347,12 @@ public class GroupDataBinderImpl extends AbstractAnyDataBinder implements GroupD
     @Transactional(readOnly = true)
     @Override
     public GroupTO getGroupTO(final Group group, final boolean details) {
+        return getGroupTO(group, details, null);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public GroupTO getGroupTO(final Group group, final boolean details, final Set<String> fields) {
         GroupTO groupTO = new GroupTO();
 
         // set sys info
@@ -365,29 +372,39 @@ public class GroupDataBinderImpl extends AbstractAnyDataBinder implements GroupD
             groupTO.setGroupOwner(group.getGroupOwner().getKey());
         }
 
-        Map<DerSchema, String> derAttrValues = derAttrHandler.getValues(group);
+        Map<DerSchema, String> derAttrValues = derAttrs(group, fields);
         Map<VirSchema, List<String>> virAttrValues = details
-                ? virAttrHandler.getValues(group)
+                ? virAttrs(group, fields)
                 : Collections.<VirSchema, List<String>>emptyMap();
         fillTO(groupTO,
                 group.getRealm().getFullPath(),
                 group.getAuxClasses(),
-                group.getPlainAttrs(),
+                projected(fields, group.getPlainAttrs()),
                 derAttrValues,
                 virAttrValues,
-                group.getResources(),
+                projected(fields, "resources") ? group.getResources() : Collections.emptyList(),
                 details);
 
         // dynamic realms
-        groupTO.getDynRealms().addAll(groupDAO.findDynRealms(group.getKey()));
+        if (projected(fields, "dynRealms")) {
+            groupTO.getDynRealms().addAll(groupDAO.findDynRealms(group.getKey()));
+        }
 
         // Static user and AnyType membership counts
-        groupTO.setStaticUserMembershipCount(groupDAO.countUMembers(group));
-        groupTO.setStaticAnyObjectMembershipCount(groupDAO.countAMembers(group));
+        if (projected(fields, "staticUserMembershipCount")) {
+            groupTO.setStaticUserMembershipCount(groupDAO.countUMembers(group));
+        }
+        if (projected(fields, "staticAnyObjectMembershipCount")) {
+            groupTO.setStaticAnyObjectMembershipCount(groupDAO.countAMembers(group));
+        }
 
         // Dynamic user and AnyType membership counts
-        groupTO.setDynamicUserMembershipCount(groupDAO.countUDynMembers(group));
-        groupTO.setDynamicAnyObjectMembershipCount(groupDAO.countADynMembers(group));
+        if (projected(fields, "dynamicUserMembershipCount")) {
+            groupTO.setDynamicUserMembershipCount(groupDAO.countUDynMembers(group));
+        }
+        if (projected(fields, "dynamicAnyObjectMembershipCount")) {
+            groupTO.setDynamicAnyObjectMembershipCount(groupDAO.countADynMembers(group));
+        }
 
         if (group.getUDynMembership() != null) {
             groupTO.setUDynMembershipCond(group.getUDynMembership().getFIQLCond());
@@ -721,6 +721,12 @@ public class UserDataBinderImpl extends AbstractAnyDataBinder implements UserDat
     @Transactional(readOnly = true)
     @Override
     public UserTO getUserTO(final User user, final boolean details) {
+        return getUserTO(user, details, null);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public UserTO getUserTO(final User user, final boolean details, final Set<String> fields) {
         boolean returnPasswordValue = confDAO.find("return.password.value", false);
 
         UserTO userTO = new UserTO();
@@ -750,54 +756,76 @@ public class UserDataBinderImpl extends AbstractAnyDataBinder implements UserDat
 
         fillTO(userTO, user.getRealm().getFullPath(),
                 user.getAuxClasses(),
-                user.getPlainAttrs(),
-                derAttrHandler.getValues(user),
-                details ? virAttrHandler.getValues(user) : Collections.emptyMap(),
-                userDAO.findAllResources(user),
+                projected(fields, user.getPlainAttrs()),
+                derAttrs(user, fields),
+                details ? virAttrs(user, fields) : Collections.emptyMap(),
+                projected(fields, "resources") ? userDAO.findAllResources(user) : Collections.emptyList(),
                 details);
 
         // dynamic realms
-        userTO.getDynRealms().addAll(userDAO.findDynRealms(user.getKey()));
+        if (projected(fields, "dynRealms")) {
+            userTO.getDynRealms().addAll(userDAO.findDynRealms(user.getKey()));
+        }
 
         if (details) {
             // roles
-            userTO.getRoles().addAll(user.getRoles().stream().map(Role::getKey).collect(Collectors.toList()));
+            if (projected(fields, "roles")) {
+                userTO.getRoles().addAll(user.getRoles().stream().map(Role::getKey).collect(Collectors.toList()));
+            }
 
             // dynamic roles
-            userTO.getDynRoles().addAll(
-                    userDAO.findDynRoles(user.getKey()).stream().map(Role::getKey).collect(Collectors.toList()));
+            if (projected(fields, "dynRoles")) {
+                userTO.getDynRoles().addAll(
+                        userDAO.findDynRoles(user.getKey()).stream().map(Role::getKey).collect(Collectors.toList()));
+            }
 
             // privileges
-            userTO.getPrivileges().addAll(userDAO.findAllRoles(user).stream().
-                    flatMap(role -> role.getPrivileges().stream()).map(Privilege::getKey).collect(Collectors.toSet()));
+            if (projected(fields, "privileges")) {
+                userTO.getPrivileges().addAll(userDAO.findAllRoles(user).stream().
+                        flatMap(role -> role.getPrivileges().stream()).map(Privilege::getKey).
+                        collect(Collectors.toSet()));
+            }
 
             // relationships
-            userTO.getRelationships().addAll(user.getRelationships().stream().
-                    map(relationship -> getRelationshipTO(relationship.getType().getKey(), relationship.getRightEnd())).
-                    collect(Collectors.toList()));
+            if (projected(fields, "relationships")) {
+                userTO.getRelationships().addAll(user.getRelationships().stream().
+                        map(relationship -> getRelationshipTO(
+                        relationship.getType().getKey(), relationship.getRightEnd())).
+                        collect(Collectors.toList()));
+            }
 
             // memberships
-            userTO.getMemberships().addAll(user.getMemberships().stream().
-                    map(membership -> getMembershipTO(user.getPlainAttrs(membership),
-                    derAttrHandler.getValues(user, membership),
-                    virAttrHandler.getValues(user, membership),
-                    membership)).collect(Collectors.toList()));
+            if (projected(fields, "memberships")) {
+                userTO.getMemberships().addAll(user.getMemberships().stream().
+                        map(membership -> getMembershipTO(projected(fields, user.getPlainAttrs(membership)),
+                        derAttrs(user, membership, fields),
+                        virAttrs(user, membership, fields),
+                        membership)).collect(Collectors.toList()));
+            }
 
             // dynamic memberships
-            userTO.getDynMemberships().addAll(userDAO.findDynGroups(user.getKey()).stream().
-                    map(group -> new MembershipTO.Builder().group(group.getKey(), group.getName()).build()).
-                    collect(Collectors.toList()));
+            if (projected(fields, "dynMemberships")) {
+                userTO.getDynMemberships().addAll(userDAO.findDynGroups(user.getKey()).stream().
+                        map(group -> new MembershipTO.Builder().group(group.getKey(), group.getName()).build()).
+                        collect(Collectors.toList()));
+            }
 
             // linked accounts
-            userTO.getLinkedAccounts().addAll(user.getLinkedAccounts().stream().
-                    map(account -> getLinkedAccountTO(account, returnPasswordValue)).
-                    collect(Collectors.toList()));
+            if (projected(fields, "linkedAccounts")) {
+                userTO.getLinkedAccounts().addAll(user.getLinkedAccounts().stream().
+                        map(account -> getLinkedAccountTO(account, returnPasswordValue)).
+                        collect(Collectors.toList()));
+            }
 
             // delegations
-            userTO.getDelegatingDelegations().addAll(
-                    delegationDAO.findByDelegating(user).stream().map(Delegation::getKey).collect(Collectors.toList()));
-            userTO.getDelegatedDelegations().addAll(
-                    delegationDAO.findByDelegated(user).stream().map(Delegation::getKey).collect(Collectors.toList()));
+            if (projected(fields, "delegatingDelegations")) {
+                userTO.getDelegatingDelegations().addAll(delegationDAO.findByDelegating(user).stream().
+                        map(Delegation::getKey).collect(Collectors.toList()));
+            }
+            if (projected(fields, "delegatedDelegations")) {
+                userTO.getDelegatedDelegations().addAll(delegationDAO.findByDelegated(user).stream().
+                        map(Delegation::getKey).collect(Collectors.toList()));
+            }
         }
 
         return userTO;
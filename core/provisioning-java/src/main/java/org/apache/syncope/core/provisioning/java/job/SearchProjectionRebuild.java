@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
+import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.SearchProjectionDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Rebuild the search projection tables with values from existing users, groups and any objects; once done, search
+ * starts relying on such tables for all projected plain schemas.
+ */
+public class SearchProjectionRebuild extends AbstractSchedTaskJobDelegate {
+
+    @Autowired
+    protected PlainSchemaDAO plainSchemaDAO;
+
+    @Autowired
+    protected SearchProjectionDAO searchProjectionDAO;
+
+    @Autowired
+    protected UserDAO userDAO;
+
+    @Autowired
+    protected GroupDAO groupDAO;
+
+    @Autowired
+    protected AnyObjectDAO anyObjectDAO;
+
+    /**
+     * Each page of entities is processed in its own transaction, so that neither entities pile up in the persistence
+     * context nor a single transaction spans the whole rebuild.
+     *
+     * @return transaction template for the current domain
+     */
+    protected TransactionTemplate getPageTransactionTemplate() {
+        TransactionTemplate pageTx = new TransactionTemplate(BeanFactoryAnnotationUtils.qualifiedBeanOfType(
+                ApplicationContextProvider.getBeanFactory(),
+                PlatformTransactionManager.class,
+                AuthContextUtils.getDomain()));
+        pageTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return pageTx;
+    }
+
+    protected <A extends Any<?>> void rebuild(final TransactionTemplate pageTx, final AnyDAO<A> anyDAO) {
+        int pages = (anyDAO.count() / AnyDAO.DEFAULT_PAGE_SIZE) + 1;
+        for (int page = 1; page <= pages; page++) {
+            int current = page;
+            pageTx.executeWithoutResult(status -> {
+                for (String key : anyDAO.findAllKeys(current, AnyDAO.DEFAULT_PAGE_SIZE)) {
+                    A any = anyDAO.find(key);
+                    if (any != null) {
+                        searchProjectionDAO.save(any);
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    protected String doExecute(final boolean dryRun, final JobExecutionContext context) throws JobExecutionException {
+        List<PlainSchema> projected = plainSchemaDAO.findAll().stream().
+                filter(PlainSchema::isProjected).collect(Collectors.toList());
+        if (projected.isEmpty()) {
+            return "No projected schemas found";
+        }
+
+        if (!dryRun) {
+            LOG.debug("Start rebuilding search projection for {}", projected);
+
+            try {
+                projected.forEach(searchProjectionDAO::addColumn);
+
+                TransactionTemplate pageTx = getPageTransactionTemplate();
+
+                setStatus("Rebuilding search projection for users");
+                rebuild(pageTx, userDAO);
+
+                setStatus("Rebuilding search projection for groups");
+                rebuild(pageTx, groupDAO);
+
+                setStatus("Rebuilding search projection for any objects");
+                rebuild(pageTx, anyObjectDAO);
+
+                projected.forEach(schema -> {
+                    schema.setProjectionReady(true);
+                    plainSchemaDAO.save(schema);
+                });
+
+                LOG.debug("Rebuild search projection for domain {} successfully completed",
+                        AuthContextUtils.getDomain());
+            } catch (Exception e) {
+                throw new JobExecutionException(
+                        "While rebuilding search projection for domain " + AuthContextUtils.getDomain(), e);
+            }
+        }
+
+        return "SUCCESS";
+    }
+
+    @Override
+    protected boolean hasToBeRegistered(final TaskExec execution) {
+        return true;
+    }
+}
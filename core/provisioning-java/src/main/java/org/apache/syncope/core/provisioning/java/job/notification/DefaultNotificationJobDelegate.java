@@ -19,12 +19,17 @@
 package org.apache.syncope.core.provisioning.java.job.notification;
 
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import javax.mail.Session;
-import javax.mail.internet.MimeMessage;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.LogOutputStream;
@@ -33,6 +38,7 @@ import org.apache.syncope.common.lib.types.AuditElements;
 import org.apache.syncope.common.lib.types.TaskType;
 import org.apache.syncope.common.lib.types.TraceLevel;
 import org.apache.syncope.core.provisioning.api.utils.ExceptionUtils2;
+import org.apache.syncope.core.persistence.api.dao.ConfDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.persistence.api.entity.task.NotificationTask;
@@ -42,19 +48,22 @@ import org.apache.syncope.core.provisioning.api.event.JobStatusEvent;
 import org.apache.syncope.core.provisioning.api.job.JobManager;
 import org.apache.syncope.core.provisioning.api.notification.NotificationJobDelegate;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.Encryptor;
 import org.quartz.JobExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Component
 public class DefaultNotificationJobDelegate implements InitializingBean, NotificationJobDelegate {
@@ -64,6 +73,9 @@ public class DefaultNotificationJobDelegate implements InitializingBean, Notific
     @Autowired
     private TaskDAO taskDAO;
 
+    @Autowired
+    private ConfDAO confDAO;
+
     @Autowired
     private JavaMailSender mailSender;
 
@@ -127,18 +139,87 @@ public class DefaultNotificationJobDelegate implements InitializingBean, Notific
         return interrupted;
     }
 
-    @Transactional
-    @Override
-    public TaskExec executeSingle(final NotificationTask task) {
+    /**
+     * Number of worker threads, hence of concurrent SMTP connections, used to send e-mails.
+     *
+     * @return number of worker threads
+     */
+    protected int getConcurrency() {
+        return Math.max(1, confDAO.find("notification.concurrency", 1L).intValue());
+    }
+
+    /**
+     * Maximum number of e-mails per second sent to the SMTP server; non-positive values mean no limit.
+     *
+     * @return maximum number of e-mails per second
+     */
+    protected long getRateLimit() {
+        return confDAO.find("notification.rateLimit", 0L);
+    }
+
+    /**
+     * Number of notification tasks loaded and dispatched together.
+     *
+     * @return number of notification tasks loaded and dispatched together
+     */
+    protected int getPageSize() {
+        return Math.max(1, confDAO.find("notification.pageSize", 100L).intValue());
+    }
+
+    /**
+     * Notification task whose e-mails were submitted for sending, but not yet reported.
+     */
+    protected static class Dispatched {
+
+        private final NotificationTask task;
+
+        private final Date start = new Date();
+
+        /**
+         * One for each recipient, or {@code null} if the task was found invalid.
+         */
+        private Map<String, Future<?>> sends;
+
+        public Dispatched(final NotificationTask task) {
+            this.task = task;
+        }
+    }
+
+    protected Dispatched dispatch(final NotificationTask task, final MailDispatcher dispatcher) {
+        Dispatched dispatched = new Dispatched(task);
+
+        if (StringUtils.isNotBlank(task.getSubject()) && !task.getRecipients().isEmpty()
+                && StringUtils.isNotBlank(task.getHtmlBody()) && StringUtils.isNotBlank(task.getTextBody())) {
+
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("About to send e-mails:\n"
+                        + task.getRecipients() + "\n"
+                        + task.getSender() + "\n"
+                        + task.getSubject() + "\n"
+                        + task.getHtmlBody() + "\n"
+                        + task.getTextBody() + "\n");
+            }
+
+            dispatched.sends = new LinkedHashMap<>();
+            for (String to : task.getRecipients()) {
+                dispatched.sends.put(to, dispatcher.submit(
+                        task.getSender(), to, task.getSubject(), task.getTextBody(), task.getHtmlBody()));
+            }
+        }
+
+        return dispatched;
+    }
+
+    protected TaskExec report(final Dispatched dispatched) {
+        NotificationTask task = dispatched.task;
+
         TaskExec execution = entityFactory.newEntity(TaskExec.class);
         execution.setTask(task);
-        execution.setStart(new Date());
+        execution.setStart(dispatched.start);
 
         boolean retryPossible = true;
 
-        if (StringUtils.isBlank(task.getSubject()) || task.getRecipients().isEmpty()
-                || StringUtils.isBlank(task.getHtmlBody()) || StringUtils.isBlank(task.getTextBody())) {
-
+        if (dispatched.sends == null) {
             String message = "Could not fetch all required information for sending e-mails:\n"
                     + task.getRecipients() + "\n"
                     + task.getSender() + "\n"
@@ -154,27 +235,16 @@ public class DefaultNotificationJobDelegate implements InitializingBean, Notific
                 execution.setMessage(message);
             }
         } else {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("About to send e-mails:\n"
-                        + task.getRecipients() + "\n"
-                        + task.getSender() + "\n"
-                        + task.getSubject() + "\n"
-                        + task.getHtmlBody() + "\n"
-                        + task.getTextBody() + "\n");
-            }
-
             setStatus("Sending notifications to " + task.getRecipients());
 
-            for (String to : task.getRecipients()) {
+            for (Map.Entry<String, Future<?>> send : dispatched.sends.entrySet()) {
+                String to = send.getKey();
                 try {
-                    MimeMessage message = mailSender.createMimeMessage();
-                    MimeMessageHelper helper = new MimeMessageHelper(message, true);
-                    helper.setTo(to);
-                    helper.setFrom(task.getSender());
-                    helper.setSubject(task.getSubject());
-                    helper.setText(task.getTextBody(), task.getHtmlBody());
-
-                    mailSender.send(message);
+                    try {
+                        send.getValue().get();
+                    } catch (ExecutionException e) {
+                        throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    }
 
                     execution.setStatus(NotificationJob.Status.SENT.name());
 
@@ -252,15 +322,71 @@ public class DefaultNotificationJobDelegate implements InitializingBean, Notific
 
     @Transactional
     @Override
-    public void execute() throws JobExecutionException {
-        List<NotificationTask> tasks = taskDAO.<NotificationTask>findToExec(TaskType.NOTIFICATION);
+    public TaskExec executeSingle(final NotificationTask task) {
+        try (MailDispatcher dispatcher = new MailDispatcher(mailSender, getConcurrency(), getRateLimit())) {
+            return report(dispatch(task, dispatcher));
+        }
+    }
 
-        setStatus("Sending out " + tasks.size() + " notifications");
+    /**
+     * Each page of notification tasks is processed within its own transaction, so that outcomes are committed as
+     * they are reported and the persistence context does not grow with the total number of tasks.
+     *
+     * @return transaction template for the current domain
+     */
+    protected TransactionTemplate getPageTransactionTemplate() {
+        return new TransactionTemplate(BeanFactoryAnnotationUtils.qualifiedBeanOfType(
+                ApplicationContextProvider.getBeanFactory(),
+                PlatformTransactionManager.class,
+                AuthContextUtils.getDomain()));
+    }
 
+    /**
+     * Loads, sends and reports one page of notification tasks.
+     *
+     * @param dispatcher mail dispatcher
+     * @param lastKey key of the last notification task processed so far, if any
+     * @param pageSize page size
+     * @return keys of the notification tasks found for the current page
+     */
+    protected List<String> executePage(final MailDispatcher dispatcher, final String lastKey, final int pageSize) {
+        List<NotificationTask> tasks = taskDAO.<NotificationTask>findToExec(TaskType.NOTIFICATION, lastKey, pageSize);
+
+        // first submit all e-mails for the current page, then report outcomes: only sending happens
+        // concurrently, while all persistence operations take place on the current thread
+        List<Dispatched> page = new ArrayList<>(tasks.size());
         for (int i = 0; i < tasks.size() && !interrupt; i++) {
             LOG.debug("Found notification task {} to be executed: starting...", tasks.get(i));
-            executeSingle(tasks.get(i));
-            LOG.debug("Notification task {} executed", tasks.get(i));
+            page.add(dispatch(tasks.get(i), dispatcher));
+        }
+        for (Dispatched dispatched : page) {
+            report(dispatched);
+            LOG.debug("Notification task {} executed", dispatched.task);
+        }
+
+        return tasks.stream().map(NotificationTask::getKey).collect(Collectors.toList());
+    }
+
+    @Override
+    public void execute() throws JobExecutionException {
+        int pageSize = getPageSize();
+        TransactionTemplate pageTx = getPageTransactionTemplate();
+
+        setStatus("Sending out notifications");
+
+        try (MailDispatcher dispatcher = new MailDispatcher(mailSender, getConcurrency(), getRateLimit())) {
+            int processed = 0;
+            String lastKey = null;
+            List<String> keys;
+            do {
+                String from = lastKey;
+                keys = pageTx.execute(status -> executePage(dispatcher, from, pageSize));
+
+                processed += keys.size();
+                setStatus("Sending out notifications: " + processed + " processed so far");
+
+                lastKey = keys.isEmpty() ? null : keys.get(keys.size() - 1);
+            } while (keys.size() == pageSize && !interrupt);
         }
         if (interrupt) {
             LOG.debug("Notification job interrupted");
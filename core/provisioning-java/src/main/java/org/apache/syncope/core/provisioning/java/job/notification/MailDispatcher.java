@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.notification;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+/**
+ * Sends e-mails across a bounded pool of worker threads.
+ *
+ * When the configured {@link JavaMailSender} is a {@link JavaMailSenderImpl}, connected and authenticated SMTP
+ * transports are pooled and reused for subsequent messages, rather than opening a new connection for each message;
+ * sending rate towards each SMTP server can be limited, as shared by all dispatchers.
+ *
+ * Instances are meant to be used for a single batch of messages and closed afterwards, so that pooled connections are
+ * released.
+ */
+public class MailDispatcher implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private static final Map<String, RateLimiter> RATE_LIMITERS = new ConcurrentHashMap<>();
+
+    /**
+     * Spaces out permits evenly according to the configured rate.
+     */
+    protected static class RateLimiter {
+
+        private long intervalNanos;
+
+        private long next = System.nanoTime();
+
+        public synchronized void setRate(final long permitsPerSecond) {
+            intervalNanos = permitsPerSecond <= 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        }
+
+        public void acquire() throws InterruptedException {
+            long wait;
+            synchronized (this) {
+                if (intervalNanos == 0) {
+                    return;
+                }
+
+                long now = System.nanoTime();
+                long slot = next - now > 0 ? next : now;
+                next = slot + intervalNanos;
+                wait = slot - now;
+            }
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+    }
+
+    private final JavaMailSender mailSender;
+
+    private final ExecutorService executor;
+
+    private final RateLimiter rateLimiter;
+
+    private final Queue<Transport> idle = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    /**
+     * Creates a dispatcher sending through the given mail sender.
+     *
+     * @param mailSender mail sender
+     * @param concurrency number of worker threads, hence maximum number of concurrent SMTP connections
+     * @param rateLimit maximum number of messages per second towards the SMTP server; non-positive means no limit
+     */
+    public MailDispatcher(final JavaMailSender mailSender, final int concurrency, final long rateLimit) {
+        this.mailSender = mailSender;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, concurrency), runnable -> {
+            Thread thread = new Thread(runnable, "MailDispatcher-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        String server = mailSender instanceof JavaMailSenderImpl
+                ? ((JavaMailSenderImpl) mailSender).getHost() + ':' + ((JavaMailSenderImpl) mailSender).getPort()
+                : mailSender.getClass().getName();
+        this.rateLimiter = RATE_LIMITERS.computeIfAbsent(server, k -> new RateLimiter());
+        this.rateLimiter.setRate(rateLimit);
+    }
+
+    /**
+     * @return number of SMTP connections opened so far
+     */
+    public int getConnections() {
+        return connections.get();
+    }
+
+    protected Transport connect(final JavaMailSenderImpl sender) throws MessagingException {
+        Transport transport = sender.getSession().getTransport(
+                StringUtils.isBlank(sender.getProtocol()) ? "smtp" : sender.getProtocol());
+
+        String username = StringUtils.isBlank(sender.getUsername()) ? null : sender.getUsername();
+        String password = username == null ? null : sender.getPassword();
+        transport.connect(sender.getHost(), sender.getPort(), username, password);
+
+        connections.incrementAndGet();
+        return transport;
+    }
+
+    protected static void close(final Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            LOG.debug("While closing SMTP transport", e);
+        }
+    }
+
+    protected void send(final MimeMessage message) throws MessagingException {
+        if (!(mailSender instanceof JavaMailSenderImpl)) {
+            mailSender.send(message);
+            return;
+        }
+
+        Transport transport = idle.poll();
+        if (transport != null && !transport.isConnected()) {
+            close(transport);
+            transport = null;
+        }
+        if (transport == null) {
+            transport = connect((JavaMailSenderImpl) mailSender);
+        }
+
+        try {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+
+            transport.sendMessage(message, message.getAllRecipients());
+        } catch (MessagingException | RuntimeException e) {
+            // connection state is unknown after a failure: discard it
+            close(transport);
+            throw e;
+        }
+
+        idle.offer(transport);
+    }
+
+    /**
+     * Submits an e-mail message for sending.
+     *
+     * @param from sender address
+     * @param to recipient address
+     * @param subject subject
+     * @param textBody plain text body
+     * @param htmlBody HTML body
+     * @return future completing when the message was sent, or exceptionally in case of failure
+     */
+    public Future<?> submit(
+            final String from,
+            final String to,
+            final String subject,
+            final String textBody,
+            final String htmlBody) {
+
+        return executor.submit(() -> {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+            helper.setTo(to);
+            helper.setFrom(from);
+            helper.setSubject(subject);
+            helper.setText(textBody, htmlBody);
+
+            rateLimiter.acquire();
+            send(message);
+            return null;
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOG.warn("Some messages could not be sent within the allowed time");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            close(transport);
+        }
+    }
+}
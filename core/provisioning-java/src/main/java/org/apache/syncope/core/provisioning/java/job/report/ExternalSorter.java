@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.report;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sorts any number of items by key, keeping at most a given number of them in memory: whenever such limit is reached,
+ * buffered items are sorted and written as JSON to a temporary file (a run); runs are then merged upon iteration.
+ *
+ * @param <T> item type
+ */
+class ExternalSorter<T> implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExternalSorter.class);
+
+    /**
+     * Maximum number of runs kept at the same time; when reached, runs are merged into a single one.
+     */
+    private static final int MAX_RUNS = 64;
+
+    private final Class<T> reference;
+
+    private final Comparator<T> comparator;
+
+    private final int maxInMemory;
+
+    private final List<T> buffer = new ArrayList<>();
+
+    private final List<Path> runs = new ArrayList<>();
+
+    private final List<Run> open = new ArrayList<>();
+
+    ExternalSorter(final Class<T> reference, final Function<T, String> keyFunction, final int maxInMemory) {
+        this.reference = reference;
+        this.comparator = Comparator.comparing(keyFunction);
+        this.maxInMemory = maxInMemory;
+    }
+
+    public void add(final T item) {
+        buffer.add(item);
+        if (buffer.size() >= maxInMemory) {
+            buffer.sort(comparator);
+            runs.add(write(buffer.iterator()));
+            buffer.clear();
+
+            if (runs.size() >= MAX_RUNS) {
+                List<Path> merging = new ArrayList<>(runs);
+                runs.clear();
+                runs.add(write(merge(merging, null)));
+                closeRuns();
+                merging.forEach(this::delete);
+            }
+        }
+    }
+
+    /**
+     * Returns all items added so far, sorted by key; no more items shall be added afterwards.
+     *
+     * @return sorted items
+     */
+    public Iterator<T> sorted() {
+        buffer.sort(comparator);
+        return merge(runs, buffer.iterator());
+    }
+
+    private Path write(final Iterator<T> items) {
+        try {
+            Path run = Files.createTempFile("syncope-sort-", ".run");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+                while (items.hasNext()) {
+                    byte[] item = POJOHelper.serialize(items.next()).getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(item.length);
+                    out.write(item);
+                }
+            }
+            return run;
+        } catch (IOException e) {
+            throw new UncheckedIOException("While writing sorted run", e);
+        }
+    }
+
+    private Iterator<T> merge(final List<Path> paths, final Iterator<T> inMemory) {
+        PriorityQueue<Source> sources = new PriorityQueue<>((s1, s2) -> comparator.compare(s1.head, s2.head));
+        paths.forEach(path -> {
+            Run run = new Run(path);
+            open.add(run);
+            new Source(run).advance(sources);
+        });
+        if (inMemory != null) {
+            new Source(inMemory).advance(sources);
+        }
+
+        return new Iterator<T>() {
+
+            @Override
+            public boolean hasNext() {
+                return !sources.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                Source source = sources.poll();
+                if (source == null) {
+                    throw new NoSuchElementException();
+                }
+
+                T item = source.head;
+                source.advance(sources);
+                return item;
+            }
+        };
+    }
+
+    private void delete(final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.warn("Could not delete {}", path, e);
+        }
+    }
+
+    private void closeRuns() {
+        open.forEach(Run::close);
+        open.clear();
+    }
+
+    /**
+     * Releases all resources and removes all temporary files.
+     */
+    @Override
+    public void close() {
+        closeRuns();
+        runs.forEach(this::delete);
+        runs.clear();
+        buffer.clear();
+    }
+
+    private class Run implements Iterator<T> {
+
+        private final DataInputStream in;
+
+        private T next;
+
+        Run(final Path path) {
+            try {
+                in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("While reading sorted run " + path, e);
+            }
+            next = read();
+        }
+
+        private T read() {
+            try {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return null;
+                }
+
+                byte[] item = new byte[length];
+                in.readFully(item);
+                return POJOHelper.deserialize(new String(item, StandardCharsets.UTF_8), reference);
+            } catch (IOException e) {
+                throw new UncheckedIOException("While reading sorted run", e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+
+            T item = next;
+            next = read();
+            return item;
+        }
+
+        public void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                LOG.warn("Could not close sorted run", e);
+            }
+        }
+    }
+
+    private class Source {
+
+        private final Iterator<T> items;
+
+        private T head;
+
+        Source(final Iterator<T> items) {
+            this.items = items;
+        }
+
+        /**
+         * Moves to the next item and puts this source back in the given queue, unless exhausted.
+         *
+         * @param sources merge queue
+         */
+        void advance(final PriorityQueue<Source> sources) {
+            if (items.hasNext()) {
+                head = items.next();
+                sources.add(this);
+            }
+        }
+    }
+}
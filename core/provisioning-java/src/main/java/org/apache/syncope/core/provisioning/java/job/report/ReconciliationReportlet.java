@@ -22,11 +22,17 @@ import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeConstants;
@@ -39,10 +45,13 @@ import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.provisioning.api.utils.FormatUtils;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.ReportletConfClass;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
 import org.apache.syncope.core.persistence.api.dao.search.AnyTypeCond;
+import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
@@ -58,12 +67,21 @@ import org.apache.syncope.core.provisioning.api.Connector;
 import org.apache.syncope.core.provisioning.api.ConnectorFactory;
 import org.apache.syncope.core.provisioning.api.MappingManager;
 import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.AttributeBuilder;
 import org.identityconnectors.framework.common.objects.ConnectorObject;
 import org.identityconnectors.framework.common.objects.OperationalAttributes;
+import org.identityconnectors.framework.common.objects.SearchResult;
 import org.identityconnectors.framework.common.objects.Uid;
+import org.identityconnectors.framework.spi.SearchResultsHandler;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.CollectionUtils;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.AttributesImpl;
@@ -75,7 +93,10 @@ import org.xml.sax.helpers.AttributesImpl;
 @ReportletConfClass(ReconciliationReportletConf.class)
 public class ReconciliationReportlet extends AbstractReportlet {
 
-    private static final int PAGE_SIZE = 10;
+    /**
+     * Maximum number of entries kept in memory by each of the sorters used in bulk mode.
+     */
+    private static final int SORT_BUFFER_SIZE = 10000;
 
     @Autowired
     private UserDAO userDAO;
@@ -86,6 +107,9 @@ public class ReconciliationReportlet extends AbstractReportlet {
     @Autowired
     private AnyTypeDAO anyTypeDAO;
 
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
     @Autowired
     private AnySearchDAO searchDAO;
 
@@ -255,14 +279,14 @@ public class ReconciliationReportlet extends AbstractReportlet {
         handler.endElement("", "", getAnyElementName(any.getType().getKind()));
     }
 
-    private Set<Object> getValues(final Attribute attr) {
+    private static Set<Object> getValues(final Attribute attr) {
         Set<Object> values;
         if (attr.getValue() == null || attr.getValue().isEmpty()) {
             values = Collections.emptySet();
         } else if (attr.getValue().get(0) instanceof byte[]) {
             values = new HashSet<>(attr.getValue().size());
             attr.getValue().forEach(single -> {
-                values.add(Base64.getEncoder().encode((byte[]) single));
+                values.add(Base64.getEncoder().encodeToString((byte[]) single));
             });
         } else {
             values = new HashSet<>(attr.getValue());
@@ -365,6 +389,348 @@ public class ReconciliationReportlet extends AbstractReportlet {
         }
     }
 
+    /**
+     * Values are compared as strings in bulk mode, so that they survive spilling to disk; each value is prefixed by
+     * its type, so that - as when comparing objects one by one - values of different types are never taken as equal.
+     *
+     * @param attrs attributes
+     * @return type-prefixed string values, per attribute name
+     */
+    static Map<String, Set<String>> getStringValues(final Stream<Attribute> attrs) {
+        Map<String, Set<String>> values = new HashMap<>();
+        attrs.forEach(attr -> values.put(
+                attr.getName(),
+                getValues(attr).stream().
+                        map(value -> value.getClass().getName() + ':' + value).
+                        collect(Collectors.toSet())));
+        return values;
+    }
+
+    private static Set<Object> fromStringValues(final Set<String> values) {
+        return values.stream().
+                map(value -> StringUtils.substringAfter(value, ":")).
+                collect(Collectors.<Object>toSet());
+    }
+
+    private static String getSortKey(final Provision provision, final String connObjectKeyValue) {
+        return provision.isIgnoreCaseMatch() ? connObjectKeyValue.toLowerCase(Locale.ROOT) : connObjectKeyValue;
+    }
+
+    /**
+     * Bulk mode processes each page of entities in its own read-only transaction, so that entities do not pile up
+     * in the persistence context of the report transaction.
+     *
+     * @return transaction template for the current domain
+     */
+    private static TransactionTemplate getPageTransactionTemplate() {
+        TransactionTemplate pageTx = new TransactionTemplate(BeanFactoryAnnotationUtils.qualifiedBeanOfType(
+                ApplicationContextProvider.getBeanFactory(),
+                PlatformTransactionManager.class,
+                AuthContextUtils.getDomain()));
+        pageTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        pageTx.setReadOnly(true);
+        return pageTx;
+    }
+
+    /**
+     * Reads all entities matching the given condition, sorted by key, one page after the other, each in its own
+     * transaction.
+     *
+     * @param pageTx page transaction template
+     * @param kind any type kind
+     * @param cond search condition, null to read all entities of the given kind
+     * @param refDesc reference description, for status update
+     * @param what what is being read, for status update
+     * @param total total number of entities, for status update
+     * @param consumer action to perform on each entity
+     */
+    private void scan(
+            final TransactionTemplate pageTx,
+            final AnyTypeKind kind,
+            final SearchCond cond,
+            final String refDesc,
+            final String what,
+            final int total,
+            final Consumer<Any<?>> consumer) {
+
+        OrderByClause orderByKey = new OrderByClause();
+        orderByKey.setField("key");
+        orderByKey.setDirection(OrderByClause.Direction.ASC);
+
+        int read = 0;
+        String lastKey = null;
+        List<String> page;
+        do {
+            AnyCond keyCond = new AnyCond(lastKey == null ? AttrCond.Type.ISNOTNULL : AttrCond.Type.GT);
+            keyCond.setSchema("key");
+            keyCond.setExpression(lastKey);
+
+            page = pageTx.execute(status -> {
+                List<? extends Any<?>> anys = searchDAO.search(
+                        SyncopeConstants.FULL_ADMIN_REALMS,
+                        cond == null
+                                ? SearchCond.getLeaf(keyCond)
+                                : SearchCond.getAnd(cond, SearchCond.getLeaf(keyCond)),
+                        1,
+                        AnyDAO.DEFAULT_PAGE_SIZE,
+                        Collections.singletonList(orderByKey),
+                        kind);
+                anys.forEach(consumer);
+                return anys.stream().map(Any::getKey).collect(Collectors.toList());
+            });
+
+            if (!page.isEmpty()) {
+                lastKey = page.get(page.size() - 1);
+            }
+            read += page.size();
+            setStatus(refDesc, "Processing " + total + " " + what + ": " + read + " read");
+        } while (page.size() == AnyDAO.DEFAULT_PAGE_SIZE);
+    }
+
+    private void read(final Provision provision, final ExternalSorter<ConnObjectEntry> onResource) {
+        String connObjectKeyName = MappingUtils.getConnObjectKeyItem(provision).get().getExtAttrName();
+
+        connFactory.getConnector(provision.getResource()).search(
+                provision.getObjectClass(),
+                null,
+                new SearchResultsHandler() {
+
+                    @Override
+                    public void handleResult(final SearchResult result) {
+                        // nothing to do
+                    }
+
+                    @Override
+                    public boolean handle(final ConnectorObject connectorObject) {
+                        Attribute connObjectKey = connectorObject.getAttributeByName(connObjectKeyName);
+                        if (connObjectKey == null || CollectionUtils.isEmpty(connObjectKey.getValue())) {
+                            LOG.warn("No value for {} on {}, ignoring", connObjectKeyName, connectorObject);
+                        } else {
+                            String connObjectKeyValue = connObjectKey.getValue().get(0).toString();
+                            onResource.add(new ConnObjectEntry(
+                                    getSortKey(provision, connObjectKeyValue),
+                                    connObjectKeyValue,
+                                    null,
+                                    getStringValues(connectorObject.getAttributes().stream().
+                                            filter(attr -> !OperationalAttributes.PASSWORD_NAME.equals(attr.getName())
+                                            && !OperationalAttributes.ENABLE_NAME.equals(attr.getName())))));
+                        }
+                        return true;
+                    }
+                },
+                MappingUtils.buildOperationOptions(provision.getMapping().getItems().stream()));
+    }
+
+    /**
+     * Walks both sides, sorted by connector object key, reporting which objects expected by Syncope are missing from
+     * the given resource or misaligned.
+     *
+     * @param provision provision
+     * @param onSyncope objects expected by Syncope
+     * @param onResource objects found on the resource
+     * @param findings where missing or misaligned objects are reported
+     */
+    private void join(
+            final Provision provision,
+            final Iterator<ConnObjectEntry> onSyncope,
+            final Iterator<ConnObjectEntry> onResource,
+            final ExternalSorter<Finding> findings) {
+
+        String resource = provision.getResource().getKey();
+
+        ConnObjectEntry resourceEntry = onResource.hasNext() ? onResource.next() : null;
+        while (onSyncope.hasNext()) {
+            ConnObjectEntry syncopeEntry = onSyncope.next();
+            while (resourceEntry != null && resourceEntry.getSortKey().compareTo(syncopeEntry.getSortKey()) < 0) {
+                resourceEntry = onResource.hasNext() ? onResource.next() : null;
+            }
+
+            if (resourceEntry == null || !resourceEntry.getSortKey().equals(syncopeEntry.getSortKey())) {
+                LOG.error("Object {} with class {} not found on resource {}",
+                        syncopeEntry.getConnObjectKeyValue(), provision.getObjectClass(), resource);
+
+                findings.add(new Finding(
+                        syncopeEntry.getAnyKey(), resource, syncopeEntry.getConnObjectKeyValue(), null, null, null));
+            } else {
+                Map<String, Set<String>> syncopeAttrs = syncopeEntry.getAttrs();
+                Map<String, Set<String>> resourceAttrs = resourceEntry.getAttrs();
+
+                syncopeAttrs.forEach((name, values) -> {
+                    if (!resourceAttrs.containsKey(name)) {
+                        findings.add(new Finding(
+                                syncopeEntry.getAnyKey(),
+                                resource,
+                                syncopeEntry.getConnObjectKeyValue(),
+                                name,
+                                values,
+                                Collections.emptySet()));
+                    }
+                });
+                resourceAttrs.forEach((name, values) -> {
+                    if (!syncopeAttrs.containsKey(name) || !Objects.equals(syncopeAttrs.get(name), values)) {
+                        findings.add(new Finding(
+                                syncopeEntry.getAnyKey(),
+                                resource,
+                                syncopeEntry.getConnObjectKeyValue(),
+                                name,
+                                syncopeAttrs.getOrDefault(name, Collections.emptySet()),
+                                values));
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Bulk alternative to reading from each resource the objects of each entity: objects expected by Syncope and
+     * objects found on each resource are read once, sorted by connector object key - spilling to disk as needed -
+     * then merge-joined; entities with missing or misaligned objects are finally reported, sorted by key.
+     * Entities are read one page at a time, each page in its own transaction.
+     *
+     * @param handler SAX content handler
+     * @param refDesc reference description, for status update
+     * @param anyType any type
+     * @param cond search condition, null to consider all entities of the given type
+     * @param total total number of entities, for status update
+     * @param what what is being processed, for status update
+     * @throws SAXException if the report cannot be written
+     */
+    private void doExtractBulk(
+            final ContentHandler handler,
+            final String refDesc,
+            final AnyType anyType,
+            final SearchCond cond,
+            final int total,
+            final String what)
+            throws SAXException {
+
+        TransactionTemplate pageTx = getPageTransactionTemplate();
+
+        Map<String, Provision> provisions = new LinkedHashMap<>();
+        resourceDAO.findAll().forEach(resource -> resource.getProvision(anyType).
+                filter(provision -> MappingUtils.getConnObjectKeyItem(provision).isPresent()).
+                ifPresent(provision -> provisions.put(resource.getKey(), provision)));
+
+        Map<String, ExternalSorter<ConnObjectEntry>> onSyncope = new HashMap<>();
+        provisions.keySet().forEach(resource -> onSyncope.put(
+                resource, new ExternalSorter<>(ConnObjectEntry.class, ConnObjectEntry::getSortKey, SORT_BUFFER_SIZE)));
+
+        try (ExternalSorter<Finding> findings =
+                new ExternalSorter<>(Finding.class, Finding::getAnyKey, SORT_BUFFER_SIZE)) {
+
+            // 1. prepare the objects expected on each resource
+            scan(pageTx, anyType.getKind(), cond, refDesc, what, total, any -> anyUtilsFactory.getInstance(any).
+                    getAllResources(any).stream().
+                    filter(resource -> provisions.containsKey(resource.getKey())).
+                    forEach(resource -> {
+                        Provision provision = provisions.get(resource.getKey());
+                        mappingManager.getConnObjectKeyValue(any, provision).
+                                filter(StringUtils::isNotBlank).
+                                ifPresent(connObjectKeyValue -> {
+                                    Pair<String, Set<Attribute>> preparedAttrs =
+                                            mappingManager.prepareAttrsFromAny(any, null, false, null, provision);
+                                    preparedAttrs.getRight().add(AttributeBuilder.build(
+                                            Uid.NAME, preparedAttrs.getLeft()));
+                                    preparedAttrs.getRight().add(AttributeBuilder.build(
+                                            MappingUtils.getConnObjectKeyItem(provision).get().getExtAttrName(),
+                                            preparedAttrs.getLeft()));
+
+                                    onSyncope.get(resource.getKey()).add(new ConnObjectEntry(
+                                            getSortKey(provision, connObjectKeyValue),
+                                            connObjectKeyValue,
+                                            any.getKey(),
+                                            getStringValues(preparedAttrs.getRight().stream())));
+                                });
+                    }));
+
+            // 2. read all objects from each resource and compare
+            for (Map.Entry<String, Provision> entry : provisions.entrySet()) {
+                setStatus(refDesc, "Processing " + total + " " + what + ": reading from " + entry.getKey());
+
+                try (ExternalSorter<ConnObjectEntry> onResource =
+                        new ExternalSorter<>(ConnObjectEntry.class, ConnObjectEntry::getSortKey, SORT_BUFFER_SIZE)) {
+
+                    read(entry.getValue(), onResource);
+                    join(entry.getValue(), onSyncope.get(entry.getKey()).sorted(), onResource.sorted(), findings);
+                }
+                onSyncope.remove(entry.getKey()).close();
+            }
+
+            // 3. report entities with missing or misaligned objects
+            setStatus(refDesc, "Processing " + total + " " + what + ": reporting");
+
+            Map<String, Pair<Set<Missing>, Set<Misaligned>>> page = new LinkedHashMap<>();
+            Iterator<Finding> sorted = findings.sorted();
+            Finding finding = sorted.hasNext() ? sorted.next() : null;
+            while (finding != null) {
+                String anyKey = finding.getAnyKey();
+
+                Set<Missing> missing = new HashSet<>();
+                Set<Misaligned> misaligned = new HashSet<>();
+                while (finding != null && anyKey.equals(finding.getAnyKey())) {
+                    if (finding.getName() == null) {
+                        missing.add(new Missing(finding.getResource(), finding.getConnObjectKeyValue()));
+                    } else {
+                        misaligned.add(new Misaligned(
+                                finding.getResource(),
+                                finding.getConnObjectKeyValue(),
+                                finding.getName(),
+                                fromStringValues(finding.getOnSyncope()),
+                                fromStringValues(finding.getOnResource())));
+                    }
+                    finding = sorted.hasNext() ? sorted.next() : null;
+                }
+
+                page.put(anyKey, Pair.of(missing, misaligned));
+                if (page.size() == AnyDAO.DEFAULT_PAGE_SIZE || finding == null) {
+                    report(pageTx, handler, anyType.getKind(), page);
+                    page.clear();
+                }
+            }
+        } finally {
+            onSyncope.values().forEach(ExternalSorter::close);
+        }
+    }
+
+    /**
+     * Reports the given entities with missing or misaligned objects, reading them in a single transaction.
+     *
+     * @param pageTx page transaction template
+     * @param handler SAX content handler
+     * @param kind any type kind
+     * @param page missing and misaligned objects, per entity key
+     * @throws SAXException if the report cannot be written
+     */
+    private void report(
+            final TransactionTemplate pageTx,
+            final ContentHandler handler,
+            final AnyTypeKind kind,
+            final Map<String, Pair<Set<Missing>, Set<Misaligned>>> page)
+            throws SAXException {
+
+        try {
+            pageTx.execute(status -> {
+                AnyDAO<?> anyDAO = anyUtilsFactory.getInstance(kind).dao();
+                page.forEach((anyKey, found) -> {
+                    Any<?> any = anyDAO.find(anyKey);
+                    if (any != null) {
+                        try {
+                            doExtract(handler, any, found.getLeft(), found.getRight());
+                        } catch (SAXException e) {
+                            throw new ReportException(e);
+                        }
+                    }
+                });
+                return null;
+            });
+        } catch (ReportException e) {
+            if (e.getCause() instanceof SAXException) {
+                throw (SAXException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     @Override
     protected void doExtract(
             final ReportletConf conf,
@@ -389,10 +755,14 @@ public class ReconciliationReportlet extends AbstractReportlet {
             atts.addAttribute("", "", "total", ReportXMLConst.XSD_INT, String.valueOf(total));
             handler.startElement("", "", getAnyElementName(AnyTypeKind.USER) + "s", atts);
 
-            for (int page = 1; page <= pages; page++) {
-                setStatus(refDesc, "Processing " + total + " users: page " + page + " of " + pages);
+            if (this.conf.isBulk()) {
+                doExtractBulk(handler, refDesc, anyTypeDAO.findUser(), null, total, "users");
+            } else {
+                for (int page = 1; page <= pages; page++) {
+                    setStatus(refDesc, "Processing " + total + " users: page " + page + " of " + pages);
 
-                doExtract(handler, userDAO.findAll(page, AnyDAO.DEFAULT_PAGE_SIZE));
+                    doExtract(handler, userDAO.findAll(page, AnyDAO.DEFAULT_PAGE_SIZE));
+                }
             }
         } else {
             SearchCond cond = SearchCondConverter.convert(searchCondVisitor, this.conf.getUserMatchingCond());
@@ -405,16 +775,20 @@ public class ReconciliationReportlet extends AbstractReportlet {
             atts.addAttribute("", "", "total", ReportXMLConst.XSD_INT, String.valueOf(total));
             handler.startElement("", "", getAnyElementName(AnyTypeKind.USER) + "s", atts);
 
-            for (int page = 1; page <= pages; page++) {
-                setStatus(refDesc, "Processing " + total + " users: page " + page + " of " + pages);
+            if (this.conf.isBulk()) {
+                doExtractBulk(handler, refDesc, anyTypeDAO.findUser(), cond, total, "users");
+            } else {
+                for (int page = 1; page <= pages; page++) {
+                    setStatus(refDesc, "Processing " + total + " users: page " + page + " of " + pages);
 
-                doExtract(handler, searchDAO.search(
-                        SyncopeConstants.FULL_ADMIN_REALMS,
-                        cond,
-                        page,
-                        PAGE_SIZE,
-                        Collections.<OrderByClause>emptyList(),
-                        AnyTypeKind.USER));
+                    doExtract(handler, searchDAO.search(
+                            SyncopeConstants.FULL_ADMIN_REALMS,
+                            cond,
+                            page,
+                            AnyDAO.DEFAULT_PAGE_SIZE,
+                            Collections.<OrderByClause>emptyList(),
+                            AnyTypeKind.USER));
+                }
             }
         }
         handler.endElement("", "", getAnyElementName(AnyTypeKind.USER) + "s");
@@ -429,13 +803,17 @@ public class ReconciliationReportlet extends AbstractReportlet {
             atts.addAttribute("", "", "total", ReportXMLConst.XSD_INT, String.valueOf(total));
             handler.startElement("", "", getAnyElementName(AnyTypeKind.GROUP) + "s", atts);
 
-            for (int page = 1; page <= pages; page++) {
-                setStatus(refDesc, "Processing " + total + " groups: page " + page + " of " + pages);
+            if (this.conf.isBulk()) {
+                doExtractBulk(handler, refDesc, anyTypeDAO.findGroup(), null, total, "groups");
+            } else {
+                for (int page = 1; page <= pages; page++) {
+                    setStatus(refDesc, "Processing " + total + " groups: page " + page + " of " + pages);
 
-                doExtract(handler, groupDAO.findAll(page, AnyDAO.DEFAULT_PAGE_SIZE));
+                    doExtract(handler, groupDAO.findAll(page, AnyDAO.DEFAULT_PAGE_SIZE));
+                }
             }
         } else {
-            SearchCond cond = SearchCondConverter.convert(searchCondVisitor, this.conf.getUserMatchingCond());
+            SearchCond cond = SearchCondConverter.convert(searchCondVisitor, this.conf.getGroupMatchingCond());
 
             int total = searchDAO.count(SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.GROUP);
             int pages = (total / AnyDAO.DEFAULT_PAGE_SIZE) + 1;
@@ -445,16 +823,20 @@ public class ReconciliationReportlet extends AbstractReportlet {
             atts.addAttribute("", "", "total", ReportXMLConst.XSD_INT, String.valueOf(total));
             handler.startElement("", "", getAnyElementName(AnyTypeKind.GROUP) + "s", atts);
 
-            for (int page = 1; page <= pages; page++) {
-                setStatus(refDesc, "Processing " + total + " groups: page " + page + " of " + pages);
+            if (this.conf.isBulk()) {
+                doExtractBulk(handler, refDesc, anyTypeDAO.findGroup(), cond, total, "groups");
+            } else {
+                for (int page = 1; page <= pages; page++) {
+                    setStatus(refDesc, "Processing " + total + " groups: page " + page + " of " + pages);
 
-                doExtract(handler, searchDAO.search(
-                        SyncopeConstants.FULL_ADMIN_REALMS,
-                        cond,
-                        page,
-                        PAGE_SIZE,
-                        Collections.<OrderByClause>emptyList(),
-                        AnyTypeKind.GROUP));
+                    doExtract(handler, searchDAO.search(
+                            SyncopeConstants.FULL_ADMIN_REALMS,
+                            cond,
+                            page,
+                            AnyDAO.DEFAULT_PAGE_SIZE,
+                            Collections.<OrderByClause>emptyList(),
+                            AnyTypeKind.GROUP));
+                }
             }
         }
         handler.endElement("", "", getAnyElementName(AnyTypeKind.GROUP) + "s");
@@ -481,17 +863,21 @@ public class ReconciliationReportlet extends AbstractReportlet {
                 atts.addAttribute("", "", "total", ReportXMLConst.XSD_INT, String.valueOf(total));
                 handler.startElement("", "", getAnyElementName(AnyTypeKind.ANY_OBJECT) + "s", atts);
 
-                for (int page = 1; page <= pages; page++) {
-                    setStatus(refDesc, "Processing " + total + " any objects " + anyType.getKey()
-                            + ": page " + page + " of " + pages);
-
-                    doExtract(handler, searchDAO.search(
-                            SyncopeConstants.FULL_ADMIN_REALMS,
-                            cond,
-                            page,
-                            PAGE_SIZE,
-                            Collections.<OrderByClause>emptyList(),
-                            AnyTypeKind.ANY_OBJECT));
+                if (this.conf.isBulk()) {
+                    doExtractBulk(handler, refDesc, anyType, cond, total, "any objects " + anyType.getKey());
+                } else {
+                    for (int page = 1; page <= pages; page++) {
+                        setStatus(refDesc, "Processing " + total + " any objects " + anyType.getKey()
+                                + ": page " + page + " of " + pages);
+
+                        doExtract(handler, searchDAO.search(
+                                SyncopeConstants.FULL_ADMIN_REALMS,
+                                cond,
+                                page,
+                                AnyDAO.DEFAULT_PAGE_SIZE,
+                                Collections.<OrderByClause>emptyList(),
+                                AnyTypeKind.ANY_OBJECT));
+                    }
                 }
 
                 handler.endElement("", "", getAnyElementName(AnyTypeKind.ANY_OBJECT) + "s");
@@ -555,4 +941,151 @@ public class ReconciliationReportlet extends AbstractReportlet {
         }
 
     }
+    /**
+     * Connector object, as expected by Syncope or as found on an external resource, to be sorted in bulk mode.
+     */
+    private static class ConnObjectEntry {
+
+        private String sortKey;
+
+        private String connObjectKeyValue;
+
+        private String anyKey;
+
+        private Map<String, Set<String>> attrs;
+
+        ConnObjectEntry() {
+            // for deserialization
+        }
+
+        ConnObjectEntry(
+                final String sortKey,
+                final String connObjectKeyValue,
+                final String anyKey,
+                final Map<String, Set<String>> attrs) {
+
+            this.sortKey = sortKey;
+            this.connObjectKeyValue = connObjectKeyValue;
+            this.anyKey = anyKey;
+            this.attrs = attrs;
+        }
+
+        public String getSortKey() {
+            return sortKey;
+        }
+
+        public void setSortKey(final String sortKey) {
+            this.sortKey = sortKey;
+        }
+
+        public String getConnObjectKeyValue() {
+            return connObjectKeyValue;
+        }
+
+        public void setConnObjectKeyValue(final String connObjectKeyValue) {
+            this.connObjectKeyValue = connObjectKeyValue;
+        }
+
+        public String getAnyKey() {
+            return anyKey;
+        }
+
+        public void setAnyKey(final String anyKey) {
+            this.anyKey = anyKey;
+        }
+
+        public Map<String, Set<String>> getAttrs() {
+            return attrs;
+        }
+
+        public void setAttrs(final Map<String, Set<String>> attrs) {
+            this.attrs = attrs;
+        }
+    }
+
+    /**
+     * Missing (when no attribute name is set) or misaligned object, to be sorted by entity key in bulk mode.
+     */
+    private static class Finding {
+
+        private String anyKey;
+
+        private String resource;
+
+        private String connObjectKeyValue;
+
+        private String name;
+
+        private Set<String> onSyncope;
+
+        private Set<String> onResource;
+
+        Finding() {
+            // for deserialization
+        }
+
+        Finding(
+                final String anyKey,
+                final String resource,
+                final String connObjectKeyValue,
+                final String name,
+                final Set<String> onSyncope,
+                final Set<String> onResource) {
+
+            this.anyKey = anyKey;
+            this.resource = resource;
+            this.connObjectKeyValue = connObjectKeyValue;
+            this.name = name;
+            this.onSyncope = onSyncope;
+            this.onResource = onResource;
+        }
+
+        public String getAnyKey() {
+            return anyKey;
+        }
+
+        public void setAnyKey(final String anyKey) {
+            this.anyKey = anyKey;
+        }
+
+        public String getResource() {
+            return resource;
+        }
+
+        public void setResource(final String resource) {
+            this.resource = resource;
+        }
+
+        public String getConnObjectKeyValue() {
+            return connObjectKeyValue;
+        }
+
+        public void setConnObjectKeyValue(final String connObjectKeyValue) {
+            this.connObjectKeyValue = connObjectKeyValue;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public Set<String> getOnSyncope() {
+            return onSyncope;
+        }
+
+        public void setOnSyncope(final Set<String> onSyncope) {
+            this.onSyncope = onSyncope;
+        }
+
+        public Set<String> getOnResource() {
+            return onResource;
+        }
+
+        public void setOnResource(final Set<String> onResource) {
+            this.onResource = onResource;
+        }
+    }
 }
@@ -23,23 +23,31 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.apache.commons.jexl3.JxltEngine;
 import org.apache.commons.jexl3.MapContext;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.to.AnyObjectTO;
 import org.apache.syncope.common.lib.to.GroupTO;
 import org.apache.syncope.common.lib.to.ProvisioningResult;
 import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.AttrSchemaType;
 import org.apache.syncope.common.lib.types.AuditElements;
 import org.apache.syncope.common.lib.types.AuditElements.Result;
 import org.apache.syncope.common.lib.types.AuditLoggerName;
+import org.apache.syncope.common.lib.types.MailTemplateFormat;
+import org.apache.syncope.common.lib.types.SchemaType;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
@@ -51,11 +59,14 @@ import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.VirSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.DerSchema;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.MailTemplate;
 import org.apache.syncope.core.persistence.api.entity.Notification;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.VirSchema;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
@@ -165,6 +176,15 @@ public class DefaultNotificationManager implements NotificationManager {
 
     private Optional<RecipientsProvider> perContextRecipientsProvider = Optional.empty();
 
+    private final JxltEngine jxltEngine = JexlUtils.newJxltEngine();
+
+    /**
+     * Parsed templates, by mail template key and format; each is stored along with the source it was parsed from,
+     * so that updated mail templates are parsed again.
+     */
+    private final Map<Pair<String, MailTemplateFormat>, Pair<String, JxltEngine.Template>> templates =
+            new ConcurrentHashMap<>();
+
     @Transactional(readOnly = true)
     @Override
     public long getMaxRetries() {
@@ -172,50 +192,151 @@ public class DefaultNotificationManager implements NotificationManager {
     }
 
     /**
-     * Create a notification task.
+     * Number of recipients above which several notification tasks are created for the same notification.
+     *
+     * @return maximum number of recipients per notification task
+     */
+    protected int getMaxRecipientsPerTask() {
+        return Math.max(1, confDAO.find("notification.maxRecipientsPerTask", 1000L).intValue());
+    }
+
+    private void addRecipient(final Notification notification, final User user, final Map<String, String> emails) {
+        String email = getRecipientEmail(notification.getRecipientAttrName(), user);
+        if (email == null) {
+            LOG.warn("{} cannot be notified: {} not found", user, notification.getRecipientAttrName());
+        } else {
+            emails.putIfAbsent(email, user.getKey());
+        }
+    }
+
+    /**
+     * Reads the recipient e-mail addresses of the given users by projection, where the recipient attribute allows
+     * so: username and String plain attributes not related to any membership.
+     *
+     * @param recipientAttrName recipient attribute name
+     * @param keys user keys
+     * @return recipient e-mail addresses, by user key, or nothing if users need to be loaded
+     */
+    private Optional<Map<String, String>> getRecipientEmails(final String recipientAttrName, final List<String> keys) {
+        IntAttrName intAttrName;
+        try {
+            intAttrName = intAttrNameParser.parse(recipientAttrName, AnyTypeKind.USER);
+        } catch (ParseException e) {
+            LOG.debug("Invalid intAttrName '{}' specified as recipient, loading users", recipientAttrName, e);
+            return Optional.empty();
+        }
+
+        if ("username".equals(intAttrName.getField())) {
+            return Optional.of(userDAO.findUsernames(keys));
+        }
+        if (intAttrName.getSchemaType() == SchemaType.PLAIN && intAttrName.getMembershipOfGroup() == null
+                && ((PlainSchema) intAttrName.getSchema()).getType() == AttrSchemaType.String) {
+
+            return Optional.of(userDAO.findPlainAttrStringValues(intAttrName.getSchema().getKey(), keys));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Adds the e-mail addresses of the given recipient users; when these cannot be read by projection, users are
+     * loaded and detached right after, so that the persistence context does not grow page after page.
+     *
+     * @param notification notification
+     * @param any the any object the notification is about
+     * @param keys recipient user keys
+     * @param emails recipient e-mail addresses, mapped to the key of the matching user
+     */
+    private void addRecipients(
+            final Notification notification,
+            final Any<?> any,
+            final List<String> keys,
+            final Map<String, String> emails) {
+
+        Optional<Map<String, String>> projected = getRecipientEmails(notification.getRecipientAttrName(), keys);
+        if (projected.isPresent()) {
+            keys.forEach(key -> {
+                String email = projected.get().get(key);
+                if (email == null) {
+                    LOG.warn("User {} cannot be notified: {} not found", key, notification.getRecipientAttrName());
+                } else {
+                    emails.putIfAbsent(email, key);
+                }
+            });
+        } else {
+            Map<String, User> recipients = userDAO.findByKeys(keys).stream().
+                    collect(Collectors.toMap(User::getKey, Function.identity()));
+            keys.stream().map(recipients::get).filter(Objects::nonNull).forEach(recipient -> {
+                addRecipient(notification, recipient, emails);
+                if (any == null || !recipient.getKey().equals(any.getKey())) {
+                    userDAO.detach(recipient);
+                }
+            });
+        }
+    }
+
+    private static String getSource(final MailTemplate mailTemplate, final MailTemplateFormat format) {
+        return format == MailTemplateFormat.HTML ? mailTemplate.getHTMLTemplate() : mailTemplate.getTextTemplate();
+    }
+
+    private boolean isRecipientsReferenced(final MailTemplate mailTemplate) {
+        for (MailTemplateFormat format : MailTemplateFormat.values()) {
+            if (StringUtils.isNotBlank(getSource(mailTemplate, format))
+                    && getTemplate(mailTemplate, format).getVariables().stream().
+                            anyMatch(variable -> !variable.isEmpty() && "recipients".equals(variable.get(0)))) {
+
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Create notification tasks: more than one is created when recipients exceed
+     * {@link #getMaxRecipientsPerTask()}.
      *
      * @param notification notification to take as model
      * @param any the any object this task is about
      * @param jexlVars JEXL variables
-     * @return notification task, fully populated
+     * @param syncopeConf configuration parameters
+     * @return notification tasks, fully populated
      */
-    private NotificationTask getNotificationTask(
+    private List<NotificationTask> getNotificationTasks(
             final Notification notification,
             final Any<?> any,
-            final Map<String, Object> jexlVars) {
+            final Map<String, Object> jexlVars,
+            final Map<String, String> syncopeConf) {
 
         if (any != null) {
             virAttrHander.getValues(any);
         }
 
-        List<User> recipients = new ArrayList<>();
+        // recipient e-mail addresses, mapped to the key of the matching user, if any
+        Map<String, String> emails = new LinkedHashMap<>();
 
         if (notification.getRecipientsFIQL() != null) {
-            recipients.addAll(searchDAO.<User>search(
-                    SearchCondConverter.convert(searchCondVisitor, notification.getRecipientsFIQL()),
-                    Collections.<OrderByClause>emptyList(), AnyTypeKind.USER));
+            SearchCond cond = SearchCondConverter.convert(searchCondVisitor, notification.getRecipientsFIQL());
+            int count = searchDAO.count(SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.USER);
+            for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
+                addRecipients(
+                        notification,
+                        any,
+                        searchDAO.searchKeys(
+                                SyncopeConstants.FULL_ADMIN_REALMS,
+                                cond,
+                                page,
+                                AnyDAO.DEFAULT_PAGE_SIZE,
+                                Collections.<OrderByClause>emptyList(),
+                                AnyTypeKind.USER),
+                        emails);
+            }
         }
 
         if (notification.isSelfAsRecipient() && any instanceof User) {
-            recipients.add((User) any);
+            addRecipient(notification, (User) any, emails);
         }
 
-        Set<String> recipientEmails = new HashSet<>();
-        List<UserTO> recipientTOs = new ArrayList<>(recipients.size());
-        recipients.forEach(recipient -> {
-            virAttrHander.getValues(recipient);
-
-            String email = getRecipientEmail(notification.getRecipientAttrName(), recipient);
-            if (email == null) {
-                LOG.warn("{} cannot be notified: {} not found", recipient, notification.getRecipientAttrName());
-            } else {
-                recipientEmails.add(email);
-                recipientTOs.add(userDataBinder.getUserTO(recipient, true));
-            }
-        });
-
         if (notification.getStaticRecipients() != null) {
-            recipientEmails.addAll(notification.getStaticRecipients());
+            notification.getStaticRecipients().forEach(email -> emails.putIfAbsent(email, null));
         }
 
         if (notification.getRecipientsProvider() != null) {
@@ -225,42 +346,88 @@ public class DefaultNotificationManager implements NotificationManager {
                         () -> perContextRecipientsProvider.orElse(null),
                         instance -> perContextRecipientsProvider = Optional.of(instance));
 
-                recipientEmails.addAll(recipientsProvider.provideRecipients(notification));
+                recipientsProvider.provideRecipients(notification).forEach(email -> emails.putIfAbsent(email, null));
             } catch (Exception e) {
                 LOG.error("While building {}", notification.getRecipientsProvider(), e);
             }
         }
 
-        jexlVars.put("recipients", recipientTOs);
-        jexlVars.put("syncopeConf", this.findAllSyncopeConfs());
+        jexlVars.put("recipients", Collections.<UserTO>emptyList());
+        jexlVars.put("syncopeConf", syncopeConf);
         jexlVars.put("events", notification.getEvents());
 
-        NotificationTask task = entityFactory.newEntity(NotificationTask.class);
-        task.setNotification(notification);
-        if (any != null) {
-            task.setEntityKey(any.getKey());
-            task.setAnyTypeKind(any.getType().getKind());
-        }
-        task.setTraceLevel(notification.getTraceLevel());
-        task.getRecipients().addAll(recipientEmails);
-        task.setSender(notification.getSender());
-        task.setSubject(notification.getSubject());
+        // recipient users are only read again and transformed when the template makes use of them
+        boolean recipientsReferenced = isRecipientsReferenced(notification.getTemplate());
+
+        List<String> addresses = new ArrayList<>(emails.keySet());
+        List<List<String>> chunks = new ArrayList<>();
+        int maxRecipientsPerTask = getMaxRecipientsPerTask();
+        int from = 0;
+        do {
+            chunks.add(addresses.subList(from, Math.min(from + maxRecipientsPerTask, addresses.size())));
+            from += maxRecipientsPerTask;
+        } while (from < addresses.size());
+
+        List<NotificationTask> tasks = new ArrayList<>(chunks.size());
+        String textBody = null;
+        String htmlBody = null;
+        for (List<String> chunk : chunks) {
+            if (recipientsReferenced || tasks.isEmpty()) {
+                if (recipientsReferenced) {
+                    jexlVars.put("recipients", chunk.stream().
+                            map(emails::get).filter(Objects::nonNull).distinct().
+                            map(userDAO::find).filter(Objects::nonNull).
+                            map(recipient -> {
+                                virAttrHander.getValues(recipient);
+                                return userDataBinder.getUserTO(recipient, true);
+                            }).collect(Collectors.toList()));
+                }
 
-        if (StringUtils.isNotBlank(notification.getTemplate().getTextTemplate())) {
-            task.setTextBody(evaluate(notification.getTemplate().getTextTemplate(), jexlVars));
-        }
-        if (StringUtils.isNotBlank(notification.getTemplate().getHTMLTemplate())) {
-            task.setHtmlBody(evaluate(notification.getTemplate().getHTMLTemplate(), jexlVars));
+                textBody = StringUtils.isBlank(notification.getTemplate().getTextTemplate())
+                        ? null
+                        : evaluate(notification.getTemplate(), MailTemplateFormat.TEXT, jexlVars);
+                htmlBody = StringUtils.isBlank(notification.getTemplate().getHTMLTemplate())
+                        ? null
+                        : evaluate(notification.getTemplate(), MailTemplateFormat.HTML, jexlVars);
+            }
+
+            NotificationTask task = entityFactory.newEntity(NotificationTask.class);
+            task.setNotification(notification);
+            if (any != null) {
+                task.setEntityKey(any.getKey());
+                task.setAnyTypeKind(any.getType().getKind());
+            }
+            task.setTraceLevel(notification.getTraceLevel());
+            task.getRecipients().addAll(chunk);
+            task.setSender(notification.getSender());
+            task.setSubject(notification.getSubject());
+            task.setTextBody(textBody);
+            task.setHtmlBody(htmlBody);
+
+            tasks.add(task);
         }
 
-        return task;
+        return tasks;
     }
 
-    private String evaluate(final String template, final Map<String, Object> jexlVars) {
+    private JxltEngine.Template getTemplate(final MailTemplate mailTemplate, final MailTemplateFormat format) {
+        String source = getSource(mailTemplate, format);
+
+        Pair<String, JxltEngine.Template> parsed = templates.compute(
+                Pair.of(mailTemplate.getKey(), format),
+                (key, cached) -> cached != null && cached.getLeft().equals(source)
+                ? cached
+                : Pair.of(source, jxltEngine.createTemplate(source)));
+        return parsed.getRight();
+    }
+
+    private String evaluate(
+            final MailTemplate mailTemplate,
+            final MailTemplateFormat format,
+            final Map<String, Object> jexlVars) {
+
         StringWriter writer = new StringWriter();
-        JexlUtils.newJxltEngine().
-                createTemplate(template).
-                evaluate(new MapContext(jexlVars), writer);
+        getTemplate(mailTemplate, format).evaluate(new MapContext(jexlVars), writer);
         return writer.toString();
     }
 
@@ -342,6 +509,8 @@ public class DefaultNotificationManager implements NotificationManager {
         AnyType anyType = any == null ? null : any.getType();
         LOG.debug("Search notification for [{}]{}", anyType, any);
 
+        Map<String, String> syncopeConf = null;
+
         List<NotificationTask> notifications = new ArrayList<>();
         for (Notification notification : notificationDAO.findAll()) {
             if (LOG.isDebugEnabled()) {
@@ -378,9 +547,13 @@ public class DefaultNotificationManager implements NotificationManager {
                         model.put("anyObject", anyObjectDataBinder.getAnyObjectTO((AnyObject) any, true));
                     }
 
-                    NotificationTask notificationTask = getNotificationTask(notification, any, model);
-                    notificationTask = taskDAO.save(notificationTask);
-                    notifications.add(notificationTask);
+                    // same configuration parameters for all tasks generated by the current event
+                    if (syncopeConf == null) {
+                        syncopeConf = findAllSyncopeConfs();
+                    }
+
+                    getNotificationTasks(notification, any, model, syncopeConf).
+                            forEach(notificationTask -> notifications.add(taskDAO.save(notificationTask)));
                 }
             } else {
                 LOG.debug("Notification {} is not active, task will not be created", notification.getKey());
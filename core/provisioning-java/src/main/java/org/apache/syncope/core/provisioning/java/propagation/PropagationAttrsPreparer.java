@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import java.util.Set;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.NotFoundException;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.resource.Provision;
+import org.apache.syncope.core.provisioning.api.MappingManager;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Prepares the attributes of a given any object for a given resource in a dedicated read-only transaction, so that
+ * {@link PropagationManagerImpl} can prepare attributes for several resources at once, each from its own thread.
+ */
+@Component
+public class PropagationAttrsPreparer {
+
+    @Autowired
+    protected ExternalResourceDAO resourceDAO;
+
+    @Autowired
+    protected MappingManager mappingManager;
+
+    @Autowired
+    protected AnyUtilsFactory anyUtilsFactory;
+
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public Pair<String, Set<Attribute>> prepare(
+            final AnyTypeKind anyTypeKind,
+            final String anyKey,
+            final String resourceKey,
+            final String password,
+            final boolean changePwd,
+            final Boolean enable) {
+
+        Any<?> any = anyUtilsFactory.getInstance(anyTypeKind).dao().find(anyKey);
+        if (any == null) {
+            throw new NotFoundException(anyTypeKind + " " + anyKey);
+        }
+
+        ExternalResource resource = resourceDAO.find(resourceKey);
+        Provision provision = resource == null ? null : resource.getProvision(any.getType()).orElse(null);
+        if (provision == null) {
+            throw new NotFoundException("Provision for " + any.getType().getKey() + " on " + resourceKey);
+        }
+
+        return mappingManager.prepareAttrsFromAny(any, password, changePwd, enable, provision);
+    }
+}
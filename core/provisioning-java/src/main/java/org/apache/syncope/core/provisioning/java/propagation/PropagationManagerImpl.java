@@ -23,11 +23,22 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.Resource;
+import javax.sql.DataSource;
+import org.apache.commons.jexl3.JexlContext;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.patch.UserPatch;
@@ -35,6 +46,9 @@ import org.apache.syncope.common.lib.to.AttrTO;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.provisioning.api.PropagationByResource;
 import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.DomainsHolder;
+import org.apache.syncope.core.persistence.api.dao.AllowedSchemas;
+import org.apache.syncope.core.persistence.api.dao.ConfDAO;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationManager;
@@ -58,13 +72,19 @@ import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecu
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
 import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
 import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.AttributeBuilder;
 import org.identityconnectors.framework.common.objects.AttributeUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.CollectionUtils;
 
 /**
@@ -75,6 +95,34 @@ public class PropagationManagerImpl implements PropagationManager {
 
     protected static final Logger LOG = LoggerFactory.getLogger(PropagationManager.class);
 
+    /**
+     * Configuration parameter: number of resources whose attributes can be prepared concurrently while creating
+     * propagation tasks; defaults to 1, i.e. sequential preparation.
+     */
+    protected static final String PREPARE_CONCURRENCY = "propagation.prepareConcurrency";
+
+    /**
+     * Properties reporting the maximum size of the most common JDBC connection pools (HikariCP, DBCP2, Tomcat).
+     */
+    protected static final String[] POOL_SIZE_PROPERTIES = { "maximumPoolSize", "maxTotal", "maxActive" };
+
+    /**
+     * Marks transactions holding no uncommitted change, as registered via {@link #markCommittedState()}.
+     */
+    private static final TransactionSynchronization COMMITTED_STATE = new TransactionSynchronization() {
+    };
+
+    /**
+     * Marks the current transaction as holding no uncommitted change: provisioning managers invoke this within their
+     * own transactions, whose changes are all performed - and committed - by workflow adapters in nested ones.
+     * The mark is dropped when the current transaction completes, and is not seen by nested transactions.
+     */
+    public static void markCommittedState() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(COMMITTED_STATE);
+        }
+    }
+
     @Autowired
     protected VirSchemaDAO virSchemaDAO;
 
@@ -96,6 +144,23 @@ public class PropagationManagerImpl implements PropagationManager {
     @Autowired
     protected AnyUtilsFactory anyUtilsFactory;
 
+    @Autowired
+    protected ConfDAO confDAO;
+
+    @Autowired
+    protected PropagationAttrsPreparer attrsPreparer;
+
+    @Resource(name = "propagationPrepareExecutor")
+    protected ThreadPoolTaskExecutor prepareExecutor;
+
+    @Autowired
+    protected DomainsHolder domainsHolder;
+
+    /**
+     * Per domain, how many workers can be preparing attributes at the same time, across all propagation requests.
+     */
+    protected final Map<String, Semaphore> prepareSlots = new ConcurrentHashMap<>();
+
     @Override
     public List<PropagationTaskInfo> getCreateTasks(
             final AnyTypeKind kind,
@@ -349,6 +414,45 @@ public class PropagationManagerImpl implements PropagationManager {
             final Stream<? extends Item> mappingItems,
             final Pair<String, Set<Attribute>> preparedAttrs) {
 
+        return newTask(
+                mandatoryConditionContext(any, derAttrHandler),
+                any,
+                resource,
+                operation,
+                provision,
+                mappingItems,
+                preparedAttrs);
+    }
+
+    /**
+     * Returns a supplier building, at first request only, the JEXL context used to evaluate mandatory conditions
+     * for the given any object.
+     *
+     * @param any any object
+     * @param derAttrHandler derived attribute handler
+     * @return JEXL context supplier
+     */
+    protected static Supplier<JexlContext> mandatoryConditionContext(
+            final Any<?> any, final DerAttrHandler derAttrHandler) {
+
+        JexlContext[] jexlContext = new JexlContext[1];
+        return () -> {
+            if (jexlContext[0] == null) {
+                jexlContext[0] = JexlUtils.newMandatoryConditionContext(any, derAttrHandler);
+            }
+            return jexlContext[0];
+        };
+    }
+
+    protected PropagationTaskInfo newTask(
+            final Supplier<JexlContext> jexlContext,
+            final Any<?> any,
+            final ExternalResource resource,
+            final ResourceOperation operation,
+            final Provision provision,
+            final Stream<? extends Item> mappingItems,
+            final Pair<String, Set<Attribute>> preparedAttrs) {
+
         PropagationTaskInfo task = new PropagationTaskInfo(resource);
         task.setObjectClassName(provision.getObjectClass().getObjectClassValue());
         task.setAnyTypeKind(any.getType().getKind());
@@ -362,7 +466,7 @@ public class PropagationManagerImpl implements PropagationManager {
         List<String> mandatoryMissing = new ArrayList<>();
         List<String> mandatoryNullOrEmpty = new ArrayList<>();
         mappingItems.filter(item -> (!item.isConnObjectKey()
-                && JexlUtils.evaluateMandatoryCondition(item.getMandatoryCondition(), any, derAttrHandler))).
+                && JexlUtils.evaluateMandatoryCondition(item.getMandatoryCondition(), jexlContext))).
                 forEach(item -> {
 
                     Attribute attr = AttributeUtil.find(item.getExtAttrName(), preparedAttrs.getRight());
@@ -420,15 +524,16 @@ public class PropagationManagerImpl implements PropagationManager {
         virtualResources.addAll(anyUtilsFactory.getInstance(any).dao().findAllResourceKeys(any.getKey()));
 
         Map<String, Set<Attribute>> vAttrMap = new HashMap<>();
-        if (vAttrs != null) {
+        if (vAttrs != null && !vAttrs.isEmpty()) {
+            AllowedSchemas<VirSchema> allowedSchemas =
+                    anyUtilsFactory.getInstance(any).dao().findAllowedSchemas(any, VirSchema.class);
             vAttrs.forEach(vAttr -> {
                 VirSchema schema = virSchemaDAO.find(vAttr.getSchema());
                 if (schema == null) {
                     LOG.warn("Ignoring invalid {} {}", VirSchema.class.getSimpleName(), vAttr.getSchema());
                 } else if (schema.isReadonly()) {
                     LOG.warn("Ignoring read-only {} {}", VirSchema.class.getSimpleName(), vAttr.getSchema());
-                } else if (anyUtilsFactory.getInstance(any).dao().
-                        findAllowedSchemas(any, VirSchema.class).contains(schema)
+                } else if (allowedSchemas.contains(schema)
                         && virtualResources.contains(schema.getProvision().getResource().getKey())) {
 
                     Set<Attribute> values = vAttrMap.get(schema.getProvision().getResource().getKey());
@@ -449,14 +554,11 @@ public class PropagationManagerImpl implements PropagationManager {
         }
         LOG.debug("With virtual attributes {}:\n{}\n{}", any, propByRes, vAttrMap);
 
-        List<PropagationTaskInfo> tasks = new ArrayList<>();
-
-        propByRes.asMap().forEach((resourceKey, operation) -> {
+        Map<String, ResourceOperation> operations = propByRes.asMap();
+        Map<String, Provision> provisions = new LinkedHashMap<>();
+        operations.keySet().forEach(resourceKey -> {
             ExternalResource resource = resourceDAO.find(resourceKey);
             Provision provision = resource == null ? null : resource.getProvision(any.getType()).orElse(null);
-            Stream<? extends Item> mappingItems = provision == null
-                    ? Stream.empty()
-                    : MappingUtils.getPropagationItems(provision.getMapping().getItems().stream());
 
             if (resource == null) {
                 LOG.error("Invalid resource name specified: {}, ignoring...", resourceKey);
@@ -467,24 +569,35 @@ public class PropagationManagerImpl implements PropagationManager {
                 LOG.warn("Requesting propagation for {} but no propagation mapping provided for {}",
                         any.getType(), resource);
             } else {
-                Pair<String, Set<Attribute>> preparedAttrs =
-                        mappingManager.prepareAttrsFromAny(any, password, changePwd, enable, provision);
-                if (vAttrMap.containsKey(resourceKey)) {
-                    preparedAttrs.getRight().addAll(vAttrMap.get(resourceKey));
-                }
+                provisions.put(resourceKey, provision);
+            }
+        });
 
-                PropagationTaskInfo task = newTask(
-                        derAttrHandler,
-                        any,
-                        resource,
-                        operation,
-                        provision,
-                        mappingItems,
-                        preparedAttrs);
-                task.setOldConnObjectKey(propByRes.getOldConnObjectKey(resourceKey));
-                tasks.add(task);
-                LOG.debug("PropagationTask created: {}", task);
+        Map<String, Pair<String, Set<Attribute>>> preparedAttrs =
+                prepareAttrs(any, password, changePwd, enable, provisions);
+
+        // mandatory conditions are evaluated against the same context for all resources and linked accounts
+        Supplier<JexlContext> jexlContext = mandatoryConditionContext(any, derAttrHandler);
+
+        List<PropagationTaskInfo> tasks = new ArrayList<>();
+
+        provisions.forEach((resourceKey, provision) -> {
+            Pair<String, Set<Attribute>> attrs = preparedAttrs.get(resourceKey);
+            if (vAttrMap.containsKey(resourceKey)) {
+                attrs.getRight().addAll(vAttrMap.get(resourceKey));
             }
+
+            PropagationTaskInfo task = newTask(
+                    jexlContext,
+                    any,
+                    provision.getResource(),
+                    operations.get(resourceKey),
+                    provision,
+                    MappingUtils.getPropagationItems(provision.getMapping().getItems().stream()),
+                    attrs);
+            task.setOldConnObjectKey(propByRes.getOldConnObjectKey(resourceKey));
+            tasks.add(task);
+            LOG.debug("PropagationTask created: {}", task);
         });
 
         if (any instanceof User && propByLinkedAccount != null) {
@@ -517,7 +630,7 @@ public class PropagationManagerImpl implements PropagationManager {
                             AnyTypeKind.USER.name(), account.getResource());
                 } else {
                     PropagationTaskInfo accountTask = newTask(
-                            derAttrHandler,
+                            jexlContext,
                             user,
                             account.getResource(),
                             operation,
@@ -537,6 +650,125 @@ public class PropagationManagerImpl implements PropagationManager {
         return tasks;
     }
 
+    protected int getPrepareConcurrency() {
+        return Math.max(1, confDAO.find(PREPARE_CONCURRENCY, 1L).intValue());
+    }
+
+    /**
+     * Each worker holds a JDBC connection while each calling thread, waiting for its own workers, holds another: by
+     * allowing at most half of the connections of the domain pool to workers, workers can never be starved by their
+     * callers. When the pool size cannot be determined, no worker is allowed.
+     *
+     * @param domain domain
+     * @return maximum number of workers allowed to prepare attributes at the same time for the given domain
+     */
+    protected int getMaxPrepareWorkers(final String domain) {
+        DataSource dataSource = domainsHolder.getDomains().get(domain);
+        if (dataSource != null) {
+            BeanWrapper pool = PropertyAccessorFactory.forBeanPropertyAccess(dataSource);
+            for (String property : POOL_SIZE_PROPERTIES) {
+                if (pool.isReadableProperty(property) && pool.getPropertyValue(property) instanceof Number) {
+                    return ((Number) pool.getPropertyValue(property)).intValue() / 2;
+                }
+            }
+        }
+
+        LOG.debug("Could not determine the connection pool size for domain {}", domain);
+        return 0;
+    }
+
+    /**
+     * Workers read entities in their own transactions, so they are only allowed to run when the current transaction
+     * was {@link #markCommittedState() marked} as holding no uncommitted change, which workers would not see.
+     *
+     * @return whether the current transaction holds no uncommitted change
+     */
+    protected boolean isCommittedState() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getSynchronizations().contains(COMMITTED_STATE);
+    }
+
+    /**
+     * Prepares attributes to propagate on each of the given resources; when {@link #PREPARE_CONCURRENCY} and the
+     * {@link #getMaxPrepareWorkers(java.lang.String) available workers} allow, resources are shared among the calling
+     * thread and some worker threads, otherwise attributes are all prepared by the calling thread.
+     * Any failure while preparing attributes is reported to the caller, whichever thread it occurred in.
+     *
+     * @param any to be provisioned
+     * @param password clear text password to be provisioned
+     * @param changePwd whether password should be included for propagation attributes or not
+     * @param enable whether user must be enabled or not
+     * @param provisions provision to use, per resource
+     * @return connector object key and attributes, per resource
+     */
+    protected Map<String, Pair<String, Set<Attribute>>> prepareAttrs(
+            final Any<?> any,
+            final String password,
+            final boolean changePwd,
+            final Boolean enable,
+            final Map<String, Provision> provisions) {
+
+        Map<String, Pair<String, Set<Attribute>>> prepared = new ConcurrentHashMap<>();
+        Queue<String> resourceKeys = new ConcurrentLinkedQueue<>(provisions.keySet());
+
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            int concurrency = Math.min(provisions.size(), getPrepareConcurrency());
+            if (concurrency > 1 && isCommittedState()) {
+                String domain = AuthContextUtils.getDomain();
+                Semaphore slots = prepareSlots.computeIfAbsent(domain, d -> new Semaphore(getMaxPrepareWorkers(d)));
+                AnyTypeKind anyTypeKind = any.getType().getKind();
+                String anyKey = any.getKey();
+
+                // the calling thread counts as one
+                for (int i = 1; i < concurrency; i++) {
+                    workers.add(prepareExecutor.submit(() -> {
+                        // when no slot is available, resources are left to the calling thread
+                        if (slots.tryAcquire()) {
+                            try {
+                                AuthContextUtils.execWithAuthContext(domain, () -> {
+                                    for (String key = resourceKeys.poll(); key != null; key = resourceKeys.poll()) {
+                                        prepared.put(key, attrsPreparer.prepare(
+                                                anyTypeKind, anyKey, key, password, changePwd, enable));
+                                    }
+                                    return null;
+                                });
+                            } finally {
+                                slots.release();
+                            }
+                        }
+                    }));
+                }
+            }
+
+            for (String key = resourceKeys.poll(); key != null; key = resourceKeys.poll()) {
+                prepared.put(key, mappingManager.prepareAttrsFromAny(
+                        any, password, changePwd, enable, provisions.get(key)));
+            }
+
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while preparing attributes for " + any, e);
+                } catch (ExecutionException e) {
+                    LOG.error("Could not prepare attributes for {}", any, e.getCause());
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new IllegalStateException("Could not prepare attributes for " + any, e.getCause());
+                }
+            }
+        } finally {
+            workers.forEach(worker -> worker.cancel(true));
+        }
+
+        Map<String, Pair<String, Set<Attribute>>> preparedAttrs = new HashMap<>(provisions.size());
+        provisions.keySet().forEach(resourceKey -> preparedAttrs.put(resourceKey, prepared.get(resourceKey)));
+        return preparedAttrs;
+    }
+
     @Override
     public List<PropagationTaskInfo> createTasks(
             final Realm realm,
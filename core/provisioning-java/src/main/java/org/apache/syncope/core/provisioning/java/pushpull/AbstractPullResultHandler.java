@@ -35,7 +35,9 @@ import org.apache.syncope.common.lib.types.PullMode;
 import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.common.lib.types.UnmatchingRule;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
+import org.apache.syncope.core.persistence.api.dao.ConfDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
+import org.apache.syncope.core.persistence.api.dao.PullFingerprintDAO;
 import org.apache.syncope.core.persistence.api.dao.PullMatch;
 import org.apache.syncope.core.persistence.api.dao.RemediationDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
@@ -43,6 +45,7 @@ import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.VirSchemaDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.PullFingerprint;
 import org.apache.syncope.core.persistence.api.entity.Remediation;
 import org.apache.syncope.core.persistence.api.entity.resource.Provision;
 import org.apache.syncope.core.persistence.api.entity.task.PullTask;
@@ -63,13 +66,20 @@ import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.SyncDelta;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.apache.syncope.common.lib.types.TaskType;
 
@@ -110,8 +120,20 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
     @Autowired
     protected EntityFactory entityFactory;
 
+    @Autowired
+    protected ConfDAO confDAO;
+
+    @Autowired
+    protected PullFingerprintDAO pullFingerprintDAO;
+
     protected SyncopePullExecutor executor;
 
+    protected Boolean fingerprintEnabled;
+
+    protected final Map<String, String> confFingerprints = new ConcurrentHashMap<>();
+
+    protected Map<String, Map<String, List<PullMatch>>> preResolvedMatches = Collections.emptyMap();
+
     protected Result latestResult;
 
     protected abstract String getName(AnyTO anyTO);
@@ -189,6 +211,22 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
         }
     }
 
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Throwable.class)
+    @Override
+    public boolean handle(final List<SyncDelta> deltas) {
+        // resolve matches for the whole batch upfront, with a handful of queries per provision
+        preResolvedMatches = new HashMap<>();
+        deltas.stream().collect(Collectors.groupingBy(SyncDelta::getObjectClass)).forEach((objectClass, byOC) ->
+                profile.getTask().getResource().getProvision(objectClass).ifPresent(provision ->
+                preResolvedMatches.put(
+                        provision.getKey(), inboundMatcher.matchByConnObjectKeyValues(byOC, provision))));
+        try {
+            return SyncopePullResultHandler.super.handle(deltas);
+        } finally {
+            preResolvedMatches = Collections.emptyMap();
+        }
+    }
+
     protected List<ProvisioningReport> provision(
             final UnmatchingRule rule,
             final SyncDelta delta,
@@ -881,8 +919,45 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
         LOG.debug("Transformed {} for {} as {}",
                 finalDelta.getDeltaType(), finalDelta.getUid().getUidValue(), finalDelta.getObject().getObjectClass());
 
+        String fingerprintKey = null;
+        String fingerprint = null;
+        if (isFingerprintEnabled()) {
+            fingerprintKey = ConnObjectUtils.getFingerprintKey(
+                    profile.getTask(), provision, finalDelta.getUid().getUidValue());
+            if (finalDelta.getDeltaType() == SyncDeltaType.DELETE) {
+                if (!profile.isDryRun()) {
+                    pullFingerprintDAO.delete(fingerprintKey);
+                }
+                fingerprintKey = null;
+            } else {
+                String confFingerprint = confFingerprints.computeIfAbsent(
+                        provision.getKey(), k -> ConnObjectUtils.getConfFingerprint(profile.getTask(), provision));
+                fingerprint = ConnObjectUtils.getFingerprint(finalDelta.getObject(), confFingerprint);
+                String unchanged = findUnchanged(fingerprintKey, fingerprint);
+                if (unchanged != null) {
+                    LOG.debug("No changes found for {} since latest pull, skipping", finalDelta.getUid());
+
+                    ProvisioningReport report = new ProvisioningReport();
+                    report.setKey(unchanged);
+                    report.setOperation(ResourceOperation.NONE);
+                    report.setAnyType(provision.getAnyType().getKey());
+                    report.setStatus(ProvisioningReport.Status.IGNORE);
+                    report.setMessage("Unchanged since latest pull");
+                    report.setUidValue(finalDelta.getUid().getUidValue());
+                    report.setName(finalDelta.getObject().getName().getNameValue());
+                    profile.getResults().add(report);
+                    return;
+                }
+            }
+        }
+        int resultsBefore = profile.getResults().size();
+
+        List<PullMatch> matches = Collections.emptyList();
         try {
-            List<PullMatch> matches = inboundMatcher.match(finalDelta, provision);
+            matches = inboundMatcher.match(
+                    finalDelta,
+                    provision,
+                    preResolvedMatches.getOrDefault(provision.getKey(), Collections.emptyMap()));
             LOG.debug("Match(es) found for {} as {}: {}",
                     finalDelta.getUid().getUidValue(), finalDelta.getObject().getObjectClass(), matches);
 
@@ -918,8 +993,113 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
                     matches.stream().
                             filter(match -> match.getMatchTarget() == MatchType.LINKED_ACCOUNT).
                             collect(Collectors.toList()), provision);
+
+            if (fingerprintKey != null) {
+                saveFingerprint(
+                        fingerprintKey,
+                        fingerprint,
+                        profile.getResults().subList(resultsBefore, profile.getResults().size()));
+            }
         } catch (IllegalStateException | IllegalArgumentException e) {
             LOG.warn(e.getMessage());
+        } finally {
+            invalidatePreResolvedMatches(matches, resultsBefore);
+        }
+    }
+
+    /**
+     * Drops the pre-resolved matches which might have been affected by the delta just handled, so that later deltas
+     * in the same batch are matched against the current state of the internal storage.
+     *
+     * @param matches matches found for the delta just handled
+     * @param resultsBefore number of results before the delta was handled
+     */
+    protected void invalidatePreResolvedMatches(final List<PullMatch> matches, final int resultsBefore) {
+        if (preResolvedMatches.isEmpty()) {
+            return;
+        }
+
+        Set<String> anyKeys = new HashSet<>();
+        matches.forEach(match -> anyKeys.add(InboundMatcher.getAnyKey(match)));
+        synchronized (profile.getResults()) {
+            profile.getResults().subList(Math.min(resultsBefore, profile.getResults().size()),
+                    profile.getResults().size()).stream().
+                    filter(report -> report.getKey() != null).
+                    forEach(report -> anyKeys.add(report.getKey()));
+        }
+
+        preResolvedMatches.values().forEach(byValue -> InboundMatcher.invalidate(byValue, anyKeys));
+    }
+
+    /**
+     * Fingerprints are only used during reconciliation, and only when enabled via the {@code pull.fingerprint}
+     * configuration parameter.
+     *
+     * @return whether remote objects unchanged since the latest pull shall be skipped
+     */
+    protected boolean isFingerprintEnabled() {
+        if (fingerprintEnabled == null) {
+            fingerprintEnabled = profile.getTask().getPullMode() != PullMode.INCREMENTAL
+                    && confDAO.find("pull.fingerprint", false);
+        }
+        return fingerprintEnabled;
+    }
+
+    /**
+     * Checks whether the remote object identified by the given fingerprint key is unchanged since the latest pull,
+     * without loading the matching entity.
+     *
+     * @param fingerprintKey fingerprint key
+     * @param fingerprint current fingerprint of the remote object, null if it could not be computed
+     * @return the key of the matching entity if nothing changed on both sides since the latest pull, null otherwise
+     */
+    protected String findUnchanged(final String fingerprintKey, final String fingerprint) {
+        if (fingerprint == null) {
+            return null;
+        }
+
+        PullFingerprint stored = pullFingerprintDAO.find(fingerprintKey);
+        if (stored == null || stored.getLastChangeDate() == null || !fingerprint.equals(stored.getFingerprint())) {
+            return null;
+        }
+
+        // the matching entity must not have been changed or removed in the meantime
+        Date lastChange = getAnyUtils().dao().findLastChange(stored.getAnyKey());
+        return lastChange != null && lastChange.getTime() == stored.getLastChangeDate().getTime()
+                ? stored.getAnyKey()
+                : null;
+    }
+
+    protected void saveFingerprint(
+            final String fingerprintKey,
+            final String fingerprint,
+            final List<ProvisioningReport> results) {
+
+        if (profile.isDryRun()) {
+            return;
+        }
+
+        // only keep track of remote objects successfully pulled onto a single entity
+        ProvisioningReport report = results.size() == 1 ? results.get(0) : null;
+        Date lastChange = report == null
+                || report.getStatus() != ProvisioningReport.Status.SUCCESS
+                || report.getKey() == null
+                ? null
+                : getAnyUtils().dao().findLastChange(report.getKey());
+        if (lastChange == null || fingerprint == null) {
+            pullFingerprintDAO.delete(fingerprintKey);
+        } else {
+            PullFingerprint pullFingerprint = pullFingerprintDAO.find(fingerprintKey);
+            if (pullFingerprint == null) {
+                pullFingerprint = entityFactory.newEntity(PullFingerprint.class);
+                pullFingerprint.setKey(fingerprintKey);
+                pullFingerprint.setPullTask(profile.getTask().getKey());
+                pullFingerprint.setResource(profile.getTask().getResource().getKey());
+            }
+            pullFingerprint.setAnyKey(report.getKey());
+            pullFingerprint.setFingerprint(fingerprint);
+            pullFingerprint.setLastChangeDate(lastChange);
+            pullFingerprintDAO.save(pullFingerprint);
         }
     }
 
@@ -221,16 +221,19 @@ public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHan
             doHandle(any, provision);
             return true;
         } catch (IgnoreProvisionException e) {
-            ProvisioningReport ignoreResult = profile.getResults().stream().
-                    filter(report -> anyKey.equalsIgnoreCase(report.getKey())).
-                    findFirst().
-                    orElse(null);
-            if (ignoreResult == null) {
-                ignoreResult = new ProvisioningReport();
-                ignoreResult.setKey(anyKey);
-                ignoreResult.setAnyType(any == null ? null : any.getType().getKey());
-
-                profile.getResults().add(ignoreResult);
+            ProvisioningReport ignoreResult;
+            synchronized (profile.getResults()) {
+                ignoreResult = profile.getResults().stream().
+                        filter(report -> anyKey.equalsIgnoreCase(report.getKey())).
+                        findFirst().
+                        orElse(null);
+                if (ignoreResult == null) {
+                    ignoreResult = new ProvisioningReport();
+                    ignoreResult.setKey(anyKey);
+                    ignoreResult.setAnyType(any == null ? null : any.getType().getKey());
+
+                    profile.getResults().add(ignoreResult);
+                }
             }
 
             ignoreResult.setOperation(ResourceOperation.NONE);
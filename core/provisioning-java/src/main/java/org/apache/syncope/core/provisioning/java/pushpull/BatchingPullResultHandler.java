@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.syncope.common.lib.to.ProvisioningReport;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullExecutor;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullResultHandler;
+import org.identityconnectors.framework.common.objects.Name;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.SyncDelta;
+import org.identityconnectors.framework.common.objects.SyncResultsHandler;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Groups incoming deltas into batches, each handled within a single transaction, so that matches can be resolved
+ * once per batch. Deltas of a batch are reported as handled to the pull executor only once the batch has committed;
+ * when a batch fails, its reports are discarded and all of its deltas are handled again one by one, so that a single
+ * bad record does not affect the others and no change joining the failed transaction gets lost.
+ */
+public class BatchingPullResultHandler implements SyncResultsHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingPullResultHandler.class);
+
+    /**
+     * Holds calls to the pull executor, for them to be performed once the batch has committed.
+     */
+    private static class DeferringPullExecutor implements SyncopePullExecutor {
+
+        private final SyncopePullExecutor executor;
+
+        private final List<Runnable> deferred = new ArrayList<>();
+
+        DeferringPullExecutor(final SyncopePullExecutor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void setLatestSyncToken(final ObjectClass objectClass, final SyncToken latestSyncToken) {
+            deferred.add(() -> executor.setLatestSyncToken(objectClass, latestSyncToken));
+        }
+
+        @Override
+        public void reportHandled(final ObjectClass objectClass, final Name name) {
+            deferred.add(() -> executor.reportHandled(objectClass, name));
+        }
+
+        @Override
+        public boolean wasInterruptRequested() {
+            return executor.wasInterruptRequested();
+        }
+
+        @Override
+        public void setInterrupted() {
+            executor.setInterrupted();
+        }
+
+        void perform() {
+            deferred.forEach(Runnable::run);
+        }
+    }
+
+    private final SyncopePullResultHandler handler;
+
+    private final SyncopePullExecutor executor;
+
+    private final int batchSize;
+
+    private final List<SyncDelta> batch;
+
+    public BatchingPullResultHandler(
+            final SyncopePullResultHandler handler,
+            final SyncopePullExecutor executor,
+            final int batchSize) {
+
+        this.handler = handler;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public boolean handle(final SyncDelta delta) {
+        batch.add(delta);
+        return batch.size() < batchSize || flush();
+    }
+
+    /**
+     * Handles the deltas collected so far.
+     *
+     * @return whether pull shall continue
+     */
+    public boolean flush() {
+        if (batch.isEmpty()) {
+            return true;
+        }
+
+        List<SyncDelta> deltas = new ArrayList<>(batch);
+        batch.clear();
+
+        List<ProvisioningReport> results = handler.getProfile().getResults();
+        int reported = results.size();
+
+        DeferringPullExecutor deferring = new DeferringPullExecutor(executor);
+        handler.setPullExecutor(deferring);
+        try {
+            boolean shouldContinue = handler.handle(deltas);
+            deferring.perform();
+            return shouldContinue;
+        } catch (Exception e) {
+            LOG.warn("Batch of {} deltas failed, handling them again one by one", deltas.size(), e);
+        } finally {
+            handler.setPullExecutor(executor);
+        }
+
+        // discard any report about the deltas in the failed batch
+        synchronized (results) {
+            results.subList(reported, results.size()).clear();
+        }
+
+        boolean shouldContinue = true;
+        for (int i = 0; i < deltas.size() && shouldContinue; i++) {
+            shouldContinue = handler.handle(deltas.get(i));
+        }
+        return shouldContinue;
+    }
+}
@@ -21,15 +21,21 @@ package org.apache.syncope.core.provisioning.java.pushpull;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.MatchType;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.ParsingValidationException;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
@@ -197,6 +203,20 @@ public class InboundMatcher {
         return result;
     }
 
+    protected static String transform(final Item connObjectKeyItem, final String connObjectKeyValue) {
+        String transformed = connObjectKeyValue;
+        for (ItemTransformer transformer : MappingUtils.getItemTransformers(connObjectKeyItem)) {
+            List<Object> output = transformer.beforePull(
+                    connObjectKeyItem,
+                    null,
+                    Collections.<Object>singletonList(transformed));
+            if (!CollectionUtils.isEmpty(output)) {
+                transformed = output.get(0).toString();
+            }
+        }
+        return transformed;
+    }
+
     public List<PullMatch> matchByConnObjectKeyValue(
             final Item connObjectKeyItem,
             final String connObjectKeyValue,
@@ -217,16 +237,7 @@ public class InboundMatcher {
             final boolean ignoreCaseMatch,
             final ExternalResource resource) {
 
-        String finalConnObjectKeyValue = connObjectKeyValue;
-        for (ItemTransformer transformer : MappingUtils.getItemTransformers(connObjectKeyItem)) {
-            List<Object> output = transformer.beforePull(
-                    connObjectKeyItem,
-                    null,
-                    Collections.<Object>singletonList(finalConnObjectKeyValue));
-            if (!CollectionUtils.isEmpty(output)) {
-                finalConnObjectKeyValue = output.get(0).toString();
-            }
-        }
+        String finalConnObjectKeyValue = transform(connObjectKeyItem, connObjectKeyValue);
 
         List<PullMatch> noMatchResult = Collections.singletonList(PullCorrelationRule.NO_MATCH);
 
@@ -370,6 +381,145 @@ public class InboundMatcher {
         return rule;
     }
 
+    protected static String getConnObjectKeyValue(final SyncDelta syncDelta, final Item connObjectKeyItem) {
+        String connObjectKeyValue = null;
+
+        Attribute connObjectKeyAttr = syncDelta.getObject().getAttributeByName(connObjectKeyItem.getExtAttrName());
+        if (connObjectKeyAttr != null) {
+            connObjectKeyValue = AttributeUtil.getStringValue(connObjectKeyAttr);
+        }
+        // fallback to __UID__
+        if (connObjectKeyValue == null) {
+            connObjectKeyValue = syncDelta.getUid().getUidValue();
+        }
+
+        return connObjectKeyValue;
+    }
+
+    /**
+     * Resolves the matches for several deltas at once, with one query per chunk of connector object key values
+     * plus one for linked accounts.
+     * Only values matching some entity via key, username or name are reported: values requiring a pull correlation
+     * rule, a case-insensitive or attribute-based lookup, as well as values not matching any entity, are left to
+     * {@link #match(org.identityconnectors.framework.common.objects.SyncDelta, Provision)}.
+     *
+     * @param syncDeltas change operations, including external attributes
+     * @param provision mapping
+     * @return matches, by connector object key value
+     */
+    public Map<String, List<PullMatch>> matchByConnObjectKeyValues(
+            final List<SyncDelta> syncDeltas, final Provision provision) {
+
+        Optional<? extends Item> connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision);
+        if (!connObjectKeyItem.isPresent() || rule(provision).isPresent()) {
+            return Collections.emptyMap();
+        }
+
+        AnyTypeKind anyTypeKind = provision.getAnyType().getKind();
+        IntAttrName intAttrName;
+        try {
+            intAttrName = intAttrNameParser.parse(connObjectKeyItem.get().getIntAttrName(), anyTypeKind);
+        } catch (ParseException e) {
+            LOG.error("Invalid intAttrName '{}' specified, ignoring", connObjectKeyItem.get().getIntAttrName(), e);
+            return Collections.emptyMap();
+        }
+        if (intAttrName.getField() == null) {
+            return Collections.emptyMap();
+        }
+
+        Function<List<String>, List<Pair<String, Any<?>>>> finder;
+        switch (intAttrName.getField()) {
+            case "key":
+                AnyUtils anyUtils = anyUtilsFactory.getInstance(anyTypeKind);
+                finder = values -> anyUtils.dao().findByKeys(values).stream().
+                        map(any -> Pair.<String, Any<?>>of(any.getKey(), any)).
+                        collect(Collectors.toList());
+                break;
+
+            case "username":
+                if (anyTypeKind != AnyTypeKind.USER || provision.isIgnoreCaseMatch()) {
+                    return Collections.emptyMap();
+                }
+                finder = values -> userDAO.findByUsernames(values).stream().
+                        map(user -> Pair.<String, Any<?>>of(user.getUsername(), user)).
+                        collect(Collectors.toList());
+                break;
+
+            case "name":
+                if (provision.isIgnoreCaseMatch()) {
+                    return Collections.emptyMap();
+                }
+                finder = values -> Stream.concat(
+                        groupDAO.findByNames(values).stream().
+                                map(group -> Pair.<String, Any<?>>of(group.getName(), group)),
+                        anyObjectDAO.findByNames(values).stream().
+                                map(anyObject -> Pair.<String, Any<?>>of(anyObject.getName(), anyObject))).
+                        collect(Collectors.toList());
+                break;
+
+            default:
+                return Collections.emptyMap();
+        }
+
+        // connector object key value -> transformed value, as used for lookup
+        Map<String, String> values = new LinkedHashMap<>();
+        syncDeltas.stream().filter(syncDelta -> syncDelta.getObject() != null).forEach(syncDelta -> {
+            String connObjectKeyValue = getConnObjectKeyValue(syncDelta, connObjectKeyItem.get());
+            if (connObjectKeyValue != null) {
+                values.put(connObjectKeyValue, transform(connObjectKeyItem.get(), connObjectKeyValue));
+            }
+        });
+
+        List<String> lookup = values.values().stream().distinct().collect(Collectors.toList());
+        Map<String, List<PullMatch>> found = new HashMap<>();
+        Map<String, PullMatch> linkedAccounts = new HashMap<>();
+        for (int i = 0; i < lookup.size(); i += AnyDAO.DEFAULT_PAGE_SIZE) {
+            List<String> chunk = lookup.subList(i, Math.min(lookup.size(), i + AnyDAO.DEFAULT_PAGE_SIZE));
+
+            finder.apply(chunk).forEach(pair -> found.computeIfAbsent(pair.getLeft(), k -> new ArrayList<>()).
+                    add(new PullMatch(MatchType.ANY, pair.getRight())));
+            userDAO.findLinkedAccounts(provision.getResource(), chunk).forEach(account -> linkedAccounts.put(
+                    account.getConnObjectKeyValue(), new PullMatch(MatchType.LINKED_ACCOUNT, account)));
+        }
+
+        Map<String, List<PullMatch>> result = new HashMap<>();
+        values.forEach((connObjectKeyValue, value) -> {
+            if (found.containsKey(value)) {
+                List<PullMatch> matches = new ArrayList<>(found.get(value));
+                Optional.ofNullable(linkedAccounts.get(value)).ifPresent(matches::add);
+                result.put(connObjectKeyValue, matches);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns the key of the user, group or any object referred by the given match: for linked accounts, this is
+     * the key of the owner.
+     *
+     * @param match match
+     * @return key of the matching entity or owner
+     */
+    public static String getAnyKey(final PullMatch match) {
+        return match.getMatchTarget() == MatchType.LINKED_ACCOUNT
+                ? match.getLinkedAccount().getOwner().getKey()
+                : match.getAny() == null ? null : match.getAny().getKey();
+    }
+
+    /**
+     * Removes from the given pre-resolved matches all entries referring to any of the given entities, as those might
+     * have been modified, removed or linked to different accounts since matches were resolved.
+     *
+     * @param preResolved matches already resolved, by connector object key value
+     * @param anyKeys keys of the users, groups or any objects which might have been changed
+     */
+    public static void invalidate(final Map<String, List<PullMatch>> preResolved, final Set<String> anyKeys) {
+        if (!anyKeys.isEmpty()) {
+            preResolved.values().removeIf(matches -> matches.stream().anyMatch(
+                    match -> anyKeys.contains(getAnyKey(match))));
+        }
+    }
+
     /**
      * Finds internal entities based on external attributes and mapping.
      *
@@ -378,6 +528,26 @@ public class InboundMatcher {
      * @return list of matching users' / groups' / any objects' keys
      */
     public List<PullMatch> match(final SyncDelta syncDelta, final Provision provision) {
+        return match(syncDelta, provision, Collections.emptyMap());
+    }
+
+    /**
+     * Finds internal entities based on external attributes and mapping, first looking into the given matches.
+     * The connector object key value is read from the given delta, hence after any
+     * {@link org.apache.syncope.core.provisioning.api.pushpull.PullActions#preprocess} took place: pre-resolved
+     * matches are only a lookup cache by value, and a value not found there is looked up as usual.
+     *
+     * @param syncDelta change operation, including external attributes
+     * @param provision mapping
+     * @param preResolved matches already resolved, by connector object key value
+     * @return list of matching users' / groups' / any objects' keys
+     * @see #matchByConnObjectKeyValues(java.util.List, Provision)
+     */
+    public List<PullMatch> match(
+            final SyncDelta syncDelta,
+            final Provision provision,
+            final Map<String, List<PullMatch>> preResolved) {
+
         Optional<PullCorrelationRule> rule = rule(provision);
 
         List<PullMatch> result = Collections.emptyList();
@@ -385,22 +555,14 @@ public class InboundMatcher {
             if (rule.isPresent()) {
                 result = matchByCorrelationRule(syncDelta, provision, rule.get(), provision.getAnyType().getKind());
             } else {
-                String connObjectKeyValue = null;
-
                 Optional<? extends Item> connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision);
-                if (connObjectKeyItem.isPresent()) {
-                    Attribute connObjectKeyAttr = syncDelta.getObject().
-                            getAttributeByName(connObjectKeyItem.get().getExtAttrName());
-                    if (connObjectKeyAttr != null) {
-                        connObjectKeyValue = AttributeUtil.getStringValue(connObjectKeyAttr);
-                    }
-                    // fallback to __UID__
-                    if (connObjectKeyValue == null) {
-                        connObjectKeyValue = syncDelta.getUid().getUidValue();
-                    }
-                }
+                String connObjectKeyValue = connObjectKeyItem.isPresent()
+                        ? getConnObjectKeyValue(syncDelta, connObjectKeyItem.get())
+                        : null;
                 if (connObjectKeyValue == null) {
                     result = Collections.singletonList(PullCorrelationRule.NO_MATCH);
+                } else if (preResolved.containsKey(connObjectKeyValue)) {
+                    result = preResolved.get(connObjectKeyValue);
                 } else {
                     result = matchByConnObjectKeyValue(connObjectKeyItem.get(), connObjectKeyValue, provision);
                 }
@@ -34,6 +34,7 @@ import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
+import org.apache.syncope.core.persistence.api.dao.ConfDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.dao.PullMatch;
@@ -75,6 +76,9 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
     @Autowired
     protected GroupDAO groupDAO;
 
+    @Autowired
+    protected ConfDAO confDAO;
+
     @Autowired
     protected VirSchemaDAO virSchemaDAO;
 
@@ -293,6 +297,9 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
         // ...then provisions for any types
         ProvisionSorter provisionSorter = getProvisionSorter(pullTask);
 
+        // number of deltas to handle within the same transaction, for reconciliation modes only
+        int batchSize = confDAO.find("pull.batchSize", 1L).intValue();
+
         GroupPullResultHandler ghandler = buildGroupHandler();
         for (Provision provision : pullTask.getResource().getProvisions().stream().
                 filter(provision -> provision.getMapping() != null).sorted(provisionSorter).
@@ -345,19 +352,40 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                         break;
 
                     case FILTERED_RECONCILIATION:
-                        connector.filteredReconciliation(
-                                provision.getObjectClass(),
-                                getReconFilterBuilder(pullTask),
-                                handler,
-                                options);
+                        if (batchSize > 1) {
+                            BatchingPullResultHandler batching = new BatchingPullResultHandler(
+                                    handler, this, batchSize);
+                            connector.filteredReconciliation(
+                                    provision.getObjectClass(),
+                                    getReconFilterBuilder(pullTask),
+                                    batching,
+                                    options);
+                            batching.flush();
+                        } else {
+                            connector.filteredReconciliation(
+                                    provision.getObjectClass(),
+                                    getReconFilterBuilder(pullTask),
+                                    handler,
+                                    options);
+                        }
                         break;
 
                     case FULL_RECONCILIATION:
                     default:
-                        connector.fullReconciliation(
-                                provision.getObjectClass(),
-                                handler,
-                                options);
+                        if (batchSize > 1) {
+                            BatchingPullResultHandler batching = new BatchingPullResultHandler(
+                                    handler, this, batchSize);
+                            connector.fullReconciliation(
+                                    provision.getObjectClass(),
+                                    batching,
+                                    options);
+                            batching.flush();
+                        } else {
+                            connector.fullReconciliation(
+                                    provision.getObjectClass(),
+                                    handler,
+                                    options);
+                        }
                         break;
                 }
 
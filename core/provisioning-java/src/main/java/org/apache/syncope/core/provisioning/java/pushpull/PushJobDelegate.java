@@ -23,14 +23,26 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.to.ProvisioningReport;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.ConflictResolutionAction;
+import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.ConfDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
@@ -57,6 +69,7 @@ import org.apache.syncope.core.provisioning.api.pushpull.SyncopePushResultHandle
 import org.apache.syncope.core.provisioning.api.pushpull.UserPushResultHandler;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.spring.implementation.ImplementationManager;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -79,13 +92,16 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
     @Autowired
     protected SearchCondVisitor searchCondVisitor;
 
+    @Autowired
+    protected ConfDAO confDAO;
+
     protected ProvisioningProfile<PushTask, PushActions> profile;
 
     protected final Map<String, MutablePair<Integer, String>> handled = new ConcurrentHashMap<>();
 
     protected final Map<String, PushActions> perContextActions = new ConcurrentHashMap<>();
 
-    protected void reportHandled(final String anyType, final String key) {
+    protected synchronized void reportHandled(final String anyType, final String key) {
         MutablePair<Integer, String> pair = handled.get(anyType);
         if (pair == null) {
             pair = MutablePair.of(0, null);
@@ -104,6 +120,14 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
         }
     }
 
+    protected static String getName(final Any<?> any) {
+        return any instanceof User
+                ? ((User) any).getUsername()
+                : any instanceof Group
+                        ? ((Group) any).getName()
+                        : ((AnyObject) any).getName();
+    }
+
     protected void doHandle(
             final List<? extends Any<?>> anys,
             final SyncopePushResultHandler handler,
@@ -113,13 +137,7 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
         for (int i = 0; i < anys.size() && !interrupt; i++) {
             try {
                 handler.handle(anys.get(i).getKey());
-                reportHandled(
-                        anys.get(i).getType().getKey(),
-                        (anys.get(i) instanceof User
-                        ? ((User) anys.get(i)).getUsername()
-                        : anys.get(i) instanceof Group
-                        ? ((Group) anys.get(i)).getName()
-                        : ((AnyObject) anys.get(i)).getName()));
+                reportHandled(anys.get(i).getType().getKey(), getName(anys.get(i)));
             } catch (Exception e) {
                 LOG.warn("Failure pushing '{}' on '{}'", anys.get(i), resource, e);
                 throw new JobExecutionException("While pushing " + anys.get(i) + " on " + resource, e);
@@ -127,6 +145,167 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
         }
     }
 
+    /**
+     * Number of worker threads to use for pushing entities of a given provision: values greater than 1 enable
+     * parallel push.
+     *
+     * @return number of worker threads
+     */
+    protected int getConcurrency() {
+        return Math.max(1, confDAO.find("push.concurrency", 1L).intValue());
+    }
+
+    /**
+     * Whether parallel push shall stop at the first failure or rather collect failures in the report and go on.
+     *
+     * @return whether parallel push shall stop at the first failure
+     */
+    protected boolean isFailFast() {
+        return confDAO.find("push.failFast", true);
+    }
+
+    protected SyncopePushResultHandler buildHandler(final AnyTypeKind kind) {
+        SyncopePushResultHandler handler;
+        switch (kind) {
+            case USER:
+                handler = buildUserHandler();
+                break;
+
+            case GROUP:
+                handler = buildGroupHandler();
+                break;
+
+            case ANY_OBJECT:
+            default:
+                handler = buildAnyObjectHandler();
+        }
+        handler.setProfile(profile);
+        return handler;
+    }
+
+    /**
+     * Streams the keys of all entities matching the given condition to a pool of worker threads; each worker owns
+     * its handler instance, and each {@link SyncopePushResultHandler#handle(java.lang.String)} call runs in its
+     * own transaction.
+     *
+     * @param cond search condition
+     * @param provision provision
+     * @param concurrency number of worker threads
+     * @throws JobExecutionException if any failure occurred and fail fast mode is enabled
+     */
+    protected void doHandleConcurrently(final SearchCond cond, final Provision provision, final int concurrency)
+            throws JobExecutionException {
+
+        ExternalResource resource = profile.getTask().getResource();
+        String domain = AuthContextUtils.getDomain();
+        boolean failFast = isFailFast();
+
+        BlockingQueue<SyncopePushResultHandler> handlers = new ArrayBlockingQueue<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            handlers.add(buildHandler(provision.getAnyType().getKind()));
+        }
+
+        AtomicInteger threadCount = new AtomicInteger(0);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "push-" + profile.getTask().getKey()
+                    + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // bounds the number of keys read from search but not yet handled
+        Semaphore inFlight = new Semaphore(concurrency * 2);
+        AtomicReference<JobExecutionException> failure = new AtomicReference<>();
+
+        try {
+            int count = searchDAO.count(
+                    Collections.singleton(profile.getTask().getSourceRealm().getFullPath()),
+                    cond,
+                    provision.getAnyType().getKind());
+            for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1
+                    && !interrupt && (!failFast || failure.get() == null); page++) {
+
+                List<? extends Any<?>> anys = searchDAO.search(
+                        Collections.singleton(profile.getTask().getSourceRealm().getFullPath()),
+                        cond,
+                        page,
+                        AnyDAO.DEFAULT_PAGE_SIZE,
+                        Collections.emptyList(),
+                        provision.getAnyType().getKind());
+                for (int i = 0; i < anys.size() && !interrupt && (!failFast || failure.get() == null); i++) {
+                    String key = anys.get(i).getKey();
+                    String anyType = anys.get(i).getType().getKey();
+                    String name = getName(anys.get(i));
+
+                    inFlight.acquire();
+                    executor.submit(() -> {
+                        SyncopePushResultHandler handler = null;
+                        try {
+                            handler = handlers.take();
+                            if (!interrupt && (!failFast || failure.get() == null)) {
+                                SyncopePushResultHandler worker = handler;
+                                AuthContextUtils.execWithAuthContext(domain, () -> worker.handle(key));
+                                reportHandled(anyType, name);
+                            }
+                        } catch (Exception e) {
+                            LOG.warn("Failure pushing '{}' on '{}'", key, resource, e);
+                            failure.compareAndSet(
+                                    null, new JobExecutionException("While pushing " + key + " on " + resource, e));
+
+                            if (!failFast) {
+                                reportFailure(key, name, anyType, e);
+                            }
+                        } finally {
+                            if (handler != null) {
+                                handlers.offer(handler);
+                            }
+                            inFlight.release();
+                        }
+                    });
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JobExecutionException("While pushing on " + resource, e);
+        } finally {
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    LOG.debug("Waiting for push workers on {} to complete", resource);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            }
+        }
+
+        if (failFast && failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    /**
+     * Reports the given failure, unless the handler already reported about the given entity.
+     *
+     * @param key entity key
+     * @param name entity name
+     * @param anyType entity type
+     * @param e failure
+     */
+    protected void reportFailure(final String key, final String name, final String anyType, final Exception e) {
+        synchronized (profile.getResults()) {
+            if (profile.getResults().stream().noneMatch(report -> key.equals(report.getKey()))) {
+                ProvisioningReport result = new ProvisioningReport();
+                result.setKey(key);
+                result.setName(name);
+                result.setAnyType(anyType);
+                result.setOperation(ResourceOperation.NONE);
+                result.setStatus(ProvisioningReport.Status.FAILURE);
+                result.setMessage(e.getMessage());
+                profile.getResults().add(result);
+            }
+        }
+    }
+
     protected RealmPushResultHandler buildRealmHandler() {
         return (RealmPushResultHandler) ApplicationContextProvider.getBeanFactory().
                 createBean(DefaultRealmPushResultHandler.class, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
@@ -220,22 +399,6 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
 
             AnyDAO<?> anyDAO = anyUtilsFactory.getInstance(provision.getAnyType().getKind()).dao();
 
-            SyncopePushResultHandler handler;
-            switch (provision.getAnyType().getKind()) {
-                case USER:
-                    handler = buildUserHandler();
-                    break;
-
-                case GROUP:
-                    handler = buildGroupHandler();
-                    break;
-
-                case ANY_OBJECT:
-                default:
-                    handler = buildAnyObjectHandler();
-            }
-            handler.setProfile(profile);
-
             Optional<? extends PushTaskAnyFilter> anyFilter = pushTask.getFilter(provision.getAnyType());
             String filter = anyFilter.isPresent()
                     ? anyFilter.get().getFIQLCond()
@@ -243,19 +406,27 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
             SearchCond cond = StringUtils.isBlank(filter)
                     ? anyDAO.getAllMatchingCond()
                     : SearchCondConverter.convert(searchCondVisitor, filter);
-            int count = searchDAO.count(
-                    Collections.singleton(profile.getTask().getSourceRealm().getFullPath()),
-                    cond,
-                    provision.getAnyType().getKind());
-            for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1 && !interrupt; page++) {
-                List<? extends Any<?>> anys = searchDAO.search(
+
+            int concurrency = getConcurrency();
+            if (concurrency > 1) {
+                doHandleConcurrently(cond, provision, concurrency);
+            } else {
+                SyncopePushResultHandler handler = buildHandler(provision.getAnyType().getKind());
+
+                int count = searchDAO.count(
                         Collections.singleton(profile.getTask().getSourceRealm().getFullPath()),
                         cond,
-                        page,
-                        AnyDAO.DEFAULT_PAGE_SIZE,
-                        Collections.emptyList(),
                         provision.getAnyType().getKind());
-                doHandle(anys, handler, pushTask.getResource());
+                for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1 && !interrupt; page++) {
+                    List<? extends Any<?>> anys = searchDAO.search(
+                            Collections.singleton(profile.getTask().getSourceRealm().getFullPath()),
+                            cond,
+                            page,
+                            AnyDAO.DEFAULT_PAGE_SIZE,
+                            Collections.emptyList(),
+                            provision.getAnyType().getKind());
+                    doHandle(anys, handler, pushTask.getResource());
+                }
             }
         }
 
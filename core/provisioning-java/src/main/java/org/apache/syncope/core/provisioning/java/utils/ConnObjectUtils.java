@@ -18,8 +18,12 @@
  */
 package org.apache.syncope.core.provisioning.java.utils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -40,12 +44,14 @@ import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
+import org.apache.syncope.core.persistence.api.entity.Implementation;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.policy.PasswordPolicy;
 import org.apache.syncope.core.persistence.api.entity.resource.OrgUnit;
 import org.apache.syncope.core.persistence.api.entity.resource.Provision;
 import org.apache.syncope.core.persistence.api.entity.task.PullTask;
 import org.apache.syncope.core.provisioning.api.MappingManager;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
 import org.apache.syncope.core.spring.policy.InvalidPasswordRuleConf;
 import org.apache.syncope.core.spring.security.Encryptor;
 import org.apache.syncope.core.spring.security.PasswordGenerator;
@@ -112,6 +118,120 @@ public class ConnObjectUtils {
         return result.toString();
     }
 
+    private static byte[] sha256(final String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Builds the key identifying the fingerprint of the remote object with given connector object key value,
+     * for the given pull task and provision.
+     *
+     * @param pullTask pull task
+     * @param provision provision
+     * @param connObjectKeyValue connector object key value
+     * @return fingerprint key
+     */
+    public static String getFingerprintKey(
+            final PullTask pullTask, final Provision provision, final String connObjectKeyValue) {
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                sha256(pullTask.getKey() + '\u0000' + provision.getKey() + '\u0000' + connObjectKeyValue));
+    }
+
+    private static void append(final StringBuilder value, final Implementation implementation) {
+        value.append(implementation.getKey()).append('\u0000').
+                append(Base64.getEncoder().encodeToString(sha256(StringUtils.defaultString(implementation.getBody())))).
+                append('\u0000');
+    }
+
+    /**
+     * Computes a fingerprint of whatever in the given pull task and provision affects how remote objects are
+     * pulled: destination realm, matching / unmatching rules and flags, actions, template, correlation rule, auxiliary
+     * classes and mapping items, including their transformers and mandatory conditions.
+     *
+     * @param pullTask pull task
+     * @param provision provision
+     * @return configuration fingerprint
+     */
+    public static String getConfFingerprint(final PullTask pullTask, final Provision provision) {
+        StringBuilder value = new StringBuilder();
+
+        value.append(pullTask.getDestinatioRealm() == null
+                ? StringUtils.EMPTY : pullTask.getDestinatioRealm().getFullPath()).append('\u0000').
+                append(pullTask.getMatchingRule()).append('\u0000').
+                append(pullTask.getUnmatchingRule()).append('\u0000').
+                append(pullTask.isPerformCreate()).append(pullTask.isPerformUpdate()).
+                append(pullTask.isPerformDelete()).append(pullTask.isSyncStatus()).
+                append(pullTask.isRemediation()).append('\u0001');
+
+        pullTask.getActions().forEach(action -> append(value, action));
+        value.append('\u0001');
+
+        pullTask.getTemplate(provision.getAnyType()).
+                ifPresent(template -> value.append(POJOHelper.serialize(template.get())));
+        value.append('\u0001');
+
+        if (provision.getResource().getPullPolicy() != null) {
+            provision.getResource().getPullPolicy().getCorrelationRule(provision.getAnyType()).
+                    ifPresent(rule -> append(value, rule.getImplementation()));
+        }
+        value.append('\u0001');
+
+        provision.getAuxClasses().stream().map(AnyTypeClass::getKey).sorted().
+                forEach(auxClass -> value.append(auxClass).append('\u0000'));
+        value.append('\u0001');
+
+        provision.getMapping().getItems().stream().
+                map(item -> {
+                    StringBuilder itemValue = new StringBuilder().
+                            append(item.getIntAttrName()).append('=').append(item.getExtAttrName()).append('\u0000').
+                            append(item.getPurpose()).append('\u0000').
+                            append(item.isConnObjectKey()).append(item.isPassword()).append('\u0000').
+                            append(StringUtils.defaultString(item.getMandatoryCondition())).append('\u0000').
+                            append(StringUtils.defaultString(item.getPullJEXLTransformer())).append('\u0000');
+                    item.getTransformers().forEach(transformer -> append(itemValue, transformer));
+                    return itemValue.toString();
+                }).
+                sorted().
+                forEach(item -> value.append(item).append('\u0001'));
+
+        return Base64.getEncoder().encodeToString(sha256(value.toString()));
+    }
+
+    /**
+     * Computes a fingerprint of the given connector object, over its attributes sorted by name and the given
+     * configuration fingerprint, so that any change in either leads to a different value.
+     * As attributes include passwords, the fingerprint is keyed via {@link Encryptor#fingerprint}: stored values
+     * cannot be checked against guessed passwords without the secret key.
+     *
+     * @param obj connector object
+     * @param confFingerprint configuration fingerprint, as returned by {@link #getConfFingerprint}
+     * @return fingerprint, or {@code null} in case of errors
+     */
+    public static String getFingerprint(final ConnectorObject obj, final String confFingerprint) {
+        StringBuilder value = new StringBuilder();
+
+        obj.getAttributes().stream().
+                sorted(Comparator.comparing(Attribute::getName)).
+                forEach(attr -> {
+                    value.append(attr.getName()).append('\u0000');
+                    if (attr.getValue() != null) {
+                        attr.getValue().forEach(v -> value.append(v == null
+                                ? StringUtils.EMPTY
+                                : v instanceof byte[]
+                                        ? Base64.getEncoder().encodeToString((byte[]) v)
+                                        : getPassword(v)).append('\u0000'));
+                    }
+                    value.append('\u0001');
+                });
+
+        return ENCRYPTOR.fingerprint(value.toString(), confFingerprint);
+    }
+
     /**
      * Builds {@link ConnObjectTO} out of a collection of {@link Attribute} instances.
      *
@@ -19,10 +19,14 @@
 package org.apache.syncope.core.provisioning.java.data;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.apache.syncope.common.lib.SyncopeConstants;
@@ -145,4 +149,35 @@ public class UserDataBinderTest extends AbstractTest {
         assertTrue(user.getPlainAttrs("obscure").stream().anyMatch(a -> a.getMembership() == null));
         assertTrue(user.getPlainAttrs("obscure").stream().anyMatch(a -> newM.equals(a.getMembership())));
     }
+
+    @Test
+    public void fields() {
+        User rossini = userDAO.findByUsername("rossini");
+
+        UserTO full = dataBinder.getUserTO(rossini, true);
+        assertTrue(full.getPlainAttrs().size() > 1);
+        assertFalse(full.getDerAttrs().isEmpty());
+        assertFalse(full.getRoles().isEmpty());
+        assertFalse(full.getMemberships().isEmpty());
+        assertFalse(full.getResources().isEmpty());
+
+        UserTO projected = dataBinder.getUserTO(
+                rossini, true, new HashSet<>(Arrays.asList("surname", "cn", "memberships")));
+        assertEquals(full.getKey(), projected.getKey());
+        assertEquals(full.getUsername(), projected.getUsername());
+        assertEquals(1, projected.getPlainAttrs().size());
+        assertEquals(full.getPlainAttr("surname").get(), projected.getPlainAttr("surname").get());
+        assertEquals(1, projected.getDerAttrs().size());
+        assertEquals(full.getDerAttr("cn").get(), projected.getDerAttr("cn").get());
+        assertEquals(full.getMemberships().size(), projected.getMemberships().size());
+        assertTrue(projected.getRoles().isEmpty());
+        assertTrue(projected.getResources().isEmpty());
+        assertTrue(projected.getDynRealms().isEmpty());
+
+        UserTO minimal = dataBinder.getUserTO(rossini, true, Collections.emptySet());
+        assertEquals(full.getUsername(), minimal.getUsername());
+        assertTrue(minimal.getPlainAttrs().isEmpty());
+        assertTrue(minimal.getDerAttrs().isEmpty());
+        assertTrue(minimal.getMemberships().isEmpty());
+    }
 }
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+public class MailDispatcherTest {
+
+    /**
+     * Bare minimum SMTP server, only accepting messages and counting them.
+     */
+    private static class DummySMTPServer implements AutoCloseable {
+
+        private final ServerSocket serverSocket;
+
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+
+        private final AtomicInteger connections = new AtomicInteger();
+
+        private final AtomicInteger messages = new AtomicInteger();
+
+        DummySMTPServer() throws IOException {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            executor.submit(() -> {
+                while (!serverSocket.isClosed()) {
+                    try {
+                        Socket socket = serverSocket.accept();
+                        connections.incrementAndGet();
+                        executor.submit(() -> handle(socket));
+                    } catch (IOException e) {
+                        // server socket closed
+                    }
+                }
+            });
+        }
+
+        private void handle(final Socket socket) {
+            try (Socket s = socket;
+                    BufferedReader in = new BufferedReader(
+                            new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+                    PrintWriter out = new PrintWriter(s.getOutputStream(), true)) {
+
+                reply(out, "220 localhost ESMTP");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.toUpperCase(Locale.ENGLISH);
+                    if (command.startsWith("DATA")) {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !".".equals(line)) {
+                            // discard message content
+                        }
+                        messages.incrementAndGet();
+                        reply(out, "250 OK");
+                    } else if (command.startsWith("QUIT")) {
+                        reply(out, "221 Bye");
+                        return;
+                    } else {
+                        reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException e) {
+                // connection dropped by client
+            }
+        }
+
+        private static void reply(final PrintWriter out, final String reply) {
+            out.print(reply + "\r\n");
+            out.flush();
+        }
+
+        public int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        public int getConnections() {
+            return connections.get();
+        }
+
+        public int getMessages() {
+            return messages.get();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            executor.shutdownNow();
+        }
+    }
+
+    private DummySMTPServer server;
+
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    public void before() throws IOException {
+        server = new DummySMTPServer();
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(InetAddress.getLoopbackAddress().getHostAddress());
+        mailSender.setPort(server.getPort());
+    }
+
+    @AfterEach
+    public void after() throws IOException {
+        server.close();
+    }
+
+    private static void waitFor(final List<Future<?>> sends) throws Exception {
+        for (Future<?> send : sends) {
+            send.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void reuseConnections() throws Exception {
+        int concurrency = 4;
+        int count = 50;
+
+        try (MailDispatcher dispatcher = new MailDispatcher(mailSender, concurrency, 0)) {
+            List<Future<?>> sends = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                sends.add(dispatcher.submit(
+                        "syncope@localhost", "user" + i + "@localhost", "subject", "text body", "<p>html body</p>"));
+            }
+            waitFor(sends);
+
+            assertTrue(dispatcher.getConnections() <= concurrency);
+        }
+
+        assertEquals(count, server.getMessages());
+        assertTrue(server.getConnections() <= concurrency);
+    }
+
+    @Test
+    public void rateLimit() throws Exception {
+        int count = 6;
+
+        long start = System.nanoTime();
+        try (MailDispatcher dispatcher = new MailDispatcher(mailSender, 3, 10)) {
+            List<Future<?>> sends = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                sends.add(dispatcher.submit(
+                        "syncope@localhost", "user" + i + "@localhost", "subject", "text body", "<p>html body</p>"));
+            }
+            waitFor(sends);
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(count, server.getMessages());
+        // 10 messages per second: 5 intervals of 100 ms at least between the first and the last message
+        assertTrue(elapsed >= 500, "elapsed " + elapsed + " ms");
+    }
+
+    @Test
+    public void failure() throws Exception {
+        server.close();
+
+        try (MailDispatcher dispatcher = new MailDispatcher(mailSender, 1, 0)) {
+            Future<?> send = dispatcher.submit(
+                    "syncope@localhost", "user@localhost", "subject", "text body", "<p>html body</p>");
+            assertThrows(ExecutionException.class, () -> send.get(30, TimeUnit.SECONDS));
+        }
+    }
+}
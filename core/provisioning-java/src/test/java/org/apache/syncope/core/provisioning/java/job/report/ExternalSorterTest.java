@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class ExternalSorterTest {
+
+    private static List<String> sort(final List<String> items, final int maxInMemory) {
+        List<String> sorted = new ArrayList<>();
+        try (ExternalSorter<String> sorter = new ExternalSorter<>(String.class, Function.identity(), maxInMemory)) {
+            items.forEach(sorter::add);
+            for (Iterator<String> itor = sorter.sorted(); itor.hasNext();) {
+                sorted.add(itor.next());
+            }
+        }
+        return sorted;
+    }
+
+    @Test
+    public void inMemory() {
+        List<String> items = IntStream.range(0, 10).
+                mapToObj(i -> UUID.randomUUID().toString()).collect(Collectors.toList());
+
+        List<String> expected = new ArrayList<>(items);
+        Collections.sort(expected);
+
+        assertEquals(expected, sort(items, 100));
+    }
+
+    @Test
+    public void spilled() {
+        // enough items to exceed the maximum number of runs, which are then merged
+        List<String> items = IntStream.range(0, 1000).
+                mapToObj(i -> UUID.randomUUID().toString()).collect(Collectors.toList());
+        items.addAll(new ArrayList<>(items.subList(0, 10)));
+
+        List<String> expected = new ArrayList<>(items);
+        Collections.sort(expected);
+
+        assertEquals(expected, sort(items, 7));
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.report.ReconciliationReportletConf;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.CipherAlgorithm;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.resource.MappingItem;
+import org.apache.syncope.core.persistence.api.entity.resource.Provision;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.api.ConnectorFactory;
+import org.apache.syncope.core.provisioning.api.MappingManager;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.OperationalAttributes;
+import org.identityconnectors.framework.common.objects.SearchResult;
+import org.identityconnectors.framework.spi.SearchResultsHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+@Transactional("Master")
+public class ReconciliationReportletTest extends AbstractTest {
+
+    /**
+     * Collects the missing and misaligned objects reported for each entity.
+     */
+    private static class Findings extends DefaultHandler {
+
+        private final Map<String, SortedSet<String>> byEntity = new HashMap<>();
+
+        private SortedSet<String> current;
+
+        private String misaligned;
+
+        private SortedSet<String> onSyncope;
+
+        private SortedSet<String> onResource;
+
+        private SortedSet<String> values;
+
+        private final StringBuilder value = new StringBuilder();
+
+        @Override
+        public void startElement(final String uri, final String localName, final String qName, final Attributes atts) {
+            switch (qName) {
+                case "user":
+                case "group":
+                case "anyObject":
+                    current = new TreeSet<>();
+                    byEntity.put(qName + ' ' + atts.getValue("key"), current);
+                    break;
+
+                case "missing":
+                    current.add("missing " + atts.getValue("resource") + ' ' + atts.getValue("connObjectKeyValue"));
+                    break;
+
+                case "misaligned":
+                    misaligned = "misaligned " + atts.getValue("resource") + ' ' + atts.getValue("connObjectKeyValue")
+                            + ' ' + atts.getValue("name");
+                    onSyncope = new TreeSet<>();
+                    onResource = new TreeSet<>();
+                    break;
+
+                case "onSyncope":
+                    values = onSyncope;
+                    break;
+
+                case "onResource":
+                    values = onResource;
+                    break;
+
+                case "value":
+                    value.setLength(0);
+                    break;
+
+                default:
+            }
+        }
+
+        @Override
+        public void characters(final char[] ch, final int start, final int length) {
+            value.append(ch, start, length);
+        }
+
+        @Override
+        public void endElement(final String uri, final String localName, final String qName) {
+            if ("value".equals(qName)) {
+                values.add(value.toString());
+            } else if ("misaligned".equals(qName)) {
+                current.add(misaligned + ' ' + onSyncope + ' ' + onResource);
+            }
+        }
+
+        public SortedSet<String> get(final String entity) {
+            return byEntity.getOrDefault(entity, new TreeSet<>());
+        }
+    }
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private RealmDAO realmDAO;
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    @Autowired
+    private EntityFactory entityFactory;
+
+    @Autowired
+    private AnyUtilsFactory anyUtilsFactory;
+
+    @Autowired
+    private MappingManager mappingManager;
+
+    /**
+     * Objects found on each resource, per resource and object class, then by connector object key value.
+     */
+    private final Map<String, Map<String, ConnectorObject>> onResource = new HashMap<>();
+
+    private final Map<String, Connector> connectors = new HashMap<>();
+
+    private ConnectorFactory connFactory;
+
+    private static String objects(final String resource, final ObjectClass objectClass) {
+        return resource + ' ' + objectClass.getObjectClassValue();
+    }
+
+    private Connector connector(final String resource) {
+        Connector connector = mock(Connector.class);
+
+        lenient().when(connector.getObject(any(ObjectClass.class), any(Attribute.class), anyBoolean(), any())).
+                thenAnswer(invocation -> {
+                    ObjectClass objectClass = invocation.getArgument(0);
+                    String connObjectKeyValue = invocation.<Attribute>getArgument(1).getValue().get(0).toString();
+                    boolean ignoreCaseMatch = invocation.getArgument(2);
+
+                    return onResource.getOrDefault(objects(resource, objectClass), new HashMap<>()).
+                            entrySet().stream().
+                            filter(entry -> ignoreCaseMatch
+                            ? entry.getKey().equalsIgnoreCase(connObjectKeyValue)
+                            : entry.getKey().equals(connObjectKeyValue)).
+                            map(Map.Entry::getValue).
+                            findFirst().orElse(null);
+                });
+
+        lenient().when(connector.search(any(ObjectClass.class), isNull(), any(SearchResultsHandler.class), any())).
+                thenAnswer(invocation -> {
+                    ObjectClass objectClass = invocation.getArgument(0);
+                    SearchResultsHandler handler = invocation.getArgument(2);
+
+                    onResource.getOrDefault(objects(resource, objectClass), new HashMap<>()).
+                            values().forEach(handler::handle);
+                    handler.handleResult(new SearchResult());
+                    return new SearchResult();
+                });
+
+        return connector;
+    }
+
+    /**
+     * Places on the given resource the object expected for the given user, with the given connector object key value.
+     *
+     * @param user user
+     * @param resource resource
+     * @param connObjectKeyValue connector object key value
+     * @param extra additional attributes
+     */
+    private void put(
+            final User user,
+            final ExternalResource resource,
+            final String connObjectKeyValue,
+            final Attribute... extra) {
+
+        Provision provision = resource.getProvision(AnyTypeKind.USER.name()).get();
+        MappingItem connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision).get();
+
+        Pair<String, Set<Attribute>> preparedAttrs = mappingManager.prepareAttrsFromAny(
+                user, null, false, null, provision);
+
+        ConnectorObjectBuilder builder = new ConnectorObjectBuilder().
+                setObjectClass(provision.getObjectClass()).
+                setUid(connObjectKeyValue).
+                setName(connObjectKeyValue);
+        preparedAttrs.getRight().stream().
+                filter(attr -> !OperationalAttributes.PASSWORD_NAME.equals(attr.getName())).
+                forEach(builder::addAttribute);
+        builder.addAttribute(AttributeBuilder.build(connObjectKeyItem.getExtAttrName(), connObjectKeyValue));
+        builder.addAttributes(Stream.of(extra).collect(Collectors.toList()));
+
+        onResource.computeIfAbsent(objects(resource.getKey(), provision.getObjectClass()), k -> new HashMap<>()).
+                put(connObjectKeyValue, builder.build());
+    }
+
+    @BeforeEach
+    public void setUp() {
+        onResource.clear();
+
+        connectors.clear();
+        resourceDAO.findAll().forEach(resource -> connectors.put(resource.getKey(), connector(resource.getKey())));
+
+        connFactory = mock(ConnectorFactory.class);
+        lenient().when(connFactory.getConnector(any(ExternalResource.class))).
+                thenAnswer(invocation -> connectors.get(invocation.<ExternalResource>getArgument(0).getKey()));
+    }
+
+    private ReconciliationReportlet reportlet() {
+        ReconciliationReportlet reportlet = new ReconciliationReportlet();
+        ApplicationContextProvider.getBeanFactory().autowireBean(reportlet);
+        ReflectionTestUtils.setField(reportlet, "connFactory", connFactory);
+        return reportlet;
+    }
+
+    private Findings extract(final ReconciliationReportletConf conf) throws SAXException {
+        Findings findings = new Findings();
+        reportlet().doExtract(conf, findings, "reconciliation");
+        return findings;
+    }
+
+    private static ReconciliationReportletConf conf(final boolean bulk) {
+        ReconciliationReportletConf conf = new ReconciliationReportletConf("reconciliation");
+        conf.getFeatures().add(ReconciliationReportletConf.Feature.key);
+        conf.setBulk(bulk);
+        return conf;
+    }
+
+    private Optional<String> connObjectKeyValue(final User user, final ExternalResource resource) {
+        return mappingManager.getConnObjectKeyValue(user, resource.getProvision(AnyTypeKind.USER.name()).get());
+    }
+
+    @Test
+    public void bulkSameAsPerObject() throws SAXException {
+        // all users are found on all of their resources...
+        userDAO.findAll(1, 100).forEach(user -> anyUtilsFactory.getInstance(user).getAllResources(user).stream().
+                filter(resource -> resource.getProvision(AnyTypeKind.USER.name()).
+                map(provision -> MappingUtils.getConnObjectKeyItem(provision).isPresent()).orElse(false)).
+                forEach(resource -> connObjectKeyValue(user, resource).filter(StringUtils::isNotBlank).
+                ifPresent(connObjectKeyValue -> put(user, resource, connObjectKeyValue))));
+
+        // ...but rossini, missing from resource-testdb2
+        User rossini = userDAO.findByUsername("rossini");
+        ExternalResource testdb2 = resourceDAO.find("resource-testdb2");
+        String rossiniOnTestdb2 = connObjectKeyValue(rossini, testdb2).get();
+        onResource.get(objects(testdb2.getKey(), ObjectClass.ACCOUNT)).remove(rossiniOnTestdb2);
+
+        // ...and puccini, misaligned on resource-testdb2
+        User puccini = userDAO.findByUsername("puccini");
+        String pucciniOnTestdb2 = connObjectKeyValue(puccini, testdb2).get();
+        put(puccini, testdb2, pucciniOnTestdb2, AttributeBuilder.build("extra", "value"));
+
+        // ...and vivaldi, whose connector object key value differs by case on two resources, only one of which
+        // is matching ignoring case
+        User vivaldi = userDAO.findByUsername("vivaldi");
+        ExternalResource ignoreCase = resourceDAO.find("ws-target-resource-1");
+        ignoreCase.getProvision(AnyTypeKind.USER.name()).get().setIgnoreCaseMatch(true);
+        String vivaldiOnIgnoreCase = connObjectKeyValue(vivaldi, ignoreCase).get();
+        onResource.get(objects(ignoreCase.getKey(), ObjectClass.ACCOUNT)).remove(vivaldiOnIgnoreCase);
+        put(vivaldi, ignoreCase, vivaldiOnIgnoreCase.toUpperCase(Locale.ROOT));
+
+        ExternalResource caseSensitive = resourceDAO.find("ws-target-resource-2");
+        String vivaldiOnCaseSensitive = connObjectKeyValue(vivaldi, caseSensitive).get();
+        assertNotEquals(vivaldiOnCaseSensitive, vivaldiOnCaseSensitive.toUpperCase(Locale.ROOT));
+        onResource.get(objects(caseSensitive.getKey(), ObjectClass.ACCOUNT)).remove(vivaldiOnCaseSensitive);
+        put(vivaldi, caseSensitive, vivaldiOnCaseSensitive.toUpperCase(Locale.ROOT));
+
+        Findings perObject = extract(conf(false));
+        Findings bulk = extract(conf(true));
+
+        assertEquals(perObject.byEntity, bulk.byEntity);
+
+        // missing
+        assertTrue(bulk.get("user " + rossini.getKey()).contains("missing resource-testdb2 " + rossiniOnTestdb2));
+
+        // misaligned
+        assertTrue(bulk.get("user " + puccini.getKey()).stream().anyMatch(finding -> finding.startsWith(
+                "misaligned resource-testdb2 " + pucciniOnTestdb2 + " extra [] [value]")));
+        assertTrue(bulk.get("user " + puccini.getKey()).stream().
+                noneMatch(finding -> finding.startsWith("missing")));
+
+        // ignore case
+        assertFalse(bulk.get("user " + vivaldi.getKey()).
+                contains("missing ws-target-resource-1 " + vivaldiOnIgnoreCase));
+        assertTrue(bulk.get("user " + vivaldi.getKey()).
+                contains("missing ws-target-resource-2 " + vivaldiOnCaseSensitive));
+    }
+
+    @Test
+    public void valuesOfDifferentTypes() {
+        assertEquals(
+                ReconciliationReportlet.getStringValues(Stream.of(AttributeBuilder.build("attr", "1"))),
+                ReconciliationReportlet.getStringValues(Stream.of(AttributeBuilder.build("attr", "1"))));
+        assertNotEquals(
+                ReconciliationReportlet.getStringValues(Stream.of(AttributeBuilder.build("attr", 1))),
+                ReconciliationReportlet.getStringValues(Stream.of(AttributeBuilder.build("attr", "1"))));
+    }
+
+    @Test
+    public void perObjectReadsAllPages() throws SAXException {
+        // more matching users than the page size formerly used for fetching
+        ExternalResource testdb2 = resourceDAO.find("resource-testdb2");
+        IntStream.range(0, 12).forEach(i -> {
+            User user = entityFactory.newEntity(User.class);
+            user.setUsername("reconpagesize" + i);
+            user.setRealm(realmDAO.getRoot());
+            user.setCreator("admin");
+            user.setCreationDate(new Date());
+            user.setCipherAlgorithm(CipherAlgorithm.SHA256);
+            user.setPassword("password123");
+            user.add(testdb2);
+            userDAO.save(user);
+        });
+        entityManager().flush();
+
+        ReconciliationReportletConf conf = conf(false);
+        conf.setUserMatchingCond("username==reconpagesize*");
+
+        Findings findings = extract(conf);
+
+        IntStream.range(0, 12).forEach(i -> {
+            User user = userDAO.findByUsername("reconpagesize" + i);
+            assertTrue(findings.get("user " + user.getKey()).
+                    contains("missing resource-testdb2 " + connObjectKeyValue(user, testdb2).get()));
+        });
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.core.persistence.api.dao.MailTemplateDAO;
+import org.apache.syncope.core.persistence.api.dao.NotificationDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.MailTemplate;
+import org.apache.syncope.core.persistence.api.entity.Notification;
+import org.apache.syncope.core.persistence.api.entity.task.NotificationTask;
+import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class DefaultNotificationManagerTest extends AbstractTest {
+
+    @Autowired
+    private NotificationManager notificationManager;
+
+    @Autowired
+    private MailTemplateDAO mailTemplateDAO;
+
+    @Autowired
+    private NotificationDAO notificationDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    private List<NotificationTask> confirmPasswordReset(final String username) {
+        UserTO userTO = new UserTO();
+        userTO.setKey(userDAO.findKey(username));
+
+        return notificationManager.createTasks(
+                username,
+                AuditElements.EventCategoryType.CUSTOM,
+                null,
+                null,
+                "confirmPasswordReset",
+                AuditElements.Result.SUCCESS,
+                userTO,
+                null);
+    }
+
+    @Test
+    public void templateUpdate() {
+        MailTemplate template = mailTemplateDAO.find("confirmPasswordReset");
+        template.setTextTemplate("Hi ${user.username}, your password was reset.");
+        mailTemplateDAO.save(template);
+
+        List<NotificationTask> tasks = confirmPasswordReset("rossini");
+        assertEquals(1, tasks.size());
+        assertEquals("Hi rossini, your password was reset.", tasks.get(0).getTextBody());
+
+        // same template, different model
+        tasks = confirmPasswordReset("vivaldi");
+        assertEquals(1, tasks.size());
+        assertEquals("Hi vivaldi, your password was reset.", tasks.get(0).getTextBody());
+
+        // updated template is parsed again
+        template = mailTemplateDAO.find("confirmPasswordReset");
+        template.setTextTemplate("Bye ${user.username}.");
+        mailTemplateDAO.save(template);
+
+        tasks = confirmPasswordReset("rossini");
+        assertEquals(1, tasks.size());
+        assertEquals("Bye rossini.", tasks.get(0).getTextBody());
+        assertTrue(tasks.get(0).getHtmlBody().contains("password request was successfully executed"));
+    }
+
+    @Test
+    public void recipients() {
+        Notification notification = notificationDAO.find("bef0c250-e8a7-4848-bb63-2564fc409ce2");
+        notification.getStaticRecipients().add("static@syncope.apache.org");
+        notificationDAO.save(notification);
+
+        MailTemplate template = mailTemplateDAO.find("confirmPasswordReset");
+        template.setTextTemplate("$$ for (recipient : recipients) {\n${recipient.username}\n$$ }\n");
+        mailTemplateDAO.save(template);
+
+        List<NotificationTask> tasks = confirmPasswordReset("verdi");
+        assertEquals(1, tasks.size());
+        assertTrue(tasks.get(0).getRecipients().contains("static@syncope.apache.org"));
+        // only users are exposed to the template as recipients
+        assertEquals("verdi\n", tasks.get(0).getTextBody());
+    }
+
+    @Test
+    public void searchedRecipients() {
+        Notification notification = notificationDAO.find("bef0c250-e8a7-4848-bb63-2564fc409ce2");
+        notification.setSelfAsRecipient(false);
+        notification.setRecipientsFIQL("username==verdi,username==vivaldi,username==rossini");
+        notificationDAO.save(notification);
+
+        // String plain attribute, read by projection: rossini has no e-mail
+        List<NotificationTask> tasks = confirmPasswordReset("verdi");
+        assertEquals(1, tasks.size());
+        assertEquals(2, tasks.get(0).getRecipients().size());
+        assertTrue(tasks.get(0).getRecipients().contains("verdi@syncope.org"));
+        assertTrue(tasks.get(0).getRecipients().contains("vivaldi@syncope.org"));
+
+        // username, read by projection
+        notification.setRecipientAttrName("username");
+        notificationDAO.save(notification);
+
+        tasks = confirmPasswordReset("verdi");
+        assertEquals(1, tasks.size());
+        assertEquals(3, tasks.get(0).getRecipients().size());
+        assertTrue(tasks.get(0).getRecipients().contains("rossini"));
+
+        // derived attribute, requiring users to be loaded
+        notification.setRecipientAttrName("cn");
+        notificationDAO.save(notification);
+
+        tasks = confirmPasswordReset("verdi");
+        assertEquals(1, tasks.size());
+        assertEquals(3, tasks.get(0).getRecipients().size());
+        assertTrue(tasks.get(0).getRecipients().contains("Rossini, Gioacchino"));
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.resource.Provision;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.MappingManager;
+import org.apache.syncope.core.provisioning.api.PropagationByResource;
+import org.apache.syncope.core.provisioning.api.UserProvisioningManager;
+import org.apache.syncope.core.provisioning.api.UserWorkflowResult;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.apache.syncope.core.provisioning.java.DefaultUserProvisioningManager;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.workflow.api.UserWorkflowAdapter;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.OperationalAttributes;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class PropagationManagerImplTest extends AbstractTest {
+
+    private static class TestPropagationManager extends PropagationManagerImpl {
+
+        private final int concurrency;
+
+        private final AtomicInteger preparedByWorkers = new AtomicInteger();
+
+        TestPropagationManager(final int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        @Override
+        protected int getPrepareConcurrency() {
+            return concurrency;
+        }
+    }
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    @Autowired
+    private MappingManager mappingManager;
+
+    @Autowired
+    private PropagationAttrsPreparer attrsPreparer;
+
+    private static Map<String, Set<Attribute>> withoutPassword(
+            final Map<String, Pair<String, Set<Attribute>>> preparedAttrs) {
+
+        return preparedAttrs.entrySet().stream().collect(Collectors.toMap(
+                Map.Entry::getKey,
+                entry -> entry.getValue().getRight().stream().
+                        filter(attr -> !OperationalAttributes.PASSWORD_NAME.equals(attr.getName())).
+                        collect(Collectors.toSet())));
+    }
+
+    private Map<String, Provision> provisions() {
+        Map<String, Provision> provisions = new LinkedHashMap<>();
+        Stream.of("ws-target-resource-1", "ws-target-resource-2", "resource-testdb", "resource-testdb2",
+                "resource-csv", "resource-ldap").
+                forEach(resource -> provisions.put(
+                resource, resourceDAO.find(resource).getProvision(AnyTypeKind.USER.name()).get()));
+        return provisions;
+    }
+
+    /**
+     * Builds a propagation manager whose workers count their preparations; when {@code awaitWorker} is set, the
+     * calling thread waits for the first of them before doing its share.
+     *
+     * @param concurrency prepare concurrency
+     * @param awaitWorker whether the calling thread shall wait for a worker
+     * @return propagation manager
+     */
+    private TestPropagationManager propagationManager(final int concurrency, final boolean awaitWorker) {
+        TestPropagationManager propagationManager = new TestPropagationManager(concurrency);
+        ApplicationContextProvider.getBeanFactory().autowireBean(propagationManager);
+
+        CountDownLatch workerPrepared = new CountDownLatch(1);
+        propagationManager.attrsPreparer = new PropagationAttrsPreparer() {
+
+            @Override
+            public Pair<String, Set<Attribute>> prepare(
+                    final AnyTypeKind anyTypeKind,
+                    final String anyKey,
+                    final String resourceKey,
+                    final String password,
+                    final boolean changePwd,
+                    final Boolean enable) {
+
+                Pair<String, Set<Attribute>> prepared =
+                        attrsPreparer.prepare(anyTypeKind, anyKey, resourceKey, password, changePwd, enable);
+                propagationManager.preparedByWorkers.incrementAndGet();
+                workerPrepared.countDown();
+                return prepared;
+            }
+        };
+
+        if (awaitWorker) {
+            propagationManager.mappingManager =
+                    mock(MappingManager.class, AdditionalAnswers.delegatesTo(mappingManager));
+            lenient().doAnswer(invocation -> {
+                workerPrepared.await(10, TimeUnit.SECONDS);
+                return mappingManager.prepareAttrsFromAny(
+                        invocation.getArgument(0),
+                        invocation.getArgument(1),
+                        invocation.getArgument(2),
+                        invocation.getArgument(3),
+                        invocation.getArgument(4));
+            }).when(propagationManager.mappingManager).
+                    prepareAttrsFromAny(any(Any.class), any(), anyBoolean(), any(), any(Provision.class));
+        }
+
+        return propagationManager;
+    }
+
+    @Test
+    public void concurrentPrepareAttrs() {
+        User vivaldi = userDAO.findByUsername("vivaldi");
+        Map<String, Provision> provisions = provisions();
+
+        Map<String, Pair<String, Set<Attribute>>> sequential =
+                propagationManager(1, false).prepareAttrs(vivaldi, null, false, Boolean.TRUE, provisions);
+        assertEquals(provisions.keySet(), sequential.keySet());
+
+        // test data is all committed
+        PropagationManagerImpl.markCommittedState();
+
+        TestPropagationManager concurrentManager = propagationManager(4, true);
+        Map<String, Pair<String, Set<Attribute>>> concurrent =
+                concurrentManager.prepareAttrs(vivaldi, null, false, Boolean.TRUE, provisions);
+        assertTrue(concurrentManager.preparedByWorkers.get() > 0);
+
+        assertEquals(provisions.keySet(), concurrent.keySet());
+        provisions.keySet().forEach(resource -> assertEquals(
+                sequential.get(resource).getLeft(), concurrent.get(resource).getLeft()));
+        assertEquals(withoutPassword(sequential), withoutPassword(concurrent));
+    }
+
+    @Test
+    public void noWorkersWithUncommittedState() {
+        User vivaldi = userDAO.findByUsername("vivaldi");
+        Map<String, Provision> provisions = provisions();
+
+        // the current transaction was not marked: workers could miss its changes
+        TestPropagationManager concurrentManager = propagationManager(4, false);
+        Map<String, Pair<String, Set<Attribute>>> prepared =
+                concurrentManager.prepareAttrs(vivaldi, null, false, Boolean.TRUE, provisions);
+        assertEquals(0, concurrentManager.preparedByWorkers.get());
+        assertEquals(provisions.keySet(), prepared.keySet());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void concurrentPrepareAttrsViaProvisioningManager() {
+        User vivaldi = userDAO.findByUsername("vivaldi");
+        Map<String, Provision> provisions = provisions();
+
+        PropagationByResource<String> propByRes = new PropagationByResource<>();
+        propByRes.addAll(ResourceOperation.CREATE, provisions.keySet());
+
+        UserWorkflowAdapter uwfAdapter = mock(UserWorkflowAdapter.class);
+        when(uwfAdapter.create(any(UserTO.class), anyBoolean(), any(), anyBoolean())).thenReturn(
+                new UserWorkflowResult<>(
+                        Pair.of(vivaldi.getKey(), Boolean.TRUE), propByRes, new PropagationByResource<>(), "create"));
+
+        PropagationTaskExecutor taskExecutor = mock(PropagationTaskExecutor.class);
+        when(taskExecutor.execute(anyCollection(), anyBoolean())).thenReturn(mock(PropagationReporter.class));
+
+        TestPropagationManager concurrentManager = propagationManager(4, true);
+
+        // transactional proxy, as in production, but with mocked workflow and propagation
+        UserProvisioningManager provisioningManager = (UserProvisioningManager) ApplicationContextProvider.
+                getBeanFactory().createBean(
+                        DefaultUserProvisioningManager.class, AutowireCapableBeanFactory.AUTOWIRE_NO, false);
+        DefaultUserProvisioningManager target = AopTestUtils.getTargetObject(provisioningManager);
+        ReflectionTestUtils.setField(target, "uwfAdapter", uwfAdapter);
+        ReflectionTestUtils.setField(target, "propagationManager", concurrentManager);
+        ReflectionTestUtils.setField(target, "taskExecutor", taskExecutor);
+
+        provisioningManager.create(new UserTO(), false, true, null, Collections.emptySet(), false);
+        assertTrue(concurrentManager.preparedByWorkers.get() > 0);
+
+        ArgumentCaptor<Collection<PropagationTaskInfo>> tasks = ArgumentCaptor.forClass(Collection.class);
+        verify(taskExecutor).execute(tasks.capture(), anyBoolean());
+        assertEquals(
+                provisions.keySet(),
+                tasks.getValue().stream().map(PropagationTaskInfo::getResource).collect(Collectors.toSet()));
+    }
+}
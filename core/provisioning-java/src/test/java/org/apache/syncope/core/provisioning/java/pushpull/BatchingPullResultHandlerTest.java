@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.syncope.common.lib.to.ProvisioningReport;
+import org.apache.syncope.core.persistence.api.entity.task.PullTask;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
+import org.apache.syncope.core.provisioning.api.pushpull.PullActions;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullExecutor;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullResultHandler;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.identityconnectors.framework.common.objects.Name;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.SyncDelta;
+import org.identityconnectors.framework.common.objects.SyncDeltaBuilder;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.junit.jupiter.api.Test;
+
+public class BatchingPullResultHandlerTest extends AbstractTest {
+
+    /**
+     * Records the deltas reported as handled.
+     */
+    private static class TestExecutor implements SyncopePullExecutor {
+
+        private final List<String> handled = new ArrayList<>();
+
+        @Override
+        public void setLatestSyncToken(final ObjectClass objectClass, final SyncToken latestSyncToken) {
+            // nothing to do
+        }
+
+        @Override
+        public void reportHandled(final ObjectClass objectClass, final Name name) {
+            handled.add(name.getNameValue());
+        }
+
+        @Override
+        public boolean wasInterruptRequested() {
+            return false;
+        }
+
+        @Override
+        public void setInterrupted() {
+            // nothing to do
+        }
+    }
+
+    /**
+     * Reports each delta handled; the deltas in {@code failing} throw on first attempt, while batches whose first
+     * delta is in {@code failingCommit} fail after all their deltas were handled, as upon commit.
+     */
+    private static class TestHandler implements SyncopePullResultHandler {
+
+        private ProvisioningProfile<PullTask, PullActions> profile =
+                new ProvisioningProfile<>(null, mock(PullTask.class));
+
+        private SyncopePullExecutor executor;
+
+        private final Set<String> failing = new HashSet<>();
+
+        private final Set<String> failingCommit = new HashSet<>();
+
+        private final List<String> handled = new ArrayList<>();
+
+        private final List<Integer> batches = new ArrayList<>();
+
+        @Override
+        public ProvisioningProfile<PullTask, PullActions> getProfile() {
+            return profile;
+        }
+
+        @Override
+        public void setProfile(final ProvisioningProfile<PullTask, PullActions> profile) {
+            this.profile = profile;
+        }
+
+        @Override
+        public void setPullExecutor(final SyncopePullExecutor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public boolean handle(final SyncDelta delta) {
+            String uid = delta.getUid().getUidValue();
+
+            ProvisioningReport result = new ProvisioningReport();
+            result.setUidValue(uid);
+            result.setStatus(ProvisioningReport.Status.SUCCESS);
+            profile.getResults().add(result);
+
+            if (failing.remove(uid)) {
+                throw new IllegalStateException("Failure while handling " + uid);
+            }
+
+            handled.add(uid);
+            executor.reportHandled(delta.getObjectClass(), new Name(uid));
+            return true;
+        }
+
+        @Override
+        public boolean handle(final List<SyncDelta> deltas) {
+            batches.add(deltas.size());
+
+            boolean shouldContinue = SyncopePullResultHandler.super.handle(deltas);
+            if (failingCommit.remove(deltas.get(0).getUid().getUidValue())) {
+                throw new IllegalStateException("Failure while committing");
+            }
+            return shouldContinue;
+        }
+    }
+
+    private static List<SyncDelta> deltas(final int count) {
+        return IntStream.range(0, count).mapToObj(i -> new SyncDeltaBuilder().
+                setDeltaType(SyncDeltaType.DELETE).
+                setObjectClass(ObjectClass.ACCOUNT).
+                setToken(new SyncToken(i)).
+                setUid(new Uid(String.valueOf(i))).
+                build()).collect(Collectors.toList());
+    }
+
+    private static List<String> uids(final int count) {
+        return IntStream.range(0, count).mapToObj(String::valueOf).collect(Collectors.toList());
+    }
+
+    private static TestExecutor pull(final TestHandler handler, final int batchSize, final List<SyncDelta> deltas) {
+        TestExecutor executor = new TestExecutor();
+        handler.setPullExecutor(executor);
+
+        BatchingPullResultHandler batching = new BatchingPullResultHandler(handler, executor, batchSize);
+        deltas.forEach(batching::handle);
+        assertTrue(batching.flush());
+
+        return executor;
+    }
+
+    private static List<String> reported(final TestHandler handler) {
+        return handler.getProfile().getResults().stream().
+                map(ProvisioningReport::getUidValue).collect(Collectors.toList());
+    }
+
+    @Test
+    public void batches() {
+        TestHandler handler = new TestHandler();
+
+        TestExecutor executor = pull(handler, 3, deltas(7));
+
+        assertEquals(Arrays.asList(3, 3, 1), handler.batches);
+        assertEquals(uids(7), handler.handled);
+        assertEquals(uids(7), reported(handler));
+        assertEquals(uids(7), executor.handled);
+    }
+
+    @Test
+    public void failingDelta() {
+        TestHandler handler = new TestHandler();
+        handler.failing.add("4");
+
+        TestExecutor executor = pull(handler, 3, deltas(7));
+
+        // the whole failing batch is handled again, each delta is reported once
+        assertEquals(Arrays.asList(3, 3, 1), handler.batches);
+        assertEquals(Arrays.asList("0", "1", "2", "3", "3", "4", "5", "6"), handler.handled);
+        assertEquals(uids(7), reported(handler));
+        assertEquals(uids(7), executor.handled);
+    }
+
+    @Test
+    public void failingCommit() {
+        TestHandler handler = new TestHandler();
+        handler.failingCommit.add("3");
+
+        TestExecutor executor = pull(handler, 3, deltas(7));
+
+        // all deltas in the failing batch had completed, but their changes were rolled back: they are replayed
+        assertEquals(Arrays.asList(3, 3, 1), handler.batches);
+        assertEquals(Arrays.asList("0", "1", "2", "3", "4", "5", "3", "4", "5", "6"), handler.handled);
+        assertEquals(uids(7), reported(handler));
+        assertEquals(uids(7), executor.handled);
+    }
+}
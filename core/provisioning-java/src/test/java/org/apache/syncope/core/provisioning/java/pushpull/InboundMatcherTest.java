@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.PullCorrelationRule;
+import org.apache.syncope.core.persistence.api.dao.PullMatch;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.resource.Provision;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.SyncDelta;
+import org.identityconnectors.framework.common.objects.SyncDeltaBuilder;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class InboundMatcherTest extends AbstractTest {
+
+    @Autowired
+    private InboundMatcher inboundMatcher;
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    private static SyncDelta delta(final String id) {
+        return new SyncDeltaBuilder().
+                setToken(new SyncToken(id)).
+                setDeltaType(SyncDeltaType.CREATE_OR_UPDATE).
+                setObject(new ConnectorObjectBuilder().
+                        setObjectClass(ObjectClass.ACCOUNT).
+                        setUid(id).
+                        setName(id).
+                        addAttribute(AttributeBuilder.build("ID", id)).
+                        build()).
+                build();
+    }
+
+    @Test
+    public void matchByConnObjectKeyValues() {
+        Provision provision = resourceDAO.find("resource-testdb").getProvision(AnyTypeKind.USER.name()).get();
+
+        List<SyncDelta> deltas = Arrays.asList(delta("rossini"), delta("verdi"), delta("notfound"));
+        Map<String, List<PullMatch>> preResolved = inboundMatcher.matchByConnObjectKeyValues(deltas, provision);
+
+        // values not matching any entity are left to the per-delta lookup
+        assertEquals(2, preResolved.size());
+        assertFalse(preResolved.containsKey("notfound"));
+
+        // same outcome as the per-delta lookup
+        deltas.forEach(delta -> assertEquals(
+                inboundMatcher.match(delta, provision),
+                inboundMatcher.match(delta, provision, preResolved)));
+        assertEquals(
+                "rossini",
+                ((User) inboundMatcher.match(delta("rossini"), provision, preResolved).get(0).getAny()).getUsername());
+    }
+
+    @Test
+    public void matchByConnObjectKeyValuesWithCorrelationRule() {
+        Provision provision = resourceDAO.find("resource-testdb2").getProvision(AnyTypeKind.USER.name()).get();
+
+        assertTrue(inboundMatcher.matchByConnObjectKeyValues(
+                Arrays.asList(delta("rossini"), delta("verdi")), provision).isEmpty());
+    }
+
+    @Test
+    public void matchUsesCurrentConnObjectKeyValue() {
+        Provision provision = resourceDAO.find("resource-testdb").getProvision(AnyTypeKind.USER.name()).get();
+
+        Map<String, List<PullMatch>> preResolved = inboundMatcher.matchByConnObjectKeyValues(
+                Collections.singletonList(delta("rossini")), provision);
+
+        // as if PullActions#preprocess had changed the connector object key value from rossini to verdi
+        List<PullMatch> matches = inboundMatcher.match(delta("verdi"), provision, preResolved);
+        assertEquals(1, matches.size());
+        assertEquals("verdi", ((User) matches.get(0).getAny()).getUsername());
+    }
+
+    @Test
+    public void invalidate() {
+        Provision provision = resourceDAO.find("resource-testdb").getProvision(AnyTypeKind.USER.name()).get();
+
+        Map<String, List<PullMatch>> preResolved = new HashMap<>(inboundMatcher.matchByConnObjectKeyValues(
+                Arrays.asList(delta("rossini"), delta("verdi")), provision));
+        assertEquals(2, preResolved.size());
+
+        User rossini = userDAO.findByUsername("rossini");
+        InboundMatcher.invalidate(preResolved, Collections.singleton(rossini.getKey()));
+        assertFalse(preResolved.containsKey("rossini"));
+        assertTrue(preResolved.containsKey("verdi"));
+
+        // once invalidated, the current state is looked up: a rename within the same batch is seen
+        rossini.setUsername("rossini2");
+        userDAO.save(rossini);
+        entityManager().flush();
+
+        assertEquals(
+                Collections.singletonList(PullCorrelationRule.NO_MATCH),
+                inboundMatcher.match(delta("rossini"), provision, preResolved));
+        assertEquals(
+                rossini.getKey(),
+                inboundMatcher.match(delta("rossini2"), provision, preResolved).get(0).getAny().getKey());
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.syncope.common.lib.to.ProvisioningReport;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.AnyType;
+import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.resource.Provision;
+import org.apache.syncope.core.persistence.api.entity.task.PushTask;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
+import org.apache.syncope.core.provisioning.api.pushpull.PushActions;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePushResultHandler;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobExecutionException;
+
+public class PushJobDelegateTest extends AbstractTest {
+
+    private static final int CONCURRENCY = 4;
+
+    /**
+     * Handler behaving according to the key prefix: "ok" succeeds, "ko" fails by reporting, "boom" reports then
+     * throws, "crash" throws without reporting.
+     */
+    private static class TestHandler implements SyncopePushResultHandler {
+
+        private ProvisioningProfile<PushTask, PushActions> profile;
+
+        @Override
+        public ProvisioningProfile<PushTask, PushActions> getProfile() {
+            return profile;
+        }
+
+        @Override
+        public void setProfile(final ProvisioningProfile<PushTask, PushActions> profile) {
+            this.profile = profile;
+        }
+
+        private void report(final String anyKey, final ProvisioningReport.Status status) {
+            ProvisioningReport result = new ProvisioningReport();
+            result.setKey(anyKey);
+            result.setOperation(ResourceOperation.UPDATE);
+            result.setStatus(status);
+            profile.getResults().add(result);
+        }
+
+        @Override
+        public boolean handle(final String anyKey) {
+            if (anyKey.startsWith("ok")) {
+                report(anyKey, ProvisioningReport.Status.SUCCESS);
+                return true;
+            }
+            if (anyKey.startsWith("ko")) {
+                report(anyKey, ProvisioningReport.Status.FAILURE);
+                return false;
+            }
+            if (anyKey.startsWith("boom")) {
+                report(anyKey, ProvisioningReport.Status.FAILURE);
+            }
+            throw new IllegalStateException("Failure while pushing " + anyKey);
+        }
+    }
+
+    private static class TestPushJobDelegate extends PushJobDelegate {
+
+        private final boolean failFast;
+
+        TestPushJobDelegate(final boolean failFast) {
+            this.failFast = failFast;
+        }
+
+        @Override
+        protected boolean isFailFast() {
+            return failFast;
+        }
+
+        @Override
+        protected SyncopePushResultHandler buildHandler(final AnyTypeKind kind) {
+            SyncopePushResultHandler handler = new TestHandler();
+            handler.setProfile(profile);
+            return handler;
+        }
+
+        @Override
+        protected void setStatus(final String status) {
+            // nothing to do
+        }
+    }
+
+    private static User user(final String key) {
+        AnyType anyType = mock(AnyType.class);
+        lenient().when(anyType.getKey()).thenReturn(AnyTypeKind.USER.name());
+
+        User user = mock(User.class);
+        lenient().when(user.getKey()).thenReturn(key);
+        lenient().when(user.getUsername()).thenReturn(key);
+        lenient().when(user.getType()).thenReturn(anyType);
+        return user;
+    }
+
+    private static PushJobDelegate delegate(final boolean failFast, final List<String> keys) {
+        Realm realm = mock(Realm.class);
+        lenient().when(realm.getFullPath()).thenReturn("/");
+
+        PushTask task = mock(PushTask.class);
+        lenient().when(task.getKey()).thenReturn("push");
+        lenient().when(task.getSourceRealm()).thenReturn(realm);
+        lenient().when(task.getResource()).thenReturn(mock(ExternalResource.class));
+
+        List<User> users = keys.stream().map(PushJobDelegateTest::user).collect(Collectors.toList());
+
+        AnySearchDAO searchDAO = mock(AnySearchDAO.class);
+        lenient().when(searchDAO.count(any(), any(), eq(AnyTypeKind.USER))).thenReturn(users.size());
+        lenient().when(searchDAO.search(any(), any(), anyInt(), anyInt(), anyList(), eq(AnyTypeKind.USER))).
+                thenAnswer(ic -> {
+                    int page = ic.getArgument(2);
+                    int size = ic.getArgument(3);
+                    return users.subList(
+                            Math.min((page - 1) * size, users.size()), Math.min(page * size, users.size()));
+                });
+
+        TestPushJobDelegate delegate = new TestPushJobDelegate(failFast);
+        delegate.profile = new ProvisioningProfile<>(null, task);
+        delegate.searchDAO = searchDAO;
+        return delegate;
+    }
+
+    private static Provision provision() {
+        AnyType anyType = mock(AnyType.class);
+        lenient().when(anyType.getKind()).thenReturn(AnyTypeKind.USER);
+
+        Provision provision = mock(Provision.class);
+        lenient().when(provision.getAnyType()).thenReturn(anyType);
+        return provision;
+    }
+
+    @Test
+    public void concurrently() throws JobExecutionException {
+        List<String> keys = IntStream.range(0, AnyDAO.DEFAULT_PAGE_SIZE + 10).
+                mapToObj(i -> "ok" + i).collect(Collectors.toList());
+        PushJobDelegate delegate = delegate(true, keys);
+
+        delegate.doHandleConcurrently(mock(SearchCond.class), provision(), CONCURRENCY);
+
+        List<ProvisioningReport> results = delegate.profile.getResults();
+        assertEquals(keys.size(), results.size());
+        assertEquals(
+                keys.stream().sorted().collect(Collectors.toList()),
+                results.stream().map(ProvisioningReport::getKey).sorted().collect(Collectors.toList()));
+        assertEquals(keys.size(), results.stream().
+                filter(result -> result.getStatus() == ProvisioningReport.Status.SUCCESS).count());
+    }
+
+    @Test
+    public void concurrentlyWithFailures() throws JobExecutionException {
+        List<String> keys = new ArrayList<>();
+        IntStream.range(0, 20).forEach(i -> {
+            keys.add("ok" + i);
+            keys.add("ko" + i);
+            keys.add("boom" + i);
+            keys.add("crash" + i);
+        });
+        Collections.shuffle(keys);
+        PushJobDelegate delegate = delegate(false, keys);
+
+        delegate.doHandleConcurrently(mock(SearchCond.class), provision(), CONCURRENCY);
+
+        // each entity is reported exactly once, either by the handler or by the delegate
+        Map<String, List<ProvisioningReport>> results = delegate.profile.getResults().stream().
+                collect(Collectors.groupingBy(ProvisioningReport::getKey));
+        assertEquals(keys.size(), results.size());
+        results.values().forEach(reports -> assertEquals(1, reports.size()));
+
+        Function<String, ProvisioningReport.Status> status = key -> results.get(key).get(0).getStatus();
+        keys.forEach(key -> assertEquals(
+                key.startsWith("ok") ? ProvisioningReport.Status.SUCCESS : ProvisioningReport.Status.FAILURE,
+                status.apply(key)));
+        keys.stream().filter(key -> key.startsWith("crash")).
+                forEach(key -> assertEquals(ResourceOperation.NONE, results.get(key).get(0).getOperation()));
+        keys.stream().filter(key -> key.startsWith("boom")).
+                forEach(key -> assertEquals(ResourceOperation.UPDATE, results.get(key).get(0).getOperation()));
+    }
+
+    @Test
+    public void concurrentlyFailFast() {
+        List<String> keys = IntStream.range(0, 50).
+                mapToObj(i -> i == 10 ? "crash" + i : "ok" + i).collect(Collectors.toList());
+        PushJobDelegate delegate = delegate(true, keys);
+
+        assertThrows(
+                JobExecutionException.class,
+                () -> delegate.doHandleConcurrently(mock(SearchCond.class), provision(), CONCURRENCY));
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.common.lib.types.MatchingRule;
+import org.apache.syncope.common.lib.types.UnmatchingRule;
+import org.apache.syncope.core.persistence.api.entity.AnyType;
+import org.apache.syncope.core.persistence.api.entity.Implementation;
+import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.resource.Mapping;
+import org.apache.syncope.core.persistence.api.entity.resource.MappingItem;
+import org.apache.syncope.core.persistence.api.entity.resource.Provision;
+import org.apache.syncope.core.persistence.api.entity.task.AnyTemplatePullTask;
+import org.apache.syncope.core.persistence.api.entity.task.PullTask;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.identityconnectors.common.security.GuardedString;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+public class ConnObjectUtilsTest extends AbstractTest {
+
+    @Mock
+    private PullTask pullTask;
+
+    @Mock
+    private Realm realm;
+
+    @Mock
+    private ExternalResource resource;
+
+    @Mock
+    private AnyType anyType;
+
+    @Mock
+    private Provision provision;
+
+    @Mock
+    private Mapping mapping;
+
+    @Mock
+    private MappingItem item;
+
+    @BeforeEach
+    public void initProvision() {
+        lenient().when(pullTask.getKey()).thenReturn("pullTask");
+        lenient().when(realm.getFullPath()).thenReturn("/");
+        lenient().when(pullTask.getDestinatioRealm()).thenReturn(realm);
+        lenient().when(pullTask.getMatchingRule()).thenReturn(MatchingRule.UPDATE);
+        lenient().when(pullTask.getUnmatchingRule()).thenReturn(UnmatchingRule.PROVISION);
+        lenient().when(pullTask.getTemplate(anyType)).thenReturn(Optional.empty());
+
+        lenient().when(item.getIntAttrName()).thenReturn("username");
+        lenient().when(item.getExtAttrName()).thenReturn("uid");
+        lenient().doReturn(Collections.singletonList(item)).when(mapping).getItems();
+        lenient().when(provision.getKey()).thenReturn("provision");
+        lenient().when(provision.getAnyType()).thenReturn(anyType);
+        lenient().when(provision.getResource()).thenReturn(resource);
+        lenient().when(provision.getMapping()).thenReturn(mapping);
+    }
+
+    private static ConnectorObject connObject(final String surname, final String password) {
+        return new ConnectorObjectBuilder().
+                setObjectClass(ObjectClass.ACCOUNT).
+                setUid("rossini").
+                setName("rossini").
+                addAttribute(AttributeBuilder.build("surname", surname)).
+                addAttribute(AttributeBuilder.build("email", Arrays.asList("r1@syncope.org", "r2@syncope.org"))).
+                addAttribute(AttributeBuilder.buildPassword(new GuardedString(password.toCharArray()))).
+                build();
+    }
+
+    @Test
+    public void fingerprint() {
+        String conf = ConnObjectUtils.getConfFingerprint(pullTask, provision);
+        String fingerprint = ConnObjectUtils.getFingerprint(connObject("Rossini", "password123"), conf);
+        assertNotNull(fingerprint);
+
+        // same values, different instances
+        assertEquals(
+                fingerprint,
+                ConnObjectUtils.getFingerprint(connObject("Rossini", "password123"), conf));
+
+        // changed attribute value
+        assertNotEquals(
+                fingerprint,
+                ConnObjectUtils.getFingerprint(connObject("Verdi", "password123"), conf));
+
+        // changed password
+        assertNotEquals(
+                fingerprint,
+                ConnObjectUtils.getFingerprint(connObject("Rossini", "password321"), conf));
+
+        // changed configuration
+        assertNotEquals(
+                fingerprint,
+                ConnObjectUtils.getFingerprint(connObject("Rossini", "password123"), conf + "x"));
+    }
+
+    @Test
+    public void fingerprintKey() {
+        String key = ConnObjectUtils.getFingerprintKey(pullTask, provision, "rossini");
+        assertEquals(key, ConnObjectUtils.getFingerprintKey(pullTask, provision, "rossini"));
+        assertNotEquals(key, ConnObjectUtils.getFingerprintKey(pullTask, provision, "verdi"));
+
+        when(pullTask.getKey()).thenReturn("anotherPullTask");
+        assertNotEquals(key, ConnObjectUtils.getFingerprintKey(pullTask, provision, "rossini"));
+    }
+
+    @Test
+    public void confFingerprint() {
+        String conf = ConnObjectUtils.getConfFingerprint(pullTask, provision);
+        assertEquals(conf, ConnObjectUtils.getConfFingerprint(pullTask, provision));
+
+        // changed destination realm
+        when(realm.getFullPath()).thenReturn("/even");
+        assertNotEquals(conf, ConnObjectUtils.getConfFingerprint(pullTask, provision));
+        when(realm.getFullPath()).thenReturn("/");
+
+        // changed matching rule
+        when(pullTask.getMatchingRule()).thenReturn(MatchingRule.IGNORE);
+        assertNotEquals(conf, ConnObjectUtils.getConfFingerprint(pullTask, provision));
+        when(pullTask.getMatchingRule()).thenReturn(MatchingRule.UPDATE);
+
+        // added template
+        UserTO template = new UserTO();
+        template.setUsername("'pulled_' + username");
+        AnyTemplatePullTask anyTemplate = mock(AnyTemplatePullTask.class);
+        when(anyTemplate.get()).thenReturn(template);
+        doReturn(Optional.of(anyTemplate)).when(pullTask).getTemplate(anyType);
+        assertNotEquals(conf, ConnObjectUtils.getConfFingerprint(pullTask, provision));
+        doReturn(Optional.empty()).when(pullTask).getTemplate(anyType);
+
+        // added action
+        Implementation action = mock(Implementation.class);
+        when(action.getKey()).thenReturn("TestPullActions");
+        when(action.getBody()).thenReturn("org.apache.syncope.TestPullActions");
+        doReturn(Collections.singletonList(action)).when(pullTask).getActions();
+        String withAction = ConnObjectUtils.getConfFingerprint(pullTask, provision);
+        assertNotEquals(conf, withAction);
+
+        // changed action body
+        when(action.getBody()).thenReturn("org.apache.syncope.AnotherPullActions");
+        assertNotEquals(withAction, ConnObjectUtils.getConfFingerprint(pullTask, provision));
+        doReturn(Collections.emptyList()).when(pullTask).getActions();
+
+        // changed mapping
+        when(item.getPullJEXLTransformer()).thenReturn("value.toLowerCase()");
+        assertNotEquals(conf, ConnObjectUtils.getConfFingerprint(pullTask, provision));
+        when(item.getPullJEXLTransformer()).thenReturn(null);
+
+        assertEquals(conf, ConnObjectUtils.getConfFingerprint(pullTask, provision));
+    }
+}
@@ -29,6 +29,7 @@ import javax.persistence.EntityExistsException;
 import javax.persistence.PersistenceException;
 import javax.persistence.RollbackException;
 import javax.validation.ValidationException;
+import javax.ws.rs.RedirectionException;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
@@ -91,6 +92,11 @@ public class RestServiceExceptionMapper implements ExceptionMapper<Exception> {
 
     @Override
     public Response toResponse(final Exception ex) {
+        // not an error, but the outcome of conditional requests
+        if (ex instanceof RedirectionException) {
+            return ((RedirectionException) ex).getResponse();
+        }
+
         LOG.error("Exception thrown", ex);
 
         ResponseBuilder builder;
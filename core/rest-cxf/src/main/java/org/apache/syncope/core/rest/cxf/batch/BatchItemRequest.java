@@ -23,7 +23,11 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
@@ -40,6 +44,17 @@ public class BatchItemRequest extends HttpServletRequestWrapper {
 
     private final ServletInputStream inputStream;
 
+    /**
+     * Attributes set while processing this item, kept apart from the wrapped request's as items might be processed
+     * in parallel.
+     */
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    /**
+     * Names of the wrapped request's attributes removed while processing this item.
+     */
+    private final Set<String> removedAttributes = ConcurrentHashMap.newKeySet();
+
     public BatchItemRequest(
             final String basePath,
             final HttpServletRequest request,
@@ -142,4 +157,37 @@ public class BatchItemRequest extends HttpServletRequestWrapper {
     public ServletInputStream getInputStream() throws IOException {
         return inputStream;
     }
+
+    @Override
+    public Object getAttribute(final String name) {
+        Object value = attributes.get(name);
+        if (value == null && !removedAttributes.contains(name)) {
+            value = super.getAttribute(name);
+        }
+        return value;
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(Stream.concat(
+                attributes.keySet().stream(),
+                Collections.list(super.getAttributeNames()).stream().filter(name -> !removedAttributes.contains(name))).
+                distinct().collect(Collectors.toList()));
+    }
+
+    @Override
+    public void setAttribute(final String name, final Object value) {
+        if (value == null) {
+            removeAttribute(name);
+        } else {
+            attributes.put(name, value);
+            removedAttributes.remove(name);
+        }
+    }
+
+    @Override
+    public void removeAttribute(final String name) {
+        attributes.remove(name);
+        removedAttributes.add(name);
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.rest.cxf.batch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.CipherOutputStream;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Batch payload spooled to a temporary file, readable only by the owner and encrypted with a random key which is
+ * only held in memory: the payload, which might include passwords, is never written on disk in cleartext.
+ */
+public final class BatchPayloadSpool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchPayloadSpool.class);
+
+    private static final String TRANSFORMATION = "AES/CTR/NoPadding";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Path file;
+
+    private final SecretKey key;
+
+    private final byte[] iv = new byte[16];
+
+    private BatchPayloadSpool() throws IOException {
+        try {
+            KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+            keyGenerator.init(128);
+            key = keyGenerator.generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Could not generate spool key", e);
+        }
+        RANDOM.nextBytes(iv);
+
+        file = FileSystems.getDefault().supportedFileAttributeViews().contains("posix")
+                ? Files.createTempFile("batch", ".payload",
+                        PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")))
+                : Files.createTempFile("batch", ".payload");
+    }
+
+    /**
+     * Spools the given input stream.
+     *
+     * @param input batch payload
+     * @return spooled batch payload
+     * @throws IOException if the payload cannot be read or spooled
+     */
+    public static BatchPayloadSpool spool(final InputStream input) throws IOException {
+        BatchPayloadSpool spool = new BatchPayloadSpool();
+        boolean spooled = false;
+        try {
+            Cipher cipher = spool.cipher(Cipher.ENCRYPT_MODE);
+            try (OutputStream out = new CipherOutputStream(Files.newOutputStream(spool.file), cipher)) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+            spooled = true;
+        } finally {
+            if (!spooled) {
+                spool.delete();
+            }
+        }
+        return spool;
+    }
+
+    private Cipher cipher(final int mode) throws IOException {
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(mode, key, new IvParameterSpec(iv));
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Could not initialize spool cipher", e);
+        }
+    }
+
+    /**
+     * @return decrypted view of the spooled payload
+     * @throws IOException if the spooled payload cannot be read
+     */
+    public InputStream open() throws IOException {
+        return new CipherInputStream(Files.newInputStream(file), cipher(Cipher.DECRYPT_MODE));
+    }
+
+    /**
+     * Removes the spooled payload; safe to invoke more than once.
+     */
+    public void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.error("Could not remove batch payload {}", file, e);
+        }
+    }
+
+    Path getFile() {
+        return file;
+    }
+}
@@ -19,37 +19,68 @@
 package org.apache.syncope.core.rest.cxf.batch;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.InputStream;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.servlet.ServletConfig;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.MediaType;
 import org.apache.cxf.transport.http.AbstractHTTPDestination;
 import org.apache.cxf.transport.http.DestinationRegistry;
+import org.apache.syncope.common.rest.api.RESTHeaders;
 import org.apache.syncope.common.rest.api.batch.BatchPayloadGenerator;
+import org.apache.syncope.common.rest.api.batch.BatchPayloadParser;
 import org.apache.syncope.common.rest.api.batch.BatchRequestItem;
 import org.apache.syncope.common.rest.api.batch.BatchResponseItem;
 import org.apache.syncope.common.rest.api.service.JAXRSService;
 import org.apache.syncope.core.persistence.api.dao.BatchDAO;
+import org.apache.syncope.core.persistence.api.dao.ConfDAO;
 import org.apache.syncope.core.persistence.api.entity.Batch;
+import org.apache.syncope.core.persistence.api.entity.BatchResult;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+/**
+ * Processes the batch request items as read from the spooled batch payload, one at a time, and stores each response
+ * item as soon as available: memory usage does not depend on the number of batch request items.
+ */
 public class BatchProcess implements Runnable {
 
     private static final Logger LOG = LoggerFactory.getLogger(BatchProcess.class);
 
+    /**
+     * Minimum interval, in milliseconds, between two subsequent updates of the batch progress.
+     */
+    private static final long PROGRESS_INTERVAL = 1000L;
+
     @Autowired
     private BatchDAO batchDAO;
 
+    @Autowired
+    private ConfDAO confDAO;
+
+    @Autowired
+    private EntityFactory entityFactory;
+
     private String boundary;
 
     private String basePath;
 
-    private List<BatchRequestItem> batchRequestItems;
+    private MediaType mediaType;
+
+    private BatchPayloadSpool payload;
 
     private DestinationRegistry destinationRegistry;
 
@@ -59,6 +90,12 @@ public class BatchProcess implements Runnable {
 
     private Authentication authentication;
 
+    private final AtomicInteger processed = new AtomicInteger(0);
+
+    private int savedProgress = 0;
+
+    private long lastProgressSave = System.currentTimeMillis();
+
     public void setBoundary(final String boundary) {
         this.boundary = boundary;
     }
@@ -67,8 +104,15 @@ public class BatchProcess implements Runnable {
         this.basePath = basePath;
     }
 
-    public void setBatchRequestItems(final List<BatchRequestItem> batchRequestItems) {
-        this.batchRequestItems = batchRequestItems;
+    public void setMediaType(final MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * @param payload spooled batch payload, removed once processed
+     */
+    public void setPayload(final BatchPayloadSpool payload) {
+        this.payload = payload;
     }
 
     public void setDestinationRegistry(final DestinationRegistry destinationRegistry) {
@@ -87,57 +131,170 @@ public class BatchProcess implements Runnable {
         this.authentication = authentication;
     }
 
+    protected BatchResponseItem process(final BatchRequestItem reqItem) {
+        LOG.debug("Batch Request item:\n{}", reqItem);
+
+        AbstractHTTPDestination dest = destinationRegistry.getDestinationForPath(reqItem.getRequestURI(), true);
+        if (dest == null) {
+            dest = destinationRegistry.checkRestfulRequest(reqItem.getRequestURI());
+        }
+        LOG.debug("Destination found for {}: {}", reqItem.getRequestURI(), dest);
+
+        BatchResponseItem resItem = new BatchResponseItem();
+        if (dest == null) {
+            resItem.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        } else {
+            BatchItemRequest request = new BatchItemRequest(basePath, servletRequest, reqItem);
+            BatchItemResponse response = new BatchItemResponse();
+            try {
+                dest.invoke(servletConfig, servletConfig.getServletContext(), request, response);
+
+                resItem.setStatus(response.getStatus());
+                resItem.setHeaders(response.getHeaders());
+                String output = new String(response.getUnderlyingOutputStream().toByteArray());
+                if (output.length() > 0) {
+                    resItem.setContent(output);
+                }
+
+                LOG.debug("Returned:\nstatus: {}\nheaders: {}\nbody:\n{}",
+                        response.getStatus(), response.getHeaders(), output);
+            } catch (IOException e) {
+                LOG.error("Invocation of {} failed", dest.getPath(), e);
+
+                resItem.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+        }
+
+        LOG.debug("Batch Response item:\n{}", resItem);
+        return resItem;
+    }
+
+    protected void handle(final int itemIndex, final BatchRequestItem reqItem) {
+        BatchResponseItem resItem;
+        try {
+            resItem = process(reqItem);
+        } catch (Exception e) {
+            LOG.error("While processing batch request item {}", reqItem, e);
+
+            resItem = new BatchResponseItem();
+            resItem.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+
+        BatchResult result = entityFactory.newEntity(BatchResult.class);
+        result.setBatchKey(boundary);
+        result.setItemIndex(itemIndex);
+        result.setContent(BatchPayloadGenerator.generatePart(resItem, JAXRSService.DOUBLE_DASH + boundary));
+        batchDAO.save(result);
+
+        processed.incrementAndGet();
+    }
+
+    /**
+     * Saves the current progress on the batch, unless already done within the latest {@link #PROGRESS_INTERVAL}.
+     * Only to be invoked by the thread running this batch process.
+     */
+    protected void saveProgress() {
+        int current = processed.get();
+        if (current > savedProgress && System.currentTimeMillis() - lastProgressSave > PROGRESS_INTERVAL) {
+            Batch batch = batchDAO.find(boundary);
+            if (batch != null && !batch.isCompleted()) {
+                batch.setProcessed(current);
+                batchDAO.save(batch);
+            }
+
+            savedProgress = current;
+            lastProgressSave = System.currentTimeMillis();
+        }
+    }
+
+    protected static String getOrderingGroup(final BatchRequestItem reqItem) {
+        List<Object> orderingGroup = reqItem.getHeaders().get(RESTHeaders.BATCH_ORDERING_GROUP);
+        return orderingGroup == null || orderingGroup.isEmpty()
+                ? null
+                : orderingGroup.get(0).toString();
+    }
+
     @Override
     public void run() {
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        List<BatchResponseItem> batchResponseItems = new ArrayList<>(batchRequestItems.size());
+        int concurrency = confDAO.find("batch.concurrency", 1L).intValue();
+        int maxInFlight = concurrency * 2;
+
+        ExecutorService executor = null;
+        if (concurrency > 1) {
+            AtomicInteger threadNumber = new AtomicInteger(0);
+            executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+                Thread thread = new Thread(runnable, "batch-" + boundary + "-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        // bounds the number of batch request items parsed but not yet processed
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        // tail of each ordering group, to chain subsequent items of the same group; only accessed by this thread
+        Map<String, CompletableFuture<Void>> orderingGroups = new HashMap<>();
 
-        batchRequestItems.forEach(reqItem -> {
-            LOG.debug("Batch Request item:\n{}", reqItem);
+        AtomicInteger itemIndex = new AtomicInteger(0);
+        try (InputStream in = payload.open()) {
+            ExecutorService finalExecutor = executor;
+            BatchPayloadParser.parse(in, mediaType, new BatchRequestItem(), reqItem -> {
+                int index = itemIndex.getAndIncrement();
 
-            AbstractHTTPDestination dest = destinationRegistry.getDestinationForPath(reqItem.getRequestURI(), true);
-            if (dest == null) {
-                dest = destinationRegistry.checkRestfulRequest(reqItem.getRequestURI());
-            }
-            LOG.debug("Destination found for {}: {}", reqItem.getRequestURI(), dest);
-
-            BatchResponseItem resItem = new BatchResponseItem();
-            batchResponseItems.add(resItem);
-            if (dest == null) {
-                resItem.setStatus(HttpServletResponse.SC_NOT_FOUND);
-            } else {
-                BatchItemRequest request = new BatchItemRequest(basePath, servletRequest, reqItem);
-                BatchItemResponse response = new BatchItemResponse();
-                try {
-                    dest.invoke(servletConfig, servletConfig.getServletContext(), request, response);
-
-                    resItem.setStatus(response.getStatus());
-                    resItem.setHeaders(response.getHeaders());
-                    String output = new String(response.getUnderlyingOutputStream().toByteArray());
-                    if (output.length() > 0) {
-                        resItem.setContent(output);
+                if (finalExecutor == null) {
+                    handle(index, reqItem);
+                } else {
+                    inFlight.acquireUninterruptibly();
+
+                    Runnable task = () -> {
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                        try {
+                            handle(index, reqItem);
+                        } catch (Exception e) {
+                            LOG.error("Could not save result for batch request item {}", reqItem, e);
+                        } finally {
+                            SecurityContextHolder.clearContext();
+                            inFlight.release();
+                        }
+                    };
+
+                    String orderingGroup = getOrderingGroup(reqItem);
+                    if (orderingGroup == null) {
+                        finalExecutor.execute(task);
+                    } else {
+                        orderingGroups.compute(orderingGroup, (group, tail) -> tail == null
+                                ? CompletableFuture.runAsync(task, finalExecutor)
+                                : tail.thenRunAsync(task, finalExecutor));
                     }
+                }
 
-                    LOG.debug("Returned:\nstatus: {}\nheaders: {}\nbody:\n{}",
-                            response.getStatus(), response.getHeaders(), output);
-                } catch (IOException e) {
-                    LOG.error("Invocation of {} failed", dest.getPath(), e);
+                saveProgress();
+            });
 
-                    resItem.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            if (executor != null) {
+                while (!inFlight.tryAcquire(maxInFlight, PROGRESS_INTERVAL, TimeUnit.MILLISECONDS)) {
+                    saveProgress();
                 }
             }
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.error("While reading batch payload {}", boundary, e);
+        } catch (InterruptedException e) {
+            LOG.error("Interrupted while processing batch {}", boundary, e);
+            Thread.currentThread().interrupt();
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
 
-            LOG.debug("Batch Response item:\n{}", resItem);
-        });
-
-        String results = BatchPayloadGenerator.generate(batchResponseItems, JAXRSService.DOUBLE_DASH + boundary);
+            payload.delete();
+        }
 
         Batch batch = batchDAO.find(boundary);
         if (batch == null) {
-            LOG.error("Could not find batch {}, cannot save results hence reporting here:\n{}", boundary, results);
+            LOG.error("Could not find batch {}, cannot mark as completed", boundary);
         } else {
-            batch.setResults(results);
+            batch.setProcessed(processed.get());
+            batch.setCompleted(true);
             batchDAO.save(batch);
         }
     }
@@ -25,6 +25,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.ws.rs.BadRequestException;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -117,7 +118,18 @@ public abstract class AbstractAnyService<TO extends AnyTO, P extends AnyPatch>
 
     @Override
     public TO read(final String key) {
-        return getAnyLogic().read(getActualKey(getAnyDAO(), key));
+        String actualKey = getActualKey(getAnyDAO(), key);
+
+        // conditional read: avoid building the whole entity if unchanged since the provided ETag;
+        // the last change date is only disclosed by the logic layer, after the same security checks as read
+        if (messageContext.getHttpHeaders().getHeaderString(HttpHeaders.IF_NONE_MATCH) != null) {
+            Date lastChange = getAnyLogic().findLastChange(actualKey);
+            if (isNotModified(lastChange)) {
+                throw notModified(lastChange);
+            }
+        }
+
+        return getAnyLogic().read(actualKey);
     }
 
     @Override
@@ -140,7 +152,9 @@ public abstract class AbstractAnyService<TO extends AnyTO, P extends AnyPatch>
                     anyQuery.getSize(),
                     getOrderByClauses(anyQuery.getOrderBy()),
                     isAssignableCond ? SyncopeConstants.ROOT_REALM : realm,
-                    anyQuery.getDetails());
+                    anyQuery.getDetails(),
+                    anyQuery.getExactCount(),
+                    anyQuery.getFields() == null || anyQuery.getFields().isEmpty() ? null : anyQuery.getFields());
 
             return buildPagedResult(result.getRight(), anyQuery.getPage(), anyQuery.getSize(), result.getLeft());
         } catch (IllegalArgumentException e) {
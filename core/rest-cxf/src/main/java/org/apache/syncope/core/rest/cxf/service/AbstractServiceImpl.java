@@ -20,9 +20,12 @@ package org.apache.syncope.core.rest.cxf.service;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import javax.ws.rs.RedirectionException;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
@@ -164,6 +167,30 @@ abstract class AbstractServiceImpl implements JAXRSService {
         }
     }
 
+    /**
+     * Evaluates the {@code If-None-Match} request header, if present, against the ETag computed out of the given
+     * last change date.
+     *
+     * @param lastChange last change date of the entity being read
+     * @return whether {@code 304 Not Modified} can be returned
+     */
+    protected boolean isNotModified(final Date lastChange) {
+        if (lastChange == null
+                || messageContext.getHttpHeaders().getHeaderString(HttpHeaders.IF_NONE_MATCH) == null) {
+
+            return false;
+        }
+
+        Response.ResponseBuilder builder = messageContext.getRequest().evaluatePreconditions(
+                new EntityTag(String.valueOf(lastChange.getTime())));
+        return builder != null && builder.build().getStatus() == Response.Status.NOT_MODIFIED.getStatusCode();
+    }
+
+    protected RedirectionException notModified(final Date lastChange) {
+        return new RedirectionException(Response.notModified(
+                new EntityTag(String.valueOf(lastChange.getTime()))).build());
+    }
+
     protected SearchCond getSearchCond(final String fiql, final String realm) {
         try {
             searchCondVisitor.setRealm(realm);
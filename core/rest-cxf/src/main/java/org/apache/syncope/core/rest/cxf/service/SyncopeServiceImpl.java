@@ -20,15 +20,18 @@ package org.apache.syncope.core.rest.cxf.service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Resource;
 import javax.ws.rs.InternalServerErrorException;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.cxf.Bus;
@@ -46,16 +49,20 @@ import org.apache.syncope.common.lib.to.TypeExtensionTO;
 import org.apache.syncope.common.lib.types.ClientExceptionType;
 import org.apache.syncope.common.rest.api.Preference;
 import org.apache.syncope.common.rest.api.RESTHeaders;
+import org.apache.syncope.common.rest.api.batch.BatchPayloadGenerator;
 import org.apache.syncope.common.rest.api.batch.BatchPayloadParser;
 import org.apache.syncope.common.rest.api.batch.BatchRequestItem;
+import org.apache.syncope.common.rest.api.service.JAXRSService;
 import org.apache.syncope.common.rest.api.service.SyncopeService;
 import org.apache.syncope.core.logic.SyncopeLogic;
+import org.apache.syncope.core.rest.cxf.batch.BatchPayloadSpool;
 import org.apache.syncope.core.rest.cxf.batch.BatchProcess;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.apache.syncope.core.persistence.api.dao.BatchDAO;
 import org.apache.syncope.core.persistence.api.dao.EntityCacheDAO;
 import org.apache.syncope.core.persistence.api.entity.Batch;
+import org.apache.syncope.core.persistence.api.entity.BatchResult;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -64,6 +71,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 @Service
 public class SyncopeServiceImpl extends AbstractServiceImpl implements SyncopeService {
 
+    private static final int BATCH_RESULTS_PAGE_SIZE = 100;
+
     @Resource(name = "batchExecutor")
     private ThreadPoolTaskExecutor batchExecutor;
 
@@ -158,6 +167,14 @@ public class SyncopeServiceImpl extends AbstractServiceImpl implements SyncopeSe
         }
     }
 
+    private static SyncopeClientException invalidBatchRequest(final String boundary, final Exception e) {
+        LOG.error("Could not read batch request with boundary {}", boundary, e);
+
+        SyncopeClientException sce = SyncopeClientException.build(ClientExceptionType.InvalidEntity);
+        sce.getElements().add("Batch request with boundary " + boundary);
+        return sce;
+    }
+
     @Override
     public Response batch(final InputStream input) {
         // parse Content-Type, expect appropriate boundary
@@ -170,46 +187,63 @@ public class SyncopeServiceImpl extends AbstractServiceImpl implements SyncopeSe
             throw sce;
         }
 
-        // parse batch request
-        List<BatchRequestItem> batchRequestItems;
+        // spool batch request, then check it can be parsed and count its items: batch request items will be read
+        // from the spooled payload while processing
+        BatchPayloadSpool payload;
         try {
-            batchRequestItems = BatchPayloadParser.parse(input, mediaType, new BatchRequestItem());
+            payload = BatchPayloadSpool.spool(input);
         } catch (IOException e) {
-            LOG.error("Could not parse batch request with boundary {}", boundary, e);
-
-            SyncopeClientException sce = SyncopeClientException.build(ClientExceptionType.InvalidEntity);
-            sce.getElements().add("Batch request with boundary " + boundary);
-            throw sce;
+            throw invalidBatchRequest(boundary, e);
         }
 
-        // prepare for batch processing
-        Batch batch = entityFactory.newEntity(Batch.class);
-        batch.setKey(boundary);
-        batch.setExpiryTime(new Date(System.currentTimeMillis() + 5 * 60 * 1000));
-        batchDAO.save(batch);
-
-        BatchProcess batchProcess = ApplicationContextProvider.getBeanFactory().createBean(BatchProcess.class);
-        batchProcess.setBoundary(boundary);
-        batchProcess.setBasePath(uriInfo.getBaseUri().toASCIIString());
-        batchProcess.setBatchRequestItems(batchRequestItems);
-        batchProcess.setDestinationRegistry(getDestinationRegistryFromBusOrDefault());
-        batchProcess.setServletConfig(messageContext.getServletConfig());
-        batchProcess.setServletRequest(messageContext.getHttpServletRequest());
-        batchProcess.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
-
-        // manage synchronous Vs asynchronous batch processing
-        if (getPreference() == Preference.RESPOND_ASYNC) {
-            batchExecutor.execute(batchProcess);
-
-            return Response.accepted().
-                    header(RESTHeaders.PREFERENCE_APPLIED, getPreference().toString()).
-                    header(HttpHeaders.LOCATION, uriInfo.getAbsolutePathBuilder().build()).
-                    type(RESTHeaders.multipartMixedWith(boundary)).
-                    build();
-        } else {
+        AtomicInteger total = new AtomicInteger(0);
+        boolean handedOver = false;
+        try {
+            try (InputStream in = payload.open()) {
+                BatchPayloadParser.parse(in, mediaType, new BatchRequestItem(), item -> total.incrementAndGet());
+            } catch (IOException | IllegalArgumentException e) {
+                throw invalidBatchRequest(boundary, e);
+            }
+
+            // prepare for batch processing
+            Batch batch = entityFactory.newEntity(Batch.class);
+            batch.setKey(boundary);
+            batch.setExpiryTime(new Date(System.currentTimeMillis() + 5 * 60 * 1000));
+            batch.setTotal(total.get());
+            batch.setProcessed(0);
+            batchDAO.save(batch);
+
+            BatchProcess batchProcess = ApplicationContextProvider.getBeanFactory().createBean(BatchProcess.class);
+            batchProcess.setBoundary(boundary);
+            batchProcess.setBasePath(uriInfo.getBaseUri().toASCIIString());
+            batchProcess.setMediaType(mediaType);
+            batchProcess.setPayload(payload);
+            batchProcess.setDestinationRegistry(getDestinationRegistryFromBusOrDefault());
+            batchProcess.setServletConfig(messageContext.getServletConfig());
+            batchProcess.setServletRequest(messageContext.getHttpServletRequest());
+            batchProcess.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+
+            // manage synchronous Vs asynchronous batch processing; from now on, BatchProcess removes the payload
+            if (getPreference() == Preference.RESPOND_ASYNC) {
+                batchExecutor.execute(batchProcess);
+                handedOver = true;
+
+                return Response.accepted().
+                        header(RESTHeaders.PREFERENCE_APPLIED, getPreference().toString()).
+                        header(HttpHeaders.LOCATION, uriInfo.getAbsolutePathBuilder().build()).
+                        type(RESTHeaders.multipartMixedWith(boundary)).
+                        build();
+            }
+
+            handedOver = true;
             batchProcess.run();
-            return batch();
+        } finally {
+            if (!handedOver) {
+                payload.delete();
+            }
         }
+
+        return batch();
     }
 
     @Override
@@ -222,20 +256,40 @@ public class SyncopeServiceImpl extends AbstractServiceImpl implements SyncopeSe
             throw new NotFoundException("Batch " + boundary);
         }
 
-        if (batch.getResults() == null) {
-            return Response.accepted().
+        if (!batch.isCompleted()) {
+            Response.ResponseBuilder builder = Response.accepted().
                     type(RESTHeaders.multipartMixedWith(boundary)).
                     header(HttpHeaders.RETRY_AFTER, 5).
-                    header(HttpHeaders.LOCATION, uriInfo.getAbsolutePathBuilder().build()).
-                    build();
+                    header(HttpHeaders.LOCATION, uriInfo.getAbsolutePathBuilder().build());
+            if (batch.getTotal() != null) {
+                builder.header(RESTHeaders.BATCH_PROGRESS,
+                        (batch.getProcessed() == null ? 0 : batch.getProcessed()) + "/" + batch.getTotal());
+            }
+            return builder.build();
         }
 
-        Response response = Response.ok(batch.getResults()).
+        // stream back the results, page by page, then remove the batch
+        StreamingOutput sout = (os) -> {
+            try {
+                List<BatchResult> results;
+                int page = 1;
+                do {
+                    results = batchDAO.findResults(boundary, page++, BATCH_RESULTS_PAGE_SIZE);
+                    for (BatchResult result : results) {
+                        os.write(result.getContent().getBytes(StandardCharsets.UTF_8));
+                    }
+                    os.flush();
+                } while (results.size() == BATCH_RESULTS_PAGE_SIZE);
+
+                os.write(BatchPayloadGenerator.generateEnd(JAXRSService.DOUBLE_DASH + boundary).
+                        getBytes(StandardCharsets.UTF_8));
+            } finally {
+                batchDAO.delete(boundary);
+            }
+        };
+
+        return Response.ok(sout).
                 type(RESTHeaders.multipartMixedWith(boundary)).
                 build();
-
-        batchDAO.delete(boundary);
-
-        return response;
     }
 }
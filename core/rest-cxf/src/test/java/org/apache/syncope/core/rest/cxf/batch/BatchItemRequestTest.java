@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.rest.cxf.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.common.rest.api.batch.BatchRequestItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+public class BatchItemRequestTest {
+
+    private static BatchItemRequest itemRequest(final MockHttpServletRequest request, final int index) {
+        BatchRequestItem item = new BatchRequestItem();
+        item.setMethod("GET");
+        item.setRequestURI("/users/item" + index);
+        item.setContent("");
+        return new BatchItemRequest("http://localhost:9080/syncope/rest", request, item);
+    }
+
+    @Test
+    public void attributes() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("shared", "base");
+        request.setAttribute("removed", "base");
+
+        BatchItemRequest itemRequest = itemRequest(request, 0);
+
+        // wrapped request's attributes are visible...
+        assertEquals("base", itemRequest.getAttribute("shared"));
+
+        // ...but never changed by the item
+        itemRequest.setAttribute("shared", "item");
+        itemRequest.setAttribute("own", "item");
+        itemRequest.removeAttribute("removed");
+
+        assertEquals("item", itemRequest.getAttribute("shared"));
+        assertEquals("item", itemRequest.getAttribute("own"));
+        assertNull(itemRequest.getAttribute("removed"));
+        List<String> names = Collections.list(itemRequest.getAttributeNames());
+        assertTrue(names.contains("shared"));
+        assertTrue(names.contains("own"));
+        assertFalse(names.contains("removed"));
+
+        assertEquals("base", request.getAttribute("shared"));
+        assertEquals("base", request.getAttribute("removed"));
+        assertNull(request.getAttribute("own"));
+
+        // setting null is the same as removing
+        itemRequest.setAttribute("shared", null);
+        assertNull(itemRequest.getAttribute("shared"));
+        assertEquals("base", request.getAttribute("shared"));
+    }
+
+    @Test
+    public void parallelItems() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        int items = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(items);
+        try {
+            CountDownLatch allSet = new CountDownLatch(items);
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < items; i++) {
+                BatchItemRequest itemRequest = itemRequest(request, i);
+                String value = "item" + i;
+                results.add(executor.submit(() -> {
+                    itemRequest.setAttribute("current", value);
+                    // make sure that all items have set their own value before reading it back
+                    allSet.countDown();
+                    allSet.await(10, TimeUnit.SECONDS);
+                    return itemRequest.getAttribute("current");
+                }));
+            }
+
+            for (int i = 0; i < items; i++) {
+                assertEquals("item" + i, results.get(i).get(10, TimeUnit.SECONDS));
+            }
+            assertNull(request.getAttribute("current"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.rest.cxf.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.ws.rs.core.MediaType;
+import org.apache.syncope.common.rest.api.RESTHeaders;
+import org.apache.syncope.common.rest.api.batch.BatchPayloadGenerator;
+import org.apache.syncope.common.rest.api.batch.BatchPayloadParser;
+import org.apache.syncope.common.rest.api.batch.BatchRequestItem;
+import org.apache.syncope.common.rest.api.service.JAXRSService;
+import org.junit.jupiter.api.Test;
+
+public class BatchPayloadParserTest {
+
+    private static final String BOUNDARY = "batch_" + BatchPayloadParserTest.class.getSimpleName();
+
+    private static final MediaType MEDIA_TYPE = MediaType.valueOf(RESTHeaders.multipartMixedWith(BOUNDARY));
+
+    private static BatchRequestItem item(final String method, final String uri, final String content) {
+        BatchRequestItem item = new BatchRequestItem();
+        item.setMethod(method);
+        item.setRequestURI(uri);
+        item.setHeaders(Collections.singletonMap("Content-Type", Arrays.asList((Object) "application/json")));
+        item.setContent(content);
+        return item;
+    }
+
+    private static InputStream stream(final String payload) {
+        return new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void parse() throws IOException {
+        BatchRequestItem create = item("POST", "/users", "{\"username\":\"rossini\"}");
+        create.setQueryString("storePassword=true");
+        // content including something looking like, but not being, a boundary
+        BatchRequestItem update = item("PATCH", "/users/rossini", "{\"comment\":\"--" + BOUNDARY + "x\"}");
+        BatchRequestItem delete = item("DELETE", "/groups/root", null);
+        delete.setHeaders(Collections.emptyMap());
+
+        String payload = BatchPayloadGenerator.generate(
+                Arrays.asList(create, update, delete), JAXRSService.DOUBLE_DASH + BOUNDARY);
+
+        List<BatchRequestItem> items = new ArrayList<>();
+        BatchPayloadParser.parse(stream(payload), MEDIA_TYPE, new BatchRequestItem(), items::add);
+        assertEquals(3, items.size());
+
+        assertEquals("POST", items.get(0).getMethod());
+        assertEquals("/users", items.get(0).getRequestURI());
+        assertEquals("storePassword=true", items.get(0).getQueryString());
+        assertEquals("application/json", items.get(0).getHeaders().get("Content-Type").get(0));
+        assertEquals(create.getContent(), items.get(0).getContent().trim());
+
+        assertEquals("PATCH", items.get(1).getMethod());
+        assertEquals(update.getContent(), items.get(1).getContent().trim());
+
+        assertEquals("DELETE", items.get(2).getMethod());
+        assertEquals("/groups/root", items.get(2).getRequestURI());
+        assertNull(items.get(2).getQueryString());
+        assertTrue(items.get(2).getContent().trim().isEmpty());
+    }
+
+    @Test
+    public void ignoreAfterCloseDelimiter() throws IOException {
+        String payload = BatchPayloadGenerator.generate(
+                Collections.singletonList(item("POST", "/users", "{}")), JAXRSService.DOUBLE_DASH + BOUNDARY)
+                + BatchPayloadGenerator.generatePart(item("DELETE", "/users/rossini", null),
+                        JAXRSService.DOUBLE_DASH + BOUNDARY);
+
+        List<BatchRequestItem> items = new ArrayList<>();
+        BatchPayloadParser.parse(stream(payload), MEDIA_TYPE, new BatchRequestItem(), items::add);
+        assertEquals(1, items.size());
+        assertEquals("POST", items.get(0).getMethod());
+    }
+
+    @Test
+    public void missingCloseDelimiter() {
+        String payload = BatchPayloadGenerator.generatePart(
+                item("POST", "/users", "{}"), JAXRSService.DOUBLE_DASH + BOUNDARY)
+                + BatchPayloadGenerator.generatePart(
+                        item("DELETE", "/users/rossini", null), JAXRSService.DOUBLE_DASH + BOUNDARY);
+
+        // items are provided as soon as parsed, before the payload is found to be incomplete
+        List<BatchRequestItem> items = new ArrayList<>();
+        assertThrows(IllegalArgumentException.class, () -> BatchPayloadParser.parse(
+                stream(payload), MEDIA_TYPE, new BatchRequestItem(), items::add));
+        assertEquals(1, items.size());
+        assertEquals("POST", items.get(0).getMethod());
+    }
+
+    @Test
+    public void wrongBoundary() {
+        String payload = BatchPayloadGenerator.generate(
+                Collections.singletonList(item("POST", "/users", "{}")), JAXRSService.DOUBLE_DASH + "another");
+
+        List<BatchRequestItem> items = new ArrayList<>();
+        assertThrows(IllegalArgumentException.class, () -> BatchPayloadParser.parse(
+                stream(payload), MEDIA_TYPE, new BatchRequestItem(), items::add));
+        assertTrue(items.isEmpty());
+    }
+
+    @Test
+    public void empty() {
+        assertThrows(IllegalArgumentException.class, () -> BatchPayloadParser.parse(
+                stream(""), MEDIA_TYPE, new BatchRequestItem(), item -> {
+                }));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.rest.cxf.batch;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+public class BatchPayloadSpoolTest {
+
+    private static final String PAYLOAD = "--batch_123\r\n"
+            + "Content-Type: application/http\n"
+            + "Content-Transfer-Encoding: binary\n"
+            + "\r\n"
+            + "POST /users HTTP/1.1\n"
+            + "Content-Type: application/json\n"
+            + "\r\n"
+            + "{\"username\":\"rossini\",\"password\":\"Password123\"}\n"
+            + "--batch_123--\n";
+
+    private static byte[] read(final InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void spool() throws IOException {
+        byte[] payload = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+
+        BatchPayloadSpool spool = BatchPayloadSpool.spool(new ByteArrayInputStream(payload));
+        try {
+            assertTrue(Files.exists(spool.getFile()));
+            if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+                assertEquals("rw-------",
+                        PosixFilePermissions.toString(Files.getPosixFilePermissions(spool.getFile())));
+            }
+
+            // never in cleartext on disk
+            byte[] onDisk = Files.readAllBytes(spool.getFile());
+            assertEquals(payload.length, onDisk.length);
+            assertFalse(new String(onDisk, StandardCharsets.ISO_8859_1).contains("Password123"));
+
+            // can be read more than once
+            try (InputStream in = spool.open()) {
+                assertArrayEquals(payload, read(in));
+            }
+            try (InputStream in = spool.open()) {
+                assertArrayEquals(payload, read(in));
+            }
+        } finally {
+            spool.delete();
+        }
+
+        assertFalse(Files.exists(spool.getFile()));
+        // safe to invoke more than once
+        spool.delete();
+    }
+
+    @Test
+    public void removedOnReadFailure() {
+        InputStream failing = new InputStream() {
+
+            private int count = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (count++ > 10) {
+                    throw new IOException("Connection reset");
+                }
+                return 'x';
+            }
+        };
+
+        long before = tempPayloads();
+        assertThrows(IOException.class, () -> BatchPayloadSpool.spool(failing));
+        assertEquals(before, tempPayloads());
+    }
+
+    private static long tempPayloads() {
+        try (Stream<Path> files = Files.list(FileSystems.getDefault().getPath(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(path -> path.getFileName().toString().startsWith("batch")
+                    && path.getFileName().toString().endsWith(".payload")).
+                    count();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.syncope.core.rest.cxf.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -40,6 +41,8 @@ import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.UUID;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
@@ -77,11 +80,13 @@ import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
 import org.apache.syncope.core.rest.cxf.AddETagFilter;
 import org.apache.syncope.core.rest.cxf.RestServiceExceptionMapper;
+import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -90,8 +95,18 @@ public class AnyObjectServiceTest {
 
     private static final String LOCAL_ADDRESS = "local://anyObjects";
 
+    private static final String PRINTER_KEY = "fc6dbc3a-6c07-4965-8781-921e7401a4a5";
+
+    private static final String UNAUTHORIZED_KEY = "8559d14d-58c2-46eb-a2d4-a7d35161e8f8";
+
+    private static final String ANONYMOUS_KEY = "9e1d130c-d6a3-48b1-98b3-182477ed0688";
+
+    private static final Date PRINTER_LAST_CHANGE = new Date();
+
     private static Server SERVER;
 
+    private static String IF_NONE_MATCH;
+
     @Autowired
     private JAXBElementProvider<?> jaxbProvider;
 
@@ -128,7 +143,8 @@ public class AnyObjectServiceTest {
             AnyObjectDAO anyObjectDAO = mock(AnyObjectDAO.class);
 
             AnyObjectLogic logic = mock(AnyObjectLogic.class);
-            when(logic.search(any(SearchCond.class), anyInt(), anyInt(), anyList(), anyString(), anyBoolean())).
+            when(logic.search(
+                    any(SearchCond.class), anyInt(), anyInt(), anyList(), anyString(), anyBoolean(), anyBoolean())).
                     thenAnswer(ic -> {
                         AnyObjectTO printer1 = new AnyObjectTO();
                         printer1.setKey(UUID.randomUUID().toString());
@@ -153,6 +169,20 @@ public class AnyObjectServiceTest {
                 return result;
             });
 
+            when(logic.read(anyString())).thenAnswer(ic -> {
+                AnyObjectTO printer = new AnyObjectTO();
+                printer.setKey(ic.getArgument(0));
+                printer.setName("printer");
+                printer.setType("PRINTER");
+                printer.setLastChangeDate(PRINTER_LAST_CHANGE);
+                return printer;
+            });
+            // mimic the security checks performed by the logic layer
+            when(logic.findLastChange(PRINTER_KEY)).thenReturn(PRINTER_LAST_CHANGE);
+            when(logic.findLastChange(UNAUTHORIZED_KEY)).
+                    thenThrow(new DelegatedAdministrationException("/", "PRINTER", UNAUTHORIZED_KEY));
+            when(logic.findLastChange(ANONYMOUS_KEY)).thenThrow(new AccessDeniedException("Access is denied"));
+
             SearchCondVisitor searchCondVisitor = mock(SearchCondVisitor.class);
             when(searchCondVisitor.getQuery()).thenReturn(new SearchCond());
 
@@ -174,8 +204,18 @@ public class AnyObjectServiceTest {
 
             Request request = mock(Request.class);
             when(request.evaluatePreconditions(any(Date.class))).thenReturn(Response.notModified());
+            when(request.evaluatePreconditions(any(EntityTag.class))).thenAnswer(ic -> {
+                EntityTag etag = ic.getArgument(0);
+                return IF_NONE_MATCH != null && EntityTag.valueOf(IF_NONE_MATCH).getValue().equals(etag.getValue())
+                        ? Response.notModified()
+                        : null;
+            });
             when(messageContext.getRequest()).thenReturn(request);
 
+            HttpHeaders httpHeaders = mock(HttpHeaders.class);
+            when(httpHeaders.getHeaderString(HttpHeaders.IF_NONE_MATCH)).thenAnswer(ic -> IF_NONE_MATCH);
+            when(messageContext.getHttpHeaders()).thenReturn(httpHeaders);
+
             AnyObjectServiceImpl service = new AnyObjectServiceImpl();
             ReflectionTestUtils.setField(service, "anyObjectDAO", anyObjectDAO);
             ReflectionTestUtils.setField(service, "logic", logic);
@@ -286,4 +326,48 @@ public class AnyObjectServiceTest {
     public void yamlCreate() {
         create(RESTHeaders.APPLICATION_YAML_TYPE);
     }
+
+    private Response conditionalRead(final String key, final String ifNoneMatch) {
+        IF_NONE_MATCH = ifNoneMatch;
+        try {
+            return client(MediaType.APPLICATION_JSON_TYPE).
+                    path(key).
+                    header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch).
+                    get();
+        } finally {
+            IF_NONE_MATCH = null;
+        }
+    }
+
+    @Test
+    public void conditionalRead() {
+        String etag = new EntityTag(String.valueOf(PRINTER_LAST_CHANGE.getTime())).toString();
+
+        // matching ETag
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), conditionalRead(PRINTER_KEY, etag).getStatus());
+
+        // stale ETag
+        Response response = conditionalRead(
+                PRINTER_KEY, new EntityTag(String.valueOf(PRINTER_LAST_CHANGE.getTime() - 1000)).toString());
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(PRINTER_KEY, response.readEntity(AnyObjectTO.class).getKey());
+    }
+
+    @Test
+    public void conditionalReadUnauthorized() {
+        String etag = new EntityTag(String.valueOf(PRINTER_LAST_CHANGE.getTime())).toString();
+
+        assertEquals(
+                Response.Status.FORBIDDEN.getStatusCode(),
+                conditionalRead(UNAUTHORIZED_KEY, etag).getStatus());
+    }
+
+    @Test
+    public void conditionalReadAnonymous() {
+        String etag = new EntityTag(String.valueOf(PRINTER_LAST_CHANGE.getTime())).toString();
+
+        int status = conditionalRead(ANONYMOUS_KEY, etag).getStatus();
+        assertNotEquals(Response.Status.NOT_MODIFIED.getStatusCode(), status);
+        assertNotEquals(Response.Status.OK.getStatusCode(), status);
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.syncope.common.lib.types.CipherAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares AES encoding / decoding throughput of {@link Encryptor} with the previous approach, where a new
+ * {@link Cipher} was looked up and initialized at each invocation.
+ * Only built with the {@code benchmarks} profile and not run as part of the test suite; launch with
+ * {@code mvn -Pbenchmarks -pl core/spring test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.apache.syncope.core.spring.security.EncryptorBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class EncryptorBenchmark {
+
+    private static final int BULK_SIZE = 100;
+
+    /**
+     * SSHA256 digest of "password", as found in {@link EncryptorTest}.
+     */
+    private static final String SSHA256 = "b098017d584647e3fa1f3e0eb437648aefa84093c15e0d3efb752a4183cfdcf3666ac543";
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(EncryptorBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private Encryptor encryptor;
+
+    private SecretKeySpec keySpec;
+
+    private List<String> values;
+
+    private List<String> encoded;
+
+    @Setup
+    public void setup() throws Exception {
+        encryptor = Encryptor.getInstance();
+        keySpec = new SecretKeySpec(ArrayUtils.subarray(
+                "1abcdefghilmnopqrstuvz2!".getBytes(StandardCharsets.UTF_8), 0, 16),
+                CipherAlgorithm.AES.getAlgorithm());
+
+        values = IntStream.range(0, BULK_SIZE).mapToObj(i -> "password" + i).collect(Collectors.toList());
+        encoded = encryptor.encodeAll(values, CipherAlgorithm.AES);
+    }
+
+    @Benchmark
+    public String encodeNewCipher() throws Exception {
+        Cipher cipher = Cipher.getInstance(CipherAlgorithm.AES.getAlgorithm());
+        cipher.init(Cipher.ENCRYPT_MODE, keySpec);
+        return Base64.getEncoder().encodeToString(cipher.doFinal(values.get(0).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public String encode() throws Exception {
+        return encryptor.encode(values.get(0), CipherAlgorithm.AES);
+    }
+
+    @Benchmark
+    public String decodeNewCipher() throws Exception {
+        Cipher cipher = Cipher.getInstance(CipherAlgorithm.AES.getAlgorithm());
+        cipher.init(Cipher.DECRYPT_MODE, keySpec);
+        return new String(cipher.doFinal(Base64.getDecoder().decode(encoded.get(0))), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String decode() throws Exception {
+        return encryptor.decode(encoded.get(0), CipherAlgorithm.AES);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public List<String> decodeAll() throws Exception {
+        return encryptor.decodeAll(encoded, CipherAlgorithm.AES);
+    }
+
+    @Benchmark
+    public boolean verifySSHA256() {
+        return encryptor.verify("password", CipherAlgorithm.SSHA256, SSHA256);
+    }
+}
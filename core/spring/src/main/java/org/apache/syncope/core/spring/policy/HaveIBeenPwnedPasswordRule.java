@@ -53,6 +53,8 @@ public class HaveIBeenPwnedPasswordRule implements PasswordRule {
 
     private static final Encryptor ENCRYPTOR = Encryptor.getInstance();
 
+    private static final RestTemplate REST_TEMPLATE = new RestTemplate();
+
     private HaveIBeenPwnedPasswordRuleConf conf;
 
     @Override
@@ -76,7 +78,7 @@ public class HaveIBeenPwnedPasswordRule implements PasswordRule {
 
             HttpHeaders headers = new HttpHeaders();
             headers.set(HttpHeaders.USER_AGENT, "Apache Syncope");
-            ResponseEntity<String> response = new RestTemplate().exchange(
+            ResponseEntity<String> response = REST_TEMPLATE.exchange(
                     URI.create("https://api.pwnedpasswords.com/range/" + sha1.substring(0, 5)),
                     HttpMethod.GET,
                     new HttpEntity<>(null, headers),
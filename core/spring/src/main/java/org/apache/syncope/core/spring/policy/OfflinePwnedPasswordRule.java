@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.policy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.policy.OfflinePwnedPasswordRuleConf;
+import org.apache.syncope.common.lib.policy.PasswordRuleConf;
+import org.apache.syncope.core.persistence.api.dao.PasswordRule;
+import org.apache.syncope.core.persistence.api.dao.PasswordRuleConfClass;
+import org.apache.syncope.core.persistence.api.entity.user.LinkedAccount;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.spring.security.Encryptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Offline counterpart of {@link HaveIBeenPwnedPasswordRule}, checking passwords against a local
+ * {@link PwnedPasswordIndex} instead of contacting the PwnedPasswords service.
+ */
+@PasswordRuleConfClass(OfflinePwnedPasswordRuleConf.class)
+public class OfflinePwnedPasswordRule implements PasswordRule {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(OfflinePwnedPasswordRule.class);
+
+    private static final Encryptor ENCRYPTOR = Encryptor.getInstance();
+
+    private static final ThreadLocal<MessageDigest> SHA1 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private static final ThreadLocal<byte[]> HASH = ThreadLocal.withInitial(() -> new byte[20]);
+
+    private OfflinePwnedPasswordRuleConf conf;
+
+    @Override
+    public OfflinePwnedPasswordRuleConf getConf() {
+        return conf;
+    }
+
+    @Override
+    public void setConf(final PasswordRuleConf conf) {
+        if (conf instanceof OfflinePwnedPasswordRuleConf) {
+            this.conf = (OfflinePwnedPasswordRuleConf) conf;
+        } else {
+            throw new IllegalArgumentException(
+                    OfflinePwnedPasswordRuleConf.class.getName() + " expected, got " + conf.getClass().getName());
+        }
+    }
+
+    protected void enforce(final String clearPassword) {
+        if (StringUtils.isBlank(conf.getIndexFile())) {
+            LOG.error("No index file configured, cannot check for pwned passwords");
+            return;
+        }
+
+        try {
+            PwnedPasswordIndex index = PwnedPasswordIndex.get(Paths.get(conf.getIndexFile()));
+
+            MessageDigest digest = SHA1.get();
+            byte[] hash = HASH.get();
+            digest.update(clearPassword.getBytes(StandardCharsets.UTF_8));
+            digest.digest(hash, 0, hash.length);
+
+            if (index.contains(hash)) {
+                throw new PasswordPolicyException("Password pwned");
+            }
+        } catch (IOException e) {
+            LOG.error("Could not read the pwned password index {}", conf.getIndexFile(), e);
+        } catch (DigestException e) {
+            LOG.error("Could not compute the password value SHA1", e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void enforce(final User user, final String clearPassword) {
+        Optional.ofNullable(clearPassword).ifPresent(this::enforce);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void enforce(final LinkedAccount account) {
+        if (account.getPassword() != null) {
+            String clearPassword = null;
+            if (account.canDecodeSecrets()) {
+                try {
+                    clearPassword = ENCRYPTOR.decode(account.getPassword(), account.getCipherAlgorithm());
+                } catch (Exception e) {
+                    LOG.error("Could not decode password for {}", account, e);
+                }
+            }
+
+            if (clearPassword != null) {
+                enforce(clearPassword);
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.policy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only, memory-mapped index of breached password SHA-1 hashes, as generated by
+ * {@link PwnedPasswordIndexBuilder}.
+ *
+ * The index file is made of a fixed-size header, an optional Bloom filter and the sorted list of SHA-1 hashes;
+ * lookups first check the Bloom filter (if available) then binary search the hashes, without any allocation.
+ * Index files replaced on disk (as done by {@link PwnedPasswordIndexBuilder}) are picked up automatically.
+ */
+public final class PwnedPasswordIndex {
+
+    static final int MAGIC = 0x48494250;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 32;
+
+    static final int RECORD_SIZE = 20;
+
+    /**
+     * Mapped segment size, multiple of {@link #RECORD_SIZE} so that no record spans across two segments.
+     */
+    static final int SEGMENT_SIZE = RECORD_SIZE * (1 << 25);
+
+    private static final long CHECK_INTERVAL = 10000L;
+
+    private static final Map<Path, PwnedPasswordIndex> INDEXES = new ConcurrentHashMap<>();
+
+    /**
+     * Memory-mapped file region, split into as many segments as needed to overcome the 2 GB limit of each
+     * {@link MappedByteBuffer}.
+     */
+    static final class Region {
+
+        private final MappedByteBuffer[] segments;
+
+        Region(final FileChannel channel, final FileChannel.MapMode mode, final long offset, final long length)
+                throws IOException {
+
+            segments = new MappedByteBuffer[(int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i * SEGMENT_SIZE;
+                segments[i] = channel.map(mode, offset + start, Math.min(SEGMENT_SIZE, length - start));
+            }
+        }
+
+        byte get(final long pos) {
+            return segments[(int) (pos / SEGMENT_SIZE)].get((int) (pos % SEGMENT_SIZE));
+        }
+
+        void put(final long pos, final byte value) {
+            segments[(int) (pos / SEGMENT_SIZE)].put((int) (pos % SEGMENT_SIZE), value);
+        }
+
+        /**
+         * Compares the given hash with the one at the given position, as unsigned bytes.
+         */
+        int compare(final byte[] hash, final long pos) {
+            MappedByteBuffer segment = segments[(int) (pos / SEGMENT_SIZE)];
+            int base = (int) (pos % SEGMENT_SIZE);
+            for (int i = 0; i < RECORD_SIZE; i++) {
+                int diff = (hash[i] & 0xFF) - (segment.get(base + i) & 0xFF);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return 0;
+        }
+
+        void force() {
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        }
+    }
+
+    /**
+     * Bit index of the {@code i}-th Bloom filter hash function, computed via double hashing over the SHA-1 bytes,
+     * which are already uniformly distributed.
+     */
+    static long bloomBit(final byte[] hash, final int i, final long bloomBits) {
+        long h1 = 0;
+        long h2 = 0;
+        for (int j = 0; j < 8; j++) {
+            h1 = (h1 << 8) | (hash[j] & 0xFF);
+            h2 = (h2 << 8) | (hash[j + 8] & 0xFF);
+        }
+        return Math.floorMod(h1 + i * h2, bloomBits);
+    }
+
+    /**
+     * Returns the index for the given file, opening it or re-opening it if replaced on disk since last check.
+     *
+     * @param path index file path
+     * @return index
+     * @throws IOException if the index file cannot be read
+     */
+    public static PwnedPasswordIndex get(final Path path) throws IOException {
+        PwnedPasswordIndex index = INDEXES.get(path);
+        if (index == null || index.isStale()) {
+            synchronized (INDEXES) {
+                index = INDEXES.get(path);
+                if (index == null || index.isStale()) {
+                    index = new PwnedPasswordIndex(path);
+                    INDEXES.put(path, index);
+                }
+            }
+        }
+        return index;
+    }
+
+    private final Path path;
+
+    private final FileTime lastModified;
+
+    private volatile long lastCheck;
+
+    private final long count;
+
+    private final int bloomHashes;
+
+    private final long bloomBits;
+
+    private final Region bloom;
+
+    private final Region records;
+
+    private PwnedPasswordIndex(final Path path) throws IOException {
+        this.path = path;
+        this.lastModified = Files.getLastModifiedTime(path);
+        this.lastCheck = System.currentTimeMillis();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException(path + " is not a valid pwned password index");
+            }
+            count = header.getLong();
+            bloomHashes = header.getInt();
+            bloomBits = header.getLong();
+
+            long bloomSize = bloomSize(bloomBits);
+            if (channel.size() != HEADER_SIZE + bloomSize + count * RECORD_SIZE) {
+                throw new IOException(path + " is truncated or corrupted");
+            }
+
+            bloom = bloomBits == 0
+                    ? null
+                    : new Region(channel, FileChannel.MapMode.READ_ONLY, HEADER_SIZE, bloomSize);
+            records = count == 0
+                    ? null
+                    : new Region(channel, FileChannel.MapMode.READ_ONLY, HEADER_SIZE + bloomSize,
+                            count * RECORD_SIZE);
+        }
+    }
+
+    static long bloomSize(final long bloomBits) {
+        return ((bloomBits + 63) / 64) * 8;
+    }
+
+    private boolean isStale() {
+        long now = System.currentTimeMillis();
+        if (now - lastCheck < CHECK_INTERVAL) {
+            return false;
+        }
+        lastCheck = now;
+
+        try {
+            return !lastModified.equals(Files.getLastModifiedTime(path));
+        } catch (IOException e) {
+            // index file being replaced: keep using the current mapping
+            return false;
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public boolean hasBloomFilter() {
+        return bloom != null;
+    }
+
+    /**
+     * Checks whether the given SHA-1 hash is present in this index.
+     *
+     * @param hash SHA-1 hash, 20 bytes
+     * @return whether the given hash is present in this index
+     */
+    public boolean contains(final byte[] hash) {
+        if (records == null) {
+            return false;
+        }
+
+        if (bloom != null) {
+            for (int i = 0; i < bloomHashes; i++) {
+                long bit = bloomBit(hash, i, bloomBits);
+                if ((bloom.get(bit >>> 3) & (1 << (bit & 7))) == 0) {
+                    return false;
+                }
+            }
+        }
+
+        long low = 0;
+        long high = count - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            int cmp = records.compare(hash, mid * RECORD_SIZE);
+            if (cmp == 0) {
+                return true;
+            }
+            if (cmp > 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return false;
+    }
+}
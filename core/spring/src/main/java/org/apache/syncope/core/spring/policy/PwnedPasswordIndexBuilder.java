@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.policy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builds (or rotates) a {@link PwnedPasswordIndex} file from the Have I Been Pwned SHA-1 corpus, ordered by hash,
+ * as downloadable from https://haveibeenpwned.com/Passwords: each line is expected as {@code HASH:COUNT} or just
+ * {@code HASH}.
+ *
+ * The new index is first written next to the target file, then atomically moved in place, so that running
+ * rules pick it up without interruptions.
+ *
+ * Usage: {@code PwnedPasswordIndexBuilder <source> <target> [bloom false positive probability, 0 to disable]}
+ */
+public final class PwnedPasswordIndexBuilder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PwnedPasswordIndexBuilder.class);
+
+    public static final double DEFAULT_BLOOM_FPP = 0.001;
+
+    private static byte[] parse(final String line, final long lineNumber) throws IOException {
+        String hex = StringUtils.substringBefore(line.trim(), ":");
+        if (hex.length() != PwnedPasswordIndex.RECORD_SIZE * 2) {
+            throw new IOException("Invalid SHA-1 hash at line " + lineNumber + ": " + line);
+        }
+
+        byte[] hash = new byte[PwnedPasswordIndex.RECORD_SIZE];
+        for (int i = 0; i < hash.length; i++) {
+            int high = Character.digit(hex.charAt(2 * i), 16);
+            int low = Character.digit(hex.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                throw new IOException("Invalid SHA-1 hash at line " + lineNumber + ": " + line);
+            }
+            hash[i] = (byte) ((high << 4) | low);
+        }
+        return hash;
+    }
+
+    private static int compare(final byte[] left, final byte[] right) {
+        for (int i = 0; i < left.length; i++) {
+            int diff = (left[i] & 0xFF) - (right[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Writes the sorted, de-duplicated hashes found in source as binary records.
+     */
+    private static long writeRecords(final Path source, final Path records) throws IOException {
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.US_ASCII);
+                OutputStream out = new BufferedOutputStream(Files.newOutputStream(records), 1 << 16)) {
+
+            byte[] previous = null;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (StringUtils.isBlank(line)) {
+                    continue;
+                }
+
+                byte[] hash = parse(line, lineNumber);
+                if (previous != null) {
+                    int cmp = compare(previous, hash);
+                    if (cmp > 0) {
+                        throw new IOException("Source is not ordered by hash at line " + lineNumber);
+                    }
+                    if (cmp == 0) {
+                        continue;
+                    }
+                }
+
+                out.write(hash);
+                previous = hash;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Builds the index file for the given source.
+     *
+     * @param source Have I Been Pwned SHA-1 corpus, ordered by hash
+     * @param target index file to create or replace
+     * @param bloomFpp Bloom filter false positive probability, 0 to disable the Bloom filter
+     * @return number of hashes in the generated index
+     * @throws IOException if source cannot be read or is invalid, or if target cannot be written
+     */
+    public static long build(final Path source, final Path target, final double bloomFpp) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        Path records = Files.createTempFile(dir, target.getFileName().toString(), ".records");
+        Path index = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+        try {
+            long count = writeRecords(source, records);
+
+            long bloomBits = 0;
+            int bloomHashes = 0;
+            if (bloomFpp > 0 && bloomFpp < 1 && count > 0) {
+                bloomBits = Math.max(64, (long) Math.ceil(-count * Math.log(bloomFpp) / (Math.log(2) * Math.log(2))));
+                bloomHashes = Math.max(1, (int) Math.round((double) bloomBits / count * Math.log(2)));
+            }
+            long bloomSize = PwnedPasswordIndex.bloomSize(bloomBits);
+
+            try (FileChannel channel = FileChannel.open(index,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+                ByteBuffer header = ByteBuffer.allocate(PwnedPasswordIndex.HEADER_SIZE);
+                header.putInt(PwnedPasswordIndex.MAGIC).
+                        putInt(PwnedPasswordIndex.VERSION).
+                        putLong(count).
+                        putInt(bloomHashes).
+                        putLong(bloomBits);
+                header.rewind();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+
+                if (bloomSize > 0) {
+                    PwnedPasswordIndex.Region bloom = new PwnedPasswordIndex.Region(
+                            channel, FileChannel.MapMode.READ_WRITE, PwnedPasswordIndex.HEADER_SIZE, bloomSize);
+                    try (DataInputStream in = new DataInputStream(
+                            new BufferedInputStream(Files.newInputStream(records), 1 << 16))) {
+
+                        byte[] hash = new byte[PwnedPasswordIndex.RECORD_SIZE];
+                        for (long i = 0; i < count; i++) {
+                            in.readFully(hash);
+                            for (int j = 0; j < bloomHashes; j++) {
+                                long bit = PwnedPasswordIndex.bloomBit(hash, j, bloomBits);
+                                bloom.put(bit >>> 3, (byte) (bloom.get(bit >>> 3) | (1 << (bit & 7))));
+                            }
+                        }
+                    } catch (EOFException e) {
+                        throw new IOException("Unexpected end of " + records, e);
+                    }
+                    bloom.force();
+                }
+
+                try (FileChannel recordsChannel = FileChannel.open(records, StandardOpenOption.READ)) {
+                    long position = PwnedPasswordIndex.HEADER_SIZE + bloomSize;
+                    long transferred = 0;
+                    while (transferred < recordsChannel.size()) {
+                        transferred += channel.transferFrom(
+                                recordsChannel.position(transferred), position + transferred,
+                                recordsChannel.size() - transferred);
+                    }
+                }
+                channel.force(true);
+            }
+
+            Files.move(index, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOG.info("Built {} with {} hashes, Bloom filter: {} bits / {} hash functions",
+                    target, count, bloomBits, bloomHashes);
+            return count;
+        } finally {
+            Files.deleteIfExists(records);
+            Files.deleteIfExists(index);
+        }
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: " + PwnedPasswordIndexBuilder.class.getName()
+                    + " <source> <target> [bloom false positive probability, 0 to disable; default "
+                    + DEFAULT_BLOOM_FPP + "]");
+            System.exit(1);
+        }
+
+        long count = build(
+                Paths.get(args[0]),
+                Paths.get(args[1]),
+                args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_BLOOM_FPP);
+        System.out.println("Index " + args[1] + " built with " + count + " hashes from " + args[0]);
+    }
+
+    private PwnedPasswordIndexBuilder() {
+        // private constructor for static utility class
+    }
+}
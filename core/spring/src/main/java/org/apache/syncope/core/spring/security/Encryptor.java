@@ -22,13 +22,16 @@ import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.Mac;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.spec.SecretKeySpec;
 import org.apache.commons.lang3.ArrayUtils;
@@ -36,7 +39,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.PropertyUtils;
 import org.apache.syncope.common.lib.types.CipherAlgorithm;
 import org.jasypt.commons.CommonUtils;
-import org.jasypt.digest.StandardStringDigester;
+import org.jasypt.digest.PooledStringDigester;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.bcrypt.BCrypt;
@@ -49,28 +52,37 @@ public final class Encryptor {
 
     private static final String DEFAULT_SECRET_KEY = "1abcdefghilmnopqrstuvz2!";
 
+    private static final String FINGERPRINT_ALGORITHM = "HmacSHA256";
+
+    /**
+     * HKDF info used to derive the fingerprint key from the secret key, so that the latter is never used directly.
+     */
+    private static final byte[] FINGERPRINT_KEY_INFO = "syncope-fingerprint".getBytes(StandardCharsets.UTF_8);
+
+    private static final int DIGESTER_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
     /**
-     * Default value for salted {@link StandardStringDigester#setIterations(int)}.
+     * Default value for salted {@link PooledStringDigester#setIterations(int)}.
      */
     private static final int DEFAULT_SALT_ITERATIONS = 1;
 
     /**
-     * Default value for {@link StandardStringDigester#setSaltSizeBytes(int)}.
+     * Default value for {@link PooledStringDigester#setSaltSizeBytes(int)}.
      */
     private static final int DEFAULT_SALT_SIZE_BYTES = 8;
 
     /**
-     * Default value for {@link StandardStringDigester#setInvertPositionOfPlainSaltInEncryptionResults(boolean)}.
+     * Default value for {@link PooledStringDigester#setInvertPositionOfPlainSaltInEncryptionResults(boolean)}.
      */
     private static final boolean DEFAULT_IPOPSIER = true;
 
     /**
-     * Default value for salted {@link StandardStringDigester#setInvertPositionOfSaltInMessageBeforeDigesting(boolean)}.
+     * Default value for salted {@link PooledStringDigester#setInvertPositionOfSaltInMessageBeforeDigesting(boolean)}.
      */
     private static final boolean DEFAULT_IPOSIMBD = true;
 
     /**
-     * Default value for salted {@link StandardStringDigester#setUseLenientSaltSizeCheck(boolean)}.
+     * Default value for salted {@link PooledStringDigester#setUseLenientSaltSizeCheck(boolean)}.
      */
     private static final boolean DEFAULT_ULSSC = true;
 
@@ -142,10 +154,22 @@ public final class Encryptor {
         return instance;
     }
 
-    private final Map<CipherAlgorithm, StandardStringDigester> digesters = new ConcurrentHashMap<>();
+    private final Map<CipherAlgorithm, PooledStringDigester> digesters = new ConcurrentHashMap<>();
+
+    /**
+     * {@link Cipher} and {@link Mac} instances are not thread-safe but can be reused once initialized: keep one per
+     * thread, so that provider lookup and key schedule are not repeated at each invocation.
+     */
+    private final ThreadLocal<Cipher> encryptCiphers = new ThreadLocal<>();
+
+    private final ThreadLocal<Cipher> decryptCiphers = new ThreadLocal<>();
+
+    private final ThreadLocal<Mac> macs = new ThreadLocal<>();
 
     private SecretKeySpec keySpec;
 
+    private SecretKeySpec fingerprintKeySpec;
+
     private Encryptor(final String secretKey) {
         String actualKey = secretKey;
         if (actualKey.length() < 16) {
@@ -164,11 +188,64 @@ public final class Encryptor {
             keySpec = new SecretKeySpec(ArrayUtils.subarray(
                     actualKey.getBytes(StandardCharsets.UTF_8), 0, 16),
                     CipherAlgorithm.AES.getAlgorithm());
+            fingerprintKeySpec = new SecretKeySpec(
+                    deriveKey(actualKey.getBytes(StandardCharsets.UTF_8), FINGERPRINT_KEY_INFO),
+                    FINGERPRINT_ALGORITHM);
         } catch (Exception e) {
             LOG.error("Error during key specification", e);
         }
     }
 
+    /**
+     * Derives a key from the given input keying material via HKDF-SHA256 (RFC 5869), with no salt and a single
+     * output block.
+     *
+     * @param ikm input keying material
+     * @param info context information
+     * @return derived key
+     */
+    private static byte[] deriveKey(final byte[] ikm, final byte[] info)
+            throws NoSuchAlgorithmException, InvalidKeyException {
+
+        Mac mac = Mac.getInstance(FINGERPRINT_ALGORITHM);
+
+        // extract
+        mac.init(new SecretKeySpec(new byte[mac.getMacLength()], FINGERPRINT_ALGORITHM));
+        byte[] prk = mac.doFinal(ikm);
+
+        // expand
+        mac.init(new SecretKeySpec(prk, FINGERPRINT_ALGORITHM));
+        mac.update(info);
+        mac.update((byte) 1);
+        return mac.doFinal();
+    }
+
+    private Cipher getCipher(final ThreadLocal<Cipher> ciphers, final int mode)
+            throws NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException {
+
+        Cipher cipher = ciphers.get();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(CipherAlgorithm.AES.getAlgorithm());
+            cipher.init(mode, keySpec);
+            ciphers.set(cipher);
+        }
+        return cipher;
+    }
+
+    private byte[] doFinal(final ThreadLocal<Cipher> ciphers, final int mode, final byte[] input)
+            throws NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException,
+            IllegalBlockSizeException, BadPaddingException {
+
+        try {
+            // doFinal() resets the cipher to its initial state, ready for the next invocation
+            return getCipher(ciphers, mode).doFinal(input);
+        } catch (IllegalBlockSizeException | BadPaddingException e) {
+            // cipher state is not guaranteed after a failure: discard it
+            ciphers.remove();
+            throw e;
+        }
+    }
+
     public String encode(final String value, final CipherAlgorithm cipherAlgorithm)
             throws UnsupportedEncodingException, NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException,
             IllegalBlockSizeException, BadPaddingException {
@@ -177,10 +254,8 @@ public final class Encryptor {
 
         if (value != null) {
             if (cipherAlgorithm == null || cipherAlgorithm == CipherAlgorithm.AES) {
-                Cipher cipher = Cipher.getInstance(CipherAlgorithm.AES.getAlgorithm());
-                cipher.init(Cipher.ENCRYPT_MODE, keySpec);
-
-                encoded = Base64.getEncoder().encodeToString(cipher.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+                encoded = Base64.getEncoder().encodeToString(
+                        doFinal(encryptCiphers, Cipher.ENCRYPT_MODE, value.getBytes(StandardCharsets.UTF_8)));
             } else if (cipherAlgorithm == CipherAlgorithm.BCRYPT) {
                 encoded = BCrypt.hashpw(value, BCrypt.gensalt());
             } else {
@@ -211,6 +286,39 @@ public final class Encryptor {
         return verified;
     }
 
+    /**
+     * Computes a keyed (HMAC-SHA256) fingerprint of the given value and salt: being way cheaper than BCRYPT or salted
+     * digests, fingerprints can be used for quick equality checks before (or instead of) {@link #verify}.
+     * The key is derived from - but different than - the secret key.
+     *
+     * @param value value to fingerprint
+     * @param salt salt, to be stored along with the fingerprint
+     * @return Base64-encoded fingerprint, or {@code null} if the given value is {@code null} or in case of errors
+     */
+    public String fingerprint(final String value, final String salt) {
+        String fingerprint = null;
+
+        if (value != null) {
+            try {
+                Mac mac = macs.get();
+                if (mac == null) {
+                    mac = Mac.getInstance(FINGERPRINT_ALGORITHM);
+                    mac.init(fingerprintKeySpec);
+                    macs.set(mac);
+                }
+
+                // doFinal() resets the MAC, ready for the next invocation
+                mac.update(StringUtils.defaultString(salt).getBytes(StandardCharsets.UTF_8));
+                mac.update((byte) 0);
+                fingerprint = Base64.getEncoder().encodeToString(mac.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+            } catch (Exception e) {
+                LOG.error("Could not compute fingerprint", e);
+            }
+        }
+
+        return fingerprint;
+    }
+
     public String decode(final String encoded, final CipherAlgorithm cipherAlgorithm)
             throws UnsupportedEncodingException, NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException,
             IllegalBlockSizeException, BadPaddingException {
@@ -218,19 +326,69 @@ public final class Encryptor {
         String decoded = null;
 
         if (encoded != null && cipherAlgorithm == CipherAlgorithm.AES) {
-            Cipher cipher = Cipher.getInstance(CipherAlgorithm.AES.getAlgorithm());
-            cipher.init(Cipher.DECRYPT_MODE, keySpec);
+            decoded = new String(
+                    doFinal(decryptCiphers, Cipher.DECRYPT_MODE, Base64.getDecoder().decode(encoded)),
+                    StandardCharsets.UTF_8);
+        }
+
+        return decoded;
+    }
 
-            decoded = new String(cipher.doFinal(Base64.getDecoder().decode(encoded)), StandardCharsets.UTF_8);
+    /**
+     * Encodes all the given values with the same algorithm, in the given order; meant for bulk operations, as the
+     * same cipher or digester is reused for all values.
+     *
+     * @param values values to encode
+     * @param cipherAlgorithm algorithm to encode values with
+     * @return encoded values, in the same order
+     * @throws UnsupportedEncodingException if encoding fails
+     * @throws NoSuchAlgorithmException if encoding fails
+     * @throws NoSuchPaddingException if encoding fails
+     * @throws InvalidKeyException if encoding fails
+     * @throws IllegalBlockSizeException if encoding fails
+     * @throws BadPaddingException if encoding fails
+     */
+    public List<String> encodeAll(final List<String> values, final CipherAlgorithm cipherAlgorithm)
+            throws UnsupportedEncodingException, NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException,
+            IllegalBlockSizeException, BadPaddingException {
+
+        List<String> encoded = new ArrayList<>(values.size());
+        for (String value : values) {
+            encoded.add(encode(value, cipherAlgorithm));
         }
+        return encoded;
+    }
 
+    /**
+     * Decodes all the given values with the same algorithm, in the given order; meant for bulk operations, as the
+     * same cipher is reused for all values.
+     *
+     * @param encoded values to decode
+     * @param cipherAlgorithm algorithm values were encoded with
+     * @return decoded values, in the same order
+     * @throws UnsupportedEncodingException if decoding fails
+     * @throws NoSuchAlgorithmException if decoding fails
+     * @throws NoSuchPaddingException if decoding fails
+     * @throws InvalidKeyException if decoding fails
+     * @throws IllegalBlockSizeException if decoding fails
+     * @throws BadPaddingException if decoding fails
+     */
+    public List<String> decodeAll(final List<String> encoded, final CipherAlgorithm cipherAlgorithm)
+            throws UnsupportedEncodingException, NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException,
+            IllegalBlockSizeException, BadPaddingException {
+
+        List<String> decoded = new ArrayList<>(encoded.size());
+        for (String value : encoded) {
+            decoded.add(decode(value, cipherAlgorithm));
+        }
         return decoded;
     }
 
-    private StandardStringDigester getDigester(final CipherAlgorithm cipherAlgorithm) {
-        StandardStringDigester digester = digesters.get(cipherAlgorithm);
-        if (digester == null) {
-            digester = new StandardStringDigester();
+    private PooledStringDigester getDigester(final CipherAlgorithm cipherAlgorithm) {
+        return digesters.computeIfAbsent(cipherAlgorithm, k -> {
+            // StandardStringDigester serializes all invocations on a single MessageDigest instance
+            PooledStringDigester digester = new PooledStringDigester();
+            digester.setPoolSize(DIGESTER_POOL_SIZE);
 
             if (cipherAlgorithm.getAlgorithm().startsWith("S-")) {
                 // Salted ...
@@ -249,9 +407,10 @@ public final class Encryptor {
 
             digester.setStringOutputType(CommonUtils.STRING_OUTPUT_TYPE_HEXADECIMAL);
 
-            digesters.put(cipherAlgorithm, digester);
-        }
+            // initialize now rather than at first usage, when concurrent invocations would contend for it
+            digester.initialize();
 
-        return digester;
+            return digester;
+        });
     }
 }
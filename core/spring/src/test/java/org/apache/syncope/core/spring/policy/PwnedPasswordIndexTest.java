@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.policy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.policy.OfflinePwnedPasswordRuleConf;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PwnedPasswordIndexTest {
+
+    private static final List<String> PWNED = Arrays.asList("password", "123456", "qwerty", "letmein", "Password1");
+
+    @TempDir
+    protected Path tempDir;
+
+    private static byte[] sha1(final String value) throws Exception {
+        return MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String hex(final byte[] hash) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : hash) {
+            hex.append(String.format("%02X", b));
+        }
+        return hex.toString();
+    }
+
+    private Path source() throws Exception {
+        List<String> lines = PWNED.stream().map(password -> {
+            try {
+                return hex(sha1(password)) + ':' + password.length();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).sorted().collect(Collectors.toList());
+
+        Path source = tempDir.resolve("pwned-passwords-sha1-ordered-by-hash.txt");
+        Files.write(source, lines, StandardCharsets.US_ASCII);
+        return source;
+    }
+
+    @Test
+    public void lookup() throws Exception {
+        Path source = source();
+
+        for (double bloomFpp : new double[] { 0, PwnedPasswordIndexBuilder.DEFAULT_BLOOM_FPP }) {
+            Path target = tempDir.resolve("pwned-" + bloomFpp + ".idx");
+            assertEquals(PWNED.size(), PwnedPasswordIndexBuilder.build(source, target, bloomFpp));
+
+            PwnedPasswordIndex index = PwnedPasswordIndex.get(target);
+            assertEquals(PWNED.size(), index.getCount());
+            assertEquals(bloomFpp > 0, index.hasBloomFilter());
+
+            for (String password : PWNED) {
+                assertTrue(index.contains(sha1(password)));
+            }
+            assertFalse(index.contains(sha1("a not-so-common passphrase")));
+        }
+    }
+
+    @Test
+    public void unsortedSource() throws Exception {
+        List<String> lines = Arrays.asList(hex(sha1("aaa")), hex(sha1("mmm")), hex(sha1("zzz")));
+        lines.sort(Comparator.reverseOrder());
+
+        Path source = tempDir.resolve("unsorted.txt");
+        Files.write(source, lines, StandardCharsets.US_ASCII);
+
+        assertThrows(IOException.class,
+                () -> PwnedPasswordIndexBuilder.build(source, tempDir.resolve("unsorted.idx"), 0));
+    }
+
+    @Test
+    public void rule() throws Exception {
+        Path target = tempDir.resolve("pwned.idx");
+        PwnedPasswordIndexBuilder.build(source(), target, PwnedPasswordIndexBuilder.DEFAULT_BLOOM_FPP);
+
+        OfflinePwnedPasswordRuleConf conf = new OfflinePwnedPasswordRuleConf();
+        conf.setIndexFile(target.toString());
+        OfflinePwnedPasswordRule rule = new OfflinePwnedPasswordRule();
+        rule.setConf(conf);
+
+        assertThrows(PasswordPolicyException.class, () -> rule.enforce("letmein"));
+        rule.enforce("a not-so-common passphrase");
+    }
+}
@@ -20,9 +20,22 @@ package org.apache.syncope.core.spring.security;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.crypto.IllegalBlockSizeException;
 import org.apache.syncope.common.lib.types.CipherAlgorithm;
 import org.junit.jupiter.api.Test;
 
@@ -81,4 +94,64 @@ public class EncryptorTest {
         String encPassword = "b098017d584647e3fa1f3e0eb437648aefa84093c15e0d3efb752a4183cfdcf3666ac543";
         assertTrue(ENCRYPTOR.verify(PASSWORD_VALUE, CipherAlgorithm.SSHA256, encPassword));
     }
+
+    @Test
+    public void fingerprint() {
+        String fingerprint = ENCRYPTOR.fingerprint(PASSWORD_VALUE, "salt");
+        assertNotNull(fingerprint);
+        assertEquals(fingerprint, ENCRYPTOR.fingerprint(PASSWORD_VALUE, "salt"));
+        assertNotEquals(fingerprint, ENCRYPTOR.fingerprint(PASSWORD_VALUE + "diff", "salt"));
+
+        // fingerprints depend on the salt
+        assertNotEquals(fingerprint, ENCRYPTOR.fingerprint(PASSWORD_VALUE, "pepper"));
+
+        // fingerprints depend on the secret key
+        assertNotEquals(
+                fingerprint, Encryptor.getInstance("anotherSecretKey0123").fingerprint(PASSWORD_VALUE, "salt"));
+
+        assertNull(ENCRYPTOR.fingerprint(null, "salt"));
+    }
+
+    @Test
+    public void bulk() throws Exception {
+        List<String> values = IntStream.range(0, 100).mapToObj(i -> PASSWORD_VALUE + i).collect(Collectors.toList());
+
+        List<String> encoded = ENCRYPTOR.encodeAll(values, CipherAlgorithm.AES);
+        assertEquals(values.size(), encoded.size());
+        assertEquals(values, ENCRYPTOR.decodeAll(encoded, CipherAlgorithm.AES));
+
+        encoded = ENCRYPTOR.encodeAll(values, CipherAlgorithm.SSHA256);
+        for (int i = 0; i < values.size(); i++) {
+            assertTrue(ENCRYPTOR.verify(values.get(i), CipherAlgorithm.SSHA256, encoded.get(i)));
+        }
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                String value = PASSWORD_VALUE + i;
+                results.add(executor.submit(() -> value.equals(
+                        ENCRYPTOR.decode(ENCRYPTOR.encode(value, CipherAlgorithm.AES), CipherAlgorithm.AES))
+                        && ENCRYPTOR.verify(value, CipherAlgorithm.SSHA1,
+                                ENCRYPTOR.encode(value, CipherAlgorithm.SSHA1))));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void decodeAfterFailure() throws Exception {
+        // invalid input must not affect subsequent decoding
+        assertThrows(IllegalBlockSizeException.class, () -> ENCRYPTOR.decode(
+                Base64.getEncoder().encodeToString("01234".getBytes(StandardCharsets.UTF_8)),
+                CipherAlgorithm.AES));
+        assertEquals(PASSWORD_VALUE, ENCRYPTOR.decode("9Pav+xl+UyHt02H9ZBytiA==", CipherAlgorithm.AES));
+    }
 }
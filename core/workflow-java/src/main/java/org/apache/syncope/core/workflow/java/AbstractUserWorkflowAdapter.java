@@ -18,8 +18,11 @@
  */
 package org.apache.syncope.core.workflow.java;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Collections;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +30,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import javax.annotation.Resource;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.patch.PasswordPatch;
@@ -56,6 +60,7 @@ import org.apache.syncope.core.spring.policy.AccountPolicyException;
 import org.apache.syncope.core.spring.policy.PasswordPolicyException;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.Encryptor;
+import org.apache.syncope.core.spring.security.SecureRandomUtils;
 import org.apache.syncope.core.workflow.api.UserWorkflowAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,6 +73,12 @@ public abstract class AbstractUserWorkflowAdapter implements UserWorkflowAdapter
 
     protected static final Logger LOG = LoggerFactory.getLogger(UserWorkflowAdapter.class);
 
+    protected static final char HISTORY_FINGERPRINT_SEPARATOR = '#';
+
+    protected static final char HISTORY_SALT_SEPARATOR = ':';
+
+    protected static final int HISTORY_SALT_LENGTH = 16;
+
     @Autowired
     protected UserDataBinder dataBinder;
 
@@ -80,6 +91,9 @@ public abstract class AbstractUserWorkflowAdapter implements UserWorkflowAdapter
     @Autowired
     protected EntityFactory entityFactory;
 
+    @Autowired
+    protected UserPolicyChainCache policyChainCache;
+
     @Resource(name = "adminUser")
     protected String adminUser;
 
@@ -95,17 +109,86 @@ public abstract class AbstractUserWorkflowAdapter implements UserWorkflowAdapter
         return null;
     }
 
-    protected List<AccountPolicy> getAccountPolicies(final User user) {
+    /**
+     * Builds the password history entry for the current password of the given user: the encoded value, followed by
+     * a random salt and the keyed fingerprint of the given clear-text password, when the latter is available and
+     * matches the current password.
+     *
+     * @param user user
+     * @param clearPassword clear-text password, if available
+     * @return password history entry
+     */
+    protected static String getHistoryEntry(final User user, final String clearPassword) {
+        if (clearPassword == null
+                || !Encryptor.getInstance().verify(clearPassword, user.getCipherAlgorithm(), user.getPassword())) {
+
+            return user.getPassword();
+        }
+
+        String salt = SecureRandomUtils.generateRandomPassword(HISTORY_SALT_LENGTH);
+        String fingerprint = Encryptor.getInstance().fingerprint(clearPassword, salt);
+        return fingerprint == null
+                ? user.getPassword()
+                : user.getPassword() + HISTORY_FINGERPRINT_SEPARATOR + salt + HISTORY_SALT_SEPARATOR + fingerprint;
+    }
+
+    protected static String getHistoryEncoded(final String entry) {
+        int idx = entry.lastIndexOf(HISTORY_FINGERPRINT_SEPARATOR);
+        return idx == -1 ? entry : entry.substring(0, idx);
+    }
+
+    /**
+     * Checks whether the given clear-text password matches any of the given password history entries.
+     * Entries carrying a fingerprint are checked first, in constant time; only the remaining ones (e.g. stored
+     * before fingerprints were introduced) are verified against their encoded value, in parallel and stopping at
+     * the first match.
+     *
+     * @param user user
+     * @param clearPassword clear-text password to check
+     * @param entries password history entries to check against
+     * @return whether the given clear-text password matches any of the given password history entries
+     */
+    protected boolean isInPasswordHistory(final User user, final String clearPassword, final List<String> entries) {
+        if (clearPassword == null || entries.isEmpty()) {
+            return false;
+        }
+
+        boolean matching = false;
+        List<String> toVerify = new ArrayList<>();
+        for (String entry : entries) {
+            int idx = entry.lastIndexOf(HISTORY_FINGERPRINT_SEPARATOR);
+            int saltIdx = idx == -1 ? -1 : entry.indexOf(HISTORY_SALT_SEPARATOR, idx);
+            String fingerprint = saltIdx == -1
+                    ? null
+                    : Encryptor.getInstance().fingerprint(clearPassword, entry.substring(idx + 1, saltIdx));
+            if (fingerprint == null) {
+                toVerify.add(getHistoryEncoded(entry));
+            } else {
+                matching |= MessageDigest.isEqual(
+                        fingerprint.getBytes(StandardCharsets.UTF_8),
+                        entry.substring(saltIdx + 1).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        if (matching || toVerify.isEmpty()) {
+            return matching;
+        }
+
+        return (toVerify.size() > 1 ? toVerify.parallelStream() : toVerify.stream()).
+                anyMatch(encoded -> Encryptor.getInstance().verify(
+                clearPassword, user.getCipherAlgorithm(), encoded));
+    }
+
+    protected List<AccountPolicy> getAccountPolicies(final Realm realm, final List<ExternalResource> resources) {
         List<AccountPolicy> policies = new ArrayList<>();
 
         // add resource policies
-        userDAO.findAllResources(user).stream().
+        resources.stream().
                 map(ExternalResource::getAccountPolicy).
                 filter(Objects::nonNull).
                 forEach(policies::add);
 
         // add realm policies
-        realmDAO.findAncestors(user.getRealm()).stream().
+        realmDAO.findAncestors(realm).stream().
                 map(Realm::getAccountPolicy).
                 filter(Objects::nonNull).
                 forEach(policies::add);
@@ -131,18 +214,18 @@ public abstract class AbstractUserWorkflowAdapter implements UserWorkflowAdapter
         return result;
     }
 
-    protected List<PasswordPolicy> getPasswordPolicies(final User user) {
+    protected List<PasswordPolicy> getPasswordPolicies(final Realm realm, final List<ExternalResource> resources) {
         List<PasswordPolicy> policies = new ArrayList<>();
 
         // add resource policies
-        userDAO.findAllResources(user).
+        resources.
                 forEach(resource -> Optional.ofNullable(resource.getPasswordPolicy()).
                 filter(p -> !policies.contains(p)).
                 ifPresent(policies::add));
 
         // add realm policies
-        realmDAO.findAncestors(user.getRealm()).
-                forEach(realm -> Optional.ofNullable(realm.getPasswordPolicy()).
+        realmDAO.findAncestors(realm).
+                forEach(ancestor -> Optional.ofNullable(ancestor.getPasswordPolicy()).
                 filter(p -> !policies.contains(p)).
                 ifPresent(policies::add));
 
@@ -167,11 +250,46 @@ public abstract class AbstractUserWorkflowAdapter implements UserWorkflowAdapter
         return result;
     }
 
+    protected UserPolicyChain buildPolicyChain(final Realm realm, final List<ExternalResource> resources) {
+        List<UserPolicyChain.PasswordLink> passwordLinks = getPasswordPolicies(realm, resources).stream().
+                map(policy -> new UserPolicyChain.PasswordLink(
+                policy.isAllowNullPassword(), policy.getHistoryLength(), getPasswordRules(policy))).
+                collect(Collectors.toList());
+
+        List<UserPolicyChain.AccountLink> accountLinks = getAccountPolicies(realm, resources).stream().
+                map(policy -> new UserPolicyChain.AccountLink(
+                policy.getMaxAuthenticationAttempts(), policy.isPropagateSuspension(), getAccountRules(policy))).
+                collect(Collectors.toList());
+
+        return new UserPolicyChain(passwordLinks, accountLinks);
+    }
+
+    /**
+     * Returns the effective policy chain for the given user, built only once for all users sharing the same realm
+     * and set of external resources.
+     *
+     * @param user user
+     * @return effective policy chain for the given user
+     */
+    protected UserPolicyChain getPolicyChain(final User user) {
+        List<ExternalResource> resources = userDAO.findAllResources(user).stream().
+                sorted(Comparator.comparing(ExternalResource::getKey)).
+                collect(Collectors.toList());
+
+        return policyChainCache.get(
+                AuthContextUtils.getDomain(),
+                user.getRealm(),
+                resources,
+                () -> buildPolicyChain(user.getRealm(), resources));
+    }
+
     protected Pair<Boolean, Boolean> enforcePolicies(
             final User user,
             final boolean disablePwdPolicyCheck,
             final String clearPassword) {
 
+        UserPolicyChain policyChain = getPolicyChain(user);
+
         if (!disablePwdPolicyCheck) {
             // ------------------------------
             // Verify password policies
@@ -180,12 +298,12 @@ public abstract class AbstractUserWorkflowAdapter implements UserWorkflowAdapter
 
             try {
                 int maxPPSpecHistory = 0;
-                for (PasswordPolicy policy : getPasswordPolicies(user)) {
+                for (UserPolicyChain.PasswordLink policy : policyChain.getPasswordLinks()) {
                     if (clearPassword == null && !policy.isAllowNullPassword()) {
                         throw new PasswordPolicyException("Password mandatory");
                     }
 
-                    getPasswordRules(policy).forEach(rule -> {
+                    policy.getRules().forEach(rule -> {
                         rule.enforce(user, clearPassword);
 
                         user.getLinkedAccounts().stream().
@@ -196,12 +314,10 @@ public abstract class AbstractUserWorkflowAdapter implements UserWorkflowAdapter
                     boolean matching = false;
                     if (policy.getHistoryLength() > 0) {
                         List<String> pwdHistory = user.getPasswordHistory();
-                        matching = pwdHistory.subList(policy.getHistoryLength() >= pwdHistory.size()
+                        matching = isInPasswordHistory(user, clearPassword, pwdHistory.subList(
+                                policy.getHistoryLength() >= pwdHistory.size()
                                 ? 0
-                                : pwdHistory.size() - policy.getHistoryLength(), pwdHistory.size()).stream().
-                                map(old -> Encryptor.getInstance().verify(
-                                clearPassword, user.getCipherAlgorithm(), old)).
-                                reduce(matching, (accumulator, item) -> accumulator | item);
+                                : pwdHistory.size() - policy.getHistoryLength(), pwdHistory.size()));
                     }
                     if (matching) {
                         throw new PasswordPolicyException("Password value was used in the past: not allowed");
@@ -215,9 +331,10 @@ public abstract class AbstractUserWorkflowAdapter implements UserWorkflowAdapter
                 // update user's password history with encrypted password
                 if (maxPPSpecHistory > 0
                         && user.getPassword() != null
-                        && !user.getPasswordHistory().contains(user.getPassword())) {
+                        && user.getPasswordHistory().stream().
+                                noneMatch(entry -> user.getPassword().equals(getHistoryEncoded(entry)))) {
 
-                    user.getPasswordHistory().add(user.getPassword());
+                    user.getPasswordHistory().add(getHistoryEntry(user, clearPassword));
                 }
                 // keep only the last maxPPSpecHistory items in user's password history
                 if (maxPPSpecHistory < user.getPasswordHistory().size()) {
@@ -249,7 +366,7 @@ public abstract class AbstractUserWorkflowAdapter implements UserWorkflowAdapter
                 throw new AccountPolicyException("Not allowed: " + user.getUsername());
             }
 
-            List<AccountPolicy> accountPolicies = getAccountPolicies(user);
+            List<UserPolicyChain.AccountLink> accountPolicies = policyChain.getAccountLinks();
             if (accountPolicies.isEmpty()) {
                 if (!Entity.ID_PATTERN.matcher(user.getUsername()).matches()) {
                     throw new AccountPolicyException("Character(s) not allowed: " + user.getUsername());
@@ -262,8 +379,8 @@ public abstract class AbstractUserWorkflowAdapter implements UserWorkflowAdapter
                             }
                         });
             } else {
-                for (AccountPolicy policy : accountPolicies) {
-                    getAccountRules(policy).forEach(rule -> {
+                for (UserPolicyChain.AccountLink policy : accountPolicies) {
+                    policy.getRules().forEach(rule -> {
                         rule.enforce(user);
 
                         user.getLinkedAccounts().stream().
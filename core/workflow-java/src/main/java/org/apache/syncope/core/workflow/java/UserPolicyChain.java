@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.workflow.java;
+
+import java.util.Collections;
+import java.util.List;
+import org.apache.syncope.core.persistence.api.dao.AccountRule;
+import org.apache.syncope.core.persistence.api.dao.PasswordRule;
+
+/**
+ * Effective, ordered password and account policies - with rules already built - applying to users sharing the
+ * same realm and the same set of (direct or inherited) external resources.
+ * Instances do not hold any reference to JPA entities, hence can be safely shared across transactions.
+ */
+public class UserPolicyChain {
+
+    public static class PasswordLink {
+
+        private final boolean allowNullPassword;
+
+        private final int historyLength;
+
+        private final List<PasswordRule> rules;
+
+        public PasswordLink(final boolean allowNullPassword, final int historyLength, final List<PasswordRule> rules) {
+            this.allowNullPassword = allowNullPassword;
+            this.historyLength = historyLength;
+            this.rules = Collections.unmodifiableList(rules);
+        }
+
+        public boolean isAllowNullPassword() {
+            return allowNullPassword;
+        }
+
+        public int getHistoryLength() {
+            return historyLength;
+        }
+
+        public List<PasswordRule> getRules() {
+            return rules;
+        }
+    }
+
+    public static class AccountLink {
+
+        private final int maxAuthenticationAttempts;
+
+        private final boolean propagateSuspension;
+
+        private final List<AccountRule> rules;
+
+        public AccountLink(
+                final int maxAuthenticationAttempts,
+                final boolean propagateSuspension,
+                final List<AccountRule> rules) {
+
+            this.maxAuthenticationAttempts = maxAuthenticationAttempts;
+            this.propagateSuspension = propagateSuspension;
+            this.rules = Collections.unmodifiableList(rules);
+        }
+
+        public int getMaxAuthenticationAttempts() {
+            return maxAuthenticationAttempts;
+        }
+
+        public boolean isPropagateSuspension() {
+            return propagateSuspension;
+        }
+
+        public List<AccountRule> getRules() {
+            return rules;
+        }
+    }
+
+    private final List<PasswordLink> passwordLinks;
+
+    private final List<AccountLink> accountLinks;
+
+    public UserPolicyChain(final List<PasswordLink> passwordLinks, final List<AccountLink> accountLinks) {
+        this.passwordLinks = Collections.unmodifiableList(passwordLinks);
+        this.accountLinks = Collections.unmodifiableList(accountLinks);
+    }
+
+    public List<PasswordLink> getPasswordLinks() {
+        return passwordLinks;
+    }
+
+    public List<AccountLink> getAccountLinks() {
+        return accountLinks;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.workflow.java;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.provisioning.api.event.PolicyContextChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Caches {@link UserPolicyChain} instances by (domain, realm, sorted resource keys); entries for a given domain are
+ * dropped whenever a {@link PolicyContextChangeEvent} is received for that domain, once the publishing transaction
+ * has committed. As such events are only published locally, entries are also rebuilt when found older than
+ * {@link #REFRESH_INTERVAL} milliseconds, so that changes made via other cluster nodes are eventually picked up.
+ */
+public class UserPolicyChainCache {
+
+    public static final long REFRESH_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserPolicyChainCache.class);
+
+    /**
+     * Upper bound for the number of cached chains: when reached, the cache is emptied and filled up again.
+     */
+    private static final int MAX_SIZE = 10000;
+
+    private static final char SEPARATOR = '|';
+
+    private static final class Entry {
+
+        private final UserPolicyChain chain;
+
+        private final long built;
+
+        private Entry(final UserPolicyChain chain, final long built) {
+            this.chain = chain;
+            this.built = built;
+        }
+    }
+
+    private final Map<String, Entry> chains = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented at each invalidation, so that chains built concurrently with a change are not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    protected static String key(final String domain, final Realm realm, final Collection<ExternalResource> resources) {
+        return domain + SEPARATOR + realm.getFullPath() + SEPARATOR + resources.stream().
+                map(ExternalResource::getKey).sorted().collect(Collectors.joining(","));
+    }
+
+    public UserPolicyChain get(
+            final String domain,
+            final Realm realm,
+            final Collection<ExternalResource> resources,
+            final Supplier<UserPolicyChain> builder) {
+
+        String key = key(domain, realm, resources);
+
+        long now = now();
+
+        Entry entry = chains.get(key);
+        if (entry != null && now - entry.built < REFRESH_INTERVAL) {
+            return entry.chain;
+        }
+
+        LOG.debug("No fresh policy chain found for {}, building", key);
+
+        long before = generation.get();
+        UserPolicyChain chain = builder.get();
+        if (before == generation.get()) {
+            if (chains.size() >= MAX_SIZE) {
+                chains.clear();
+            }
+            chains.put(key, new Entry(chain, now));
+        }
+
+        return chain;
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    public void clear(final String domain) {
+        generation.incrementAndGet();
+
+        String prefix = domain + SEPARATOR;
+        chains.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void policyContextChanged(final PolicyContextChangeEvent event) {
+        LOG.debug("Received {}, clearing policy chains", event);
+
+        clear(event.getDomain());
+    }
+}
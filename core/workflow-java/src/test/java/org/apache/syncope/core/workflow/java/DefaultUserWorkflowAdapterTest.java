@@ -20,19 +20,30 @@ package org.apache.syncope.core.workflow.java;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.common.lib.types.StandardEntitlement;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.provisioning.api.UserWorkflowResult;
+import org.apache.syncope.core.provisioning.api.event.PolicyContextChangeEvent;
+import org.apache.syncope.core.spring.security.Encryptor;
 import org.apache.syncope.core.spring.security.SyncopeAuthenticationDetails;
 import org.apache.syncope.core.spring.security.SyncopeGrantedAuthority;
 import org.apache.syncope.core.workflow.api.UserWorkflowAdapter;
@@ -74,6 +85,12 @@ public class DefaultUserWorkflowAdapterTest {
     @Autowired
     private UserDAO userDAO;
 
+    @Autowired
+    private RealmDAO realmDAO;
+
+    @Autowired
+    private UserPolicyChainCache policyChainCache;
+
     @Test
     public void createInvalidPassword() {
         UserTO userTO = new UserTO();
@@ -106,5 +123,74 @@ public class DefaultUserWorkflowAdapterTest {
         User user = userDAO.find(result.getResult().getLeft());
         assertNotNull(user);
         assertEquals(1, user.getPasswordHistory().size());
+
+        // the history entry carries a random salt and the keyed fingerprint of the clear-text password
+        String entry = user.getPasswordHistory().get(0);
+        assertTrue(entry.startsWith(user.getPassword() + '#'));
+        String salt = entry.substring(entry.lastIndexOf('#') + 1, entry.lastIndexOf(':'));
+        assertEquals(
+                Encryptor.getInstance().fingerprint("password123", salt),
+                entry.substring(entry.lastIndexOf(':') + 1));
+    }
+
+    @Test
+    public void policyChainCache() {
+        Realm realm = realmDAO.findByFullPath("/even/two");
+
+        AtomicInteger builds = new AtomicInteger();
+        Supplier<UserPolicyChain> builder = () -> {
+            builds.incrementAndGet();
+            return new UserPolicyChain(Collections.emptyList(), Collections.emptyList());
+        };
+
+        policyChainCache.clear(SyncopeConstants.MASTER_DOMAIN);
+
+        UserPolicyChain chain = policyChainCache.get(
+                SyncopeConstants.MASTER_DOMAIN, realm, Collections.emptyList(), builder);
+        assertSame(chain, policyChainCache.get(
+                SyncopeConstants.MASTER_DOMAIN, realm, Collections.emptyList(), builder));
+        assertEquals(1, builds.get());
+
+        // changes on other domains do not affect cached chains
+        policyChainCache.policyContextChanged(new PolicyContextChangeEvent(this, "Two"));
+        assertSame(chain, policyChainCache.get(
+                SyncopeConstants.MASTER_DOMAIN, realm, Collections.emptyList(), builder));
+
+        policyChainCache.policyContextChanged(
+                new PolicyContextChangeEvent(this, SyncopeConstants.MASTER_DOMAIN));
+        assertNotSame(chain, policyChainCache.get(
+                SyncopeConstants.MASTER_DOMAIN, realm, Collections.emptyList(), builder));
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    public void policyChainCacheRefresh() {
+        Realm realm = realmDAO.findByFullPath("/even/two");
+
+        AtomicInteger builds = new AtomicInteger();
+        Supplier<UserPolicyChain> builder = () -> {
+            builds.incrementAndGet();
+            return new UserPolicyChain(Collections.emptyList(), Collections.emptyList());
+        };
+
+        AtomicLong now = new AtomicLong(System.currentTimeMillis());
+        UserPolicyChainCache cache = new UserPolicyChainCache() {
+
+            @Override
+            protected long now() {
+                return now.get();
+            }
+        };
+
+        UserPolicyChain chain = cache.get(SyncopeConstants.MASTER_DOMAIN, realm, Collections.emptyList(), builder);
+
+        now.addAndGet(UserPolicyChainCache.REFRESH_INTERVAL - 1);
+        assertSame(chain, cache.get(SyncopeConstants.MASTER_DOMAIN, realm, Collections.emptyList(), builder));
+        assertEquals(1, builds.get());
+
+        // changes made via other cluster nodes are picked up once the refresh interval has elapsed
+        now.incrementAndGet();
+        assertNotSame(chain, cache.get(SyncopeConstants.MASTER_DOMAIN, realm, Collections.emptyList(), builder));
+        assertEquals(2, builds.get());
     }
 }
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.camel;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Consumer;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.PollingConsumer;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.util.ExchangeHelper;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the throughput of the messaging approach used by the Camel provisioning managers, where a route is
+ * invoked via a shared {@link ProducerTemplate} with an in-out exchange, with the previous one, where a new
+ * {@link ProducerTemplate} was created at each invocation and the outcome was read back from a {@link PollingConsumer}
+ * on the port endpoint; the {@code direct} baseline shows the cost of invoking the route processing directly, as the
+ * Java provisioning managers do.
+ * Routes only mimic the shape of the ones in {@code userRoutes.xml}, in order to measure the messaging overhead.
+ * Only built with the {@code benchmarks} profile and not run as part of the test suite; launch with
+ * {@code mvn -Pbenchmarks -pl ext/camel/provisioning-camel test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.apache.syncope.core.provisioning.camel.CamelProvisioningBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class CamelProvisioningBenchmark {
+
+    private static final String ROUTE_URI = "direct:createUser";
+
+    private static final String PORT_URI = "direct:createPort";
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(CamelProvisioningBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static Pair<String, Object> create(final String key) {
+        return Pair.of(key, Collections.emptyList());
+    }
+
+    public abstract static class CamelState {
+
+        protected CamelContext camelContext;
+
+        @Setup
+        public void startContext() throws Exception {
+            camelContext = new DefaultCamelContext();
+            camelContext.addRoutes(new RouteBuilder() {
+
+                @Override
+                public void configure() {
+                    from(ROUTE_URI).
+                            setProperty("actual", simple("${body}")).
+                            process(exchange -> exchange.getIn().
+                            setBody(create(exchange.getIn().getBody(String.class)))).
+                            to(PORT_URI);
+                }
+            });
+            camelContext.start();
+        }
+
+        @TearDown
+        public void stopContext() throws Exception {
+            camelContext.stop();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PollingConsumerState extends CamelState {
+
+        protected PollingConsumer pollingConsumer;
+
+        @Setup
+        public void startConsumer() throws Exception {
+            pollingConsumer = camelContext.getEndpoint(PORT_URI).createPollingConsumer();
+            pollingConsumer.start();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class InOutState extends CamelState {
+
+        protected ProducerTemplate producerTemplate;
+
+        @Setup
+        public void startConsumer() throws Exception {
+            Consumer consumer = camelContext.getEndpoint(PORT_URI).createConsumer(exchange -> {
+                // nothing to do
+            });
+            consumer.start();
+
+            producerTemplate = camelContext.createProducerTemplate();
+        }
+    }
+
+    @Benchmark
+    public Object direct() {
+        return create("key");
+    }
+
+    @Benchmark
+    public Object pollingConsumer(final PollingConsumerState state) throws Exception {
+        Exchange exchange = new DefaultExchange(state.camelContext);
+        exchange.getIn().setBody("key");
+
+        ProducerTemplate template = state.camelContext.createProducerTemplate();
+        try {
+            template.send(ROUTE_URI, exchange);
+        } finally {
+            // the previous approach did not even stop the template, thus leaking it
+            template.stop();
+        }
+
+        return state.pollingConsumer.receive().getIn().getBody();
+    }
+
+    @Benchmark
+    public Object inOut(final InOutState state) {
+        Exchange exchange = new DefaultExchange(state.camelContext, ExchangePattern.InOut);
+        exchange.getIn().setBody("key");
+
+        return ExchangeHelper.getResultMessage(state.producerTemplate.send(ROUTE_URI, exchange)).getBody();
+    }
+}
@@ -18,17 +18,13 @@
  */
 package org.apache.syncope.core.provisioning.camel;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Collections;
 import java.util.Map;
-import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
-import org.apache.camel.PollingConsumer;
-import org.apache.camel.ProducerTemplate;
+import org.apache.camel.ExchangePattern;
 import org.apache.camel.impl.DefaultExchange;
-import org.apache.camel.impl.DefaultMessage;
 import org.apache.camel.model.RoutesDefinition;
+import org.apache.camel.util.ExchangeHelper;
 import org.apache.syncope.core.persistence.api.dao.CamelRouteDAO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,51 +42,46 @@ abstract class AbstractCamelProvisioningManager {
 
     protected RoutesDefinition routes;
 
-    protected final Map<String, PollingConsumer> consumerMap = new HashMap<>();
-
-    protected final List<String> knownURIs = new ArrayList<>();
+    protected Exchange sendMessage(final String uri, final String portURI, final Object body) {
+        return sendMessage(uri, portURI, body, Collections.<String, Object>emptyMap());
+    }
 
-    protected void sendMessage(final String uri, final Object obj) {
-        Exchange exchange = new DefaultExchange(contextFactory.getCamelContext());
+    /**
+     * Sends the given body and properties to the route listening on the given URI, as in-out exchange: as
+     * {@code direct:} endpoints are synchronous, the returned exchange holds the outcome that the route delivered to
+     * the given port endpoint.
+     *
+     * @param uri route endpoint URI
+     * @param portURI endpoint URI where the route delivers its outcome
+     * @param body message body
+     * @param properties exchange properties
+     * @return exchange holding the route outcome
+     */
+    protected Exchange sendMessage(
+            final String uri, final String portURI, final Object body, final Map<String, Object> properties) {
 
-        DefaultMessage message = new DefaultMessage(contextFactory.getCamelContext());
-        message.setBody(obj);
-        exchange.setIn(message);
+        contextFactory.ensurePort(portURI);
 
-        ProducerTemplate template = contextFactory.getCamelContext().createProducerTemplate();
-        template.send(uri, exchange);
-    }
+        Exchange exchange = new DefaultExchange(contextFactory.getCamelContext(), ExchangePattern.InOut);
 
-    protected void sendMessage(final String uri, final Object body, final Map<String, Object> properties) {
-        Exchange exchange = new DefaultExchange(contextFactory.getCamelContext());
+        properties.forEach((key, value) -> {
+            exchange.setProperty(key, value);
+            LOG.debug("Added property {}", key);
+        });
 
-        for (Map.Entry<String, Object> property : properties.entrySet()) {
-            exchange.setProperty(property.getKey(), property.getValue());
-            LOG.debug("Added property {}", property.getKey());
-        }
+        exchange.getIn().setBody(body);
 
-        DefaultMessage message = new DefaultMessage(contextFactory.getCamelContext());
-        message.setBody(body);
-        exchange.setIn(message);
-        ProducerTemplate template = contextFactory.getCamelContext().createProducerTemplate();
-        template.send(uri, exchange);
-    }
+        Exchange result = contextFactory.getProducerTemplate().send(uri, exchange);
 
-    protected PollingConsumer getConsumer(final String uri) {
-        if (!knownURIs.contains(uri)) {
-            knownURIs.add(uri);
-            Endpoint endpoint = contextFactory.getCamelContext().getEndpoint(uri);
-            PollingConsumer pollingConsumer = null;
-            try {
-                pollingConsumer = endpoint.createPollingConsumer();
-                consumerMap.put(uri, pollingConsumer);
-                pollingConsumer.start();
-            } catch (Exception ex) {
-                LOG.error("Unexpected error in Consumer creation ", ex);
-            }
-            return pollingConsumer;
-        } else {
-            return consumerMap.get(uri);
+        if (result.getException() != null && result.getProperty(Exchange.EXCEPTION_CAUGHT) == null) {
+            // the route failed before delivering its outcome to the port
+            throw result.getException() instanceof RuntimeException
+                    ? (RuntimeException) result.getException()
+                    : new CamelException(result.getException());
         }
+
+        // the outcome of in-out exchanges is reported as OUT message: expose it as IN, where callers read it from
+        result.setIn(ExchangeHelper.getResultMessage(result));
+        return result;
     }
 }
@@ -25,7 +25,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.camel.Exchange;
-import org.apache.camel.PollingConsumer;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.patch.GroupPatch;
 import org.apache.syncope.common.lib.to.PropagationStatus;
@@ -40,15 +39,11 @@ public class CamelGroupProvisioningManager
     @Override
     @SuppressWarnings("unchecked")
     public Pair<String, List<PropagationStatus>> create(final GroupTO groupTO, final boolean nullPriorityAsync) {
-        PollingConsumer pollingConsumer = getConsumer("direct:createGroupPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("excludedResources", Collections.<String>emptySet());
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:createGroup", groupTO, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:createGroup", "direct:createGroupPort", groupTO, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -66,16 +61,12 @@ public class CamelGroupProvisioningManager
             final Set<String> excludedResources,
             final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:createGroupInPullPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("groupOwnerMap", groupOwnerMap);
         props.put("excludedResources", excludedResources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:createGroupInPull", groupTO, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:createGroupInPull", "direct:createGroupInPullPort", groupTO, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -97,15 +88,11 @@ public class CamelGroupProvisioningManager
     public Pair<GroupPatch, List<PropagationStatus>> update(
             final GroupPatch anyPatch, final Set<String> excludedResources, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:updateGroupPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("excludedResources", excludedResources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:updateGroup", anyPatch, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:updateGroup", "direct:updateGroupPort", anyPatch, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -125,15 +112,11 @@ public class CamelGroupProvisioningManager
     public List<PropagationStatus> delete(
             final String key, final Set<String> excludedResources, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:deleteGroupPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("excludedResources", excludedResources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:deleteGroup", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:deleteGroup", "direct:deleteGroupPort", key, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -144,11 +127,7 @@ public class CamelGroupProvisioningManager
 
     @Override
     public String unlink(final GroupPatch groupPatch) {
-        PollingConsumer pollingConsumer = getConsumer("direct:unlinkGroupPort");
-
-        sendMessage("direct:unlinkGroup", groupPatch);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:unlinkGroup", "direct:unlinkGroupPort", groupPatch);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -159,11 +138,7 @@ public class CamelGroupProvisioningManager
 
     @Override
     public String link(final GroupPatch groupPatch) {
-        PollingConsumer pollingConsumer = getConsumer("direct:linkGroupPort");
-
-        sendMessage("direct:linkGroup", groupPatch);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:linkGroup", "direct:linkGroupPort", groupPatch);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -177,15 +152,11 @@ public class CamelGroupProvisioningManager
     public List<PropagationStatus> provision(
             final String key, final Collection<String> resources, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:provisionGroupPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("resources", resources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:provisionGroup", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:provisionGroup", "direct:provisionGroupPort", key, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -199,15 +170,11 @@ public class CamelGroupProvisioningManager
     public List<PropagationStatus> deprovision(
             final String key, final Collection<String> resources, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:deprovisionGroupPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("resources", resources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:deprovisionGroup", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:deprovisionGroup", "direct:deprovisionGroupPort", key, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
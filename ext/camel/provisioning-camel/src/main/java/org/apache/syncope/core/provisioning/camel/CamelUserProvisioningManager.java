@@ -26,7 +26,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.camel.Exchange;
-import org.apache.camel.PollingConsumer;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.patch.StatusPatch;
 import org.apache.syncope.common.lib.patch.UserPatch;
@@ -68,8 +67,6 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
             final Set<String> excludedResources,
             final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:createPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("storePassword", storePassword);
         props.put("disablePwdPolicyCheck", disablePwdPolicyCheck);
@@ -77,9 +74,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
         props.put("excludedResources", excludedResources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:createUser", userTO, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:createUser", "direct:createPort", userTO, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -91,14 +86,10 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     @Override
     @SuppressWarnings("unchecked")
     public Pair<UserPatch, List<PropagationStatus>> update(final UserPatch userPatch, final boolean nullPriorityAsync) {
-        PollingConsumer pollingConsumer = getConsumer("direct:updatePort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:updateUser", userPatch, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:updateUser", "direct:updatePort", userPatch, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -125,15 +116,11 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     public List<PropagationStatus> delete(
             final String key, final Set<String> excludedResources, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:deletePort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("excludedResources", excludedResources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:deleteUser", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:deleteUser", "direct:deletePort", key, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -144,11 +131,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
 
     @Override
     public String unlink(final UserPatch userPatch) {
-        PollingConsumer pollingConsumer = getConsumer("direct:unlinkPort");
-
-        sendMessage("direct:unlinkUser", userPatch);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:unlinkUser", "direct:unlinkPort", userPatch);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -162,27 +145,24 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     public Pair<String, List<PropagationStatus>> activate(
             final StatusPatch statusPatch, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:statusPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("token", statusPatch.getToken());
         props.put("key", statusPatch.getKey());
         props.put("statusPatch", statusPatch);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
+        Exchange exchange;
         if (statusPatch.isOnSyncope()) {
-            sendMessage("direct:activateUser", statusPatch.getKey(), props);
+            exchange = sendMessage("direct:activateUser", "direct:statusPort", statusPatch.getKey(), props);
         } else {
             UserWorkflowResult<String> updated = new UserWorkflowResult<>(
                     statusPatch.getKey(),
                     null,
                     null,
                     statusPatch.getType().name().toLowerCase());
-            sendMessage("direct:userStatusPropagation", updated, props);
+            exchange = sendMessage("direct:userStatusPropagation", "direct:statusPort", updated, props);
         }
 
-        Exchange exchange = pollingConsumer.receive();
-
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
         }
@@ -195,26 +175,23 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     public Pair<String, List<PropagationStatus>> reactivate(
             final StatusPatch statusPatch, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:statusPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("key", statusPatch.getKey());
         props.put("statusPatch", statusPatch);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
+        Exchange exchange;
         if (statusPatch.isOnSyncope()) {
-            sendMessage("direct:reactivateUser", statusPatch.getKey(), props);
+            exchange = sendMessage("direct:reactivateUser", "direct:statusPort", statusPatch.getKey(), props);
         } else {
             UserWorkflowResult<String> updated = new UserWorkflowResult<>(
                     statusPatch.getKey(),
                     null,
                     null,
                     statusPatch.getType().name().toLowerCase());
-            sendMessage("direct:userStatusPropagation", updated, props);
+            exchange = sendMessage("direct:userStatusPropagation", "direct:statusPort", updated, props);
         }
 
-        Exchange exchange = pollingConsumer.receive();
-
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
         }
@@ -227,26 +204,23 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     public Pair<String, List<PropagationStatus>> suspend(
             final StatusPatch statusPatch, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:statusPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("key", statusPatch.getKey());
         props.put("statusPatch", statusPatch);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
+        Exchange exchange;
         if (statusPatch.isOnSyncope()) {
-            sendMessage("direct:suspendUser", statusPatch.getKey(), props);
+            exchange = sendMessage("direct:suspendUser", "direct:statusPort", statusPatch.getKey(), props);
         } else {
             UserWorkflowResult<String> updated = new UserWorkflowResult<>(
                     statusPatch.getKey(),
                     null,
                     null,
                     statusPatch.getType().name().toLowerCase());
-            sendMessage("direct:userStatusPropagation", updated, props);
+            exchange = sendMessage("direct:userStatusPropagation", "direct:statusPort", updated, props);
         }
 
-        Exchange exchange = pollingConsumer.receive();
-
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
         }
@@ -256,11 +230,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
 
     @Override
     public String link(final UserPatch anyPatch) {
-        PollingConsumer pollingConsumer = getConsumer("direct:linkPort");
-
-        sendMessage("direct:linkUser", anyPatch);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:linkUser", "direct:linkPort", anyPatch);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -278,8 +248,6 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
             final Collection<String> resources,
             final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:provisionPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("key", key);
         props.put("changePwd", changePwd);
@@ -287,9 +255,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
         props.put("resources", resources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:provisionUser", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:provisionUser", "direct:provisionPort", key, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -303,15 +269,11 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     public List<PropagationStatus> deprovision(
             final String user, final Collection<String> resources, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:deprovisionPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("resources", resources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:deprovisionUser", user, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:deprovisionUser", "direct:deprovisionPort", user, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -330,8 +292,6 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
             final Set<String> excludedResources,
             final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:updateInPullPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("key", userPatch.getKey());
         props.put("result", result);
@@ -339,9 +299,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
         props.put("excludedResources", excludedResources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:updateUserInPull", userPatch, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:updateUserInPull", "direct:updateInPullPort", userPatch, props);
 
         Exception ex = (Exception) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
         if (ex != null) {
@@ -356,8 +314,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
                     new PropagationByResource<>(),
                     new PropagationByResource<>(),
                     new HashSet<>());
-            sendMessage("direct:userInPull", updated, props);
-            exchange = pollingConsumer.receive();
+            exchange = sendMessage("direct:userInPull", "direct:updateInPullPort", updated, props);
         }
 
         return exchange.getIn().getBody(Pair.class);
@@ -365,11 +322,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
 
     @Override
     public void internalSuspend(final String key) {
-        PollingConsumer pollingConsumer = getConsumer("direct:internalSuspendUserPort");
-
-        sendMessage("direct:internalSuspendUser", key);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:internalSuspendUser", "direct:internalSuspendUserPort", key);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -378,11 +331,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
 
     @Override
     public void requestPasswordReset(final String key) {
-        PollingConsumer pollingConsumer = getConsumer("direct:requestPwdResetPort");
-
-        sendMessage("direct:requestPwdReset", key);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:requestPwdReset", "direct:requestPwdResetPort", key);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -391,16 +340,12 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
 
     @Override
     public void confirmPasswordReset(final String key, final String token, final String password) {
-        PollingConsumer pollingConsumer = getConsumer("direct:confirmPwdResetPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("key", key);
         props.put("token", token);
         props.put("password", password);
 
-        sendMessage("direct:confirmPwdReset", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:confirmPwdReset", "direct:confirmPwdResetPort", key, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
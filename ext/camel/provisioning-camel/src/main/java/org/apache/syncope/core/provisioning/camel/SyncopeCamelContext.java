@@ -21,8 +21,13 @@ package org.apache.syncope.core.provisioning.camel;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
 import org.apache.camel.CamelContext;
+import org.apache.camel.Consumer;
+import org.apache.camel.ProducerTemplate;
 import org.apache.camel.component.metrics.routepolicy.MetricsRoutePolicyFactory;
 import org.apache.camel.model.RoutesDefinition;
 import org.apache.camel.spring.SpringCamelContext;
@@ -46,35 +51,111 @@ public class SyncopeCamelContext {
     @Autowired
     private CamelRouteDAO routeDAO;
 
-    private SpringCamelContext camelContext;
+    private volatile SpringCamelContext camelContext;
+
+    private volatile ProducerTemplate producerTemplate;
+
+    private final Map<String, Consumer> ports = new ConcurrentHashMap<>();
 
     public CamelContext getCamelContext() {
-        synchronized (this) {
-            if (camelContext == null) {
-                camelContext = ApplicationContextProvider.getBeanFactory().getBean(SpringCamelContext.class);
-                camelContext.addRoutePolicyFactory(new MetricsRoutePolicyFactory());
+        SpringCamelContext ctx = camelContext;
+        if (ctx == null) {
+            synchronized (this) {
+                if (camelContext == null) {
+                    ctx = ApplicationContextProvider.getBeanFactory().getBean(SpringCamelContext.class);
+                    ctx.addRoutePolicyFactory(new MetricsRoutePolicyFactory());
+
+                    if (ctx.getRoutes().isEmpty()) {
+                        List<CamelRoute> routes = routeDAO.findAll();
+                        LOG.debug("{} route(s) are going to be loaded ", routes.size());
+
+                        loadRouteDefinitions(ctx, routes.stream().
+                                map(input -> input.getContent()).collect(Collectors.toList()));
+                    }
+
+                    camelContext = ctx;
+                }
+                ctx = camelContext;
             }
+        }
 
-            if (camelContext.getRoutes().isEmpty()) {
-                List<CamelRoute> routes = routeDAO.findAll();
-                LOG.debug("{} route(s) are going to be loaded ", routes.size());
+        return ctx;
+    }
 
-                loadRouteDefinitions(routes.stream().map(input -> input.getContent()).collect(Collectors.toList()));
+    /**
+     * Returns the producer template shared by all provisioning managers; as any {@link ProducerTemplate}, it is
+     * thread-safe.
+     *
+     * @return shared producer template
+     */
+    public ProducerTemplate getProducerTemplate() {
+        ProducerTemplate template = producerTemplate;
+        if (template == null) {
+            synchronized (this) {
+                if (producerTemplate == null) {
+                    producerTemplate = getCamelContext().createProducerTemplate();
+                }
+                template = producerTemplate;
             }
         }
 
-        return camelContext;
+        return template;
+    }
+
+    /**
+     * Makes sure that the given endpoint, which routes send their outcome to, has a consumer: since the outcome is
+     * read from the in-out exchange sent to the route, such consumer does nothing.
+     *
+     * @param uri port endpoint URI
+     */
+    public void ensurePort(final String uri) {
+        ports.computeIfAbsent(uri, k -> {
+            try {
+                Consumer consumer = getCamelContext().getEndpoint(k).createConsumer(exchange -> {
+                    // nothing to do: the outcome is available to the sender of the in-out exchange
+                });
+                consumer.start();
+                return consumer;
+            } catch (Exception e) {
+                LOG.error("While creating consumer for {}", k, e);
+                throw new CamelException(e);
+            }
+        });
     }
 
-    private void loadRouteDefinitions(final List<String> routes) {
+    private void stopPorts() {
+        ports.values().forEach(consumer -> {
+            try {
+                consumer.stop();
+            } catch (Exception e) {
+                LOG.warn("While stopping consumer {}", consumer, e);
+            }
+        });
+        ports.clear();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        stopPorts();
+
+        if (producerTemplate != null) {
+            try {
+                producerTemplate.stop();
+            } catch (Exception e) {
+                LOG.warn("While stopping producer template", e);
+            }
+        }
+    }
+
+    private void loadRouteDefinitions(final SpringCamelContext ctx, final List<String> routes) {
         try {
-            RoutesDefinition routeDefs = camelContext.loadRoutesDefinition(
+            RoutesDefinition routeDefs = ctx.loadRoutesDefinition(
                     IOUtils.toInputStream("<routes xmlns=\"http://camel.apache.org/schema/spring\">"
                             + StringUtils.join(routes)
                             + "</routes>", StandardCharsets.UTF_8));
-            camelContext.addRouteDefinitions(routeDefs.getRoutes());
+            ctx.addRouteDefinitions(routeDefs.getRoutes());
         } catch (Exception e) {
-            LOG.error("While adding route definitions into Camel Context {}", camelContext, e);
+            LOG.error("While adding route definitions into Camel Context {}", ctx, e);
             throw new CamelException(e);
         }
     }
@@ -83,14 +164,14 @@ public class SyncopeCamelContext {
     public void updateContext(final String routeKey) {
         if (!camelContext.getRouteDefinitions().isEmpty()) {
             camelContext.getRouteDefinitions().remove(camelContext.getRouteDefinition(routeKey));
-            loadRouteDefinitions(Arrays.asList(routeDAO.find(routeKey).getContent()));
+            loadRouteDefinitions(camelContext, Arrays.asList(routeDAO.find(routeKey).getContent()));
         }
     }
 
     public void restoreRoute(final String routeKey, final String routeContent) {
         try {
             camelContext.getRouteDefinitions().remove(camelContext.getRouteDefinition(routeKey));
-            loadRouteDefinitions(Arrays.asList(routeContent));
+            loadRouteDefinitions(camelContext, Arrays.asList(routeContent));
         } catch (Exception e) {
             LOG.error("While restoring Camel route {}", routeKey, e);
             throw new CamelException(e);
@@ -99,6 +180,9 @@ public class SyncopeCamelContext {
 
     public void restartContext() {
         try {
+            // port consumers do not survive the stop of the context
+            stopPorts();
+
             camelContext.stop();
             camelContext.start();
         } catch (Exception e) {
@@ -68,6 +68,7 @@ import org.elasticsearch.index.query.DisMaxQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.sort.FieldSortBuilder;
 import org.elasticsearch.search.sort.SortBuilder;
@@ -101,6 +102,21 @@ public class ElasticsearchAnySearchDAO extends AbstractAnySearchDAO {
     @Autowired
     protected ElasticsearchUtils elasticsearchUtils;
 
+    /**
+     * Adds to the given builder the query matching the given realm and all its descendants, via full path prefix.
+     *
+     * @param builder query builder
+     * @param fullPath realm full path
+     */
+    protected void addRealmSubtree(final DisMaxQueryBuilder builder, final String fullPath) {
+        if (SyncopeConstants.ROOT_REALM.equals(fullPath)) {
+            builder.add(QueryBuilders.prefixQuery("realm", SyncopeConstants.ROOT_REALM));
+        } else {
+            builder.add(QueryBuilders.termQuery("realm", fullPath));
+            builder.add(QueryBuilders.prefixQuery("realm", fullPath + "/"));
+        }
+    }
+
     protected Triple<Optional<QueryBuilder>, Set<String>, Set<String>> getAdminRealmsFilter(
             final AnyTypeKind kind, final Set<String> adminRealms) {
 
@@ -120,8 +136,7 @@ public class ElasticsearchAnySearchDAO extends AbstractAnySearchDAO {
                     noRealm.getElements().add("Invalid realm specified: " + realmPath);
                     throw noRealm;
                 } else {
-                    realmDAO.findDescendants(realm).forEach(
-                            descendant -> builder.add(QueryBuilders.termQuery("realm", descendant.getFullPath())));
+                    addRealmSubtree(builder, realm.getFullPath());
                 }
             } else {
                 DynRealm dynRealm = dynRealmDAO.find(realmPath);
@@ -208,8 +223,7 @@ public class ElasticsearchAnySearchDAO extends AbstractAnySearchDAO {
         return builders;
     }
 
-    @Override
-    protected <T extends Any<?>> List<T> doSearch(
+    protected SearchRequest buildSearchRequest(
             final Set<String> adminRealms,
             final SearchCond cond,
             final int page,
@@ -223,10 +237,22 @@ public class ElasticsearchAnySearchDAO extends AbstractAnySearchDAO {
                 size(itemsPerPage < 0 ? elasticsearchUtils.getIndexMaxResultWindow() : itemsPerPage);
         sortBuilders(kind, orderBy).forEach(sourceBuilder::sort);
 
-        SearchRequest request = new SearchRequest(
+        return new SearchRequest(
                 ElasticsearchUtils.getAnyIndex(AuthContextUtils.getDomain(), kind)).
                 searchType(SearchType.QUERY_THEN_FETCH).
                 source(sourceBuilder);
+    }
+
+    @Override
+    protected <T extends Any<?>> List<T> doSearch(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind) {
+
+        SearchRequest request = buildSearchRequest(adminRealms, cond, page, itemsPerPage, orderBy, kind);
 
         SearchHit[] esResult = null;
         try {
@@ -240,6 +266,61 @@ public class ElasticsearchAnySearchDAO extends AbstractAnySearchDAO {
                 : buildResult(Stream.of(esResult).map(SearchHit::getId).collect(Collectors.toList()), kind);
     }
 
+    @Override
+    protected List<String> doSearchKeys(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind) {
+
+        SearchRequest request = buildSearchRequest(adminRealms, cond, page, itemsPerPage, orderBy, kind);
+        request.source().fetchSource(false);
+
+        SearchHit[] esResult = null;
+        try {
+            esResult = client.search(request, RequestOptions.DEFAULT).getHits().getHits();
+        } catch (Exception e) {
+            LOG.error("While searching in Elasticsearch", e);
+        }
+
+        return ArrayUtils.isEmpty(esResult)
+                ? Collections.emptyList()
+                : Stream.of(esResult).map(SearchHit::getId).collect(Collectors.toList());
+    }
+
+    @Override
+    protected <T extends Any<?>> Pair<Integer, List<T>> doSearchAndCount(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind) {
+
+        SearchRequest request = buildSearchRequest(adminRealms, cond, page, itemsPerPage, orderBy, kind);
+        // total hits are otherwise only accurate up to 10,000
+        request.source().trackTotalHits(true);
+
+        SearchHits hits = null;
+        try {
+            hits = client.search(request, RequestOptions.DEFAULT).getHits();
+        } catch (Exception e) {
+            LOG.error("While searching in Elasticsearch", e);
+        }
+
+        if (hits == null) {
+            return Pair.of(0, Collections.emptyList());
+        }
+
+        return Pair.of(
+                hits.getTotalHits() == null ? 0 : (int) hits.getTotalHits().value,
+                ArrayUtils.isEmpty(hits.getHits())
+                ? Collections.emptyList()
+                : buildResult(Stream.of(hits.getHits()).map(SearchHit::getId).collect(Collectors.toList()), kind));
+    }
+
     protected QueryBuilder getQueryBuilder(final SearchCond cond, final AnyTypeKind kind) {
         QueryBuilder builder = null;
 
@@ -385,8 +466,7 @@ public class ElasticsearchAnySearchDAO extends AbstractAnySearchDAO {
 
         DisMaxQueryBuilder builder = QueryBuilders.disMaxQuery();
         if (cond.isFromGroup()) {
-            realmDAO.findDescendants(realm).forEach(
-                    current -> builder.add(QueryBuilders.termQuery("realm", current.getFullPath())));
+            addRealmSubtree(builder, realm.getFullPath());
         } else {
             for (Realm current = realm; current.getParent() != null; current = current.getParent()) {
                 builder.add(QueryBuilders.termQuery("realm", current.getFullPath()));
@@ -93,14 +93,13 @@ public class ElasticsearchAnySearchDAOTest {
         when(root.getFullPath()).thenReturn(SyncopeConstants.ROOT_REALM);
 
         when(realmDAO.findByFullPath(SyncopeConstants.ROOT_REALM)).thenReturn(root);
-        when(realmDAO.findDescendants(root)).thenReturn(Collections.singletonList(root));
 
         // 2. test
         Set<String> adminRealms = Collections.singleton(SyncopeConstants.ROOT_REALM);
         Triple<Optional<QueryBuilder>, Set<String>, Set<String>> filter =
                 searchDAO.getAdminRealmsFilter(AnyTypeKind.USER, adminRealms);
         assertEquals(
-                QueryBuilders.disMaxQuery().add(QueryBuilders.termQuery("realm", SyncopeConstants.ROOT_REALM)),
+                QueryBuilders.disMaxQuery().add(QueryBuilders.prefixQuery("realm", SyncopeConstants.ROOT_REALM)),
                 filter.getLeft().get());
         assertEquals(Collections.emptySet(), filter.getMiddle());
         assertEquals(Collections.emptySet(), filter.getRight());
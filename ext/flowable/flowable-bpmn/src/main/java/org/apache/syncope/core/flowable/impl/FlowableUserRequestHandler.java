@@ -18,6 +18,8 @@
  */
 package org.apache.syncope.core.flowable.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import org.apache.syncope.core.flowable.api.UserRequestHandler;
 import java.util.HashMap;
@@ -25,6 +27,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Resource;
 import org.apache.commons.lang3.StringUtils;
@@ -40,7 +46,9 @@ import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.common.lib.types.UserRequestFormPropertyType;
 import org.apache.syncope.core.flowable.api.DropdownValueProvider;
 import org.apache.syncope.core.flowable.api.WorkflowTaskManager;
+import org.apache.syncope.core.flowable.impl.UserRequestListingCache.Boundary;
 import org.apache.syncope.core.flowable.support.DomainProcessEngine;
+import org.apache.syncope.core.persistence.api.dao.ConfDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
@@ -56,6 +64,7 @@ import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.workflow.api.WorkflowException;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.api.query.NativeQuery;
 import org.flowable.engine.form.FormProperty;
 import org.flowable.engine.form.FormType;
 import org.flowable.engine.form.TaskFormData;
@@ -64,9 +73,13 @@ import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.HistoricFormPropertyEntity;
 import org.flowable.engine.runtime.ProcessInstance;
 import org.flowable.identitylink.api.IdentityLinkType;
+import org.flowable.identitylink.service.impl.persistence.entity.IdentityLinkEntity;
+import org.flowable.idm.api.Group;
+import org.flowable.task.api.NativeTaskQuery;
 import org.flowable.task.api.Task;
 import org.flowable.task.api.TaskQuery;
 import org.flowable.task.api.history.HistoricTaskInstance;
+import org.flowable.task.service.impl.persistence.entity.TaskEntity;
 import org.flowable.variable.api.history.HistoricVariableInstance;
 import org.identityconnectors.framework.common.objects.SyncDeltaType;
 import org.slf4j.Logger;
@@ -79,8 +92,16 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = { Throwable.class })
 public class FlowableUserRequestHandler implements UserRequestHandler {
 
+    /**
+     * Configuration parameter: for how many seconds the total number of user requests or forms matching a given query
+     * can be served from memory; 0 (default) disables caching.
+     */
+    public static final String COUNT_CACHE_TTL = "userRequest.countCacheTTL";
+
     protected static final Logger LOG = LoggerFactory.getLogger(UserRequestHandler.class);
 
+    protected static final long BOUNDARY_TTL = TimeUnit.MINUTES.toMillis(10);
+
     @Autowired
     protected WorkflowTaskManager wfTaskManager;
 
@@ -99,46 +120,176 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
     @Autowired
     protected EntityFactory entityFactory;
 
+    @Autowired
+    protected ConfDAO confDAO;
+
+    protected final UserRequestListingCache listingCache = new UserRequestListingCache();
+
     protected StringBuilder createProcessInstanceQuery(final String userKey) {
         StringBuilder query = new StringBuilder().
-                append("SELECT DISTINCT ID_,BUSINESS_KEY_,PROC_DEF_ID_,PROC_INST_ID_,START_TIME_ FROM ").
-                append(engine.getManagementService().getTableName(ExecutionEntity.class)).
-                append(" WHERE BUSINESS_KEY_ NOT LIKE '").
+                append("SELECT DISTINCT RES.ID_,RES.BUSINESS_KEY_,RES.PROC_DEF_ID_,RES.PROC_INST_ID_,RES.START_TIME_ ").
+                append("FROM ").append(engine.getManagementService().getTableName(ExecutionEntity.class)).
+                append(" RES WHERE RES.BUSINESS_KEY_ NOT LIKE '").
                 append(FlowableRuntimeUtils.getProcBusinessKey(FlowableRuntimeUtils.WF_PROCESS_ID, "%")).
                 append("'");
         if (userKey != null) {
-            query.append(" AND BUSINESS_KEY_ LIKE '").
+            query.append(" AND RES.BUSINESS_KEY_ LIKE '").
                     append(FlowableRuntimeUtils.getProcBusinessKey("%", userKey)).
                     append("'");
         }
-        query.append(" AND PARENT_ID_ IS NULL");
+        query.append(" AND RES.PARENT_ID_ IS NULL");
 
         return query;
     }
 
+    protected String listingKey(final String query, final Map<String, Object> params) {
+        return AuthContextUtils.getDomain() + '|' + query + '|' + params;
+    }
+
+    /**
+     * Counts the items matching the given native query, possibly reading from the count cache; the query is expected
+     * to be in the {@code SELECT ... FROM ...} form.
+     *
+     * @param <Q> native query type
+     * @param nativeQuery native query factory
+     * @param query query
+     * @param params query parameters
+     * @return number of items matching the given query
+     */
+    protected <Q extends NativeQuery<Q, ?>> int count(
+            final Supplier<Q> nativeQuery, final String query, final Map<String, Object> params) {
+
+        String countQuery = "SELECT COUNT(RES.ID_) FROM " + StringUtils.substringAfter(query, " FROM ");
+
+        long ttl = TimeUnit.SECONDS.toMillis(confDAO.find(COUNT_CACHE_TTL, 0L));
+        String key = listingKey(countQuery, params);
+        Integer count = ttl > 0 ? listingCache.getCount(key) : null;
+        if (count == null) {
+            Q countNativeQuery = nativeQuery.get().sql(countQuery);
+            params.forEach(countNativeQuery::parameter);
+            count = (int) countNativeQuery.count();
+
+            if (ttl > 0) {
+                listingCache.putCount(key, count, ttl);
+            }
+        }
+        return count;
+    }
+
     protected int countProcessInstances(final StringBuilder processInstanceQuery) {
-        return (int) engine.getRuntimeService().createNativeProcessInstanceQuery().
-                sql("SELECT COUNT(ID_) FROM "
-                        + StringUtils.substringAfter(processInstanceQuery.toString(), " FROM ")).
-                count();
+        return count(
+                () -> engine.getRuntimeService().createNativeProcessInstanceQuery(),
+                processInstanceQuery.toString(),
+                Collections.emptyMap());
     }
 
-    protected UserRequest getUserRequest(final ProcessInstance procInst) {
-        Pair<String, String> split = FlowableRuntimeUtils.splitProcBusinessKey(procInst.getBusinessKey());
+    /**
+     * Reads the requested page of items matching the given native query, sorted by the given time column and then by
+     * id, both in the given direction.
+     * When the sort key of the last item of the previous page is known - as when pages are read sequentially - the
+     * page is read via keyset pagination, i.e. by seeking past such key, rather than by skipping all the items of
+     * the previous pages.
+     *
+     * @param <Q> native query type
+     * @param <U> item type
+     * @param nativeQuery native query factory
+     * @param query query, in the {@code SELECT ... FROM ... RES WHERE ...} form
+     * @param params query parameters
+     * @param timeColumn time column to sort by
+     * @param direction sort direction
+     * @param page result page
+     * @param size items per page
+     * @param boundary extracts the sort key from an item
+     * @return the requested page of items
+     */
+    protected <Q extends NativeQuery<Q, U>, U> List<U> keysetPage(
+            final Supplier<Q> nativeQuery,
+            final String query,
+            final Map<String, Object> params,
+            final String timeColumn,
+            final OrderByClause.Direction direction,
+            final int page,
+            final int size,
+            final Function<U, Boundary> boundary) {
 
+        String dir = direction == OrderByClause.Direction.ASC ? " ASC" : " DESC";
+        String orderBy = " ORDER BY " + timeColumn + dir + ", RES.ID_" + dir;
+        String key = listingKey(query + orderBy, params) + '|' + size + '|';
+
+        int actualPage = page <= 0 ? 1 : page;
+        Boundary previous = actualPage > 1 ? listingCache.getBoundary(key + (actualPage - 1)) : null;
+
+        Q pageNativeQuery = nativeQuery.get();
+        params.forEach(pageNativeQuery::parameter);
+
+        List<U> result;
+        if (previous == null) {
+            result = pageNativeQuery.sql(query + orderBy).listPage(size * (actualPage - 1), size);
+        } else {
+            String cmp = direction == OrderByClause.Direction.ASC ? " > " : " < ";
+            result = pageNativeQuery.sql(query
+                    + " AND (" + timeColumn + cmp + "#{keysetTime}"
+                    + " OR (" + timeColumn + " = #{keysetTime} AND RES.ID_" + cmp + "#{keysetId}))"
+                    + orderBy).
+                    parameter("keysetTime", previous.getTime()).
+                    parameter("keysetId", previous.getId()).
+                    listPage(0, size);
+        }
+
+        if (!result.isEmpty()) {
+            listingCache.putBoundary(key + actualPage, boundary.apply(result.get(result.size() - 1)), BOUNDARY_TTL);
+        }
+
+        return result;
+    }
+
+    /**
+     * Tells whether the given sort conditions can be served via keyset pagination, i.e. if they are empty or only
+     * made of the given field.
+     *
+     * @param orderByClauses sort conditions
+     * @param timeField time field
+     * @return the sort direction to use, or {@code null} if keyset pagination is not possible
+     */
+    protected OrderByClause.Direction keysetDirection(
+            final List<OrderByClause> orderByClauses, final String timeField) {
+        if (orderByClauses.isEmpty()) {
+            return OrderByClause.Direction.ASC;
+        }
+        if (orderByClauses.size() == 1 && timeField.equals(orderByClauses.get(0).getField().trim())) {
+            return orderByClauses.get(0).getDirection();
+        }
+        return null;
+    }
+
+    protected Map<String, String> getUsernames(final Collection<String> userKeys) {
+        return userKeys.isEmpty()
+                ? Collections.emptyMap()
+                : userDAO.findByKeys(new ArrayList<>(userKeys)).stream().
+                        collect(Collectors.toMap(User::getKey, User::getUsername));
+    }
+
+    protected UserRequest getUserRequest(final ProcessInstance procInst, final String username, final Task task) {
         UserRequest userRequest = new UserRequest();
-        userRequest.setBpmnProcess(split.getLeft());
+        userRequest.setBpmnProcess(FlowableRuntimeUtils.splitProcBusinessKey(procInst.getBusinessKey()).getLeft());
         userRequest.setStartTime(procInst.getStartTime());
-        userRequest.setUsername(userDAO.find(split.getRight()).getUsername());
+        userRequest.setUsername(username);
         userRequest.setExecutionId(procInst.getId());
-        final Task task = engine.getTaskService().createTaskQuery()
-                .processInstanceId(procInst.getProcessInstanceId()).singleResult();
         userRequest.setActivityId(task.getTaskDefinitionKey());
         userRequest.setTaskId(task.getId());
         userRequest.setHasForm(StringUtils.isNotBlank(task.getFormKey()));
         return userRequest;
     }
 
+    protected UserRequest getUserRequest(final ProcessInstance procInst) {
+        return getUserRequest(
+                procInst,
+                userDAO.find(FlowableRuntimeUtils.splitProcBusinessKey(procInst.getBusinessKey()).getRight()).
+                        getUsername(),
+                engine.getTaskService().createTaskQuery().
+                        processInstanceId(procInst.getProcessInstanceId()).singleResult());
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Pair<Integer, List<UserRequest>> getUserRequests(
@@ -150,22 +301,24 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
         StringBuilder query = createProcessInstanceQuery(userKey);
         Integer count = countProcessInstances(query);
 
-        if (!orderByClauses.isEmpty()) {
+        List<ProcessInstance> procInsts;
+        OrderByClause.Direction keysetDirection = keysetDirection(orderByClauses, "startTime");
+        if (keysetDirection == null) {
             query.append(" ORDER BY");
 
             for (OrderByClause clause : orderByClauses) {
                 boolean sorted = true;
                 switch (clause.getField().trim()) {
                     case "bpmnProcess":
-                        query.append(" PROC_DEF_ID_");
+                        query.append(" RES.PROC_DEF_ID_");
                         break;
 
                     case "startTime":
-                        query.append(" START_TIME_");
+                        query.append(" RES.START_TIME_");
                         break;
 
                     case "executionId":
-                        query.append(" PROC_INST_ID_");
+                        query.append(" RES.PROC_INST_ID_");
                         break;
 
                     default:
@@ -180,15 +333,41 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
                     }
                 }
             }
+            query.append(" RES.ID_ ASC");
 
-            query.setLength(query.length() - 1);
+            procInsts = engine.getRuntimeService().createNativeProcessInstanceQuery().
+                    sql(query.toString()).
+                    listPage(size * (page <= 0 ? 0 : page - 1), size);
+        } else {
+            procInsts = keysetPage(
+                    () -> engine.getRuntimeService().createNativeProcessInstanceQuery(),
+                    query.toString(),
+                    Collections.emptyMap(),
+                    "RES.START_TIME_",
+                    keysetDirection,
+                    page,
+                    size,
+                    procInst -> new Boundary(procInst.getStartTime(), procInst.getId()));
         }
 
-        List<UserRequest> result = engine.getRuntimeService().createNativeProcessInstanceQuery().
-                sql(query.toString()).
-                listPage(size * (page <= 0 ? 0 : page - 1), size).stream().
-                map(procInst -> getUserRequest(procInst)).
-                collect(Collectors.toList());
+        if (procInsts.isEmpty()) {
+            return Pair.of(count, new ArrayList<>());
+        }
+
+        // fetch owners and current tasks for the whole page at once
+        Map<String, String> usernames = getUsernames(procInsts.stream().
+                map(procInst -> FlowableRuntimeUtils.splitProcBusinessKey(procInst.getBusinessKey()).getRight()).
+                collect(Collectors.toSet()));
+        Map<String, Task> tasks = engine.getTaskService().createTaskQuery().
+                processInstanceIdIn(procInsts.stream().
+                        map(ProcessInstance::getProcessInstanceId).collect(Collectors.toSet())).
+                list().stream().
+                collect(Collectors.toMap(Task::getProcessInstanceId, Function.identity(), (t1, t2) -> t1));
+
+        List<UserRequest> result = procInsts.stream().map(procInst -> {
+            String owner = FlowableRuntimeUtils.splitProcBusinessKey(procInst.getBusinessKey()).getRight();
+            return getUserRequest(procInst, usernames.get(owner), tasks.get(procInst.getProcessInstanceId()));
+        }).collect(Collectors.toList());
 
         return Pair.of(count, result);
     }
@@ -219,6 +398,7 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
         engine.getRuntimeService().updateBusinessKey(
                 procInst.getProcessInstanceId(),
                 FlowableRuntimeUtils.getProcBusinessKey(bpmnProcess, user.getKey()));
+        listingCache.invalidate(AuthContextUtils.getDomain());
 
         return getUserRequest(engine.getRuntimeService().createProcessInstanceQuery().
                 processInstanceId(procInst.getProcessInstanceId()).singleResult());
@@ -249,6 +429,7 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
         }
 
         engine.getRuntimeService().deleteProcessInstance(procInst.getId(), reason);
+        listingCache.invalidate(AuthContextUtils.getDomain());
     }
 
     @Override
@@ -259,6 +440,7 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
                     engine.getRuntimeService().deleteProcessInstance(
                             procInst.getId(), "Cascade Delete process definition " + processDefinitionId);
                 });
+        listingCache.invalidate(AuthContextUtils.getDomain());
     }
 
     @Override
@@ -272,6 +454,7 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
                     sql(createProcessInstanceQuery(user.getKey()).toString()).
                     list().forEach(procInst -> engine.getRuntimeService().deleteProcessInstance(
                     procInst.getId(), "Cascade Delete user " + user.getUsername()));
+            listingCache.invalidate(event.getDomain());
         }
     }
 
@@ -362,7 +545,7 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
         String procBusinessKey = engine.getRuntimeService().createProcessInstanceQuery().
                 processInstanceId(procInstId).singleResult().getBusinessKey();
 
-        return StringUtils.substringAfter(procBusinessKey, ":");
+        return FlowableRuntimeUtils.splitProcBusinessKey(procBusinessKey).getRight();
     }
 
     protected UserRequestForm getHistoricFormTO(
@@ -401,7 +584,6 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
         return formTO;
     }
 
-    @SuppressWarnings("unchecked")
     protected UserRequestForm getForm(
             final String procInstId,
             final String taskId,
@@ -428,42 +610,106 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
         formTO.setUserPatch(engine.getRuntimeService().
                 getVariable(procInstId, FlowableRuntimeUtils.USER_PATCH, UserPatch.class));
 
-        formTO.getProperties().addAll(props.stream().map(fProp -> {
-            UserRequestFormProperty propertyTO = new UserRequestFormProperty();
-            propertyTO.setId(fProp.getId());
-            propertyTO.setName(fProp.getName());
-            propertyTO.setReadable(fProp.isReadable());
-            propertyTO.setRequired(fProp.isRequired());
-            propertyTO.setWritable(fProp.isWritable());
-            propertyTO.setValue(fProp.getValue());
-            propertyTO.setType(fromFlowableFormType(fProp.getType()));
-            switch (propertyTO.getType()) {
-                case Date:
-                    propertyTO.setDatePattern((String) fProp.getType().getInformation("datePattern"));
-                    break;
+        formTO.getProperties().addAll(props.stream().
+                map(this::getFormProperty).
+                collect(Collectors.toList()));
 
-                case Enum:
-                    propertyTO.getEnumValues().putAll((Map<String, String>) fProp.getType().getInformation("values"));
-                    break;
+        return formTO;
+    }
 
-                case Dropdown:
-                    String valueProviderBean = (String) fProp.getType().getInformation(DropdownValueProvider.NAME);
-                    try {
-                        DropdownValueProvider valueProvider = ApplicationContextProvider.getApplicationContext().
-                                getBean(valueProviderBean, DropdownValueProvider.class);
-                        propertyTO.getDropdownValues().putAll(valueProvider.getValues());
-                    } catch (Exception e) {
-                        LOG.error("Could not find bean {} of type {} for form property {}",
-                                valueProviderBean, DropdownValueProvider.class.getName(), propertyTO.getId(), e);
-                    }
-                    break;
+    @SuppressWarnings("unchecked")
+    protected UserRequestFormProperty getFormProperty(final FormProperty fProp) {
+        UserRequestFormProperty propertyTO = new UserRequestFormProperty();
+        propertyTO.setId(fProp.getId());
+        propertyTO.setName(fProp.getName());
+        propertyTO.setReadable(fProp.isReadable());
+        propertyTO.setRequired(fProp.isRequired());
+        propertyTO.setWritable(fProp.isWritable());
+        propertyTO.setValue(fProp.getValue());
+        propertyTO.setType(fromFlowableFormType(fProp.getType()));
+        switch (propertyTO.getType()) {
+            case Date:
+                propertyTO.setDatePattern((String) fProp.getType().getInformation("datePattern"));
+                break;
+
+            case Enum:
+                propertyTO.getEnumValues().putAll((Map<String, String>) fProp.getType().getInformation("values"));
+                break;
+
+            case Dropdown:
+                String valueProviderBean = (String) fProp.getType().getInformation(DropdownValueProvider.NAME);
+                try {
+                    DropdownValueProvider valueProvider = ApplicationContextProvider.getApplicationContext().
+                            getBean(valueProviderBean, DropdownValueProvider.class);
+                    propertyTO.getDropdownValues().putAll(valueProvider.getValues());
+                } catch (Exception e) {
+                    LOG.error("Could not find bean {} of type {} for form property {}",
+                            valueProviderBean, DropdownValueProvider.class.getName(), propertyTO.getId(), e);
+                }
+                break;
 
-                default:
-            }
-            return propertyTO;
-        }).collect(Collectors.toList()));
+            default:
+        }
+        return propertyTO;
+    }
 
-        return formTO;
+    /**
+     * Builds the forms for the given tasks, reading process instances, owners and variables for all tasks at once.
+     *
+     * @param tasks tasks
+     * @return forms for the given tasks
+     */
+    protected List<UserRequestForm> getForms(final List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> procInstIds = tasks.stream().map(Task::getProcessInstanceId).collect(Collectors.toSet());
+
+        Map<String, ProcessInstance> procInsts = engine.getRuntimeService().createProcessInstanceQuery().
+                processInstanceIds(procInstIds).list().stream().
+                collect(Collectors.toMap(ProcessInstance::getId, Function.identity()));
+
+        Map<String, String> usernames = getUsernames(procInsts.values().stream().
+                map(procInst -> FlowableRuntimeUtils.splitProcBusinessKey(procInst.getBusinessKey()).getRight()).
+                collect(Collectors.toSet()));
+
+        Map<String, Map<String, Object>> variables = new HashMap<>();
+        engine.getRuntimeService().getVariableInstancesByExecutionIds(procInstIds).stream().
+                filter(variable -> FlowableRuntimeUtils.USER_TO.equals(variable.getName())
+                || FlowableRuntimeUtils.USER_PATCH.equals(variable.getName())).
+                forEach(variable -> variables.computeIfAbsent(variable.getExecutionId(), k -> new HashMap<>()).
+                put(variable.getName(), variable.getValue()));
+
+        return tasks.stream().map(task -> {
+            ProcessInstance procInst = procInsts.get(task.getProcessInstanceId());
+            String username = procInst == null
+                    ? null
+                    : usernames.get(FlowableRuntimeUtils.splitProcBusinessKey(procInst.getBusinessKey()).getRight());
+            if (username == null) {
+                throw new NotFoundException("User for process instance id " + task.getProcessInstanceId());
+            }
+            Map<String, Object> procInstVars = variables.getOrDefault(procInst.getId(), Collections.emptyMap());
+
+            UserRequestForm formTO = new UserRequestForm();
+            formTO.setBpmnProcess(procInst.getProcessDefinitionKey());
+            formTO.setUsername(username);
+            formTO.setTaskId(task.getId());
+            formTO.setUserTO((UserTO) procInstVars.get(FlowableRuntimeUtils.USER_TO));
+            formTO.setUserPatch((UserPatch) procInstVars.get(FlowableRuntimeUtils.USER_PATCH));
+            formTO.getProperties().addAll(engine.getFormService().getTaskFormData(task.getId()).
+                    getFormProperties().stream().
+                    map(this::getFormProperty).
+                    collect(Collectors.toList()));
+
+            formTO.setCreateTime(task.getCreateTime());
+            formTO.setDueDate(task.getDueDate());
+            formTO.setExecutionId(task.getExecutionId());
+            formTO.setFormKey(task.getFormKey());
+            formTO.setAssignee(task.getAssignee());
+
+            return formTO;
+        }).collect(Collectors.toList());
     }
 
     @Override
@@ -488,67 +734,117 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
             final int size,
             final List<OrderByClause> ob) {
 
-        TaskQuery query = engine.getTaskService().createTaskQuery().taskWithFormKey();
+        Map<String, Object> params = new TreeMap<>();
+
+        StringBuilder query = new StringBuilder("SELECT RES.* FROM ").
+                append(engine.getManagementService().getTableName(TaskEntity.class)).
+                append(" RES WHERE RES.FORM_KEY_ IS NOT NULL");
         if (userKey != null) {
-            query.processInstanceBusinessKeyLike(FlowableRuntimeUtils.getProcBusinessKey("%", userKey));
+            query.append(" AND EXISTS (SELECT E.ID_ FROM ").
+                    append(engine.getManagementService().getTableName(ExecutionEntity.class)).
+                    append(" E WHERE E.ID_ = RES.PROC_INST_ID_ AND E.BUSINESS_KEY_ LIKE #{businessKey})");
+            params.put("businessKey", FlowableRuntimeUtils.getProcBusinessKey("%", userKey));
         }
 
         String authUser = AuthContextUtils.getUsername();
-        return adminUser.equals(authUser)
-                ? getForms(query, page, size, ob)
-                : getForms(query.or().taskCandidateUser(authUser).taskAssignee(authUser).endOr(), page, size, ob);
+        if (!adminUser.equals(authUser)) {
+            // same as TaskQuery#or().taskCandidateUser(authUser).taskAssignee(authUser).endOr()
+            query.append(" AND (RES.ASSIGNEE_ = #{authUser}").
+                    append(" OR (RES.ASSIGNEE_ IS NULL AND EXISTS (SELECT LINK.ID_ FROM ").
+                    append(engine.getManagementService().getTableName(IdentityLinkEntity.class)).
+                    append(" LINK WHERE LINK.TASK_ID_ = RES.ID_ AND LINK.TYPE_ = #{candidate}").
+                    append(" AND (LINK.USER_ID_ = #{authUser}");
+            params.put("authUser", authUser);
+            params.put("candidate", IdentityLinkType.CANDIDATE);
+
+            List<Group> groups = engine.getIdentityService().createGroupQuery().groupMember(authUser).list();
+            if (!groups.isEmpty()) {
+                query.append(" OR LINK.GROUP_ID_ IN (");
+                for (int i = 0; i < groups.size(); i++) {
+                    query.append("#{candidateGroup").append(i).append("},");
+                    params.put("candidateGroup" + i, groups.get(i).getId());
+                }
+                query.setLength(query.length() - 1);
+                query.append(')');
+            }
+
+            query.append("))))");
+        }
+
+        return getForms(query, params, page, size, ob);
     }
 
     protected Pair<Integer, List<UserRequestForm>> getForms(
-            final TaskQuery query, final int page, final int size, final List<OrderByClause> orderByClauses) {
+            final StringBuilder query,
+            final Map<String, Object> params,
+            final int page,
+            final int size,
+            final List<OrderByClause> orderByClauses) {
 
-        for (OrderByClause clause : orderByClauses) {
-            boolean sorted = true;
-            switch (clause.getField().trim()) {
-                case "bpmnProcess":
-                    query.orderByProcessDefinitionId();
-                    break;
+        int count = count(() -> engine.getTaskService().createNativeTaskQuery(), query.toString(), params);
 
-                case "executionId":
-                    query.orderByExecutionId();
-                    break;
+        List<Task> tasks;
+        OrderByClause.Direction keysetDirection = keysetDirection(orderByClauses, "createTime");
+        if (keysetDirection == null) {
+            query.append(" ORDER BY");
 
-                case "taskId":
-                    query.orderByTaskId();
-                    break;
+            for (OrderByClause clause : orderByClauses) {
+                boolean sorted = true;
+                switch (clause.getField().trim()) {
+                    case "bpmnProcess":
+                        query.append(" RES.PROC_DEF_ID_");
+                        break;
 
-                case "createTime":
-                    query.orderByTaskCreateTime();
-                    break;
+                    case "executionId":
+                        query.append(" RES.EXECUTION_ID_");
+                        break;
 
-                case "dueDate":
-                    query.orderByTaskDueDate();
-                    break;
+                    case "taskId":
+                        query.append(" RES.ID_");
+                        break;
 
-                case "assignee":
-                    query.orderByTaskAssignee();
-                    break;
+                    case "createTime":
+                        query.append(" RES.CREATE_TIME_");
+                        break;
 
-                default:
-                    LOG.warn("Form sort request by {}: unsupported, ignoring", clause.getField().trim());
-                    sorted = false;
-            }
-            if (sorted) {
-                if (clause.getDirection() == OrderByClause.Direction.ASC) {
-                    query.asc();
-                } else {
-                    query.desc();
+                    case "dueDate":
+                        query.append(" RES.DUE_DATE_");
+                        break;
+
+                    case "assignee":
+                        query.append(" RES.ASSIGNEE_");
+                        break;
+
+                    default:
+                        LOG.warn("Form sort request by {}: unsupported, ignoring", clause.getField().trim());
+                        sorted = false;
+                }
+                if (sorted) {
+                    if (clause.getDirection() == OrderByClause.Direction.ASC) {
+                        query.append(" ASC,");
+                    } else {
+                        query.append(" DESC,");
+                    }
                 }
             }
-        }
+            query.append(" RES.ID_ ASC");
 
-        List<UserRequestForm> result = query.listPage(size * (page <= 0 ? 0 : page - 1), size).stream().
-                map(task -> task instanceof HistoricTaskInstance
-                ? FlowableUserRequestHandler.this.getForm((HistoricTaskInstance) task)
-                : FlowableUserRequestHandler.this.getForm(task)).
-                collect(Collectors.toList());
+            NativeTaskQuery nativeQuery = engine.getTaskService().createNativeTaskQuery().sql(query.toString());
+            params.forEach(nativeQuery::parameter);
+            tasks = nativeQuery.listPage(size * (page <= 0 ? 0 : page - 1), size);
+        } else {
+            tasks = keysetPage(
+                    () -> engine.getTaskService().createNativeTaskQuery(),
+                    query.toString(),
+                    params,
+                    "RES.CREATE_TIME_",
+                    keysetDirection,
+                    page,
+                    size,
+                    task -> new Boundary(task.getCreateTime(), task.getId()));
+        }
 
-        return Pair.of((int) query.count(), result);
+        return Pair.of(count, getForms(tasks));
     }
 
     protected Pair<Task, TaskFormData> parseTask(final String taskId) {
@@ -611,6 +907,7 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
         } catch (FlowableException e) {
             throw new WorkflowException("While reading task " + taskId, e);
         }
+        listingCache.invalidate(AuthContextUtils.getDomain());
 
         return FlowableUserRequestHandler.this.getForm(task, parsed.getRight());
     }
@@ -626,6 +923,7 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
         } catch (FlowableException e) {
             throw new WorkflowException("While unclaiming task " + taskId, e);
         }
+        listingCache.invalidate(AuthContextUtils.getDomain());
 
         return FlowableUserRequestHandler.this.getForm(task, parsed.getRight());
     }
@@ -673,6 +971,7 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
         } catch (FlowableException e) {
             FlowableRuntimeUtils.throwException(e, "While submitting form for task " + form.getTaskId());
         }
+        listingCache.invalidate(AuthContextUtils.getDomain());
         Set<String> postTasks = FlowableRuntimeUtils.getPerformedTasks(engine, procInstID, user);
         postTasks.removeAll(preTasks);
         postTasks.add(form.getTaskId());
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.flowable.impl;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived, in-memory state supporting user request and form listings: the number of items matching a given query
+ * and, for keyset pagination, the sort key of the last item of each page returned so far.
+ */
+public class UserRequestListingCache {
+
+    /**
+     * Sort key of the last item of a page: next page starts right after it.
+     */
+    public static final class Boundary {
+
+        private final Date time;
+
+        private final String id;
+
+        public Boundary(final Date time, final String id) {
+            this.time = time;
+            this.id = id;
+        }
+
+        public Date getTime() {
+            return time;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    private static final class Entry<T> {
+
+        private final T value;
+
+        private final long expires;
+
+        private Entry(final T value, final long ttl) {
+            this.value = value;
+            this.expires = System.currentTimeMillis() + ttl;
+        }
+
+        private boolean isExpired(final long now) {
+            return now >= expires;
+        }
+    }
+
+    protected static final int MAX_ENTRIES = 10000;
+
+    private final Map<String, Entry<Integer>> counts = new ConcurrentHashMap<>();
+
+    private final Map<String, Entry<Boundary>> boundaries = new ConcurrentHashMap<>();
+
+    private static <T> T get(final Map<String, Entry<T>> entries, final String key) {
+        Entry<T> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    private static <T> void put(final Map<String, Entry<T>> entries, final String key, final T value, final long ttl) {
+        if (entries.size() >= MAX_ENTRIES) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.isExpired(now));
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+        }
+        entries.put(key, new Entry<>(value, ttl));
+    }
+
+    public Integer getCount(final String key) {
+        return get(counts, key);
+    }
+
+    public void putCount(final String key, final int count, final long ttl) {
+        put(counts, key, count, ttl);
+    }
+
+    public Boundary getBoundary(final String key) {
+        return get(boundaries, key);
+    }
+
+    public void putBoundary(final String key, final Boundary boundary, final long ttl) {
+        put(boundaries, key, boundary, ttl);
+    }
+
+    /**
+     * Drops all counts and boundaries cached for the given domain, to be invoked whenever requests or forms are
+     * started, claimed, submitted or canceled there.
+     *
+     * @param domain domain
+     */
+    public void invalidate(final String domain) {
+        String prefix = domain + '|';
+        counts.keySet().removeIf(key -> key.startsWith(prefix));
+        boundaries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+}
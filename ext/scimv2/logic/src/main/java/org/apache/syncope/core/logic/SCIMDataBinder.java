@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -130,6 +131,129 @@ public class SCIMDataBinder {
                 : null;
     }
 
+    /**
+     * Returns the names of the fields and schemas which are needed to build SCIM users with the given attributes,
+     * according to the current configuration; other fields and schemas can be left out of the source users.
+     *
+     * @param attributes SCIM attributes to return
+     * @param excludedAttributes SCIM attributes not to return
+     * @return names of the fields and schemas needed
+     */
+    public Set<String> getUserFields(final List<String> attributes, final List<String> excludedAttributes) {
+        SCIMConf conf = confManager.get();
+
+        Set<String> fields = new HashSet<>();
+
+        if (output(attributes, excludedAttributes, "groups")) {
+            fields.add("memberships");
+            fields.add("dynMemberships");
+        }
+        if (output(attributes, excludedAttributes, "roles")) {
+            fields.add("roles");
+        }
+
+        if (conf.getEnterpriseUserConf() != null) {
+            if (output(attributes, excludedAttributes, "employeeNumber")) {
+                fields.add(conf.getEnterpriseUserConf().getEmployeeNumber());
+            }
+            if (output(attributes, excludedAttributes, "costCenter")) {
+                fields.add(conf.getEnterpriseUserConf().getCostCenter());
+            }
+            if (output(attributes, excludedAttributes, "organization")) {
+                fields.add(conf.getEnterpriseUserConf().getOrganization());
+            }
+            if (output(attributes, excludedAttributes, "division")) {
+                fields.add(conf.getEnterpriseUserConf().getDivision());
+            }
+            if (output(attributes, excludedAttributes, "department")) {
+                fields.add(conf.getEnterpriseUserConf().getDepartment());
+            }
+            if (output(attributes, excludedAttributes, "manager")
+                    && conf.getEnterpriseUserConf().getManager() != null) {
+
+                fields.add(conf.getEnterpriseUserConf().getManager().getKey());
+            }
+        }
+
+        if (conf.getUserConf() == null) {
+            fields.remove(null);
+            return fields;
+        }
+
+        if (output(attributes, excludedAttributes, "name") && conf.getUserConf().getName() != null) {
+            fields.add(conf.getUserConf().getName().getFamilyName());
+            fields.add(conf.getUserConf().getName().getFormatted());
+            fields.add(conf.getUserConf().getName().getGivenName());
+            fields.add(conf.getUserConf().getName().getHonorificPrefix());
+            fields.add(conf.getUserConf().getName().getHonorificSuffix());
+            fields.add(conf.getUserConf().getName().getMiddleName());
+        }
+        if (output(attributes, excludedAttributes, "displayName")) {
+            fields.add(conf.getUserConf().getDisplayName());
+        }
+        if (output(attributes, excludedAttributes, "nickName")) {
+            fields.add(conf.getUserConf().getNickName());
+        }
+        if (output(attributes, excludedAttributes, "profileUrl")) {
+            fields.add(conf.getUserConf().getProfileUrl());
+        }
+        if (output(attributes, excludedAttributes, "title")) {
+            fields.add(conf.getUserConf().getTitle());
+        }
+        if (output(attributes, excludedAttributes, "userType")) {
+            fields.add(conf.getUserConf().getUserType());
+        }
+        if (output(attributes, excludedAttributes, "preferredLanguage")) {
+            fields.add(conf.getUserConf().getPreferredLanguage());
+        }
+        if (output(attributes, excludedAttributes, "locale")) {
+            fields.add(conf.getUserConf().getLocale());
+        }
+        if (output(attributes, excludedAttributes, "timezone")) {
+            fields.add(conf.getUserConf().getTimezone());
+        }
+        if (output(attributes, excludedAttributes, "emails")) {
+            conf.getUserConf().getEmails().forEach(email -> {
+                fields.add(email.getValue());
+                fields.add(email.getDisplay());
+            });
+        }
+        if (output(attributes, excludedAttributes, "phoneNumbers")) {
+            conf.getUserConf().getPhoneNumbers().forEach(phoneNumber -> {
+                fields.add(phoneNumber.getValue());
+                fields.add(phoneNumber.getDisplay());
+            });
+        }
+        if (output(attributes, excludedAttributes, "ims")) {
+            conf.getUserConf().getIms().forEach(im -> {
+                fields.add(im.getValue());
+                fields.add(im.getDisplay());
+            });
+        }
+        if (output(attributes, excludedAttributes, "photos")) {
+            conf.getUserConf().getPhotos().forEach(photo -> {
+                fields.add(photo.getValue());
+                fields.add(photo.getDisplay());
+            });
+        }
+        if (output(attributes, excludedAttributes, "addresses")) {
+            conf.getUserConf().getAddresses().forEach(address -> {
+                fields.add(address.getFormatted());
+                fields.add(address.getStreetAddress());
+                fields.add(address.getLocality());
+                fields.add(address.getRegion());
+                fields.add(address.getPostalCode());
+                fields.add(address.getCountry());
+            });
+        }
+        if (output(attributes, excludedAttributes, "x509Certificates")) {
+            fields.addAll(conf.getUserConf().getX509Certificates());
+        }
+
+        fields.remove(null);
+        return fields;
+    }
+
     public SCIMUser toSCIMUser(
             final UserTO userTO,
             final String location,
@@ -631,6 +755,18 @@ public class SCIMDataBinder {
         }
     }
 
+    /**
+     * Returns the names of the fields and schemas which are needed to build SCIM groups with the given attributes:
+     * as members are looked up separately, none is needed besides the ones always provided.
+     *
+     * @param attributes SCIM attributes to return
+     * @param excludedAttributes SCIM attributes not to return
+     * @return names of the fields and schemas needed
+     */
+    public Set<String> getGroupFields(final List<String> attributes, final List<String> excludedAttributes) {
+        return Collections.emptySet();
+    }
+
     public SCIMGroup toSCIMGroup(
             final GroupTO groupTO,
             final String location,
@@ -655,16 +791,19 @@ public class SCIMDataBinder {
         if (output(attributes, excludedAttributes, "members")) {
             int count = userLogic.search(searchCond,
                     1, 1, Collections.<OrderByClause>emptyList(),
-                    SyncopeConstants.ROOT_REALM, false).getLeft();
+                    SyncopeConstants.ROOT_REALM, false, true, Collections.emptySet()).getLeft();
 
             for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
+                // only key and username are needed for members
                 List<UserTO> users = userLogic.search(
                         searchCond,
                         page,
                         AnyDAO.DEFAULT_PAGE_SIZE,
                         Collections.<OrderByClause>emptyList(),
                         SyncopeConstants.ROOT_REALM,
-                        false).
+                        false,
+                        true,
+                        Collections.emptySet()).
                         getRight();
                 users.forEach(userTO -> {
                     group.getMembers().add(new Member(
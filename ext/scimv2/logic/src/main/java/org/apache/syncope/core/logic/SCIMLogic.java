@@ -103,7 +103,7 @@ public class SCIMLogic extends AbstractLogic<EntityTO> {
                                 conf.getGeneralConf().getETagValue(),
                                 uriBuilder.build().toASCIIString()),
                         new ConfigurationOption(false),
-                        new BulkConfigurationOption(false,
+                        new BulkConfigurationOption(true,
                                 conf.getGeneralConf().getBulkMaxOperations(),
                                 conf.getGeneralConf().getBulkMaxPayloadSize()),
                         new FilterConfigurationOption(true, conf.getGeneralConf().getFilterMaxResults()),
@@ -20,6 +20,9 @@ package org.apache.syncope.core.logic.scim;
 
 import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import javax.ws.rs.core.MediaType;
 import org.apache.syncope.common.lib.scim.SCIMConf;
 import org.apache.syncope.common.lib.scim.SCIMGeneralConf;
@@ -32,25 +35,63 @@ import org.apache.syncope.core.logic.ConfigurationLogic;
 import org.apache.syncope.core.logic.SchemaLogic;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Component;
 
+/**
+ * Reads and stores the SCIM configuration.
+ *
+ * The deserialized configuration is kept in memory, per domain, and served to all requests; the cached value is
+ * replaced by {@link #set(SCIMConf)} and revalidated against the stored one every {@link #REFRESH_INTERVAL}
+ * milliseconds, so that changes made via other cluster nodes - or directly via configuration - are eventually picked
+ * up. Returned instances are shared, hence must not be modified.
+ */
 @Component
 public class SCIMConfManager {
 
+    public static final long REFRESH_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+
     protected static final Logger LOG = LoggerFactory.getLogger(SCIMConfManager.class);
 
+    /**
+     * Configuration, as deserialized from its stored representation at a given time.
+     */
+    protected static final class Snapshot {
+
+        private final String encoded;
+
+        private final SCIMConf conf;
+
+        private final long checked;
+
+        private Snapshot(final String encoded, final SCIMConf conf, final long checked) {
+            this.encoded = encoded;
+            this.conf = conf;
+            this.checked = checked;
+        }
+
+        private boolean isFresh(final long now) {
+            return now - checked < REFRESH_INTERVAL;
+        }
+    }
+
     @Autowired
     private ConfigurationLogic configurationLogic;
 
     @Autowired
     private SchemaLogic schemaLogic;
 
-    @PreAuthorize("hasRole('" + SCIMEntitlement.SCIM_CONF_GET + "')")
-    public SCIMConf get() {
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    protected String read() {
         AttrTO confTO = null;
         try {
             confTO = configurationLogic.get(SCIMConf.KEY);
@@ -58,11 +99,28 @@ public class SCIMConfManager {
             LOG.error("{} not found, reverting to default", SCIMConf.KEY);
         }
 
+        return confTO == null || confTO.getValues().isEmpty() ? null : confTO.getValues().get(0);
+    }
+
+    @PreAuthorize("hasRole('" + SCIMEntitlement.SCIM_CONF_GET + "')")
+    public SCIMConf get() {
+        String domain = AuthContextUtils.getDomain();
+
+        Snapshot snapshot = snapshots.get(domain);
+        if (snapshot != null && snapshot.isFresh(now())) {
+            return snapshot.conf;
+        }
+
+        String encoded = read();
+        if (snapshot != null && encoded != null && encoded.equals(snapshot.encoded)) {
+            snapshots.put(domain, new Snapshot(encoded, snapshot.conf, now()));
+            return snapshot.conf;
+        }
+
         SCIMConf conf = null;
-        if (confTO != null) {
+        if (encoded != null) {
             try {
-                conf = POJOHelper.deserialize(
-                        new String(Base64.getDecoder().decode(confTO.getValues().get(0))), SCIMConf.class);
+                conf = POJOHelper.deserialize(new String(Base64.getDecoder().decode(encoded)), SCIMConf.class);
             } catch (Exception e) {
                 LOG.error("Could not deserialize, reverting to default", e);
             }
@@ -70,13 +128,14 @@ public class SCIMConfManager {
         if (conf == null) {
             conf = new SCIMConf();
             set(conf);
+        } else {
+            snapshots.put(domain, new Snapshot(encoded, conf, now()));
         }
 
         return conf;
     }
 
-    @PreAuthorize("hasRole('" + SCIMEntitlement.SCIM_CONF_SET + "')")
-    public void set(final SCIMConf conf) {
+    protected void write(final String encoded) {
         try {
             schemaLogic.read(SchemaType.PLAIN, SCIMConf.KEY);
         } catch (NotFoundException e) {
@@ -86,12 +145,24 @@ public class SCIMConfManager {
             scimConf.setMimeType(MediaType.APPLICATION_JSON);
             schemaLogic.create(SchemaType.PLAIN, scimConf);
         }
-        conf.setGeneralConf(new SCIMGeneralConf());
-        conf.getGeneralConf().setLastChangeDate(new Date());
 
         configurationLogic.set(new AttrTO.Builder().
                 schema(SCIMConf.KEY).
-                value(Base64.getEncoder().encodeToString(POJOHelper.serialize(conf).getBytes())).
+                value(encoded).
                 build());
     }
+
+    @PreAuthorize("hasRole('" + SCIMEntitlement.SCIM_CONF_SET + "')")
+    public void set(final SCIMConf conf) {
+        conf.setGeneralConf(new SCIMGeneralConf());
+        conf.getGeneralConf().setLastChangeDate(new Date());
+
+        String encoded = Base64.getEncoder().encodeToString(POJOHelper.serialize(conf).getBytes());
+        write(encoded);
+
+        // cache a private copy, so that further changes to the given instance do not leak in
+        snapshots.put(
+                AuthContextUtils.getDomain(),
+                new Snapshot(encoded, POJOHelper.deserialize(POJOHelper.serialize(conf), SCIMConf.class), now()));
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.syncope.common.lib.scim.SCIMConf;
+import org.apache.syncope.common.lib.scim.SCIMEnterpriseUserConf;
+import org.apache.syncope.common.lib.scim.SCIMUserConf;
+import org.apache.syncope.core.logic.scim.SCIMConfManager;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.junit.jupiter.api.Test;
+
+public class SCIMDataBinderTest {
+
+    private static SCIMDataBinder binder(final SCIMConf conf) throws ReflectiveOperationException {
+        String encoded = Base64.getEncoder().encodeToString(POJOHelper.serialize(conf).getBytes());
+        SCIMConfManager confManager = new SCIMConfManager() {
+
+            @Override
+            protected String read() {
+                return encoded;
+            }
+
+            @Override
+            protected void write(final String value) {
+                // nothing to store
+            }
+        };
+
+        SCIMDataBinder binder = new SCIMDataBinder();
+        Field field = SCIMDataBinder.class.getDeclaredField("confManager");
+        field.setAccessible(true);
+        field.set(binder, confManager);
+        return binder;
+    }
+
+    @Test
+    public void getUserFieldsWithoutUserConf() throws ReflectiveOperationException {
+        SCIMConf conf = new SCIMConf();
+        conf.setEnterpriseUserConf(new SCIMEnterpriseUserConf());
+        conf.getEnterpriseUserConf().setEmployeeNumber("employeeNumber");
+        SCIMDataBinder binder = binder(conf);
+
+        Set<String> fields = binder.getUserFields(Collections.emptyList(), Collections.emptyList());
+        assertEquals(new HashSet<>(Arrays.asList("memberships", "dynMemberships", "roles", "employeeNumber")), fields);
+
+        fields = binder.getUserFields(Collections.singletonList("groups"), Collections.emptyList());
+        assertEquals(new HashSet<>(Arrays.asList("memberships", "dynMemberships")), fields);
+
+        fields = binder.getUserFields(Collections.emptyList(), Arrays.asList("groups", "employeeNumber"));
+        assertEquals(Collections.singleton("roles"), fields);
+    }
+
+    @Test
+    public void getUserFieldsWithUserConf() throws ReflectiveOperationException {
+        SCIMConf conf = new SCIMConf();
+        conf.setUserConf(new SCIMUserConf());
+        conf.getUserConf().setDisplayName("cn");
+        SCIMDataBinder binder = binder(conf);
+
+        Set<String> fields = binder.getUserFields(Collections.emptyList(), Collections.emptyList());
+        assertTrue(fields.contains("cn"));
+        assertTrue(fields.contains("roles"));
+        assertFalse(fields.contains(null));
+
+        fields = binder.getUserFields(Collections.singletonList("roles"), Collections.emptyList());
+        assertEquals(Collections.singleton("roles"), fields);
+    }
+}
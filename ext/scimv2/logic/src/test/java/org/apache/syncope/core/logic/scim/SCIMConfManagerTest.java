@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic.scim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Base64;
+import org.apache.syncope.common.lib.scim.SCIMConf;
+import org.apache.syncope.common.lib.scim.SCIMUserConf;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SCIMConfManagerTest {
+
+    private static class TestSCIMConfManager extends SCIMConfManager {
+
+        private String stored;
+
+        private long now;
+
+        @Override
+        protected long now() {
+            return now;
+        }
+
+        @Override
+        protected String read() {
+            return stored;
+        }
+
+        @Override
+        protected void write(final String encoded) {
+            stored = encoded;
+        }
+    }
+
+    private TestSCIMConfManager manager;
+
+    private static SCIMConf conf(final String displayName) {
+        SCIMConf conf = new SCIMConf();
+        conf.setUserConf(new SCIMUserConf());
+        conf.getUserConf().setDisplayName(displayName);
+        return conf;
+    }
+
+    @BeforeEach
+    public void setup() {
+        manager = new TestSCIMConfManager();
+        manager.now = 1000L;
+    }
+
+    @Test
+    public void setIsVisibleImmediately() {
+        manager.set(conf("cn"));
+        assertEquals("cn", manager.get().getUserConf().getDisplayName());
+
+        // the cached value is replaced right away, without waiting for the refresh interval
+        manager.set(conf("fullname"));
+        assertEquals("fullname", manager.get().getUserConf().getDisplayName());
+        assertNotNull(manager.get().getGeneralConf().getLastChangeDate());
+    }
+
+    @Test
+    public void externalChangeAfterRefreshInterval() {
+        manager.set(conf("cn"));
+        SCIMConf cached = manager.get();
+
+        // as changed via another cluster node
+        manager.stored = Base64.getEncoder().encodeToString(POJOHelper.serialize(conf("fullname")).getBytes());
+
+        manager.now += SCIMConfManager.REFRESH_INTERVAL - 1;
+        assertSame(cached, manager.get());
+
+        manager.now += 1;
+        assertEquals("fullname", manager.get().getUserConf().getDisplayName());
+    }
+
+    @Test
+    public void unchangedAfterRefreshInterval() {
+        manager.set(conf("cn"));
+        SCIMConf cached = manager.get();
+
+        manager.now += SCIMConfManager.REFRESH_INTERVAL;
+        assertSame(cached, manager.get());
+    }
+}
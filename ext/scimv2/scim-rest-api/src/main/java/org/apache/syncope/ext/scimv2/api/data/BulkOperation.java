@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.ext.scimv2.api.data;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.util.Map;
+
+@JsonPropertyOrder({ "method", "bulkId", "version", "path", "data" })
+public class BulkOperation extends SCIMBean {
+
+    private static final long serialVersionUID = 4209817950417458216L;
+
+    private final String method;
+
+    private final String bulkId;
+
+    private final String version;
+
+    private final String path;
+
+    private final Map<String, Object> data;
+
+    @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+    public BulkOperation(
+            @JsonProperty("method") final String method,
+            @JsonProperty("bulkId") final String bulkId,
+            @JsonProperty("version") final String version,
+            @JsonProperty("path") final String path,
+            @JsonProperty("data") final Map<String, Object> data) {
+
+        this.method = method;
+        this.bulkId = bulkId;
+        this.version = version;
+        this.path = path;
+        this.data = data;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getBulkId() {
+        return bulkId;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Map<String, Object> getData() {
+        return data;
+    }
+
+}
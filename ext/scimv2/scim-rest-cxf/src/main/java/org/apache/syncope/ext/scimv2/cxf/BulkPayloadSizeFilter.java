@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.ext.scimv2.cxf;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.ws.rs.Path;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.core.logic.scim.SCIMConfManager;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.ext.scimv2.api.data.SCIMError;
+import org.apache.syncope.ext.scimv2.api.service.BulkService;
+
+/**
+ * Enforces the {@code maxPayloadSize} of bulk requests while their payload is read, before parsing: the
+ * {@code Content-Length} header is not always available, as with chunked transfer encoding.
+ */
+@Provider
+public class BulkPayloadSizeFilter implements ContainerRequestFilter {
+
+    private static final String BULK_PATH = BulkService.class.getAnnotation(Path.class).value();
+
+    private SCIMConfManager confManager;
+
+    private static WebApplicationException tooLarge(final long size, final int maxPayloadSize) {
+        return new WebApplicationException(Response.status(Response.Status.REQUEST_ENTITY_TOO_LARGE).
+                entity(new SCIMError(null, Response.Status.REQUEST_ENTITY_TOO_LARGE.getStatusCode(),
+                        "The size of the bulk operation (" + (size < 0 ? "unknown" : size)
+                        + ") exceeds the maxPayloadSize (" + maxPayloadSize + ")")).
+                build());
+    }
+
+    /**
+     * Fails as soon as more than the allowed number of bytes is read.
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private final int maxPayloadSize;
+
+        private long count;
+
+        private BoundedInputStream(final InputStream in, final int maxPayloadSize) {
+            super(in);
+            this.maxPayloadSize = maxPayloadSize;
+        }
+
+        private void count(final long read) {
+            if (read > 0) {
+                count += read;
+                if (count > maxPayloadSize) {
+                    throw tooLarge(-1, maxPayloadSize);
+                }
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            count(read == -1 ? 0 : 1);
+            return read;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            int read = super.read(b, off, len);
+            count(read);
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+    }
+
+    protected SCIMConfManager confManager() {
+        synchronized (this) {
+            if (confManager == null) {
+                confManager = ApplicationContextProvider.getApplicationContext().getBean(SCIMConfManager.class);
+            }
+        }
+        return confManager;
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext reqCtx) throws IOException {
+        if (!BULK_PATH.equals(StringUtils.strip(reqCtx.getUriInfo().getPath(), "/"))) {
+            return;
+        }
+
+        int maxPayloadSize = confManager().get().getGeneralConf().getBulkMaxPayloadSize();
+        if (reqCtx.getLength() > maxPayloadSize) {
+            reqCtx.abortWith(tooLarge(reqCtx.getLength(), maxPayloadSize).getResponse());
+        } else if (reqCtx.hasEntity()) {
+            reqCtx.setEntityStream(new BoundedInputStream(reqCtx.getEntityStream(), maxPayloadSize));
+        }
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.syncope.ext.scimv2.cxf.service;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Response;
@@ -213,6 +214,11 @@ abstract class AbstractService<R extends SCIMResource> {
             sort = Collections.singletonList(clause);
         }
 
+        // only load and compute what is needed to build the requested SCIM attributes
+        Set<String> fields = type == Resource.User
+                ? binder().getUserFields(request.getAttributes(), request.getExcludedAttributes())
+                : binder().getGroupFields(request.getAttributes(), request.getExcludedAttributes());
+
         Pair<Integer, ? extends List<? extends AnyTO>> result = anyLogic(type).search(
                 StringUtils.isBlank(request.getFilter())
                 ? null
@@ -221,7 +227,9 @@ abstract class AbstractService<R extends SCIMResource> {
                 itemsPerPage,
                 sort,
                 SyncopeConstants.ROOT_REALM,
-                false);
+                true,
+                true,
+                fields);
 
         if (result.getLeft() > confManager().get().getGeneralConf().getFilterMaxResults()) {
             throw new BadRequestException(ErrorType.tooMany, "Too many results found");
@@ -0,0 +1,536 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.ext.scimv2.cxf.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Response;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.scim.SCIMGeneralConf;
+import org.apache.syncope.core.persistence.api.dao.ConfDAO;
+import org.apache.syncope.core.persistence.api.dao.NotFoundException;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.ext.scimv2.api.BadRequestException;
+import org.apache.syncope.ext.scimv2.api.data.BulkOperation;
+import org.apache.syncope.ext.scimv2.api.data.BulkOperationResult;
+import org.apache.syncope.ext.scimv2.api.data.BulkRequest;
+import org.apache.syncope.ext.scimv2.api.data.BulkResponse;
+import org.apache.syncope.ext.scimv2.api.data.SCIMError;
+import org.apache.syncope.ext.scimv2.api.data.SCIMGroup;
+import org.apache.syncope.ext.scimv2.api.data.SCIMResource;
+import org.apache.syncope.ext.scimv2.api.data.SCIMUser;
+import org.apache.syncope.ext.scimv2.api.service.BulkService;
+import org.apache.syncope.ext.scimv2.api.service.GroupService;
+import org.apache.syncope.ext.scimv2.api.service.UserService;
+import org.apache.syncope.ext.scimv2.api.type.ErrorType;
+import org.apache.syncope.ext.scimv2.api.type.Resource;
+import org.apache.syncope.ext.scimv2.cxf.SCIMExceptionMapper;
+import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Processes SCIM bulk requests.
+ *
+ * Operations referencing other operations via {@code bulkId} are only executed once all referenced operations were
+ * successful; all other operations are independent, and executed in parallel according to the
+ * {@code scim.bulk.concurrency} configuration parameter, on the executor shared by all bulk requests.
+ */
+public class BulkServiceImpl extends AbstractService<SCIMResource> implements BulkService {
+
+    private static final String BULK_ID_PREFIX = "bulkId:";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().
+            disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).
+            setDateFormat(new SimpleDateFormat(SyncopeConstants.DEFAULT_DATE_PATTERN));
+
+    private final UserServiceImpl userService = new UserServiceImpl();
+
+    private final GroupServiceImpl groupService = new GroupServiceImpl();
+
+    private ConfDAO confDAO;
+
+    private ThreadPoolTaskExecutor executor;
+
+    protected ConfDAO confDAO() {
+        synchronized (this) {
+            if (confDAO == null) {
+                confDAO = ApplicationContextProvider.getApplicationContext().getBean(ConfDAO.class);
+            }
+        }
+        return confDAO;
+    }
+
+    /**
+     * Executor shared by all bulk requests, bounded by the {@code scim.bulk.poolSize} configuration parameter; when
+     * saturated, operations are run by the calling thread.
+     *
+     * @return executor shared by all bulk requests
+     */
+    protected ThreadPoolTaskExecutor executor() {
+        synchronized (this) {
+            if (executor == null) {
+                int poolSize = Math.max(1, confDAO().find("scim.bulk.poolSize", 10L).intValue());
+
+                executor = new ThreadPoolTaskExecutor();
+                executor.setCorePoolSize(poolSize);
+                executor.setMaxPoolSize(poolSize);
+                executor.setQueueCapacity(poolSize * 10);
+                executor.setThreadNamePrefix("scimBulk-");
+                executor.setDaemon(true);
+                executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+                executor.initialize();
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Maximum number of operations of the same bulk request executed in parallel.
+     *
+     * @return maximum number of bulk operations executed in parallel
+     */
+    protected int getConcurrency() {
+        return Math.max(1, confDAO().find("scim.bulk.concurrency", 1L).intValue());
+    }
+
+    private static Response tooLarge(final String detail) {
+        return Response.status(Response.Status.REQUEST_ENTITY_TOO_LARGE).
+                entity(new SCIMError(null, Response.Status.REQUEST_ENTITY_TOO_LARGE.getStatusCode(), detail)).
+                build();
+    }
+
+    /**
+     * Collects all {@code bulkId} references found in the given value.
+     *
+     * @param value path, or data (possibly nested) of a bulk operation
+     * @param refs referenced bulkIds
+     */
+    @SuppressWarnings("unchecked")
+    private static void collectRefs(final Object value, final Set<String> refs) {
+        if (value instanceof String) {
+            String string = (String) value;
+            int index = string.indexOf(BULK_ID_PREFIX);
+            if (index != -1) {
+                refs.add(StringUtils.substringBefore(string.substring(index + BULK_ID_PREFIX.length()), "/"));
+            }
+        } else if (value instanceof Map) {
+            ((Map<String, Object>) value).values().forEach(v -> collectRefs(v, refs));
+        } else if (value instanceof List) {
+            ((List<Object>) value).forEach(v -> collectRefs(v, refs));
+        }
+    }
+
+    /**
+     * Replaces all {@code bulkId} references found in the given value with the identifiers of the resources created
+     * by the referenced operations.
+     *
+     * @param value path, or data (possibly nested) of a bulk operation
+     * @param resolved identifiers of the created resources, by bulkId
+     * @return value with no more references
+     */
+    @SuppressWarnings("unchecked")
+    private static Object resolveRefs(final Object value, final Map<String, String> resolved) {
+        Object result = value;
+        if (value instanceof String) {
+            String string = (String) value;
+            for (Map.Entry<String, String> entry : resolved.entrySet()) {
+                string = string.replace(BULK_ID_PREFIX + entry.getKey(), entry.getValue());
+            }
+            result = string;
+        } else if (value instanceof Map) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            ((Map<String, Object>) value).forEach((k, v) -> map.put(k, resolveRefs(v, resolved)));
+            result = map;
+        } else if (value instanceof List) {
+            List<Object> list = new ArrayList<>();
+            ((List<Object>) value).forEach(v -> list.add(resolveRefs(v, resolved)));
+            result = list;
+        }
+        return result;
+    }
+
+    private static BulkOperationResult error(final BulkOperation op, final SCIMError error) {
+        return new BulkOperationResult(
+                null, op.getMethod(), op.getBulkId(), op.getVersion(), error.getStatus(), error);
+    }
+
+    private static BulkOperationResult error(final BulkOperation op, final Exception e) {
+        Response response = new SCIMExceptionMapper().toResponse(e);
+
+        SCIMError error;
+        if (response == null) {
+            error = new SCIMError(null, Response.Status.FORBIDDEN.getStatusCode(),
+                    ExceptionUtils.getRootCauseMessage(e));
+        } else if (response.getEntity() instanceof SCIMError) {
+            error = (SCIMError) response.getEntity();
+        } else {
+            error = new SCIMError(null, response.getStatus(), ExceptionUtils.getRootCauseMessage(e));
+        }
+        return error(op, error);
+    }
+
+    private static Outcome preconditionFailed(final BulkOperation op) {
+        return new Outcome(null, error(op, new SCIMError(null, Response.Status.PRECONDITION_FAILED.getStatusCode(),
+                "Version " + op.getVersion() + " does not match")));
+    }
+
+    /**
+     * Checks the version of the given bulk operation, if any, against the current version of the given resource, as
+     * done for ETags, then performs the given update.
+     * The version is claimed beforehand, by atomically moving the last change date of the resource, within a
+     * transaction committed before the update: no concurrent operation can then claim the same version, and no lock
+     * is held while the update runs its own transactions.
+     *
+     * @param op bulk operation
+     * @param type resource type
+     * @param id resource id
+     * @param update update to perform, if the version matches
+     * @return result of the update, or precondition failure
+     */
+    private Outcome versioned(
+            final BulkOperation op,
+            final Resource type,
+            final String id,
+            final Supplier<Outcome> update) {
+
+        if (op.getVersion() == null) {
+            return update.get();
+        }
+
+        TransactionTemplate tx = new TransactionTemplate(BeanFactoryAnnotationUtils.qualifiedBeanOfType(
+                ApplicationContextProvider.getBeanFactory(),
+                PlatformTransactionManager.class,
+                AuthContextUtils.getDomain()));
+        boolean claimed = tx.execute(status -> {
+            Date lastChange = anyDAO(type).findLastChange(id);
+            if (lastChange == null) {
+                throw new NotFoundException("Resource " + id + " not found");
+            }
+
+            return String.valueOf(lastChange.getTime()).equals(EntityTag.valueOf(op.getVersion()).getValue())
+                    && anyDAO(type).claimLastChange(id, lastChange);
+        });
+
+        return claimed ? update.get() : preconditionFailed(op);
+    }
+
+    /**
+     * Executes a single bulk operation, whose bulkId references were already resolved.
+     *
+     * @param op bulk operation
+     * @param path resolved path
+     * @param data resolved data
+     * @param baseURI base URI for resource locations
+     * @return result of the bulk operation, with the key of the created resource, if any
+     */
+    protected Outcome executeSingle(
+            final BulkOperation op,
+            final String path,
+            final Map<String, Object> data,
+            final String baseURI) {
+
+        String[] segments = StringUtils.split(StringUtils.defaultString(path), '/');
+        Resource type = null;
+        String typePath = null;
+        if (segments.length == 1 || segments.length == 2) {
+            if ("Users".equals(segments[0])) {
+                type = Resource.User;
+                typePath = UserService.class.getAnnotation(Path.class).value();
+            } else if ("Groups".equals(segments[0])) {
+                type = Resource.Group;
+                typePath = GroupService.class.getAnnotation(Path.class).value();
+            }
+        }
+        if (type == null) {
+            throw new BadRequestException(ErrorType.invalidPath, "Unsupported path: " + path);
+        }
+        String id = segments.length == 2 ? segments[1] : null;
+        String location = baseURI + typePath + "/";
+        boolean user = type == Resource.User;
+
+        switch (StringUtils.defaultString(StringUtils.upperCase(op.getMethod()))) {
+            case HttpMethod.POST:
+                if (id != null) {
+                    throw new BadRequestException(ErrorType.invalidPath, "Unexpected id in path: " + path);
+                }
+                return success(op, location, user
+                        ? userService.doCreate(MAPPER.convertValue(data, SCIMUser.class)).getEntity().getKey()
+                        : groupService.doCreate(MAPPER.convertValue(data, SCIMGroup.class)).getEntity().getKey(),
+                        Response.Status.CREATED);
+
+            case HttpMethod.PUT:
+                if (id == null) {
+                    throw new BadRequestException(ErrorType.invalidPath, "Missing id in path: " + path);
+                }
+
+                Map<String, Object> withId = new LinkedHashMap<>(data);
+                withId.putIfAbsent("id", id);
+                return versioned(op, type, id, () -> success(op, location, user
+                        ? userService.doReplace(id, MAPPER.convertValue(withId, SCIMUser.class)).getEntity().getKey()
+                        : groupService.doReplace(id, MAPPER.convertValue(withId, SCIMGroup.class)).
+                                getEntity().getKey(),
+                        Response.Status.OK));
+
+            case HttpMethod.DELETE:
+                if (id == null) {
+                    throw new BadRequestException(ErrorType.invalidPath, "Missing id in path: " + path);
+                }
+
+                Resource deleteType = type;
+                return versioned(op, type, id, () -> {
+                    anyLogic(deleteType).delete(id, false);
+                    return success(op, location, id, Response.Status.NO_CONTENT);
+                });
+
+            default:
+                // PATCH is not supported, as for single resources
+                return new Outcome(null, error(op, new SCIMError(null, Response.Status.NOT_IMPLEMENTED.getStatusCode(),
+                        "Unsupported method: " + op.getMethod())));
+        }
+    }
+
+    private static Outcome success(
+            final BulkOperation op,
+            final String location,
+            final String key,
+            final Response.Status status) {
+
+        return new Outcome(key, new BulkOperationResult(
+                location + key,
+                op.getMethod(),
+                op.getBulkId(),
+                null,
+                status.getStatusCode(),
+                null));
+    }
+
+    /**
+     * Result of a bulk operation, along with the key of the affected resource.
+     */
+    protected static final class Outcome {
+
+        private final String key;
+
+        private final BulkOperationResult result;
+
+        private Outcome(final String key, final BulkOperationResult result) {
+            this.key = key;
+            this.result = result;
+        }
+    }
+
+    @Override
+    public Response bulk(final BulkRequest request) {
+        SCIMGeneralConf generalConf = confManager().get().getGeneralConf();
+        if (request.getOperations().size() > generalConf.getBulkMaxOperations()) {
+            return tooLarge("The number of operations (" + request.getOperations().size()
+                    + ") exceeds the maxOperations (" + generalConf.getBulkMaxOperations() + ")");
+        }
+
+        List<BulkOperation> ops = request.getOperations();
+        BulkOperationResult[] results = new BulkOperationResult[ops.size()];
+
+        // dependency graph: each operation is only executed once all operations it depends on were successful
+        Map<String, Integer> definers = new HashMap<>();
+        for (int i = 0; i < ops.size(); i++) {
+            String bulkId = ops.get(i).getBulkId();
+            if (bulkId != null && definers.putIfAbsent(bulkId, i) != null) {
+                results[i] = error(ops.get(i), new SCIMError(ErrorType.uniqueness,
+                        Response.Status.CONFLICT.getStatusCode(), "Duplicate bulkId: " + bulkId));
+            }
+        }
+        int[] pending = new int[ops.size()];
+        List<List<Integer>> dependents = new ArrayList<>(ops.size());
+        ops.forEach(op -> dependents.add(new ArrayList<>()));
+        Queue<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < ops.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+
+            Set<String> refs = new LinkedHashSet<>();
+            collectRefs(ops.get(i).getPath(), refs);
+            collectRefs(ops.get(i).getData(), refs);
+
+            for (String ref : refs) {
+                Integer definer = definers.get(ref);
+                if (definer == null || definer == i) {
+                    results[i] = error(ops.get(i), new SCIMError(ErrorType.invalidValue,
+                            Response.Status.CONFLICT.getStatusCode(), "Unresolvable bulkId: " + ref));
+                } else {
+                    pending[i]++;
+                    dependents.get(definer).add(i);
+                }
+            }
+            if (results[i] == null && pending[i] == 0) {
+                ready.add(i);
+            }
+        }
+
+        List<Integer> invalid = new ArrayList<>();
+        for (int i = 0; i < ops.size(); i++) {
+            if (results[i] != null) {
+                invalid.add(i);
+            }
+        }
+        int errors = 0;
+        for (int i : invalid) {
+            errors += 1 + fail(i, ops, results, dependents);
+        }
+        int failOnErrors = request.getFailOnErrors() == null || request.getFailOnErrors() <= 0
+                ? Integer.MAX_VALUE
+                : request.getFailOnErrors();
+
+        String baseURI = StringUtils.removeEnd(uriInfo.getBaseUri().toASCIIString(), "/") + "/";
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Map<String, String> resolved = new HashMap<>();
+
+        int concurrency = getConcurrency();
+        CompletionService<Outcome> completion = new ExecutorCompletionService<>(executor());
+        Map<Future<Outcome>, Integer> running = new HashMap<>();
+        try {
+            while (!ready.isEmpty() || !running.isEmpty()) {
+                // resolution of bulkId references and bookkeeping only take place on the current thread
+                while (!ready.isEmpty() && errors < failOnErrors && running.size() < concurrency) {
+                    int index = ready.poll();
+                    BulkOperation op = ops.get(index);
+                    String path = (String) resolveRefs(op.getPath(), resolved);
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> data = op.getData() == null
+                            ? new LinkedHashMap<>()
+                            : (Map<String, Object>) resolveRefs(op.getData(), resolved);
+
+                    running.put(completion.submit(() -> {
+                        // the calling thread might run this, when the shared executor is saturated
+                        SecurityContext original = SecurityContextHolder.getContext();
+                        SecurityContext context = SecurityContextHolder.createEmptyContext();
+                        context.setAuthentication(authentication);
+                        SecurityContextHolder.setContext(context);
+                        try {
+                            return executeSingle(op, path, data, baseURI);
+                        } catch (Exception e) {
+                            return new Outcome(null, error(op, e));
+                        } finally {
+                            SecurityContextHolder.setContext(original);
+                        }
+                    }), index);
+                }
+                if (running.isEmpty()) {
+                    break;
+                }
+
+                Future<Outcome> done = completion.take();
+                int index = running.remove(done);
+                Outcome outcome = done.get();
+                results[index] = outcome.result;
+
+                if (outcome.result.getResponse() == null) {
+                    if (ops.get(index).getBulkId() != null && outcome.key != null) {
+                        resolved.put(ops.get(index).getBulkId(), outcome.key);
+                    }
+                    for (int dependent : dependents.get(index)) {
+                        pending[dependent]--;
+                        if (pending[dependent] == 0 && results[dependent] == null) {
+                            ready.add(dependent);
+                        }
+                    }
+                } else {
+                    errors += 1 + fail(index, ops, results, dependents);
+                }
+            }
+        } catch (InterruptedException e) {
+            LOG.error("Interrupted while processing bulk request", e);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOG.error("While processing bulk request", e);
+        } finally {
+            running.keySet().forEach(future -> future.cancel(true));
+        }
+
+        // operations which could not be executed because of circular references
+        if (errors < failOnErrors) {
+            for (int i = 0; i < ops.size(); i++) {
+                if (results[i] == null && pending[i] > 0) {
+                    results[i] = error(ops.get(i), new SCIMError(ErrorType.invalidValue,
+                            Response.Status.CONFLICT.getStatusCode(), "Circular bulkId reference"));
+                }
+            }
+        }
+
+        // operations not processed because failOnErrors was reached are not reported
+        BulkResponse response = new BulkResponse();
+        for (BulkOperationResult result : results) {
+            if (result != null) {
+                response.getOperations().add(result);
+            }
+        }
+        return Response.ok(response).build();
+    }
+
+    /**
+     * Marks as failed all operations depending, directly or not, on the given failed operation.
+     *
+     * @return number of operations marked as failed
+     */
+    private static int fail(
+            final int failed,
+            final List<BulkOperation> ops,
+            final BulkOperationResult[] results,
+            final List<List<Integer>> dependents) {
+
+        int count = 0;
+        for (int dependent : dependents.get(failed)) {
+            if (results[dependent] == null) {
+                results[dependent] = error(ops.get(dependent), new SCIMError(ErrorType.invalidValue,
+                        Response.Status.CONFLICT.getStatusCode(),
+                        "Referenced bulkId failed: " + ops.get(failed).getBulkId()));
+                count += 1 + fail(dependent, ops, results, dependents);
+            }
+        }
+        return count;
+    }
+}
@@ -50,8 +50,7 @@ import org.apache.syncope.ext.scimv2.api.type.SortOrder;
 
 public class GroupServiceImpl extends AbstractService<SCIMGroup> implements GroupService {
 
-    @Override
-    public Response create(final SCIMGroup group) {
+    ProvisioningResult<GroupTO> doCreate(final SCIMGroup group) {
         // first create group, no members assigned
         ProvisioningResult<GroupTO> result = groupLogic().create(binder().toGroupTO(group), false);
 
@@ -69,6 +68,12 @@ public class GroupServiceImpl extends AbstractService<SCIMGroup> implements Grou
             }
         });
 
+        return result;
+    }
+
+    @Override
+    public Response create(final SCIMGroup group) {
+        ProvisioningResult<GroupTO> result = doCreate(group);
         return createResponse(
                 result.getEntity().getKey(),
                 binder().toSCIMGroup(
@@ -95,17 +100,11 @@ public class GroupServiceImpl extends AbstractService<SCIMGroup> implements Grou
         return Response.status(Response.Status.NOT_IMPLEMENTED).build();
     }
 
-    @Override
-    public Response replace(final String id, final SCIMGroup group) {
+    ProvisioningResult<GroupTO> doReplace(final String id, final SCIMGroup group) {
         if (!id.equals(group.getId())) {
             throw new BadRequestException(ErrorType.invalidPath, "Expected " + id + ", found " + group.getId());
         }
 
-        ResponseBuilder builder = checkETag(Resource.Group, id);
-        if (builder != null) {
-            return builder.build();
-        }
-
         // save current group members
         Set<String> beforeMembers = new HashSet<>();
 
@@ -163,6 +162,21 @@ public class GroupServiceImpl extends AbstractService<SCIMGroup> implements Grou
             }
         });
 
+        return result;
+    }
+
+    @Override
+    public Response replace(final String id, final SCIMGroup group) {
+        if (!id.equals(group.getId())) {
+            throw new BadRequestException(ErrorType.invalidPath, "Expected " + id + ", found " + group.getId());
+        }
+
+        ResponseBuilder builder = checkETag(Resource.Group, id);
+        if (builder != null) {
+            return builder.build();
+        }
+
+        ProvisioningResult<GroupTO> result = doReplace(id, group);
         return updateResponse(
                 result.getEntity().getKey(),
                 binder().toSCIMGroup(
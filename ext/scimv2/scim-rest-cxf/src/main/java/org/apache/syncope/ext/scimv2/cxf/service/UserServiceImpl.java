@@ -38,9 +38,21 @@ import org.apache.syncope.ext.scimv2.api.type.SortOrder;
 
 public class UserServiceImpl extends AbstractService<SCIMUser> implements UserService {
 
+    ProvisioningResult<UserTO> doCreate(final SCIMUser user) {
+        return userLogic().create(binder().toUserTO(user), true, false);
+    }
+
+    ProvisioningResult<UserTO> doReplace(final String id, final SCIMUser user) {
+        if (!id.equals(user.getId())) {
+            throw new BadRequestException(ErrorType.invalidPath, "Expected " + id + ", found " + user.getId());
+        }
+
+        return userLogic().update(AnyOperations.diff(binder().toUserTO(user), userLogic().read(id), false), false);
+    }
+
     @Override
     public Response create(final SCIMUser user) {
-        ProvisioningResult<UserTO> result = userLogic().create(binder().toUserTO(user), true, false);
+        ProvisioningResult<UserTO> result = doCreate(user);
         return createResponse(
                 result.getEntity().getKey(),
                 binder().toSCIMUser(
@@ -78,8 +90,7 @@ public class UserServiceImpl extends AbstractService<SCIMUser> implements UserSe
             return builder.build();
         }
 
-        ProvisioningResult<UserTO> result = userLogic().update(
-                AnyOperations.diff(binder().toUserTO(user), userLogic().read(id), false), false);
+        ProvisioningResult<UserTO> result = doReplace(id, user);
         return updateResponse(
                 result.getEntity().getKey(),
                 binder().toSCIMUser(
@@ -20,12 +20,15 @@ package org.apache.syncope.fit.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
@@ -34,6 +37,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.HttpHeaders;
@@ -50,6 +54,10 @@ import org.apache.syncope.common.lib.scim.types.EmailCanonicalType;
 import org.apache.syncope.common.lib.to.ProvisioningResult;
 import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.ext.scimv2.api.SCIMConstants;
+import org.apache.syncope.ext.scimv2.api.data.BulkOperation;
+import org.apache.syncope.ext.scimv2.api.data.BulkOperationResult;
+import org.apache.syncope.ext.scimv2.api.data.BulkRequest;
+import org.apache.syncope.ext.scimv2.api.data.BulkResponse;
 import org.apache.syncope.ext.scimv2.api.data.Group;
 import org.apache.syncope.ext.scimv2.api.data.ListResponse;
 import org.apache.syncope.ext.scimv2.api.data.Member;
@@ -147,7 +155,7 @@ public class SCIMITCase extends AbstractITCase {
         ServiceProviderConfig serviceProviderConfig = response.readEntity(ServiceProviderConfig.class);
         assertNotNull(serviceProviderConfig);
         assertFalse(serviceProviderConfig.getPatch().isSupported());
-        assertFalse(serviceProviderConfig.getBulk().isSupported());
+        assertTrue(serviceProviderConfig.getBulk().isSupported());
         assertTrue(serviceProviderConfig.getChangePassword().isSupported());
         assertTrue(serviceProviderConfig.getEtag().isSupported());
         assertTrue(serviceProviderConfig.getSort().isSupported());
@@ -521,4 +529,127 @@ public class SCIMITCase extends AbstractITCase {
         response = webClient().path("Groups").path(group.getId()).get();
         assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
     }
+
+    @Test
+    public void bulk() {
+        scimConfService.set(CONF);
+
+        ObjectMapper mapper = new ObjectMapper();
+        TypeReference<Map<String, Object>> dataType = new TypeReference<Map<String, Object>>() {
+        };
+
+        BulkRequest request = new BulkRequest(null);
+
+        SCIMUser user = getSampleUser(UUID.randomUUID().toString());
+        request.getOperations().add(new BulkOperation(
+                "POST", "user", null, "/Users", mapper.convertValue(user, dataType)));
+
+        SCIMGroup group = new SCIMGroup(null, null, UUID.randomUUID().toString());
+        group.getMembers().add(new Member("bulkId:user", null, null));
+        request.getOperations().add(new BulkOperation(
+                "POST", "group", null, "/Groups", mapper.convertValue(group, dataType)));
+
+        request.getOperations().add(new BulkOperation(
+                "DELETE", null, null, "/Users/missing", null));
+
+        group = new SCIMGroup(null, null, UUID.randomUUID().toString());
+        group.getMembers().add(new Member("bulkId:missing", null, null));
+        request.getOperations().add(new BulkOperation(
+                "POST", null, null, "/Groups", mapper.convertValue(group, dataType)));
+
+        Response response = webClient().path("Bulk").post(request);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+
+        BulkResponse result = response.readEntity(BulkResponse.class);
+        assertEquals(4, result.getOperations().size());
+
+        BulkOperationResult userResult = result.getOperations().get(0);
+        assertEquals("user", userResult.getBulkId());
+        assertEquals(Response.Status.CREATED.getStatusCode(), userResult.getStatus());
+        String userId = StringUtils.substringAfterLast(userResult.getLocation(), "/");
+
+        BulkOperationResult groupResult = result.getOperations().get(1);
+        assertEquals("group", groupResult.getBulkId());
+        assertEquals(Response.Status.CREATED.getStatusCode(), groupResult.getStatus());
+        assertTrue(groupResult.getLocation().contains("/Groups/"));
+
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), result.getOperations().get(2).getStatus());
+        assertEquals(Response.Status.CONFLICT.getStatusCode(), result.getOperations().get(3).getStatus());
+
+        // the group was created with the user created within the same bulk request as member
+        response = webClient().path("Groups").path(StringUtils.substringAfterLast(groupResult.getLocation(), "/")).
+                get();
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        group = response.readEntity(SCIMGroup.class);
+        assertEquals(1, group.getMembers().size());
+        assertEquals(userId, group.getMembers().get(0).getValue());
+
+        // failOnErrors
+        request = new BulkRequest(1);
+        request.getOperations().add(new BulkOperation("DELETE", null, null, "/Users/missing", null));
+        request.getOperations().add(new BulkOperation("DELETE", null, null, "/Users/" + userId, null));
+
+        response = webClient().path("Bulk").post(request);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        result = response.readEntity(BulkResponse.class);
+        assertEquals(1, result.getOperations().size());
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), result.getOperations().get(0).getStatus());
+    }
+
+    @Test
+    public void bulkVersioned() {
+        scimConfService.set(CONF);
+
+        ObjectMapper mapper = new ObjectMapper();
+        TypeReference<Map<String, Object>> dataType = new TypeReference<Map<String, Object>>() {
+        };
+
+        Response response = webClient().path("Users").post(getSampleUser(UUID.randomUUID().toString()));
+        assertEquals(Response.Status.CREATED.getStatusCode(), response.getStatus());
+        SCIMUser user = response.readEntity(SCIMUser.class);
+        String version = user.getMeta().getVersion();
+        assertNotNull(version);
+
+        // replace: only the operation with current version succeeds
+        user.getName().setFormatted("new" + user.getUserName());
+        BulkRequest request = new BulkRequest(null);
+        request.getOperations().add(new BulkOperation(
+                "PUT", null, "W/\"0\"", "/Users/" + user.getId(), mapper.convertValue(user, dataType)));
+        request.getOperations().add(new BulkOperation(
+                "PUT", null, version, "/Users/" + user.getId(), mapper.convertValue(user, dataType)));
+
+        response = webClient().path("Bulk").post(request);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        BulkResponse result = response.readEntity(BulkResponse.class);
+        assertEquals(2, result.getOperations().size());
+        assertEquals(Response.Status.PRECONDITION_FAILED.getStatusCode(), result.getOperations().get(0).getStatus());
+        assertEquals(Response.Status.OK.getStatusCode(), result.getOperations().get(1).getStatus());
+
+        response = webClient().path("Users").path(user.getId()).get();
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        user = response.readEntity(SCIMUser.class);
+        assertTrue(user.getName().getFormatted().startsWith("new"));
+        assertNotEquals(version, user.getMeta().getVersion());
+
+        // delete: the version before replace is stale now
+        request = new BulkRequest(null);
+        request.getOperations().add(new BulkOperation("DELETE", null, version, "/Users/" + user.getId(), null));
+
+        response = webClient().path("Bulk").post(request);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        result = response.readEntity(BulkResponse.class);
+        assertEquals(Response.Status.PRECONDITION_FAILED.getStatusCode(), result.getOperations().get(0).getStatus());
+
+        request = new BulkRequest(null);
+        request.getOperations().add(new BulkOperation(
+                "DELETE", null, user.getMeta().getVersion(), "/Users/" + user.getId(), null));
+
+        response = webClient().path("Bulk").post(request);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        result = response.readEntity(BulkResponse.class);
+        assertEquals(Response.Status.NO_CONTENT.getStatusCode(), result.getOperations().get(0).getStatus());
+
+        response = webClient().path("Users").path(user.getId()).get();
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
+    }
 }
@@ -26,7 +26,10 @@ import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Collectors;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.MediaType;
 import org.apache.cxf.helpers.IOUtils;
@@ -34,14 +37,18 @@ import org.apache.cxf.jaxrs.client.WebClient;
 import org.apache.syncope.client.lib.SyncopeClient;
 import org.apache.syncope.client.lib.SyncopeClientFactoryBean;
 import org.apache.syncope.common.lib.SyncopeClientException;
+import org.apache.syncope.common.lib.to.AttrTO;
 import org.apache.syncope.common.lib.to.PagedResult;
+import org.apache.syncope.common.lib.to.PlainSchemaTO;
 import org.apache.syncope.common.lib.to.ProvisioningResult;
 import org.apache.syncope.common.lib.to.RelationshipTO;
 import org.apache.syncope.common.lib.to.UserRequestForm;
 import org.apache.syncope.common.lib.to.UserRequest;
 import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.common.lib.to.WorkflowTaskExecInput;
+import org.apache.syncope.common.lib.types.AttrSchemaType;
 import org.apache.syncope.common.lib.types.ClientExceptionType;
+import org.apache.syncope.common.lib.types.SchemaType;
 import org.apache.syncope.common.rest.api.beans.UserRequestQuery;
 import org.apache.syncope.common.rest.api.service.UserRequestService;
 import org.apache.syncope.fit.AbstractITCase;
@@ -64,6 +71,8 @@ public class UserRequestITCase extends AbstractITCase {
                 IOUtils.toString(UserRequestITCase.class.getResourceAsStream("/assignPrinterRequest.bpmn20.xml")));
         bpmnProcessService.set("verifyAddedVariables",
                 IOUtils.toString(UserRequestITCase.class.getResourceAsStream("/verifyAddedVariables.bpmn20.xml")));
+        bpmnProcessService.set("candidateUserRequest",
+                IOUtils.toString(UserRequestITCase.class.getResourceAsStream("/candidateUserRequest.bpmn20.xml")));
     }
 
     @BeforeEach
@@ -300,6 +309,165 @@ public class UserRequestITCase extends AbstractITCase {
                 listRequests(new UserRequestQuery.Builder().user(user.getKey()).build()).getResult().isEmpty());
     }
 
+    @Test
+    public void formsVisibility() {
+        UserTO user = createUser(UserITCase.getUniqueSampleTO("formsVisibility@tirasa.net")).getEntity();
+        assertNotNull(user);
+        SyncopeClient client = clientFactory.create(user.getUsername(), "password123");
+        UserRequestQuery byUser = new UserRequestQuery.Builder().user(user.getKey()).build();
+
+        SyncopeClient bellini = clientFactory.create("bellini", ADMIN_PWD);
+
+        // candidate group: bellini is member of managingDirector
+        UserRequest groupReq = userRequestService.startRequest("directorGroupRequest", user.getKey(), null);
+        // candidate user: bellini
+        UserRequest userReq = userRequestService.startRequest("candidateUserRequest", user.getKey(), null);
+        // assignee: the requester
+        UserRequest assigneeReq = client.getService(UserRequestService.class).
+                startRequest("assignPrinterRequest", null, null);
+
+        try {
+            // admin sees all forms
+            assertEquals(3, userRequestService.listForms(byUser).getTotalCount());
+
+            // bellini sees the forms for which is candidate, either as user or as group member
+            PagedResult<UserRequestForm> forms = bellini.getService(UserRequestService.class).listForms(byUser);
+            assertEquals(2, forms.getTotalCount());
+            assertEquals(2, forms.getResult().size());
+            assertTrue(forms.getResult().stream().
+                    anyMatch(form -> "directorGroupRequest".equals(form.getBpmnProcess())));
+            assertTrue(forms.getResult().stream().
+                    anyMatch(form -> "candidateUserRequest".equals(form.getBpmnProcess())));
+
+            // the requester only sees the form assigned to self
+            forms = client.getService(UserRequestService.class).listForms(byUser);
+            assertEquals(1, forms.getTotalCount());
+            assertEquals("assignPrinterRequest", forms.getResult().get(0).getBpmnProcess());
+
+            // once claimed by bellini, the candidate user form is still visible to bellini as assignee
+            UserRequestForm form = bellini.getService(UserRequestService.class).listForms(byUser).getResult().stream().
+                    filter(f -> "candidateUserRequest".equals(f.getBpmnProcess())).findFirst().get();
+            bellini.getService(UserRequestService.class).claimForm(form.getTaskId());
+            assertEquals(2, bellini.getService(UserRequestService.class).listForms(byUser).getTotalCount());
+
+            // rossini is not entitled to list forms, neither of other users nor of any user
+            SyncopeClient rossini = clientFactory.create("rossini", ADMIN_PWD);
+            try {
+                rossini.getService(UserRequestService.class).listForms(byUser);
+                fail();
+            } catch (SyncopeClientException e) {
+                assertEquals(ClientExceptionType.DelegatedAdministration, e.getType());
+            }
+            try {
+                rossini.getService(UserRequestService.class).listForms(new UserRequestQuery.Builder().build());
+                fail();
+            } catch (SyncopeClientException e) {
+                assertEquals(ClientExceptionType.DelegatedAdministration, e.getType());
+            }
+            // ...but can list own forms, none of which is candidate or assignee for
+            assertEquals(0, rossini.getService(UserRequestService.class).listForms(
+                    new UserRequestQuery.Builder().user("1417acbe-cbf6-4277-9372-e75e04f97000").build()).
+                    getTotalCount());
+        } finally {
+            userRequestService.cancelRequest(groupReq.getExecutionId(), "formsVisibility");
+            userRequestService.cancelRequest(userReq.getExecutionId(), "formsVisibility");
+            userRequestService.cancelRequest(assigneeReq.getExecutionId(), "formsVisibility");
+        }
+    }
+
+    @Test
+    public void formsKeysetVsOffset() {
+        UserTO user = createUser(UserITCase.getUniqueSampleTO("formsKeysetVsOffset@tirasa.net")).getEntity();
+        assertNotNull(user);
+
+        List<UserRequest> reqs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            reqs.add(userRequestService.startRequest("candidateUserRequest", user.getKey(), null));
+        }
+
+        try {
+            for (String direction : new String[] { "ASC", "DESC" }) {
+                // sorting by createTime only: pages after the first one are read via keyset pagination
+                List<String> keyset = new ArrayList<>();
+                for (int page = 1; page <= 3; page++) {
+                    PagedResult<UserRequestForm> forms = userRequestService.listForms(
+                            new UserRequestQuery.Builder().user(user.getKey()).
+                                    page(page).size(2).orderBy("createTime " + direction).build());
+                    assertEquals(5, forms.getTotalCount());
+                    forms.getResult().forEach(form -> keyset.add(form.getTaskId()));
+                }
+
+                // sorting by createTime then taskId: same order, but all pages are read via offset pagination
+                List<String> offset = new ArrayList<>();
+                for (int page = 3; page >= 1; page--) {
+                    PagedResult<UserRequestForm> forms = userRequestService.listForms(
+                            new UserRequestQuery.Builder().user(user.getKey()).
+                                    page(page).size(2).orderBy("createTime " + direction + ",taskId " + direction).
+                                    build());
+                    assertEquals(5, forms.getTotalCount());
+                    offset.addAll(0, forms.getResult().stream().
+                            map(UserRequestForm::getTaskId).collect(Collectors.toList()));
+                }
+
+                assertEquals(5, keyset.size());
+                assertEquals(5, new HashSet<>(keyset).size());
+                assertEquals(offset, keyset);
+
+                // jumping straight to a page, with no previous boundary, gives the same result
+                assertEquals(keyset.subList(3, 5), userRequestService.listForms(
+                        new UserRequestQuery.Builder().user(user.getKey()).
+                                page(2).size(3).orderBy("createTime " + direction).build()).
+                        getResult().stream().map(UserRequestForm::getTaskId).collect(Collectors.toList()));
+            }
+        } finally {
+            reqs.forEach(req -> userRequestService.cancelRequest(req.getExecutionId(), "formsKeysetVsOffset"));
+        }
+    }
+
+    @Test
+    public void formsCountCacheInvalidation() {
+        PlainSchemaTO countCacheTTL = new PlainSchemaTO();
+        countCacheTTL.setKey("userRequest.countCacheTTL");
+        countCacheTTL.setType(AttrSchemaType.Long);
+        try {
+            schemaService.read(SchemaType.PLAIN, countCacheTTL.getKey());
+        } catch (SyncopeClientException e) {
+            createSchema(SchemaType.PLAIN, countCacheTTL);
+        }
+        configurationService.set(new AttrTO.Builder().schema(countCacheTTL.getKey()).value("3600").build());
+
+        try {
+            UserTO user = createUser(UserITCase.getUniqueSampleTO("formsCountCache@tirasa.net")).getEntity();
+            assertNotNull(user);
+            UserRequestQuery byUser = new UserRequestQuery.Builder().user(user.getKey()).build();
+
+            // cache the count
+            assertEquals(0, userRequestService.listForms(byUser).getTotalCount());
+
+            // start: count is refreshed
+            UserRequest req = userRequestService.startRequest("candidateUserRequest", user.getKey(), null);
+            assertNotNull(req);
+            PagedResult<UserRequestForm> forms = userRequestService.listForms(byUser);
+            assertEquals(1, forms.getTotalCount());
+            assertEquals(1, forms.getResult().size());
+
+            // claim: bellini's count is refreshed
+            SyncopeClient bellini = clientFactory.create("bellini", ADMIN_PWD);
+            assertEquals(1, bellini.getService(UserRequestService.class).listForms(byUser).getTotalCount());
+            UserRequestForm form = userRequestService.claimForm(forms.getResult().get(0).getTaskId());
+            assertEquals(0, bellini.getService(UserRequestService.class).listForms(byUser).getTotalCount());
+
+            // submit: count is refreshed
+            form.getProperty("approve").get().setValue(Boolean.TRUE.toString());
+            userRequestService.submitForm(form);
+            forms = userRequestService.listForms(byUser);
+            assertEquals(0, forms.getTotalCount());
+            assertTrue(forms.getResult().isEmpty());
+        } finally {
+            configurationService.delete(countCacheTTL.getKey());
+        }
+    }
+
     @Test
     public void invalid() throws IOException {
         WebClient.client(bpmnProcessService).type(MediaType.APPLICATION_XML_TYPE);